@@ -0,0 +1,25 @@
+package com.hung.expensive.gateway.config;
+
+import com.hung.expensive.gateway.service.JwksKeyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * Why: JWKS của auth-service cho local token validation
+ * Note: jwt.jwks-uri gọi thẳng auth-service, không đi qua route /api/auth/** của gateway
+ */
+@Configuration
+public class JwksConfig {
+
+    @Bean(destroyMethod = "close")
+    public JwksKeyStore jwksKeyStore(WebClient.Builder webClientBuilder,
+                                     @Value("${jwt.jwks-uri:http://localhost:8081/.well-known/jwks.json}") String jwksUri,
+                                     @Value("${jwt.jwks-refresh-interval:5m}") Duration refreshInterval,
+                                     @Value("${jwt.jwks-min-refresh-interval:30s}") Duration minRefreshInterval) {
+        return new JwksKeyStore(webClientBuilder.build(), jwksUri, refreshInterval, minRefreshInterval);
+    }
+}
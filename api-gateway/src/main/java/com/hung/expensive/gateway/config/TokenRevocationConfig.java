@@ -0,0 +1,31 @@
+package com.hung.expensive.gateway.config;
+
+import com.hung.expensive.gateway.service.TokenRevocationChecker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * Why: Revocation checker cho JwtAuthenticationFilter
+ * Note: Bloom filter ~1.2 MB cho 1 triệu revocations - vượt giới hạn 256 KB mặc định của WebClient codecs
+ */
+@Configuration
+public class TokenRevocationConfig {
+
+    @Bean(destroyMethod = "close")
+    public TokenRevocationChecker tokenRevocationChecker(
+            WebClient.Builder webClientBuilder,
+            @Value("${jwt.revocation.bloom-uri:http://localhost:8081/internal/revocations/bloom}") String bloomUri,
+            @Value("${jwt.revocation.status-uri:http://localhost:8081/internal/revocations/{jti}}") String statusUri,
+            @Value("${jwt.revocation.refresh-interval:15s}") Duration refreshInterval,
+            @Value("${jwt.revocation.max-filter-size:16MB}") DataSize maxFilterSize) {
+        WebClient webClient = webClientBuilder.clone()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxFilterSize.toBytes()))
+                .build();
+        return new TokenRevocationChecker(webClient, bloomUri, statusUri, refreshInterval);
+    }
+}
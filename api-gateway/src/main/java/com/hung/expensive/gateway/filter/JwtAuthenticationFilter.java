@@ -1,15 +1,24 @@
 package com.hung.expensive.gateway.filter;
 
 import com.hung.expensive.gateway.service.JwtService;
+import com.hung.expensive.gateway.service.TokenRevocationChecker;
+import io.jsonwebtoken.Claims;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 /**
  * Why: JWT Authentication Filter cho API Gateway
  * Design decision: Custom Gateway Filter để validate JWT tokens
@@ -19,15 +28,21 @@ import reactor.core.publisher.Mono;
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
     private final JwtService jwtService;
+    private final TokenRevocationChecker revocationChecker;
+    private final ObservationRegistry observationRegistry;
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    public JwtAuthenticationFilter(JwtService jwtService, TokenRevocationChecker revocationChecker,
+                                   ObservationRegistry observationRegistry) {
         super(Config.class);
         this.jwtService = jwtService;
+        this.revocationChecker = revocationChecker;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
     public GatewayFilter apply(Config config) {
-        return (exchange, chain) -> {
+        // Why: deferContextual để lấy server observation của gateway từ Reactor context làm parent cho span validation
+        return (exchange, chain) -> Mono.deferContextual(context -> {
             ServerHttpRequest request = exchange.getRequest();
             
             // Why: Check if request has Authorization header
@@ -37,27 +52,48 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
                 return handleUnauthorized(exchange, "Missing or invalid Authorization header");
             }
 
+            // Why: Span riêng cho JWT validation - tách thời gian auth khỏi thời gian downstream trong trace
+            Observation validation = Observation.createNotStarted("gateway.jwt.validation", observationRegistry)
+                    .contextualName("jwt validation")
+                    .parentObservation(context.getOrDefault(ObservationThreadLocalAccessor.KEY, null))
+                    .start();
             try {
                 // Why: Extract JWT token
                 String token = authHeader.substring(7); // Remove "Bearer " prefix
                 
-                // Why: Validate token với Auth Service
-                if (jwtService.validateToken(token)) {
+                // Why: Verify chữ ký locally bằng JWKS keys đã cache - không gọi Auth Service
+                Optional<Claims> claims = jwtService.validateToken(token);
+                if (claims.isPresent()) {
                     // Why: Add user info to request headers for downstream services
-                    String username = jwtService.extractUsername(token);
+                    String username = claims.get().getSubject();
+                    Object userId = claims.get().get("uid");
+                    validation.lowCardinalityKeyValue("outcome", "valid");
+                    // Why: Gắn username lên server span để tìm trace theo user
+                    ServerRequestObservationContext.findCurrent(exchange.getAttributes())
+                            .ifPresent(server -> server.addHighCardinalityKeyValue(KeyValue.of("user.name", username)));
+                    
+                    // Note: mutate() giữ nguyên headers cũ - traceparent được gateway inject khi forward downstream
                     ServerHttpRequest modifiedRequest = request.mutate()
-                            .header("X-User-Id", username)
+                            .header("X-User-Id", userId != null ? userId.toString() : username)
                             .header("X-User-Name", username)
                             .build();
                     
-                    return chain.filter(exchange.mutate().request(modifiedRequest).build());
+                    // Why: Revocation (logout) check - Bloom filter miss trả về ngay, không I/O
+                    return revocationChecker.isRevoked(claims.get().getId())
+                            .flatMap(revoked -> revoked
+                                    ? handleUnauthorized(exchange, "Token revoked")
+                                    : chain.filter(exchange.mutate().request(modifiedRequest).build()));
                 } else {
+                    validation.lowCardinalityKeyValue("outcome", "invalid");
                     return handleUnauthorized(exchange, "Invalid token");
                 }
             } catch (Exception e) {
+                validation.error(e);
                 return handleUnauthorized(exchange, "Token validation failed: " + e.getMessage());
+            } finally {
+                validation.stop();
             }
-        };
+        });
     }
 
     /**
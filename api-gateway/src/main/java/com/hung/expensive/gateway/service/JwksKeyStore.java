@@ -0,0 +1,109 @@
+package com.hung.expensive.gateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Why: Public keys của auth-service (JWKS) giữ trong memory - verify token không cần gọi auth-service
+ * Design decision: Fetch khi start rồi refresh ở background theo refresh-interval; kid lạ (key rotation) chỉ
+ * trigger một refresh async, bị giới hạn bởi min-refresh-interval - request hiện tại không chờ I/O
+ * Note: Refresh lỗi thì giữ keys cũ - auth-service down không làm gateway reject tokens hợp lệ
+ */
+public class JwksKeyStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyStore.class);
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration minRefreshInterval;
+    private final AtomicLong lastRefreshAttempt = new AtomicLong();
+    private final Disposable schedule;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+
+    public JwksKeyStore(WebClient webClient, String jwksUri, Duration refreshInterval, Duration minRefreshInterval) {
+        this.webClient = webClient;
+        this.jwksUri = jwksUri;
+        this.minRefreshInterval = minRefreshInterval;
+        this.schedule = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> fetch())
+                .subscribe();
+    }
+
+    /**
+     * @return public key theo kid, null nếu chưa biết (trigger refresh ở background)
+     */
+    public PublicKey getKey(String keyId) {
+        PublicKey key = keys.get(keyId);
+        if (key == null) {
+            long now = System.currentTimeMillis();
+            long last = lastRefreshAttempt.get();
+            if (now - last >= minRefreshInterval.toMillis() && lastRefreshAttempt.compareAndSet(last, now)) {
+                fetch().subscribe();
+            }
+        }
+        return key;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private Mono<Void> fetch() {
+        lastRefreshAttempt.set(System.currentTimeMillis());
+        return webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .doOnNext(jwks -> {
+                    Map<String, PublicKey> parsed = parse(jwks);
+                    if (!parsed.isEmpty()) {
+                        keys = parsed;
+                    }
+                })
+                .doOnError(error -> log.warn("JWKS refresh from {} failed, keeping {} cached keys: {}",
+                        jwksUri, keys.size(), error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    // Why: Chỉ nhận RSA signing keys - keys khác trong set bị bỏ qua
+    static Map<String, PublicKey> parse(JsonNode jwks) {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || "enc".equals(jwk.path("use").asText())) {
+                continue;
+            }
+            try {
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+                parsed.put(jwk.path("kid").asText(),
+                        KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping invalid JWK {}: {}", jwk.path("kid").asText(), e.getMessage());
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+
+    @Override
+    public void close() {
+        schedule.dispose();
+    }
+}
@@ -1,87 +1,52 @@
 package com.hung.expensive.gateway.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Optional;
 
 /**
  * Why: JWT Service cho API Gateway
- * Design decision: Validate JWT tokens bằng cách gọi Auth Service
+ * Design decision: Verify chữ ký RS256 locally bằng public keys từ JWKS của auth-service -
+ * hot path không có network call
  * Business requirement: Secure API Gateway, validate tokens
  */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String ISSUER = "auth-service";
 
-    private final WebClient webClient;
+    private final JwksKeyStore keyStore;
 
-    public JwtService(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    public JwtService(JwksKeyStore keyStore) {
+        this.keyStore = keyStore;
     }
 
     /**
-     * Why: Validate JWT token bằng cách gọi Auth Service
-     * Business rule: Centralized token validation
+     * Why: Validate chữ ký, issuer và expiry - trả về claims nếu token hợp lệ
+     * Business rule: Token ký bằng key không có trong JWKS (hoặc JWKS chưa load) là invalid
      */
-    public boolean validateToken(String token) {
+    public Optional<Claims> validateToken(String token) {
         try {
-            // Why: Call Auth Service để validate token
-            return webClient.post()
-                    .uri("http://auth-service:8081/api/auth/validate")
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(Boolean.class)
-                    .block();
-        } catch (Exception e) {
-            // Why: Fallback to local validation nếu Auth Service không available
-            return validateTokenLocally(token);
+            Claims claims = Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(ProtectedHeader header) {
+                            return header.getKeyId() == null ? null : keyStore.getKey(header.getKeyId());
+                        }
+                    })
+                    .requireIssuer(ISSUER)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
-
-    /**
-     * Why: Extract username từ JWT token
-     * Business rule: Get user info từ token
-     */
-    public String extractUsername(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            return claims.getSubject();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to extract username from token");
-        }
-    }
-
-    /**
-     * Why: Local token validation fallback
-     * Business rule: Validate token locally nếu Auth Service down
-     */
-    private boolean validateTokenLocally(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            return claims.getExpiration().after(new java.util.Date());
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    /**
-     * Why: Extract all claims từ JWT token
-     * Business rule: Parse JWT token để get claims
-     */
-    private Claims extractAllClaims(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
 }
@@ -0,0 +1,108 @@
+package com.hung.expensive.gateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hung.expensive.bloom.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Why: Check token đã bị revoke (logout) mà không thêm I/O vào hot path
+ * Design decision: Bloom filter trong memory, refresh định kỳ từ auth-service; chỉ khi filter hit
+ * (revoked thật hoặc false positive ~1%) mới hỏi revocation store, kết quả được cache tới lần refresh sau
+ * Note: Filter chưa load (vừa start) -> hỏi store cho mọi token; store lỗi khi hit -> coi như revoked (fail closed)
+ */
+public class TokenRevocationChecker implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationChecker.class);
+
+    // Why: Giới hạn cache kết quả store - false positives của tokens hợp lệ lặp lại trên mỗi request
+    private static final int MAX_CACHED_DECISIONS = 10_000;
+
+    private final WebClient webClient;
+    private final String bloomUri;
+    private final String statusUri;
+    private final Disposable schedule;
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    public TokenRevocationChecker(WebClient webClient, String bloomUri, String statusUri, Duration refreshInterval) {
+        this.webClient = webClient;
+        this.bloomUri = bloomUri;
+        this.statusUri = statusUri;
+        this.schedule = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> refresh())
+                .subscribe();
+    }
+
+    /**
+     * @return true nếu token đã bị revoke; Mono.just(false) ngay lập tức khi filter miss
+     */
+    public Mono<Boolean> isRevoked(String jti) {
+        if (jti == null) {
+            return Mono.just(false);
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(jti)) {
+            return Mono.just(false);
+        }
+        Boolean cached = decisions.get(jti);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return webClient.get()
+                .uri(statusUri, jti)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(status -> status.path("revoked").asBoolean(true))
+                .doOnNext(revoked -> {
+                    if (decisions.size() < MAX_CACHED_DECISIONS) {
+                        decisions.put(jti, revoked);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Revocation check for {} failed, rejecting token: {}", jti, error.getMessage());
+                    return Mono.just(true);
+                });
+    }
+
+    public boolean isFilterLoaded() {
+        return filter != null;
+    }
+
+    private Mono<Void> refresh() {
+        return webClient.get()
+                .uri(bloomUri)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .doOnNext(bytes -> {
+                    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                        filter = BloomFilter.readFrom(in);
+                        // Why: Filter mới có thể chứa jti mà cache đang nhớ là "không revoked"
+                        decisions.clear();
+                    } catch (IOException e) {
+                        log.warn("Invalid revocation filter from {}: {}", bloomUri, e.getMessage());
+                    }
+                })
+                .doOnError(error -> log.warn("Revocation filter refresh from {} failed, keeping previous filter: {}",
+                        bloomUri, error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    @Override
+    public void close() {
+        schedule.dispose();
+    }
+}
@@ -0,0 +1,153 @@
+package com.hung.expensive.gateway.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Token validation ở gateway chỉ dùng JWKS đã cache - không có network call trên hot path
+ * Design decision: HttpServer đứng thay JWKS endpoint của auth-service và đếm số lần bị gọi
+ */
+class JwtServiceTest {
+
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+    private final AtomicReference<String> jwks = new AtomicReference<>();
+    private HttpServer authService;
+    private JwksKeyStore keyStore;
+
+    @BeforeEach
+    void startAuthService() throws IOException {
+        authService = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        authService.createContext("/.well-known/jwks.json", exchange -> {
+            jwksRequests.incrementAndGet();
+            byte[] body = jwks.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        authService.start();
+    }
+
+    @AfterEach
+    void stop() {
+        keyStore.close();
+        authService.stop(0);
+    }
+
+    @Test
+    void validatesLocallyAfterSingleJwksFetch() throws Exception {
+        KeyPair key = rsaKeyPair();
+        jwks.set(jwks("key-1", key));
+        JwtService jwtService = jwtService(Duration.ofHours(1));
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("alice", jwtService.validateToken(token("key-1", key, "auth-service", Duration.ofMinutes(5)))
+                    .orElseThrow().getSubject());
+        }
+
+        assertEquals(1, jwksRequests.get());
+    }
+
+    @Test
+    void rejectsExpiredForeignAndUnknownTokens() throws Exception {
+        KeyPair key = rsaKeyPair();
+        jwks.set(jwks("key-1", key));
+        JwtService jwtService = jwtService(Duration.ofHours(1));
+
+        assertTrue(jwtService.validateToken(token("key-1", key, "auth-service", Duration.ofMinutes(-1))).isEmpty());
+        assertTrue(jwtService.validateToken(token("key-1", key, "someone-else", Duration.ofMinutes(5))).isEmpty());
+        assertTrue(jwtService.validateToken(token("key-1", rsaKeyPair(), "auth-service", Duration.ofMinutes(5))).isEmpty());
+        assertTrue(jwtService.validateToken("not-a-token").isEmpty());
+        // Why: kid lạ trong min-refresh-interval không gây thêm request tới auth-service
+        assertTrue(jwtService.validateToken(token("key-2", rsaKeyPair(), "auth-service", Duration.ofMinutes(5))).isEmpty());
+        assertEquals(1, jwksRequests.get());
+    }
+
+    @Test
+    void unknownKeyIdTriggersBackgroundRefresh() throws Exception {
+        KeyPair oldKey = rsaKeyPair();
+        KeyPair newKey = rsaKeyPair();
+        jwks.set(jwks("key-1", oldKey));
+        JwtService jwtService = jwtService(Duration.ZERO);
+
+        // Why: Auth-service rotate sang key mới - request đầu tiên với kid mới fail, refresh chạy ở background
+        jwks.set(jwks("key-2", newKey));
+        String rotated = token("key-2", newKey, "auth-service", Duration.ofMinutes(5));
+        jwtService.validateToken(rotated);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (jwtService.validateToken(rotated).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(jwtService.validateToken(rotated).isPresent());
+    }
+
+    private JwtService jwtService(Duration minRefreshInterval) throws InterruptedException {
+        keyStore = new JwksKeyStore(WebClient.create(),
+                "http://localhost:" + authService.getAddress().getPort() + "/.well-known/jwks.json",
+                Duration.ofHours(1), minRefreshInterval);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (keyStore.size() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return new JwtService(keyStore);
+    }
+
+    private static String token(String keyId, KeyPair key, String issuer, Duration ttl) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .issuer(issuer)
+                .subject("alice")
+                .claim("uid", 1L)
+                .issuedAt(Date.from(now.minusSeconds(60)))
+                .expiration(Date.from(now.plus(ttl)))
+                .signWith(key.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    private static String jwks(String keyId, KeyPair key) {
+        RSAPublicKey publicKey = (RSAPublicKey) key.getPublic();
+        return "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + keyId + "\","
+                + "\"n\":\"" + base64Url(publicKey.getModulus()) + "\",\"e\":\"" + base64Url(publicKey.getPublicExponent()) + "\"}]}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair rsaKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,125 @@
+package com.hung.expensive.gateway.service;
+
+import com.hung.expensive.bloom.BloomFilter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Revocation check chỉ chạm revocation store khi Bloom filter hit
+ * Design decision: HttpServer đứng thay auth-service, đếm số lần status endpoint bị gọi
+ */
+class TokenRevocationCheckerTest {
+
+    private static final int REVOKED = 100_000;
+
+    private final Set<String> revoked = new HashSet<>();
+    private final AtomicInteger statusRequests = new AtomicInteger();
+    private HttpServer authService;
+    private TokenRevocationChecker checker;
+
+    @BeforeEach
+    void startAuthService() throws IOException {
+        BloomFilter filter = BloomFilter.create(REVOKED, 0.01);
+        for (int i = 0; i < REVOKED; i++) {
+            String jti = UUID.randomUUID().toString();
+            revoked.add(jti);
+            filter.put(jti);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            filter.writeTo(out);
+        }
+
+        authService = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        authService.createContext("/internal/revocations/bloom",
+                exchange -> respond(exchange, "application/octet-stream", bytes.toByteArray()));
+        authService.createContext("/internal/revocations/", exchange -> {
+            statusRequests.incrementAndGet();
+            String jti = exchange.getRequestURI().getPath().substring("/internal/revocations/".length());
+            respond(exchange, "application/json", ("{\"revoked\":" + revoked.contains(jti) + "}").getBytes(StandardCharsets.UTF_8));
+        });
+        authService.start();
+
+        String base = "http://localhost:" + authService.getAddress().getPort() + "/internal/revocations";
+        // Note: 2 MB > giới hạn codec mặc định - giống TokenRevocationConfig
+        WebClient webClient = WebClient.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+        checker = new TokenRevocationChecker(webClient, base + "/bloom", base + "/{jti}", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void stop() {
+        checker.close();
+        authService.stop(0);
+    }
+
+    @Test
+    void filterMissNeedsNoStoreLookup() throws InterruptedException {
+        awaitFilter();
+
+        int checks = 10_000;
+        for (int i = 0; i < checks; i++) {
+            assertFalse(checker.isRevoked(UUID.randomUUID().toString()).block());
+        }
+
+        // Why: Chỉ false positives (~1%) chạm tới store
+        assertTrue(statusRequests.get() < checks * 0.03, "store lookups: " + statusRequests.get());
+    }
+
+    @Test
+    void revokedTokenIsRejectedAndDecisionIsCached() throws InterruptedException {
+        awaitFilter();
+        String jti = revoked.iterator().next();
+
+        assertTrue(checker.isRevoked(jti).block());
+        assertTrue(checker.isRevoked(jti).block());
+
+        assertEquals(1, statusRequests.get());
+    }
+
+    @Test
+    void storeFailureOnFilterHitFailsClosed() throws InterruptedException {
+        awaitFilter();
+        String jti = revoked.iterator().next();
+        authService.stop(0);
+
+        assertTrue(checker.isRevoked(jti).block());
+    }
+
+    private void awaitFilter() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!checker.isFilterLoaded() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(checker.isFilterLoaded());
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.hung.expensive.auth;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Auth Service - Đơn giản cho người mới học Spring Boot
- * Chỉ có những tính năng cơ bản: register, login
+ * Chỉ có những tính năng cơ bản: register, login, logout
+ * Scheduling: rebuild/sync Bloom filter của revoked tokens
  */
 @SpringBootApplication
+@EnableScheduling
 public class AuthServiceApplication {
 
     public static void main(String[] args) {
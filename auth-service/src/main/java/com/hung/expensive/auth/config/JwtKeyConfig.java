@@ -0,0 +1,65 @@
+package com.hung.expensive.auth.config;
+
+import com.hung.expensive.auth.security.JwtSigningKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Why: Signing key cho access tokens
+ * Design decision: Production set auth.jwt.private-key/public-key (PEM, PKCS#8 + X.509) để mọi instance ký
+ * bằng cùng key; không set thì chỉ generate key lúc startup khi chạy local (dev, test, docker-compose),
+ * profile khác fail startup thay vì âm thầm ký bằng key mất sau mỗi lần restart
+ */
+@Configuration
+public class JwtKeyConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyConfig.class);
+
+    // Note: "docker" là profile của docker-compose (local stack), không phải production
+    private static final Profiles EPHEMERAL_KEY_PROFILES = Profiles.of("dev", "test", "docker");
+
+    @Bean
+    public JwtSigningKey jwtSigningKey(@Value("${auth.jwt.private-key:}") String privateKeyPem,
+                                       @Value("${auth.jwt.public-key:}") String publicKeyPem,
+                                       Environment environment) throws GeneralSecurityException {
+        if (!privateKeyPem.isBlank() && !publicKeyPem.isBlank()) {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            RSAPrivateKey privateKey = (RSAPrivateKey) keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKeyPem)));
+            RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKeyPem)));
+            return new JwtSigningKey(privateKey, publicKey);
+        }
+        if (!privateKeyPem.isBlank() || !publicKeyPem.isBlank()) {
+            throw new IllegalStateException("auth.jwt.private-key and auth.jwt.public-key must be set together");
+        }
+        if (!environment.acceptsProfiles(EPHEMERAL_KEY_PROFILES)) {
+            throw new IllegalStateException("auth.jwt.private-key and auth.jwt.public-key are not set - ephemeral "
+                    + "signing keys are only generated for the dev, test and docker profiles");
+        }
+        // Note: Key mất khi restart và mỗi instance một key - chỉ dùng cho development
+        log.warn("auth.jwt.private-key not set - generating an ephemeral RSA signing key");
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        return new JwtSigningKey((RSAPrivateKey) keyPair.getPrivate(), (RSAPublicKey) keyPair.getPublic());
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
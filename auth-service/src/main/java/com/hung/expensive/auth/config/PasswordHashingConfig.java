@@ -0,0 +1,88 @@
+package com.hung.expensive.auth.config;
+
+import com.hung.expensive.hashing.PasswordHashingExecutors;
+import com.hung.expensive.hashing.PooledPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Why: Password hashing bằng Argon2id trên executor riêng có giới hạn
+ * Design decision: Executor và pool encoder dùng chung module password-hashing với monolith;
+ * số threads cũng giới hạn RAM dùng cho hashing (threads * memory-kib)
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    /**
+     * Why: Default của DelegatingPasswordEncoder throw IllegalArgumentException (500) với hash không có prefix -
+     * login với hash như vậy phải là "Password không đúng"
+     * Note: Chỉ dùng để match - DelegatingPasswordEncoder encode bằng "argon2", không bao giờ gọi encode ở đây;
+     * package-private cho tests
+     */
+    static final PasswordEncoder REJECT_UNPREFIXED = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new IllegalStateException("Unprefixed password hashes are matching-only and always rejected - "
+                    + "new hashes must be encoded with the {argon2} encoder");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
+    };
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(
+            @Value("${auth.password.hashing.threads:0}") int threads,
+            @Value("${auth.password.hashing.queue-capacity:64}") int queueCapacity) {
+        return PasswordHashingExecutors.bounded(threads, queueCapacity);
+    }
+
+    /**
+     * Why: Hash mới là "{argon2}..." (OWASP: 19 MiB, 2 iterations, parallelism 1)
+     * Note: Password cũ lưu plaintext (không có prefix) chỉ login được khi bật
+     * auth.password.legacy-plaintext-migration - khi đó được rehash sang Argon2 ở lần login thành công đầu tiên.
+     * Tắt (default) thì hash không có prefix luôn bị từ chối, không so sánh plaintext
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            ThreadPoolExecutor passwordHashingExecutor,
+            @Value("${auth.password.argon2.memory-kib:19456}") int memoryKib,
+            @Value("${auth.password.argon2.iterations:2}") int iterations,
+            @Value("${auth.password.argon2.parallelism:1}") int parallelism,
+            @Value("${auth.password.hashing.timeout:5s}") Duration timeout,
+            @Value("${auth.password.legacy-plaintext-migration:false}") boolean legacyPlaintextMigration) {
+        return new PooledPasswordEncoder(
+                argon2Encoder(memoryKib, iterations, parallelism, legacyPlaintextMigration),
+                passwordHashingExecutor, timeout);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static DelegatingPasswordEncoder argon2Encoder(int memoryKib, int iterations, int parallelism,
+                                                           boolean legacyPlaintextMigration) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("argon2",
+                Map.of("argon2", new Argon2PasswordEncoder(16, 32, parallelism, memoryKib, iterations)));
+        if (legacyPlaintextMigration) {
+            // Note: Tắt sau khi mọi user đã login lại (không còn password nào thiếu prefix "{argon2}")
+            log.warn("auth.password.legacy-plaintext-migration enabled - unprefixed passwords are compared as plaintext");
+            encoder.setDefaultPasswordEncoderForMatches(NoOpPasswordEncoder.getInstance());
+        } else {
+            encoder.setDefaultPasswordEncoderForMatches(REJECT_UNPREFIXED);
+        }
+        return encoder;
+    }
+}
@@ -3,13 +3,19 @@ package com.hung.expensive.auth.controller;
 import com.hung.expensive.auth.dto.AuthResponse;
 import com.hung.expensive.auth.dto.LoginRequest;
 import com.hung.expensive.auth.dto.RegisterRequest;
+import com.hung.expensive.hashing.PasswordHashingOverloadedException;
 import com.hung.expensive.auth.service.AuthService;
+import com.hung.expensive.auth.service.TokenRevocationService;
+import com.hung.expensive.auth.service.UsernameAvailabilityService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 /**
  * Auth Controller đơn giản
  */
@@ -21,6 +27,12 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private UsernameAvailabilityService usernameAvailabilityService;
+    
     /**
      * Đăng ký user mới
      */
@@ -35,6 +47,19 @@ public class AuthController {
         }
     }
     
+    /**
+     * Check username còn trống cho form đăng ký (gọi theo từng phím gõ)
+     * Why: Phần lớn được trả lời từ Bloom filter trong memory, không chạm MySQL
+     */
+    @GetMapping("/username-available")
+    public ResponseEntity<Map<String, Object>> usernameAvailable(@RequestParam String username) {
+        // Cùng rule với RegisterRequest
+        if (username.isBlank() || username.length() < 3 || username.length() > 50) {
+            return ResponseEntity.badRequest().body(Map.of("username", username, "message", "Username phải từ 3-50 ký tự"));
+        }
+        return ResponseEntity.ok(Map.of("username", username, "available", usernameAvailabilityService.isAvailable(username)));
+    }
+    
     /**
      * Đăng nhập
      */
@@ -49,6 +74,28 @@ public class AuthController {
         }
     }
     
+    /**
+     * Đăng xuất - revoke access token hiện tại (theo jti) tới khi token hết hạn
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<AuthResponse> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")
+                || !tokenRevocationService.revoke(authorization.substring(7))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(AuthResponse.error("Token không hợp lệ"));
+        }
+        return ResponseEntity.ok(AuthResponse.success("Đăng xuất thành công", null, null, null));
+    }
+    
+    /**
+     * Password hashing pool quá tải - 503 để client retry sau
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<AuthResponse> overloaded(PasswordHashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(AuthResponse.error("Hệ thống đang quá tải, vui lòng thử lại sau"));
+    }
+    
     /**
      * Health check
      */
@@ -0,0 +1,32 @@
+package com.hung.expensive.auth.controller;
+
+import com.hung.expensive.auth.security.JwtSigningKey;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Why: Publish public key để gateway (và services khác) verify access tokens locally
+ * Design decision: Path chuẩn /.well-known/jwks.json, cacheable - gateway fetch một lần rồi refresh ở background
+ */
+@RestController
+public class JwksController {
+
+    private final JwtSigningKey signingKey;
+
+    public JwksController(JwtSigningKey signingKey) {
+        this.signingKey = signingKey;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", List.of(signingKey.toJwk())));
+    }
+}
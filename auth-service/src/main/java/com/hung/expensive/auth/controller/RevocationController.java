@@ -0,0 +1,45 @@
+package com.hung.expensive.auth.controller;
+
+import com.hung.expensive.auth.service.TokenRevocationService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Why: Revocation data cho api-gateway
+ * Note: /internal/** không có route trên gateway - chỉ gọi được trong mạng nội bộ
+ */
+@RestController
+@RequestMapping("/internal/revocations")
+public class RevocationController {
+
+    private final TokenRevocationService revocationService;
+
+    public RevocationController(TokenRevocationService revocationService) {
+        this.revocationService = revocationService;
+    }
+
+    /**
+     * Why: Bloom filter của các jti đã revoke - gateway poll định kỳ
+     */
+    @GetMapping(value = "/bloom", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> bloomFilter() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(revocationService.bloomFilterSnapshot());
+    }
+
+    /**
+     * Why: Check authoritative khi Bloom filter hit (revoked thật hoặc false positive)
+     */
+    @GetMapping("/{jti}")
+    public Map<String, Object> status(@PathVariable String jti) {
+        return Map.of("jti", jti, "revoked", revocationService.isRevoked(jti));
+    }
+}
@@ -10,6 +10,9 @@ public class AuthResponse {
     private String username;
     private String email;
     private boolean success;
+    private String accessToken;
+    private String tokenType;
+    private Long expiresIn;
     
     // Constructors
     public AuthResponse() {}
@@ -27,6 +30,16 @@ public class AuthResponse {
         return new AuthResponse(message, userId, username, email, true);
     }
     
+    // Login thành công - kèm access token (expiresIn tính bằng giây)
+    public static AuthResponse withToken(String message, Long userId, String username, String email,
+                                         String accessToken, long expiresIn) {
+        AuthResponse response = success(message, userId, username, email);
+        response.setAccessToken(accessToken);
+        response.setTokenType("Bearer");
+        response.setExpiresIn(expiresIn);
+        return response;
+    }
+    
     public static AuthResponse error(String message) {
         return new AuthResponse(message, null, null, null, false);
     }
@@ -71,4 +84,28 @@ public class AuthResponse {
     public void setSuccess(boolean success) {
         this.success = success;
     }
+    
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+    
+    public String getTokenType() {
+        return tokenType;
+    }
+    
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+    
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
 }
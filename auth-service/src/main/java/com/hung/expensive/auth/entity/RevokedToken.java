@@ -0,0 +1,49 @@
+package com.hung.expensive.auth.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Revoked access token - nguồn authoritative cho revocation (gateway chỉ hỏi khi Bloom filter báo có thể revoked)
+ * Row chỉ cần giữ tới khi token hết hạn
+ */
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+    
+    @Id
+    @Column(length = 64)
+    private String jti;
+    
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+    
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+    
+    // Constructors
+    protected RevokedToken() {}
+    
+    public RevokedToken(String jti, Instant expiresAt, Instant revokedAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+    
+    // Getters
+    public String getJti() {
+        return jti;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+}
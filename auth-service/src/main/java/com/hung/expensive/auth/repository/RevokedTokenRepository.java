@@ -0,0 +1,37 @@
+package com.hung.expensive.auth.repository;
+
+import com.hung.expensive.auth.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Revoked tokens repository
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    
+    // Số token còn hạn - để size Bloom filter
+    long countByExpiresAtAfter(Instant now);
+    
+    // Stream jti còn hạn - không load hàng triệu entities vào memory cùng lúc (cần transaction đang mở)
+    @Query("select r.jti from RevokedToken r where r.expiresAt > :now")
+    Stream<String> streamActiveJtis(@Param("now") Instant now);
+    
+    // Jti revoke trong lúc đang rebuild filter
+    @Query("select r.jti from RevokedToken r where r.revokedAt >= :since")
+    List<String> findJtisRevokedSince(@Param("since") Instant since);
+    
+    // Token đã hết hạn không cần revoke nữa
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
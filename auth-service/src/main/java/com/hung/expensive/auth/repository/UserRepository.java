@@ -2,9 +2,11 @@ package com.hung.expensive.auth.repository;
 
 import com.hung.expensive.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * User Repository đơn giản
@@ -23,4 +25,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Kiểm tra email đã tồn tại chưa
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    // Stream mọi username để build Bloom filter - projection một cột, cần transaction đang mở
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
+}
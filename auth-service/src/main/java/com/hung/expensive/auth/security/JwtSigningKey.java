@@ -0,0 +1,59 @@
+package com.hung.expensive.auth.security;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Why: RSA key pair ký access tokens - private key chỉ nằm trong auth-service, public key publish qua JWKS
+ * Design decision: kid = RFC 7638 thumbprint của public key - mọi instance dùng chung key có cùng kid
+ * mà không cần config thêm
+ */
+public record JwtSigningKey(String keyId, RSAPrivateKey privateKey, RSAPublicKey publicKey) {
+
+    public JwtSigningKey(RSAPrivateKey privateKey, RSAPublicKey publicKey) {
+        this(thumbprint(publicKey), privateKey, publicKey);
+    }
+
+    /**
+     * Why: Public key ở dạng JWK (RFC 7517) cho JWKS endpoint
+     */
+    public Map<String, Object> toJwk() {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("alg", "RS256");
+        jwk.put("kid", keyId);
+        jwk.put("n", base64Url(publicKey.getModulus()));
+        jwk.put("e", base64Url(publicKey.getPublicExponent()));
+        return jwk;
+    }
+
+    private static String thumbprint(RSAPublicKey publicKey) {
+        // Note: RFC 7638 - members bắt buộc, thứ tự alphabet, không whitespace
+        String canonical = "{\"e\":\"" + base64Url(publicKey.getPublicExponent())
+                + "\",\"kty\":\"RSA\",\"n\":\"" + base64Url(publicKey.getModulus()) + "\"}";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Why: JWK dùng unsigned big-endian - bỏ byte 0 dấu mà BigInteger.toByteArray thêm vào
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -6,12 +6,16 @@ import com.hung.expensive.auth.dto.RegisterRequest;
 import com.hung.expensive.auth.entity.User;
 import com.hung.expensive.auth.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
 import java.util.Optional;
 
 /**
- * Auth Service đơn giản - không có JWT, Security phức tạp
+ * Auth Service đơn giản - password hash bằng Argon2, login trả về access token RS256
  */
 @Service
 public class AuthService {
@@ -19,28 +23,34 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private TokenService tokenService;
+    
+    @Autowired
+    private UsernameAvailabilityService usernameAvailabilityService;
+    
     /**
-     * Đăng ký user mới
+     * Đăng ký user mới - một INSERT duy nhất, trùng username/email do unique constraints chặn
+     * Why: existsByUsername + existsByEmail + save là 3 round trips và vẫn race khi hai request đăng ký cùng lúc
      */
     public AuthResponse register(RegisterRequest request) {
-        // Kiểm tra username đã tồn tại chưa
-        if (userRepository.existsByUsername(request.getUsername())) {
-            return AuthResponse.error("Username đã tồn tại");
-        }
-        
-        // Kiểm tra email đã tồn tại chưa
-        if (userRepository.existsByEmail(request.getEmail())) {
-            return AuthResponse.error("Email đã tồn tại");
-        }
-        
-        // Tạo user mới (password chưa hash - đơn giản cho học tập)
+        // Tạo user mới - password hash trên password hashing pool
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(request.getPassword()); // TODO: Hash password trong tương lai
+        user.setPassword(passwordEncoder.encode(request.getPassword()));
         
         // Lưu vào database
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            return duplicateUser(request, e);
+        }
+        usernameAvailabilityService.recordUsername(savedUser.getUsername());
         
         return AuthResponse.success(
             "Đăng ký thành công", 
@@ -50,6 +60,33 @@ public class AuthService {
         );
     }
     
+    /**
+     * Map vi phạm unique constraint về field bị trùng
+     * Note: Database cũ tạo bằng ddl-auto có tên constraint do Hibernate sinh - khi đó hỏi DB (chỉ trên đường lỗi)
+     */
+    private AuthResponse duplicateUser(RegisterRequest request, DataIntegrityViolationException e) {
+        String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).toLowerCase(Locale.ROOT);
+        boolean usernameTaken;
+        if (message.contains(User.USERNAME_CONSTRAINT)) {
+            usernameTaken = true;
+        } else if (message.contains(User.EMAIL_CONSTRAINT)) {
+            usernameTaken = false;
+        } else if (userRepository.existsByUsername(request.getUsername())) {
+            usernameTaken = true;
+        } else if (userRepository.existsByEmail(request.getEmail())) {
+            usernameTaken = false;
+        } else {
+            throw e;
+        }
+        
+        if (usernameTaken) {
+            // Username có thể được đăng ký ở instance khác - filter local chưa biết
+            usernameAvailabilityService.recordUsername(request.getUsername());
+            return AuthResponse.error("Username đã tồn tại");
+        }
+        return AuthResponse.error("Email đã tồn tại");
+    }
+    
     /**
      * Đăng nhập
      */
@@ -63,16 +100,24 @@ public class AuthService {
         
         User user = userOpt.get();
         
-        // Kiểm tra password (đơn giản - chưa hash)
-        if (!user.getPassword().equals(request.getPassword())) {
+        // Kiểm tra password
+        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
             return AuthResponse.error("Password không đúng");
         }
         
-        return AuthResponse.success(
+        // Why: Password cũ (plaintext hoặc params Argon2 cũ) được hash lại khi đã biết password đúng
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            userRepository.save(user);
+        }
+        
+        return AuthResponse.withToken(
             "Đăng nhập thành công", 
             user.getId(), 
             user.getUsername(), 
-            user.getEmail()
+            user.getEmail(),
+            tokenService.issueAccessToken(user),
+            tokenService.getExpiration().toSeconds()
         );
     }
 }
\ No newline at end of file
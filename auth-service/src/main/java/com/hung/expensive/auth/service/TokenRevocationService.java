@@ -0,0 +1,137 @@
+package com.hung.expensive.auth.service;
+
+import com.hung.expensive.auth.entity.RevokedToken;
+import com.hung.expensive.auth.repository.RevokedTokenRepository;
+import com.hung.expensive.bloom.BloomFilter;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Why: Revocation theo jti - bảng revoked_tokens là nguồn authoritative, Bloom filter là bản compact cho gateway
+ * Design decision: Filter được rebuild định kỳ từ DB (bỏ token hết hạn, size lại theo số revocations) và
+ * sync incremental giữa hai lần rebuild để các auth-service instances thấy revocations của nhau
+ * Note: Filter put sau khi row đã commit - rebuild chạy song song không làm mất revocation
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Why: Capacity tối thiểu - filter nhỏ nhưng vẫn chứa được revocations mới tới lần rebuild sau
+    private static final long MIN_CAPACITY = 10_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenService tokenService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile byte[] snapshot;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  TokenService tokenService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${auth.revocation.bloom-false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenService = tokenService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(MIN_CAPACITY, falsePositiveRate);
+    }
+
+    /**
+     * Why: Logout - revoke token tới khi nó tự hết hạn
+     * @return false nếu token không hợp lệ (sai chữ ký, hết hạn, không có jti)
+     */
+    public boolean revoke(String token) {
+        Optional<Claims> claims = tokenService.parseAccessToken(token);
+        if (claims.isEmpty() || claims.get().getId() == null) {
+            return false;
+        }
+        String jti = claims.get().getId();
+        if (!revokedTokenRepository.existsById(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti, claims.get().getExpiration().toInstant(), Instant.now()));
+        }
+        filter.put(jti);
+        snapshot = null;
+        return true;
+    }
+
+    /**
+     * Why: Câu trả lời authoritative - gateway chỉ gọi khi Bloom filter hit
+     */
+    public boolean isRevoked(String jti) {
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    /**
+     * Why: Bloom filter serialized cho gateway - cache tới khi filter thay đổi
+     */
+    public byte[] bloomFilterSnapshot() {
+        byte[] current = snapshot;
+        if (current == null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                filter.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            current = bytes.toByteArray();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    /**
+     * Why: Rebuild từ DB - xóa revocations đã hết hạn và size filter theo số revocations còn hiệu lực
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.rebuild-interval:10m}")
+    public void rebuild() {
+        Instant start = Instant.now();
+        int expired = revokedTokenRepository.deleteExpired(start);
+        long active = revokedTokenRepository.countByExpiresAtAfter(start);
+        BloomFilter next = BloomFilter.create(Math.max(MIN_CAPACITY, active * 2), falsePositiveRate);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> jtis = revokedTokenRepository.streamActiveJtis(start)) {
+                jtis.forEach(next::put);
+            }
+        });
+        filter = next;
+        // Why: Revocations commit trong lúc stream chạy - add vào filter mới sau khi swap
+        revokedTokenRepository.findJtisRevokedSince(start).forEach(next::put);
+        snapshot = null;
+        lastSync = start;
+        log.info("Rebuilt revocation filter: {} active, {} expired removed, {} KB",
+                active, expired, next.bitSize() / 8 / 1024);
+    }
+
+    /**
+     * Why: Revocations từ auth-service instances khác giữa hai lần rebuild
+     * Note: Lùi 1s so với lần sync trước để không lỡ rows commit cùng thời điểm
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval:10s}", initialDelayString = "${auth.revocation.sync-interval:10s}")
+    public void syncRecent() {
+        Instant start = Instant.now();
+        BloomFilter current = filter;
+        revokedTokenRepository.findJtisRevokedSince(lastSync.minus(Duration.ofSeconds(1))).forEach(current::put);
+        snapshot = null;
+        lastSync = start;
+    }
+}
@@ -0,0 +1,70 @@
+package com.hung.expensive.auth.service;
+
+import com.hung.expensive.auth.entity.User;
+import com.hung.expensive.auth.security.JwtSigningKey;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Why: Phát hành access token RS256 khi login
+ * Design decision: Gateway verify bằng public key từ JWKS - không cần gọi ngược auth-service cho mỗi request
+ */
+@Service
+public class TokenService {
+
+    public static final String ISSUER = "auth-service";
+
+    private final JwtSigningKey signingKey;
+    private final Duration expiration;
+
+    public TokenService(JwtSigningKey signingKey, @Value("${auth.jwt.expiration:24h}") Duration expiration) {
+        this.signingKey = signingKey;
+        this.expiration = expiration;
+    }
+
+    public Duration getExpiration() {
+        return expiration;
+    }
+
+    /**
+     * Why: sub = username, uid = user id cho downstream; jti để có thể revoke từng token
+     */
+    public String issueAccessToken(User user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
+                .issuer(ISSUER)
+                .subject(user.getUsername())
+                .claim("uid", user.getId())
+                .id(UUID.randomUUID().toString())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(expiration)))
+                .signWith(signingKey.privateKey(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    /**
+     * Why: Verify access token do chính service này phát hành (logout cần jti + expiry của token)
+     */
+    public Optional<Claims> parseAccessToken(String token) {
+        try {
+            return Optional.of(Jwts.parser()
+                    .verifyWith(signingKey.publicKey())
+                    .requireIssuer(ISSUER)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.hung.expensive.auth.service;
+
+import com.hung.expensive.auth.repository.UserRepository;
+import com.hung.expensive.bloom.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Why: Check username availability cho form đăng ký (gọi theo từng phím gõ) mà phần lớn không chạm MySQL
+ * Design decision: Bloom filter chứa mọi username - miss nghĩa là chắc chắn còn trống; hit (đã tồn tại hoặc
+ * false positive) mới hỏi DB. Rebuild định kỳ để nhận users đăng ký ở auth-service instance khác
+ * Note: Kết quả chỉ là gợi ý - register vẫn do unique constraint quyết định
+ */
+@Service
+public class UsernameAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(UsernameAvailabilityService.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+
+    // Why: null cho tới khi load xong - trong lúc đó mọi check đi thẳng xuống DB
+    private volatile BloomFilter filter;
+    // Why: Guard thay cho synchronized - rebuild stream cả bảng users, giữ monitor suốt thời gian đó sẽ pin
+    // carrier thread khi chạy virtual threads
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<String> registeredDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public UsernameAvailabilityService(UserRepository userRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${auth.username-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                       @Value("${auth.username-filter.min-capacity:100000}") long minCapacity) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+    }
+
+    public boolean isAvailable(String username) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(normalize(username))) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
+    }
+
+    /**
+     * Why: Gọi sau khi insert user (hoặc insert bị unique constraint từ chối) để filter biết username đã dùng
+     */
+    public void recordUsername(String username) {
+        String key = normalize(username);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        if (rebuilding.get()) {
+            registeredDuringRebuild.add(key);
+        }
+    }
+
+    /**
+     * Why: Load lúc startup rồi rebuild định kỳ - size lại theo số users
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.username-filter.rebuild-interval:1h}",
+               initialDelayString = "${auth.username-filter.rebuild-interval:1h}")
+    public void rebuild() {
+        // Why: Startup và schedule trùng nhau thì lần sau bỏ qua - kết quả như nhau
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.debug("Username filter rebuild already running, skipping");
+            return;
+        }
+        registeredDuringRebuild.clear();
+        try {
+            long users = userRepository.count();
+            BloomFilter next = BloomFilter.create(Math.max(minCapacity, users * 2), falsePositiveRate);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                    usernames.map(UsernameAvailabilityService::normalize).forEach(next::put);
+                }
+            });
+            filter = next;
+            // Why: Users đăng ký trong lúc stream chạy có thể không nằm trong kết quả stream
+            registeredDuringRebuild.forEach(next::put);
+            log.info("Loaded username filter: {} users, {} KB", users, next.bitSize() / 8 / 1024);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Why: MySQL collation mặc định không phân biệt hoa thường - "Alice" và "alice" phải cùng một key
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
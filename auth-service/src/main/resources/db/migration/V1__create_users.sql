@@ -0,0 +1,12 @@
+-- Why: Baseline schema cho auth-service - khớp với schema ddl-auto đã tạo trước đây
+-- Existing database: Flyway baseline ở version 1 (spring.flyway.baseline-on-migrate) rồi chỉ chạy V2+
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
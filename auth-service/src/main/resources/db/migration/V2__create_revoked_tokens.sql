@@ -0,0 +1,15 @@
+-- Why: Authoritative store cho token revocation (logout) - gateway chỉ query khi Bloom filter hit
+-- Row hết hạn cùng token và được xóa định kỳ, nên bảng chỉ chứa revocations còn hiệu lực
+
+CREATE TABLE revoked_tokens (
+    jti        VARCHAR(64) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (jti)
+);
+
+-- countByExpiresAtAfter, streamActiveJtis (rebuild Bloom filter), deleteExpired
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- findJtisRevokedSince (revocations trong lúc rebuild)
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
@@ -0,0 +1,58 @@
+package com.hung.expensive.auth.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Why: Thiếu signing key ngoài môi trường local phải fail startup thay vì ký bằng key tạm
+ */
+class JwtKeyConfigTest {
+
+    private final JwtKeyConfig config = new JwtKeyConfig();
+
+    @Test
+    void missingKeyFailsStartupWithoutLocalProfile() {
+        MockEnvironment environment = environment("prod");
+
+        assertThrows(IllegalStateException.class, () -> config.jwtSigningKey("", "", environment));
+    }
+
+    @Test
+    void missingKeyGeneratesEphemeralKeyForDevProfile() throws Exception {
+        assertNotNull(config.jwtSigningKey("", "", environment("dev")));
+    }
+
+    @Test
+    void halfConfiguredKeyFailsEvenForDevProfile() {
+        assertThrows(IllegalStateException.class,
+                () -> config.jwtSigningKey("", "-----BEGIN PUBLIC KEY-----", environment("dev")));
+    }
+
+    @Test
+    void configuredKeyIsUsedInAnyProfile() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        assertEquals(keyPair.getPublic(), config.jwtSigningKey(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()),
+                pem("PUBLIC KEY", keyPair.getPublic().getEncoded()), environment("prod")).publicKey());
+    }
+
+    private static MockEnvironment environment(String profile) {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(profile);
+        return environment;
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(der) + "\n-----END " + type + "-----";
+    }
+}
@@ -0,0 +1,43 @@
+package com.hung.expensive.auth.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Hash không có prefix chỉ được match (luôn sai), không bao giờ được dùng để encode
+ */
+class PasswordHashingConfigTest {
+
+    private final PasswordHashingConfig config = new PasswordHashingConfig();
+    private final ThreadPoolExecutor executor = config.passwordHashingExecutor(1, 4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rejectUnprefixedIsMatchingOnly() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> PasswordHashingConfig.REJECT_UNPREFIXED.encode("secret"));
+
+        assertTrue(e.getMessage().contains("{argon2}"), e.getMessage());
+        assertFalse(PasswordHashingConfig.REJECT_UNPREFIXED.matches("secret", "secret"));
+    }
+
+    @Test
+    void encoderRejectsUnprefixedHashAndEncodesWithArgon2() {
+        PasswordEncoder encoder = config.passwordEncoder(executor, 1024, 1, 1, Duration.ofSeconds(5), false);
+
+        assertFalse(encoder.matches("secret", "secret"));
+        assertTrue(encoder.encode("secret").startsWith("{argon2}"));
+    }
+}
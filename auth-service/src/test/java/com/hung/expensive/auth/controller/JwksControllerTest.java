@@ -0,0 +1,110 @@
+package com.hung.expensive.auth.controller;
+
+import com.hung.expensive.auth.config.JwtKeyConfig;
+import com.hung.expensive.auth.entity.User;
+import com.hung.expensive.auth.security.JwtSigningKey;
+import com.hung.expensive.auth.service.TokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Gateway chỉ có JWKS - token phải verify được bằng key dựng lại từ JWK, chọn theo kid
+ * Design decision: kid so với RFC 7638 thumbprint do jjwt tính (implementation độc lập)
+ */
+class JwksControllerTest {
+
+    private JwtSigningKey signingKey;
+    private TokenService tokenService;
+    private Map<String, Object> jwk;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        signingKey = ephemeralKey();
+        tokenService = new TokenService(signingKey, Duration.ofMinutes(15));
+        ResponseEntity<Map<String, Object>> response = new JwksController(signingKey).jwks();
+        assertTrue(response.getHeaders().getCacheControl().contains("max-age=300"));
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) response.getBody().get("keys");
+        assertEquals(1, keys.size());
+        jwk = keys.get(0);
+    }
+
+    @Test
+    void keyIdIsRfc7638Thumbprint() {
+        assertEquals("RSA", jwk.get("kty"));
+        assertEquals("RS256", jwk.get("alg"));
+        String expected = Jwks.builder().key(signingKey.publicKey()).build().thumbprint().toString();
+        assertEquals(expected, jwk.get("kid"));
+    }
+
+    @Test
+    void tokenVerifiesWithKeyFromJwks() {
+        String token = tokenService.issueAccessToken(user());
+
+        Jws<Claims> jws = Jwts.parser()
+                .keyLocator(header -> jwk.get("kid").equals(header.get("kid")) ? publicKeyFrom(jwk) : null)
+                .requireIssuer(TokenService.ISSUER)
+                .build()
+                .parseSignedClaims(token);
+
+        assertEquals("RS256", jws.getHeader().getAlgorithm());
+        assertEquals("alice", jws.getPayload().getSubject());
+        assertEquals(7, jws.getPayload().get("uid", Integer.class));
+    }
+
+    @Test
+    void tokenFromOtherKeyRejected() throws Exception {
+        TokenService otherInstance = new TokenService(ephemeralKey(), Duration.ofMinutes(15));
+        String token = otherInstance.issueAccessToken(user());
+
+        assertTrue(tokenService.parseAccessToken(token).isEmpty());
+        assertThrows(JwtException.class, () -> Jwts.parser().verifyWith(publicKeyFrom(jwk)).build().parseSignedClaims(token));
+    }
+
+    private static User user() {
+        User user = new User("alice", "alice@example.com", "unused");
+        user.setId(7L);
+        return user;
+    }
+
+    private static PublicKey publicKeyFrom(Map<String, Object> jwk) {
+        try {
+            RSAPublicKeySpec spec = new RSAPublicKeySpec(unsigned(jwk.get("n")), unsigned(jwk.get("e")));
+            return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(spec);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BigInteger unsigned(Object base64Url) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode((String) base64Url));
+    }
+
+    // Note: Key generate lúc startup chỉ được phép ở dev/test profiles
+    private static JwtSigningKey ephemeralKey() throws Exception {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+        return new JwtKeyConfig().jwtSigningKey("", "", environment);
+    }
+}
@@ -0,0 +1,132 @@
+package com.hung.expensive.auth.service;
+
+import com.hung.expensive.auth.config.JwtKeyConfig;
+import com.hung.expensive.auth.config.PasswordHashingConfig;
+import com.hung.expensive.auth.dto.AuthResponse;
+import com.hung.expensive.auth.dto.LoginRequest;
+import com.hung.expensive.auth.entity.User;
+import com.hung.expensive.auth.repository.UserRepository;
+import com.hung.expensive.auth.security.JwtSigningKey;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Why: Login phát hành token verify được, rehash Argon2 khi params cũ và legacy plaintext chỉ khi bật migration
+ * Design decision: PasswordEncoder tạo qua chính PasswordHashingConfig (pool + DelegatingPasswordEncoder),
+ * Argon2 params nhỏ để test chạy nhanh
+ */
+class AuthServiceTest {
+
+    private static final int MEMORY_KIB = 1024;
+
+    private final PasswordHashingConfig hashingConfig = new PasswordHashingConfig();
+    private final ThreadPoolExecutor executor = hashingConfig.passwordHashingExecutor(1, 4);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private TokenService tokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tokenService = new TokenService(ephemeralKey(), Duration.ofMinutes(15));
+        user = new User("alice", "alice@example.com", null);
+        user.setId(7L);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loginIssuesVerifiableToken() {
+        PasswordEncoder encoder = encoder(false);
+        user.setPassword(encoder.encode("secret-password"));
+
+        AuthResponse response = authService(encoder).login(new LoginRequest("alice", "secret-password"));
+
+        assertTrue(response.isSuccess());
+        Claims claims = tokenService.parseAccessToken(response.getAccessToken()).orElseThrow();
+        assertEquals("alice", claims.getSubject());
+        assertEquals(7, claims.get("uid", Integer.class));
+        assertEquals(TokenService.ISSUER, claims.getIssuer());
+        // Why: Hash đã dùng params hiện tại - không ghi lại
+        verify(userRepository, never()).save(any(User.class));
+
+        assertFalse(authService(encoder).login(new LoginRequest("alice", "wrong-password")).isSuccess());
+    }
+
+    @Test
+    void loginRehashesWeakerArgon2Hash() {
+        user.setPassword("{argon2}" + new Argon2PasswordEncoder(16, 32, 1, MEMORY_KIB / 2, 1).encode("secret-password"));
+
+        assertTrue(authService(encoder(false)).login(new LoginRequest("alice", "secret-password")).isSuccess());
+
+        verify(userRepository).save(user);
+        assertTrue(user.getPassword().startsWith("{argon2}$argon2id$v=19$m=" + MEMORY_KIB + ","));
+    }
+
+    @Test
+    void legacyPlaintextRejectedUnlessMigrationEnabled() {
+        user.setPassword("secret-password");
+
+        AuthResponse response = authService(encoder(false)).login(new LoginRequest("alice", "secret-password"));
+
+        assertFalse(response.isSuccess());
+        verify(userRepository, never()).save(any(User.class));
+        assertEquals("secret-password", user.getPassword());
+    }
+
+    @Test
+    void legacyPlaintextRehashedDuringMigration() {
+        user.setPassword("secret-password");
+        PasswordEncoder encoder = encoder(true);
+
+        assertTrue(authService(encoder).login(new LoginRequest("alice", "secret-password")).isSuccess());
+
+        verify(userRepository).save(user);
+        assertTrue(user.getPassword().startsWith("{argon2}"));
+        assertTrue(encoder.matches("secret-password", user.getPassword()));
+        // Why: Sau khi rehash, password plaintext không còn là credential hợp lệ
+        assertFalse(encoder.matches(user.getPassword(), user.getPassword()));
+    }
+
+    private PasswordEncoder encoder(boolean legacyPlaintextMigration) {
+        return hashingConfig.passwordEncoder(executor, MEMORY_KIB, 2, 1, Duration.ofSeconds(5), legacyPlaintextMigration);
+    }
+
+    private AuthService authService(PasswordEncoder encoder) {
+        AuthService authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(authService, "tokenService", tokenService);
+        return authService;
+    }
+
+    // Note: Key generate lúc startup chỉ được phép ở dev/test profiles
+    private static JwtSigningKey ephemeralKey() throws Exception {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+        return new JwtKeyConfig().jwtSigningKey("", "", environment);
+    }
+}
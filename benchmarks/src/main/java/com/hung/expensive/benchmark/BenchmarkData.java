@@ -0,0 +1,101 @@
+package com.hung.expensive.benchmark;
+
+import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.entity.Category;
+import com.hung.expensive.entity.Expense;
+import com.hung.expensive.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Why: Fixtures dùng chung cho các benchmarks - dữ liệu giống production listing (một user, vài categories)
+ * Design decision: Entities được build sẵn trong @Setup, không có database/Spring context
+ */
+public final class BenchmarkData {
+
+    private static final int CATEGORY_COUNT = 8;
+
+    private BenchmarkData() {}
+
+    public static User user() {
+        User user = new User("benchmark", "benchmark@example.com", "password");
+        user.setId(1L);
+        return user;
+    }
+
+    public static List<Category> categories(User user) {
+        List<Category> categories = new ArrayList<>(CATEGORY_COUNT);
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            Category category = new Category("Category " + i, "Description " + i, user);
+            category.setId((long) i + 1);
+            category.setColorCode("#FF6B6B");
+            category.setIconName("icon-" + i);
+            category.setIsDefault(false);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    /**
+     * Why: Một page expenses với đủ fields như row load từ database
+     */
+    public static Page<Expense> expensePage(int rows) {
+        User user = user();
+        List<Category> categories = categories(user);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+        List<Expense> expenses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Expense expense = new Expense(BigDecimal.valueOf(10_000L + i * 137L, 2), "Expense " + i,
+                    start.plusDays(i % 365), user, categories.get(i % categories.size()));
+            expense.setId((long) i + 1);
+            expense.setNotes("Notes for expense " + i);
+            expense.setLocation("Location " + (i % 20));
+            expense.setCreatedAt(createdAt.plusMinutes(i));
+            expense.setUpdatedAt(createdAt.plusMinutes(i));
+            expenses.add(expense);
+        }
+        return new PageImpl<>(expenses, PageRequest.of(0, rows), rows * 10L);
+    }
+
+    /**
+     * Why: Page<ExpenseResponse> như controller trả về cho ApiResponse
+     */
+    public static Page<ExpenseResponse> expenseResponsePage(int rows) {
+        return expensePage(rows).map(expense -> {
+            ExpenseResponse response = new ExpenseResponse();
+            response.setId(expense.getId());
+            response.setAmount(expense.getAmount());
+            response.setDescription(expense.getDescription());
+            response.setNotes(expense.getNotes());
+            response.setExpenseDate(expense.getExpenseDate());
+            response.setLocation(expense.getLocation());
+            response.setCreatedAt(expense.getCreatedAt());
+            response.setUpdatedAt(expense.getUpdatedAt());
+            response.setCategoryId(expense.getCategory().getId());
+            response.setCategoryName(expense.getCategory().getName());
+            response.setCategoryColorCode(expense.getCategory().getColorCode());
+            response.setCategoryIconName(expense.getCategory().getIconName());
+            return response;
+        });
+    }
+
+    /**
+     * Why: Rows giống kết quả CategoryRepository.findCategoryStatsWithExpenses (id, name, count, total)
+     */
+    public static List<Object[]> categoryStats(int rows) {
+        List<Object[]> stats = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            stats.add(new Object[] {(long) i + 1, "Category " + i, (long) i * 3, BigDecimal.valueOf(i * 12_345L, 2)});
+        }
+        return stats;
+    }
+}
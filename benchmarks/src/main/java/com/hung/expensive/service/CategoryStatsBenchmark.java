@@ -0,0 +1,53 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.benchmark.BenchmarkData;
+import com.hung.expensive.dto.CategoryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Why: Đo CategoryService.mapToResponseWithStats trên rows của findCategoryStatsWithExpenses
+ * Design decision: Cùng package với CategoryService để gọi mapper package-private
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryStatsBenchmark {
+
+    @Param({"10", "100"})
+    private int rows;
+
+    private CategoryService categoryService;
+    private List<Object[]> stats;
+
+    @Setup
+    public void setUp() {
+        categoryService = new CategoryService(null, null, null);
+        stats = BenchmarkData.categoryStats(rows);
+    }
+
+    @Benchmark
+    public List<CategoryResponse> mapStats() {
+        List<CategoryResponse> responses = new ArrayList<>(stats.size());
+        for (Object[] row : stats) {
+            responses.add(categoryService.mapToResponseWithStats(row));
+        }
+        return responses;
+    }
+}
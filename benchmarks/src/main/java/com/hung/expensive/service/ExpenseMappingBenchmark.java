@@ -0,0 +1,49 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.benchmark.BenchmarkData;
+import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.entity.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Why: Đo ExpenseService.mapToResponse trên một page - cùng shape với getUserExpenses (Page.map)
+ * Design decision: Cùng package với ExpenseService để gọi mapper package-private, repositories = null vì không dùng
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int rows;
+
+    private ExpenseService expenseService;
+    private Page<Expense> page;
+
+    @Setup
+    public void setUp() {
+        expenseService = new ExpenseService(null, null, null, null, null);
+        page = BenchmarkData.expensePage(rows);
+    }
+
+    @Benchmark
+    public Page<ExpenseResponse> mapPage() {
+        return page.map(expenseService::mapToResponse);
+    }
+}
@@ -0,0 +1,65 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.benchmark.BenchmarkData;
+import com.hung.expensive.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Why: Đo JwtService generate/parse/validate - chạy trên mọi authenticated request (JwtAuthenticationFilter)
+ * Design decision: Inject secret/expiration bằng reflection thay cho @Value, không cần Spring context
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        setField("secretKey", "mySecretKey123456789012345678901234567890");
+        setField("jwtExpiration", 86_400_000L);
+        user = BenchmarkData.user();
+        token = jwtService.generateToken(user.getUsername());
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user.getUsername());
+    }
+
+    @Benchmark
+    public String parse() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtService.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtService, value);
+    }
+}
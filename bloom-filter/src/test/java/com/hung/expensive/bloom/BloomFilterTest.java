@@ -0,0 +1,105 @@
+package com.hung.expensive.bloom;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: auth-service serialize filter, gateway deserialize - round trip phải giữ nguyên bits và kết quả mightContain
+ */
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+
+    @Test
+    void serializationRoundTripKeepsMembership() throws IOException {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, 0.01);
+        String[] inserted = new String[INSERTIONS];
+        for (int i = 0; i < INSERTIONS; i++) {
+            inserted[i] = UUID.randomUUID().toString();
+            filter.put(inserted[i]);
+        }
+
+        byte[] bytes = serialize(filter);
+        BloomFilter copy = BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+
+        assertEquals(filter.bitSize(), copy.bitSize());
+        assertArrayEquals(bytes, serialize(copy));
+        for (String value : inserted) {
+            assertTrue(copy.mightContain(value));
+        }
+        for (int i = 0; i < INSERTIONS; i++) {
+            String absent = UUID.randomUUID().toString();
+            assertEquals(filter.mightContain(absent), copy.mightContain(absent));
+        }
+    }
+
+    @Test
+    void falsePositiveRateNearTarget() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("user-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        // Why: 1% target, chừa biên cho phương sai
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    /**
+     * Why: Gateway và auth-service deploy lệch version - hash/layout không được đổi âm thầm
+     */
+    @Test
+    void wireFormatIsStable() throws IOException {
+        BloomFilter filter = BloomFilter.create(8, 0.01);
+        filter.put("jti-1");
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialize(filter)));
+        assertEquals(1, in.readByte());
+        assertEquals(11, in.readInt());
+        long[] words = new long[in.readInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        assertEquals(-1, in.read());
+        assertArrayEquals(new long[]{0x8208000000004104L, 0x1040000000020820L}, words, Arrays.toString(words));
+    }
+
+    @Test
+    void rejectsUnknownVersionAndTruncatedInput() throws IOException {
+        byte[] bytes = serialize(BloomFilter.create(100, 0.01));
+
+        byte[] otherVersion = bytes.clone();
+        otherVersion[0] = 2;
+        assertThrows(IOException.class, () -> BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(otherVersion))));
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        assertThrows(EOFException.class, () -> BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(truncated))));
+        assertFalse(BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes))).mightContain("jti-1"));
+    }
+
+    private static byte[] serialize(BloomFilter filter) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            filter.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -2,6 +2,7 @@ package com.hung.expensive.category;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
 /**
@@ -11,6 +12,7 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
  */
 @SpringBootApplication
 @EnableDiscoveryClient
+@EntityScan({"com.hung.expensive.entity", "com.hung.expensive.category.entity"})  // Why: Category nằm trong shared, usage projection trong service
 public class CategoryServiceApplication {
 
     public static void main(String[] args) {
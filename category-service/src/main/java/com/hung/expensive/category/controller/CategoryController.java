@@ -35,7 +35,7 @@ public class CategoryController {
     public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories() {
         try {
             List<CategoryResponse> categories = categoryService.getAllCategories();
-            return ResponseEntity.ok(ApiResponse.success(categories, "Categories retrieved successfully"));
+            return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to retrieve categories: " + e.getMessage()));
@@ -50,13 +50,28 @@ public class CategoryController {
     public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(@PathVariable Long id) {
         try {
             CategoryResponse category = categoryService.getCategoryById(id);
-            return ResponseEntity.ok(ApiResponse.success(category, "Category retrieved successfully"));
+            return ResponseEntity.ok(ApiResponse.success("Category retrieved successfully", category));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("Category not found: " + e.getMessage()));
         }
     }
 
+    /**
+     * Why: Batch lookup categories theo danh sách IDs
+     * Business rule: Internal endpoint cho expense-service enrich listing trong một call
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getCategoriesByIds(@RequestParam List<Long> ids) {
+        try {
+            List<CategoryResponse> categories = categoryService.getCategoriesByIds(ids);
+            return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve categories: " + e.getMessage()));
+        }
+    }
+
     /**
      * Why: Get category by name
      * Business rule: Find category by name for internal service calls
@@ -65,7 +80,7 @@ public class CategoryController {
     public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryByName(@PathVariable String name) {
         try {
             CategoryResponse category = categoryService.getCategoryByName(name);
-            return ResponseEntity.ok(ApiResponse.success(category, "Category found"));
+            return ResponseEntity.ok(ApiResponse.success("Category found", category));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("Category not found: " + e.getMessage()));
@@ -81,7 +96,7 @@ public class CategoryController {
         try {
             CategoryResponse category = categoryService.createCategory(request);
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success(category, "Category created successfully"));
+                    .body(ApiResponse.success("Category created successfully", category));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to create category: " + e.getMessage()));
@@ -98,7 +113,7 @@ public class CategoryController {
             @Valid @RequestBody CategoryRequest request) {
         try {
             CategoryResponse category = categoryService.updateCategory(id, request);
-            return ResponseEntity.ok(ApiResponse.success(category, "Category updated successfully"));
+            return ResponseEntity.ok(ApiResponse.success("Category updated successfully", category));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to update category: " + e.getMessage()));
@@ -128,7 +143,7 @@ public class CategoryController {
     public ResponseEntity<ApiResponse<List<CategoryResponse>>> getDefaultCategories() {
         try {
             List<CategoryResponse> categories = categoryService.getDefaultCategories();
-            return ResponseEntity.ok(ApiResponse.success(categories, "Default categories retrieved successfully"));
+            return ResponseEntity.ok(ApiResponse.success("Default categories retrieved successfully", categories));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to retrieve default categories: " + e.getMessage()));
@@ -0,0 +1,35 @@
+package com.hung.expensive.category.controller;
+
+import com.hung.expensive.category.dto.ExpenseEvent;
+import com.hung.expensive.category.service.CategoryUsageService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Why: Nhận expense events từ outbox relay của expense-service để cập nhật category usage projection
+ * Note: /internal/** không có route trên gateway - chỉ gọi được trong mạng nội bộ
+ */
+@RestController
+@RequestMapping("/internal/expense-events")
+public class ExpenseEventController {
+
+    private final CategoryUsageService categoryUsageService;
+
+    public ExpenseEventController(CategoryUsageService categoryUsageService) {
+        this.categoryUsageService = categoryUsageService;
+    }
+
+    /**
+     * Why: 2xx chỉ sau khi batch đã commit - lỗi thì relay publish lại batch
+     */
+    @PostMapping
+    public ResponseEntity<Void> receive(@RequestBody List<ExpenseEvent> events) {
+        categoryUsageService.apply(events);
+        return ResponseEntity.noContent().build();
+    }
+}
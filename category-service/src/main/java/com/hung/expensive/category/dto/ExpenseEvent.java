@@ -0,0 +1,12 @@
+package com.hung.expensive.category.dto;
+
+/**
+ * Why: Expense event do outbox relay của expense-service POST tới - chỉ giữ các fields category-service dùng
+ *
+ * @param eventId     id outbox row (tăng dần theo thứ tự mutation)
+ * @param eventType   EXPENSE_CREATED, EXPENSE_UPDATED hoặc EXPENSE_DELETED
+ * @param aggregateId expense id
+ * @param payload     ExpenseResponse JSON - trạng thái expense sau mutation
+ */
+public record ExpenseEvent(long eventId, String eventType, long aggregateId, String payload) {
+}
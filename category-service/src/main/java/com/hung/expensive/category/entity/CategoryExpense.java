@@ -0,0 +1,43 @@
+package com.hung.expensive.category.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Category hiện tại của một expense (bản sao từ expense events)
+ * Dùng để biết event nào thật sự đổi counter - created/deleted lặp lại không đếm hai lần
+ */
+@Entity
+@Table(name = "category_expenses")
+public class CategoryExpense {
+    
+    @Id
+    @Column(name = "expense_id")
+    private Long expenseId;
+    
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    
+    // Constructors
+    protected CategoryExpense() {}
+    
+    public CategoryExpense(Long expenseId, Long categoryId) {
+        this.expenseId = expenseId;
+        this.categoryId = categoryId;
+    }
+    
+    // Getters and Setters
+    public Long getExpenseId() {
+        return expenseId;
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+}
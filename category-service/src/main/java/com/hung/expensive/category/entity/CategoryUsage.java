@@ -0,0 +1,38 @@
+package com.hung.expensive.category.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Số expenses đang dùng một category - category không có row nghĩa là 0
+ */
+@Entity
+@Table(name = "category_usage")
+public class CategoryUsage {
+    
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+    
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+    
+    // Constructors
+    protected CategoryUsage() {}
+    
+    public CategoryUsage(Long categoryId, long expenseCount) {
+        this.categoryId = categoryId;
+        this.expenseCount = expenseCount;
+    }
+    
+    // Getters
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public long getExpenseCount() {
+        return expenseCount;
+    }
+}
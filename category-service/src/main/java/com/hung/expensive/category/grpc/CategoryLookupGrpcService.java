@@ -0,0 +1,75 @@
+package com.hung.expensive.category.grpc;
+
+import com.hung.expensive.category.repository.CategoryRepository;
+import com.hung.expensive.entity.Category;
+import com.hung.expensive.grpc.CategoryLookupGrpc;
+import com.hung.expensive.grpc.InternalLookupProto.CategoryList;
+import com.hung.expensive.grpc.InternalLookupProto.CategorySummary;
+import com.hung.expensive.grpc.InternalLookupProto.ExistsReply;
+import com.hung.expensive.grpc.InternalLookupProto.IdList;
+import com.hung.expensive.grpc.InternalLookupProto.IdRequest;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Why: Internal gRPC lookups cho expense-service - validate category khi tạo expense, enrich expense listing
+ * Design decision: BatchGet chỉ trả các field expense-service hiển thị (name/color/icon) - không tính
+ * expenseCount như GET /api/categories/batch nên không có query phụ
+ * Note: REST /api/categories vẫn giữ nguyên cho external clients
+ */
+@Service
+public class CategoryLookupGrpcService extends CategoryLookupGrpc.CategoryLookupImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryLookupGrpcService.class);
+
+    private final CategoryRepository categoryRepository;
+
+    // Why: Giới hạn IN list - một page expenses có tối đa vài chục categories
+    @Value("${expensive.grpc.server.max-batch-size:500}")
+    private int maxBatchSize;
+
+    public CategoryLookupGrpcService(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    public void exists(IdRequest request, StreamObserver<ExistsReply> responseObserver) {
+        try {
+            responseObserver.onNext(new ExistsReply(categoryRepository.existsById(request.id())));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            log.warn("Category lookup failed for id {}: {}", request.id(), e.getMessage());
+            responseObserver.onError(Status.INTERNAL.withDescription("Category lookup failed").asRuntimeException());
+        }
+    }
+
+    @Override
+    public void batchGet(IdList request, StreamObserver<CategoryList> responseObserver) {
+        if (request.ids().size() > maxBatchSize) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                .withDescription("Tối đa " + maxBatchSize + " ids mỗi request").asRuntimeException());
+            return;
+        }
+        try {
+            List<CategorySummary> categories = request.ids().isEmpty()
+                ? List.of()
+                : categoryRepository.findAllById(request.ids()).stream().map(this::toSummary).toList();
+            responseObserver.onNext(new CategoryList(categories));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            log.warn("Category batch lookup failed for {} ids: {}", request.ids().size(), e.getMessage());
+            responseObserver.onError(Status.INTERNAL.withDescription("Category lookup failed").asRuntimeException());
+        }
+    }
+
+    private CategorySummary toSummary(Category category) {
+        return new CategorySummary(category.getId(), category.getName(), category.getColorCode(),
+            category.getIconName());
+    }
+}
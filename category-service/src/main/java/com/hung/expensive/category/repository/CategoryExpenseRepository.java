@@ -0,0 +1,12 @@
+package com.hung.expensive.category.repository;
+
+import com.hung.expensive.category.entity.CategoryExpense;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Expense -> category projection repository
+ */
+@Repository
+public interface CategoryExpenseRepository extends JpaRepository<CategoryExpense, Long> {
+}
@@ -2,6 +2,7 @@ package com.hung.expensive.category.repository;
 
 import com.hung.expensive.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -43,13 +44,6 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT c FROM Category c WHERE c.name LIKE %:name%")
     List<Category> findByNameContaining(@Param("name") String name);
 
-    /**
-     * Why: Find active categories only
-     * Business rule: Chỉ return active categories
-     */
-    @Query("SELECT c FROM Category c WHERE c.isActive = true")
-    List<Category> findActiveCategories();
-
     /**
      * Why: Count total categories
      * Business rule: Statistics và reporting
@@ -64,4 +58,13 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT c FROM Category c WHERE c.createdAt BETWEEN :startDate AND :endDate")
     List<Category> findCategoriesCreatedBetween(@Param("startDate") java.time.LocalDateTime startDate, 
                                                @Param("endDate") java.time.LocalDateTime endDate);
+
+    /**
+     * Why: Xóa category bằng một DELETE - deleteById cascade qua Category.expenses và query bảng expenses,
+     * bảng không có trong database của service này
+     * Business rule: Chỉ gọi sau khi usage projection xác nhận category không còn expenses
+     */
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id")
+    int deleteCategoryById(@Param("id") Long id);
 }
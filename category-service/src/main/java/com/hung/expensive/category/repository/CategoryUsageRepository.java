@@ -0,0 +1,25 @@
+package com.hung.expensive.category.repository;
+
+import com.hung.expensive.category.entity.CategoryUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Category usage counters repository
+ */
+@Repository
+public interface CategoryUsageRepository extends JpaRepository<CategoryUsage, Long> {
+    
+    // Cộng/trừ counter tại chỗ - 0 rows nghĩa là category chưa có counter
+    @Modifying
+    @Query("update CategoryUsage u set u.expenseCount = u.expenseCount + :delta where u.categoryId = :categoryId")
+    int addToCount(@Param("categoryId") Long categoryId, @Param("delta") long delta);
+    
+    // Category đã xóa không cần counter
+    @Modifying
+    @Query("delete from CategoryUsage u where u.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+}
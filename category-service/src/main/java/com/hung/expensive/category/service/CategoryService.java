@@ -9,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,39 +23,58 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryUsageService categoryUsageService;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryUsageService categoryUsageService) {
         this.categoryRepository = categoryRepository;
+        this.categoryUsageService = categoryUsageService;
     }
 
     /**
      * Why: Get all categories
      * Business rule: Return all available categories
      */
+    @Transactional(readOnly = true)
     public List<CategoryResponse> getAllCategories() {
         List<Category> categories = categoryRepository.findAll();
-        return categories.stream()
+        return withExpenseCounts(categories.stream()
                 .map(this::mapToCategoryResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
      * Why: Get category by ID
      * Business rule: Return specific category details
      */
+    @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id) {
         Optional<Category> categoryOpt = categoryRepository.findById(id);
         if (categoryOpt.isEmpty()) {
             throw new RuntimeException("Category not found with ID: " + id);
         }
 
-        return mapToCategoryResponse(categoryOpt.get());
+        CategoryResponse response = mapToCategoryResponse(categoryOpt.get());
+        response.setExpenseCount(categoryUsageService.expenseCount(id));
+        return response;
+    }
+
+    /**
+     * Why: Get nhiều categories theo IDs trong một query
+     * Business rule: Expense service dùng để enrich một page expenses, tránh N calls
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryResponse> getCategoriesByIds(List<Long> ids) {
+        List<Category> categories = categoryRepository.findAllById(ids);
+        return withExpenseCounts(categories.stream()
+                .map(this::mapToCategoryResponse)
+                .collect(Collectors.toList()));
     }
 
     /**
      * Why: Get category by name
      * Business rule: Find category by name for internal service calls
      */
+    @Transactional(readOnly = true)
     public CategoryResponse getCategoryByName(String name) {
         Optional<Category> categoryOpt = categoryRepository.findByName(name);
         if (categoryOpt.isEmpty()) {
@@ -78,8 +98,8 @@ public class CategoryService {
         Category category = new Category();
         category.setName(request.getName());
         category.setDescription(request.getDescription());
-        category.setColor(request.getColor());
-        category.setIcon(request.getIcon());
+        category.setColorCode(request.getColorCode());
+        category.setIconName(request.getIconName());
 
         Category savedCategory = categoryRepository.save(category);
         return mapToCategoryResponse(savedCategory);
@@ -100,8 +120,8 @@ public class CategoryService {
         // Why: Update fields
         category.setName(request.getName());
         category.setDescription(request.getDescription());
-        category.setColor(request.getColor());
-        category.setIcon(request.getIcon());
+        category.setColorCode(request.getColorCode());
+        category.setIconName(request.getIconName());
 
         Category updatedCategory = categoryRepository.save(category);
         return mapToCategoryResponse(updatedCategory);
@@ -109,7 +129,7 @@ public class CategoryService {
 
     /**
      * Why: Delete category
-     * Business rule: Check if category is used, soft delete
+     * Business rule: Category còn expenses thì không được xóa
      */
     public void deleteCategory(Long id) {
         Optional<Category> categoryOpt = categoryRepository.findById(id);
@@ -117,9 +137,14 @@ public class CategoryService {
             throw new RuntimeException("Category not found with ID: " + id);
         }
 
-        // Why: Check if category is used in expenses (simplified check)
-        // Trong thực tế cần check với expense service
-        categoryRepository.deleteById(id);
+        // Why: Check local trên usage projection (replicate từ expense events) - không gọi sang expense service
+        long expenseCount = categoryUsageService.expenseCount(id);
+        if (expenseCount > 0) {
+            throw new RuntimeException("Category is used by " + expenseCount + " expenses");
+        }
+
+        categoryRepository.deleteCategoryById(id);
+        categoryUsageService.forget(id);
     }
 
     /**
@@ -151,14 +176,24 @@ public class CategoryService {
                 Category category = new Category();
                 category.setName(name);
                 category.setDescription("Danh mục mặc định: " + name);
-                category.setColor("#007bff"); // Default blue color
-                category.setIcon("default-icon");
+                category.setColorCode("#007bff"); // Default blue color
+                category.setIconName("default-icon");
                 category.setIsDefault(true);
                 categoryRepository.save(category);
             }
         }
     }
 
+    /**
+     * Why: Badge "đang dùng" cho list categories - một lookup counters cho cả list
+     */
+    private List<CategoryResponse> withExpenseCounts(List<CategoryResponse> responses) {
+        Map<Long, Long> counts = categoryUsageService.expenseCounts(
+                responses.stream().map(CategoryResponse::getId).collect(Collectors.toList()));
+        responses.forEach(response -> response.setExpenseCount(counts.getOrDefault(response.getId(), 0L)));
+        return responses;
+    }
+
     /**
      * Why: Map Category entity to CategoryResponse DTO
      * Design decision: Separate mapping logic để maintain clean code
@@ -168,8 +203,8 @@ public class CategoryService {
         response.setId(category.getId());
         response.setName(category.getName());
         response.setDescription(category.getDescription());
-        response.setColor(category.getColor());
-        response.setIcon(category.getIcon());
+        response.setColorCode(category.getColorCode());
+        response.setIconName(category.getIconName());
         response.setIsDefault(category.getIsDefault());
         response.setCreatedAt(category.getCreatedAt());
         response.setUpdatedAt(category.getUpdatedAt());
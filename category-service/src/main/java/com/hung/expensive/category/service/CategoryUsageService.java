@@ -0,0 +1,131 @@
+package com.hung.expensive.category.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hung.expensive.category.dto.ExpenseEvent;
+import com.hung.expensive.category.entity.CategoryExpense;
+import com.hung.expensive.category.entity.CategoryUsage;
+import com.hung.expensive.category.repository.CategoryExpenseRepository;
+import com.hung.expensive.category.repository.CategoryUsageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Why: Số expenses theo category được replicate từ expense events - xóa category và badge "đang dùng"
+ * là lookup theo primary key, không gọi sang expense-service
+ * Design decision: Giữ category hiện tại của từng expense (category_expenses) và chỉ đổi counter khi mapping đổi,
+ * nên event bị publish lại (relay at-least-once) không làm lệch counter
+ * Note: Giả định events của cùng một expense đến theo thứ tự - relay publish theo id và partition theo user
+ */
+@Service
+@Transactional
+public class CategoryUsageService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryUsageService.class);
+
+    private final CategoryExpenseRepository categoryExpenseRepository;
+    private final CategoryUsageRepository categoryUsageRepository;
+    private final ObjectMapper objectMapper;
+
+    public CategoryUsageService(CategoryExpenseRepository categoryExpenseRepository,
+                                CategoryUsageRepository categoryUsageRepository,
+                                ObjectMapper objectMapper) {
+        this.categoryExpenseRepository = categoryExpenseRepository;
+        this.categoryUsageRepository = categoryUsageRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Why: Apply một batch events trong một transaction - batch lỗi thì relay gửi lại cả batch
+     * Performance: Load mappings của cả batch bằng một query, gộp deltas rồi mỗi category chỉ một UPDATE
+     */
+    public void apply(List<ExpenseEvent> events) {
+        Map<Long, CategoryExpense> mappings = new HashMap<>();
+        categoryExpenseRepository.findAllById(events.stream().map(ExpenseEvent::aggregateId).collect(Collectors.toSet()))
+                .forEach(mapping -> mappings.put(mapping.getExpenseId(), mapping));
+
+        Map<Long, Long> deltas = new HashMap<>();
+        for (ExpenseEvent event : events) {
+            CategoryExpense mapping = mappings.get(event.aggregateId());
+            switch (event.eventType()) {
+                case "EXPENSE_CREATED", "EXPENSE_UPDATED" -> {
+                    Long categoryId = categoryIdOf(event);
+                    if (categoryId == null) {
+                        continue;
+                    }
+                    if (mapping == null) {
+                        mappings.put(event.aggregateId(),
+                                categoryExpenseRepository.save(new CategoryExpense(event.aggregateId(), categoryId)));
+                        deltas.merge(categoryId, 1L, Long::sum);
+                    } else if (!mapping.getCategoryId().equals(categoryId)) {
+                        deltas.merge(mapping.getCategoryId(), -1L, Long::sum);
+                        deltas.merge(categoryId, 1L, Long::sum);
+                        mapping.setCategoryId(categoryId);
+                    }
+                }
+                case "EXPENSE_DELETED" -> {
+                    if (mapping != null) {
+                        categoryExpenseRepository.delete(mapping);
+                        mappings.remove(event.aggregateId());
+                        deltas.merge(mapping.getCategoryId(), -1L, Long::sum);
+                    }
+                }
+                default -> log.debug("Ignoring expense event {} of type {}", event.eventId(), event.eventType());
+            }
+        }
+
+        deltas.forEach((categoryId, delta) -> {
+            if (delta != 0 && categoryUsageRepository.addToCount(categoryId, delta) == 0) {
+                categoryUsageRepository.save(new CategoryUsage(categoryId, delta));
+            }
+        });
+    }
+
+    /**
+     * Why: Số expenses đang dùng category - 0 nếu chưa có counter
+     */
+    @Transactional(readOnly = true)
+    public long expenseCount(Long categoryId) {
+        return categoryUsageRepository.findById(categoryId).map(CategoryUsage::getExpenseCount).orElse(0L);
+    }
+
+    /**
+     * Why: Counters cho cả list categories trong một query
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> expenseCounts(Collection<Long> categoryIds) {
+        return categoryUsageRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(CategoryUsage::getCategoryId, CategoryUsage::getExpenseCount));
+    }
+
+    /**
+     * Why: Category đã xóa - bỏ counter (luôn là 0 vì chỉ xóa được category không còn expenses)
+     */
+    public void forget(Long categoryId) {
+        categoryUsageRepository.deleteByCategoryId(categoryId);
+    }
+
+    // Why: Payload lỗi không được chặn cả stream - log và bỏ qua event đó
+    private Long categoryIdOf(ExpenseEvent event) {
+        try {
+            JsonNode categoryId = objectMapper.readTree(event.payload()).path("categoryId");
+            if (categoryId.canConvertToLong()) {
+                return categoryId.asLong();
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable payload in expense event {}: {}", event.eventId(), e.getMessage());
+            return null;
+        }
+        log.warn("Expense event {} has no categoryId", event.eventId());
+        return null;
+    }
+}
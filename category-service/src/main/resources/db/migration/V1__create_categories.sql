@@ -0,0 +1,16 @@
+-- Why: Baseline schema cho category-service - khớp với schema ddl-auto đã tạo trước đây
+-- Design decision: user_id không có foreign key vì users thuộc user-service
+-- Existing database: Flyway baseline ở version 1 (spring.flyway.baseline-on-migrate) rồi chỉ chạy V2+
+
+CREATE TABLE IF NOT EXISTS categories (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    color_code  VARCHAR(255),
+    icon_name   VARCHAR(255),
+    is_default  BIT,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    user_id     BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+);
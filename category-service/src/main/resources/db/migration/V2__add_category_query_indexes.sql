@@ -0,0 +1,10 @@
+-- Why: Indexes cho query shapes trong CategoryRepository
+
+-- findByName, existsByName (lookup theo tên khi tạo category)
+CREATE INDEX idx_categories_name ON categories (name);
+
+-- findByIsDefaultTrue (default categories cho mọi user)
+CREATE INDEX idx_categories_default ON categories (is_default);
+
+-- Categories của một user, sort theo tên
+CREATE INDEX idx_categories_user_name ON categories (user_id, name);
@@ -0,0 +1,18 @@
+-- Why: Projection số expenses theo category, build từ expense events của expense-service -
+-- check xóa category và badge "đang dùng" là lookup local, không gọi sang expense-service
+
+-- Category hiện tại của mỗi expense - event lặp lại/đến lại không làm lệch counter
+CREATE TABLE category_expenses (
+    expense_id  BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    PRIMARY KEY (expense_id)
+);
+
+CREATE INDEX idx_category_expenses_category ON category_expenses (category_id);
+
+-- Counter theo category - lookup theo primary key
+CREATE TABLE category_usage (
+    category_id   BIGINT NOT NULL,
+    expense_count BIGINT NOT NULL,
+    PRIMARY KEY (category_id)
+);
@@ -0,0 +1,158 @@
+package com.hung.expensive.category.service;
+
+import com.hung.expensive.category.dto.ExpenseEvent;
+import com.hung.expensive.category.repository.CategoryExpenseRepository;
+import com.hung.expensive.category.repository.CategoryUsageRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Why: Usage projection quyết định category có xóa được không - counter phải đúng khi relay gửi lại events,
+ * khi expense đổi category và khi expense bị xóa
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:category_usage;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "expensive.grpc.server.port=0",
+        // Note: JWT được gateway validate - service chỉ nhận traffic đã authenticate
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                + "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration"
+})
+class CategoryUsageServiceTest {
+
+    // Note: Test chạy từ thư mục category-service - dùng đúng migrations của expense-service cho backfill
+    private static final String EXPENSE_MIGRATIONS = "filesystem:../expense-service/src/main/resources/db/migration";
+
+    private static final long FOOD = 1L;
+    private static final long TRANSPORT = 2L;
+
+    @Autowired
+    private CategoryUsageService categoryUsageService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryExpenseRepository categoryExpenseRepository;
+
+    @Autowired
+    private CategoryUsageRepository categoryUsageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        categoryExpenseRepository.deleteAll();
+        categoryUsageRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    void redeliveredEventIsCountedOnce() {
+        ExpenseEvent created = created(1L, 10L, FOOD);
+
+        categoryUsageService.apply(List.of(created));
+        // Why: Relay at-least-once - batch lỗi sau khi consumer đã apply sẽ được gửi lại nguyên vẹn
+        categoryUsageService.apply(List.of(created));
+        categoryUsageService.apply(List.of(created, created));
+
+        assertEquals(1, categoryUsageService.expenseCount(FOOD));
+    }
+
+    @Test
+    void movingExpenseUpdatesBothCategories() {
+        categoryUsageService.apply(List.of(created(1L, 10L, FOOD), created(2L, 11L, FOOD)));
+
+        categoryUsageService.apply(List.of(updated(3L, 10L, TRANSPORT)));
+
+        assertEquals(1, categoryUsageService.expenseCount(FOOD));
+        assertEquals(1, categoryUsageService.expenseCount(TRANSPORT));
+    }
+
+    @Test
+    void deletedExpenseDecrementsItsCategory() {
+        categoryUsageService.apply(List.of(created(1L, 10L, FOOD), created(2L, 11L, FOOD)));
+
+        categoryUsageService.apply(List.of(deleted(3L, 10L)));
+        // Note: Delete gửi lại không trừ lần nữa
+        categoryUsageService.apply(List.of(deleted(3L, 10L)));
+
+        assertEquals(1, categoryUsageService.expenseCount(FOOD));
+    }
+
+    @Test
+    void backfilledEventsSeedCounts() {
+        DriverManagerDataSource expenseDatabase =
+                new DriverManagerDataSource("jdbc:h2:mem:expense_backfill;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(expenseDatabase).locations(EXPENSE_MIGRATIONS).target("3").load().migrate();
+        JdbcTemplate expenses = new JdbcTemplate(expenseDatabase);
+        insertExpense(expenses, FOOD, "12.50");
+        insertExpense(expenses, FOOD, "7.00");
+        insertExpense(expenses, TRANSPORT, "30.00");
+        Flyway.configure().dataSource(expenseDatabase).locations(EXPENSE_MIGRATIONS).load().migrate();
+
+        List<ExpenseEvent> backfill = expenses.query(
+                "SELECT id, event_type, aggregate_id, payload FROM outbox_events ORDER BY id",
+                (rs, rowNum) -> new ExpenseEvent(rs.getLong("id"), rs.getString("event_type"),
+                        rs.getLong("aggregate_id"), rs.getString("payload")));
+        categoryUsageService.apply(backfill);
+        // Why: Event thật của expense đã backfill (created trước khi relay chạy) không được đếm thêm
+        categoryUsageService.apply(List.of(created(100L, backfill.get(0).aggregateId(), FOOD)));
+
+        assertEquals(3, backfill.size());
+        assertEquals(2, categoryUsageService.expenseCount(FOOD));
+        assertEquals(1, categoryUsageService.expenseCount(TRANSPORT));
+    }
+
+    @Test
+    void categoryInUseCannotBeDeleted() {
+        jdbcTemplate.update("INSERT INTO categories (name, is_default, user_id) VALUES ('Ăn uống', false, 1)");
+        Long categoryId = jdbcTemplate.queryForObject("SELECT id FROM categories WHERE name = 'Ăn uống'", Long.class);
+        categoryUsageService.apply(List.of(created(1L, 10L, categoryId)));
+
+        RuntimeException refused = assertThrows(RuntimeException.class, () -> categoryService.deleteCategory(categoryId));
+        assertEquals("Category is used by 1 expenses", refused.getMessage());
+
+        categoryUsageService.apply(List.of(deleted(2L, 10L)));
+        categoryService.deleteCategory(categoryId);
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Integer.class));
+    }
+
+    private static ExpenseEvent created(long eventId, long expenseId, long categoryId) {
+        return new ExpenseEvent(eventId, "EXPENSE_CREATED", expenseId, payload(expenseId, categoryId));
+    }
+
+    private static ExpenseEvent updated(long eventId, long expenseId, long categoryId) {
+        return new ExpenseEvent(eventId, "EXPENSE_UPDATED", expenseId, payload(expenseId, categoryId));
+    }
+
+    private static ExpenseEvent deleted(long eventId, long expenseId) {
+        return new ExpenseEvent(eventId, "EXPENSE_DELETED", expenseId, "{\"id\":" + expenseId + "}");
+    }
+
+    private static String payload(long expenseId, long categoryId) {
+        return "{\"id\":" + expenseId + ",\"userId\":1,\"categoryId\":" + categoryId + ",\"amount\":10.00}";
+    }
+
+    private static void insertExpense(JdbcTemplate expenses, long categoryId, String amount) {
+        expenses.update("INSERT INTO expenses (amount, description, expense_date, user_id, category_id) "
+                + "VALUES (" + amount + ", 'backfill', DATE '2024-01-15', 1, ?)", categoryId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.hung.expensive.expensequery;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+
+/**
+ * Why: Read path non-blocking cho expense data, deploy tách khỏi expense-service
+ * Design decision: Burst analytical reads chậm chỉ chiếm event loop/JDBC pool của service này - Tomcat threads
+ * và Hikari pool của expense-service để dành cho writes
+ * Business requirement: List, detail, aggregates và export streaming trên cùng database với expense-service
+ */
+@SpringBootApplication
+@EnableDiscoveryClient
+public class ExpenseQueryServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ExpenseQueryServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,42 @@
+package com.hung.expensive.expensequery.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Why: Bulkhead cho JDBC calls của read path
+ * Design decision: JDBC là blocking - chạy trên bounded elastic schedulers riêng. Exports giữ connection suốt
+ * thời gian client đọc nên có scheduler và giới hạn riêng (expense-query.export.max-concurrent); queries dùng
+ * phần còn lại của Hikari pool, nên tổng threads không vượt maximum-pool-size và không thread nào phải chờ
+ * connection. Hàng đợi đầy thì task bị từ chối (RejectedExecutionException -> 503) thay vì dồn vô hạn request vào memory
+ */
+@Configuration
+public class ExpenseQueryConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                   @Value("${expense-query.export.max-concurrent:2}") int maxConcurrentExports,
+                                   @Value("${expense-query.jdbc.queue-capacity:1000}") int queueCapacity) {
+        if (maxConcurrentExports >= poolSize) {
+            throw new IllegalStateException("expense-query.export.max-concurrent (" + maxConcurrentExports
+                + ") must be lower than spring.datasource.hikari.maximum-pool-size (" + poolSize + ")");
+        }
+        return Schedulers.newBoundedElastic(poolSize - maxConcurrentExports, queueCapacity, "expense-query-jdbc");
+    }
+
+    // Why: Threads riêng cho exports - export chậm không chiếm threads của list/aggregate queries
+    @Bean(destroyMethod = "dispose")
+    public Scheduler exportScheduler(@Value("${expense-query.export.max-concurrent:2}") int maxConcurrentExports) {
+        return Schedulers.newBoundedElastic(maxConcurrentExports, maxConcurrentExports, "expense-query-export");
+    }
+
+    @Bean
+    public WebClient categoryServiceWebClient(WebClient.Builder builder,
+                                              @Value("${services.category-service.url:http://localhost:8084}") String baseUrl) {
+        return builder.baseUrl(baseUrl).build();
+    }
+}
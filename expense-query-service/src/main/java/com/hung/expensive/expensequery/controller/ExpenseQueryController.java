@@ -0,0 +1,109 @@
+package com.hung.expensive.expensequery.controller;
+
+import com.hung.expensive.dto.ApiResponse;
+import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.expensequery.dto.CategoryTotal;
+import com.hung.expensive.expensequery.dto.MonthlyTotal;
+import com.hung.expensive.expensequery.service.ExpenseQueryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Why: Read-only expense endpoints trên WebFlux - cùng query shapes với GET /api/expenses của expense-service
+ * Design decision: Path riêng /api/expense-queries để chạy song song với servlet path và so sánh dưới tải
+ * Business requirement: Dashboards và exports đọc nặng không làm chậm ghi expense
+ */
+@RestController
+@RequestMapping("/api/expense-queries")
+@CrossOrigin(origins = "*")
+public class ExpenseQueryController {
+
+    // Why: Page lớn hơn giữ JDBC thread lâu hơn - export dùng /export thay vì page khổng lồ
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ExpenseQueryService expenseQueryService;
+
+    public ExpenseQueryController(ExpenseQueryService expenseQueryService) {
+        this.expenseQueryService = expenseQueryService;
+    }
+
+    /**
+     * Why: List expenses của user với filter date range / category
+     * Business rule: Không trả tổng số trang - client tải tiếp khi page đầy
+     */
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<ExpenseResponse>>>> getExpenses(
+            @RequestParam Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return expenseQueryService.getExpenses(userId, startDate, endDate, categoryId, Math.max(page, 0), pageSize)
+            .map(expenses -> ResponseEntity.ok(ApiResponse.success("Expenses retrieved successfully", expenses)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<ExpenseResponse>>> getExpense(@PathVariable Long id) {
+        return expenseQueryService.getExpense(id)
+            .map(expense -> ResponseEntity.ok(ApiResponse.success("Expense retrieved successfully", expense)))
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Expense not found: " + id)));
+    }
+
+    @GetMapping("/user/{userId}/total")
+    public Mono<ResponseEntity<ApiResponse<BigDecimal>>> getTotal(@PathVariable Long userId) {
+        return expenseQueryService.getTotal(userId)
+            .map(total -> ResponseEntity.ok(ApiResponse.success("Total expenses retrieved successfully", total)));
+    }
+
+    @GetMapping("/user/{userId}/monthly-totals")
+    public Mono<ResponseEntity<ApiResponse<List<MonthlyTotal>>>> getMonthlyTotals(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return expenseQueryService.getMonthlyTotals(userId, startDate, endDate)
+            .map(totals -> ResponseEntity.ok(ApiResponse.success("Monthly totals retrieved successfully", totals)));
+    }
+
+    @GetMapping("/user/{userId}/category-totals")
+    public Mono<ResponseEntity<ApiResponse<List<CategoryTotal>>>> getCategoryTotals(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return expenseQueryService.getCategoryTotals(userId, startDate, endDate)
+            .map(totals -> ResponseEntity.ok(ApiResponse.success("Category totals retrieved successfully", totals)));
+    }
+
+    /**
+     * Why: Export toàn bộ expenses của user - một JSON object mỗi dòng, client xử lý dần khi nhận
+     * Performance: Netty chỉ request thêm rows khi socket ghi được - client chậm không làm service đầy memory
+     */
+    @GetMapping(value = "/user/{userId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ExpenseResponse> exportExpenses(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return expenseQueryService.streamExpenses(userId, startDate, endDate);
+    }
+
+    /**
+     * Why: JDBC scheduler đã đầy hoặc đã đủ exports đồng thời - báo quá tải để client/gateway retry sau thay vì chờ vô hạn
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOverload(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(ApiResponse.error("Expense query service is overloaded, please retry"));
+    }
+}
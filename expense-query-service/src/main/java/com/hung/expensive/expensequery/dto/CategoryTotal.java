@@ -0,0 +1,9 @@
+package com.hung.expensive.expensequery.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Why: Tổng chi tiêu theo category trong khoảng ngày - data cho pie chart
+ */
+public record CategoryTotal(Long categoryId, String categoryName, BigDecimal total, long expenseCount) {
+}
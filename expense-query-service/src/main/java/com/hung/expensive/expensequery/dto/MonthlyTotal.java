@@ -0,0 +1,9 @@
+package com.hung.expensive.expensequery.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Why: Tổng chi tiêu một tháng - một row của GROUP BY year, month
+ */
+public record MonthlyTotal(int year, int month, BigDecimal total, long expenseCount) {
+}
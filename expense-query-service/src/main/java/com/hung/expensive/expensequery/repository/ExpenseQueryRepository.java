@@ -0,0 +1,148 @@
+package com.hung.expensive.expensequery.repository;
+
+import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.expensequery.dto.CategoryTotal;
+import com.hung.expensive.expensequery.dto.MonthlyTotal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Why: Queries đọc trên bảng expenses của expense-service (schema do Flyway của expense-service quản lý)
+ * Design decision: JdbcTemplate + projection thẳng vào ExpenseResponse - không Hibernate, không persistence context
+ * Note: Blocking - chỉ được gọi trên jdbcScheduler/exportScheduler (ExpenseQueryService), không bao giờ trên Netty event loop
+ */
+@Repository
+public class ExpenseQueryRepository {
+
+    private static final String COLUMNS = "id, amount, description, notes, expense_date, location, receipt_url, " +
+                                          "created_at, updated_at, category_id";
+
+    private static final RowMapper<ExpenseResponse> EXPENSE_MAPPER = (rs, rowNum) -> {
+        ExpenseResponse response = new ExpenseResponse();
+        response.setId(rs.getLong("id"));
+        response.setAmount(rs.getBigDecimal("amount"));
+        response.setDescription(rs.getString("description"));
+        response.setNotes(rs.getString("notes"));
+        response.setExpenseDate(rs.getDate("expense_date").toLocalDate());
+        response.setLocation(rs.getString("location"));
+        response.setReceiptUrl(rs.getString("receipt_url"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        response.setCreatedAt(createdAt == null ? null : createdAt.toLocalDateTime());
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        response.setUpdatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime());
+        response.setCategoryId(rs.getLong("category_id"));
+        return response;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public ExpenseQueryRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                  @Value("${expense-query.stream.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Why: Fetch size riêng cho export - MySQL cần useCursorFetch=true trong URL để không load cả result set
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Why: Một page expenses của user, mới nhất trước
+     * Performance: Không có count query - client dùng hasMore (page đầy) thay vì tổng số trang;
+     * idx_expenses_user_date / idx_expenses_user_category_date phục vụ filter + sort
+     */
+    public List<ExpenseResponse> findPage(Long userId, LocalDate startDate, LocalDate endDate, Long categoryId,
+                                          int offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+            .addValue("offset", offset)
+            .addValue("limit", limit);
+        String sql = "SELECT " + COLUMNS + " FROM expenses WHERE user_id = :userId" +
+                     filters(params, startDate, endDate, categoryId) +
+                     " ORDER BY expense_date DESC, id DESC LIMIT :limit OFFSET :offset";
+        return jdbcTemplate.query(sql, params, EXPENSE_MAPPER);
+    }
+
+    public Optional<ExpenseResponse> findById(Long id) {
+        List<ExpenseResponse> rows = jdbcTemplate.query("SELECT " + COLUMNS + " FROM expenses WHERE id = :id",
+            new MapSqlParameterSource("id", id), EXPENSE_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    public BigDecimal totalByUser(Long userId) {
+        BigDecimal total = jdbcTemplate.queryForObject("SELECT SUM(amount) FROM expenses WHERE user_id = :userId",
+            new MapSqlParameterSource("userId", userId), BigDecimal.class);
+        return total == null ? BigDecimal.ZERO : total;
+    }
+
+    /**
+     * Why: Tổng theo tháng - aggregate chạy trong database, chỉ trả về một row mỗi tháng
+     */
+    public List<MonthlyTotal> monthlyTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String sql = "SELECT YEAR(expense_date) AS y, MONTH(expense_date) AS m, SUM(amount) AS total, COUNT(*) AS cnt " +
+                     "FROM expenses WHERE user_id = :userId" + filters(params, startDate, endDate, null) +
+                     " GROUP BY YEAR(expense_date), MONTH(expense_date) ORDER BY y DESC, m DESC";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) ->
+            new MonthlyTotal(rs.getInt("y"), rs.getInt("m"), rs.getBigDecimal("total"), rs.getLong("cnt")));
+    }
+
+    /**
+     * Why: Tổng theo category - categoryName được enrich sau từ category-service
+     */
+    public List<CategoryTotal> categoryTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String sql = "SELECT category_id, SUM(amount) AS total, COUNT(*) AS cnt " +
+                     "FROM expenses WHERE user_id = :userId" + filters(params, startDate, endDate, null) +
+                     " GROUP BY category_id ORDER BY total DESC";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) ->
+            new CategoryTotal(rs.getLong("category_id"), null, rs.getBigDecimal("total"), rs.getLong("cnt")));
+    }
+
+    /**
+     * Why: Toàn bộ expenses của user cho export - đọc dần theo fetch size
+     * Note: Giữ một connection cho tới khi Stream được close; caller phải close (Flux.using)
+     */
+    public Stream<ExpenseResponse> streamByUser(Long userId, LocalDate startDate, LocalDate endDate) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM expenses WHERE user_id = ?");
+        List<Object> args = new ArrayList<>(List.of(userId));
+        if (startDate != null) {
+            sql.append(" AND expense_date >= ?");
+            args.add(Date.valueOf(startDate));
+        }
+        if (endDate != null) {
+            sql.append(" AND expense_date <= ?");
+            args.add(Date.valueOf(endDate));
+        }
+        sql.append(" ORDER BY expense_date DESC, id DESC");
+        return streamingJdbcTemplate.queryForStream(sql.toString(), EXPENSE_MAPPER, args.toArray());
+    }
+
+    private static String filters(MapSqlParameterSource params, LocalDate startDate, LocalDate endDate, Long categoryId) {
+        StringBuilder sql = new StringBuilder();
+        if (categoryId != null) {
+            sql.append(" AND category_id = :categoryId");
+            params.addValue("categoryId", categoryId);
+        }
+        if (startDate != null) {
+            sql.append(" AND expense_date >= :startDate");
+            params.addValue("startDate", startDate);
+        }
+        if (endDate != null) {
+            sql.append(" AND expense_date <= :endDate");
+            params.addValue("endDate", endDate);
+        }
+        return sql.toString();
+    }
+}
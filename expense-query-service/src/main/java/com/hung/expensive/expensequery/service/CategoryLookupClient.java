@@ -0,0 +1,117 @@
+package com.hung.expensive.expensequery.service;
+
+import com.hung.expensive.dto.ApiResponse;
+import com.hung.expensive.dto.CategoryResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Why: Resolve category name/color/icon từ category-service cho read path reactive
+ * Design decision: Giống CategoryLookupService của expense-service - batch call cho distinct IDs + TTL cache -
+ * nhưng qua WebClient nên không block event loop
+ * Business rule: category-service lỗi hoặc chậm thì vẫn trả data, chỉ thiếu category info
+ */
+@Service
+public class CategoryLookupClient {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryLookupClient.class);
+
+    private static final ParameterizedTypeReference<ApiResponse<List<CategoryResponse>>> CATEGORY_LIST =
+        new ParameterizedTypeReference<>() {};
+
+    private final WebClient categoryServiceWebClient;
+    private final Map<Long, CachedCategory> cache = new ConcurrentHashMap<>();
+
+    // Why: Category ít thay đổi - cache vài phút là đủ fresh cho UI
+    @Value("${category.lookup.cache-ttl-ms:300000}")
+    private long cacheTtlMs;
+
+    // Why: Giới hạn memory nếu có quá nhiều categories
+    @Value("${category.lookup.cache-max-size:10000}")
+    private int cacheMaxSize;
+
+    // Why: Enrichment là phụ - không để category-service chậm kéo dài latency của read path
+    @Value("${category.lookup.timeout:2s}")
+    private Duration timeout;
+
+    public CategoryLookupClient(WebClient categoryServiceWebClient) {
+        this.categoryServiceWebClient = categoryServiceWebClient;
+    }
+
+    /**
+     * Why: Categories theo IDs - cache hit trả ngay, cache miss gom thành một batch call
+     *
+     * @return map id -> category; thiếu entry nếu category-service không trả được
+     */
+    public Mono<Map<Long, CategoryResponse>> getCategories(Collection<Long> categoryIds) {
+        Map<Long, CategoryResponse> result = new HashMap<>();
+        long now = System.currentTimeMillis();
+        Set<Long> missingIds = categoryIds.stream()
+            .filter(id -> {
+                CachedCategory cached = cache.get(id);
+                if (cached != null && cached.expiresAt > now) {
+                    result.put(id, cached.category);
+                    return false;
+                }
+                return true;
+            })
+            .collect(Collectors.toSet());
+
+        if (missingIds.isEmpty()) {
+            return Mono.just(result);
+        }
+
+        return categoryServiceWebClient.get()
+            .uri(uriBuilder -> uriBuilder.path("/api/categories/batch").queryParam("ids", missingIds).build())
+            .retrieve()
+            .bodyToMono(CATEGORY_LIST)
+            .timeout(timeout)
+            .map(response -> {
+                if (response.getData() != null) {
+                    evictIfFull();
+                    long expiresAt = System.currentTimeMillis() + cacheTtlMs;
+                    for (CategoryResponse category : response.getData()) {
+                        cache.put(category.getId(), new CachedCategory(category, expiresAt));
+                        result.put(category.getId(), category);
+                    }
+                }
+                return result;
+            })
+            // Why: Degrade gracefully - read path vẫn hoạt động khi category-service down
+            .onErrorResume(e -> {
+                log.warn("Failed to resolve categories {}: {}", missingIds, e.getMessage());
+                return Mono.just(result);
+            })
+            .defaultIfEmpty(result);
+    }
+
+    // Why: Xóa entries hết hạn trước, nếu vẫn đầy thì reset toàn bộ cache
+    private void evictIfFull() {
+        if (cache.size() < cacheMaxSize) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.expiresAt <= now);
+        if (cache.size() >= cacheMaxSize) {
+            cache.clear();
+        }
+    }
+
+    // Why: Cache entry với thời điểm hết hạn
+    private record CachedCategory(CategoryResponse category, long expiresAt) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.hung.expensive.expensequery.service;
+
+import com.hung.expensive.dto.CategoryResponse;
+import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.expensequery.dto.CategoryTotal;
+import com.hung.expensive.expensequery.dto.MonthlyTotal;
+import com.hung.expensive.expensequery.repository.ExpenseQueryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Why: Read path reactive cho expenses - list, detail, aggregates và export streaming
+ * Design decision: Mỗi JDBC call được bọc trong Mono.fromCallable và subscribeOn(jdbcScheduler) -
+ * Netty event loop không bao giờ chờ database; enrichment category qua WebClient không chiếm thread nào
+ * Note: Driver R2DBC chưa có trong build nên repository vẫn là JDBC; đổi sang R2DBC chỉ thay
+ * ExpenseQueryRepository, signatures Mono/Flux ở đây giữ nguyên
+ */
+@Service
+public class ExpenseQueryService {
+
+    private final ExpenseQueryRepository expenseQueryRepository;
+    private final CategoryLookupClient categoryLookupClient;
+    private final Scheduler jdbcScheduler;
+    private final Scheduler exportScheduler;
+    // Why: Mỗi export giữ một connection tới khi client đọc xong - giới hạn để exports chậm không lấy hết pool
+    private final Semaphore exportPermits;
+    private final Duration exportTimeout;
+    // Why: Số rows export mỗi lần enrich - một batch call tới category-service cho mỗi chunk
+    private final int chunkSize;
+
+    public ExpenseQueryService(ExpenseQueryRepository expenseQueryRepository,
+                               CategoryLookupClient categoryLookupClient,
+                               Scheduler jdbcScheduler,
+                               Scheduler exportScheduler,
+                               @Value("${expense-query.export.max-concurrent:2}") int maxConcurrentExports,
+                               @Value("${expense-query.export.timeout:5m}") Duration exportTimeout,
+                               @Value("${expense-query.stream.chunk-size:200}") int chunkSize) {
+        this.expenseQueryRepository = expenseQueryRepository;
+        this.categoryLookupClient = categoryLookupClient;
+        this.jdbcScheduler = jdbcScheduler;
+        this.exportScheduler = exportScheduler;
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+        this.exportTimeout = exportTimeout;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Why: Một page expenses của user kèm category info
+     */
+    public Mono<List<ExpenseResponse>> getExpenses(Long userId, LocalDate startDate, LocalDate endDate,
+                                                   Long categoryId, int page, int size) {
+        return blocking(() -> expenseQueryRepository.findPage(userId, startDate, endDate, categoryId, page * size, size))
+            .flatMap(this::enrich);
+    }
+
+    /**
+     * Why: Chi tiết một expense - empty nếu không tồn tại
+     */
+    public Mono<ExpenseResponse> getExpense(Long id) {
+        return blocking(() -> expenseQueryRepository.findById(id))
+            .flatMap(Mono::justOrEmpty)
+            .flatMap(expense -> enrich(List.of(expense)).thenReturn(expense));
+    }
+
+    public Mono<BigDecimal> getTotal(Long userId) {
+        return blocking(() -> expenseQueryRepository.totalByUser(userId));
+    }
+
+    public Mono<List<MonthlyTotal>> getMonthlyTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        return blocking(() -> expenseQueryRepository.monthlyTotals(userId, startDate, endDate));
+    }
+
+    /**
+     * Why: Tổng theo category kèm tên category cho pie chart
+     */
+    public Mono<List<CategoryTotal>> getCategoryTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        return blocking(() -> expenseQueryRepository.categoryTotals(userId, startDate, endDate))
+            .flatMap(totals -> categoryLookupClient.getCategories(
+                    totals.stream().map(CategoryTotal::categoryId).toList())
+                .map(categories -> totals.stream()
+                    .map(total -> {
+                        CategoryResponse category = categories.get(total.categoryId());
+                        return category == null ? total : new CategoryTotal(total.categoryId(), category.getName(),
+                            total.total(), total.expenseCount());
+                    })
+                    .toList()));
+    }
+
+    /**
+     * Why: Toàn bộ expenses của user dạng stream cho export
+     * Performance: Backpressure tới tận JDBC cursor - Flux.fromStream chỉ đọc row tiếp theo khi downstream
+     * request thêm, nên client đọc chậm làm chậm việc đọc ResultSet thay vì dồn rows vào memory.
+     * Connection được giữ suốt export và trả về pool khi complete/cancel/error (Flux.using)
+     * Business rule: Tối đa expense-query.export.max-concurrent exports cùng lúc (vượt thì RejectedExecutionException
+     * -> 503), mỗi export bị cắt sau expense-query.export.timeout dù client còn đọc
+     */
+    public Flux<ExpenseResponse> streamExpenses(Long userId, LocalDate startDate, LocalDate endDate) {
+        return Flux.defer(() -> {
+            if (!exportPermits.tryAcquire()) {
+                return Flux.error(new RejectedExecutionException("Too many concurrent expense exports"));
+            }
+            Instant deadline = Instant.now().plus(exportTimeout);
+            return Flux.using(
+                    () -> expenseQueryRepository.streamByUser(userId, startDate, endDate),
+                    Flux::fromStream,
+                    Stream::close)
+                .subscribeOn(exportScheduler)
+                .buffer(chunkSize)
+                .concatMap(chunk -> enrich(chunk).flatMapIterable(enriched -> enriched), 1)
+                // Why: Deadline cho cả export (không phải giữa hai rows) - client đọc nhỏ giọt cũng không giữ
+                // connection quá timeout; cancel upstream đóng Stream và trả connection
+                .timeout(Mono.delay(exportTimeout), expense -> Mono.delay(remaining(deadline)))
+                .doFinally(signal -> exportPermits.release());
+        });
+    }
+
+    private static Duration remaining(Instant deadline) {
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private Mono<List<ExpenseResponse>> enrich(List<ExpenseResponse> expenses) {
+        if (expenses.isEmpty()) {
+            return Mono.just(expenses);
+        }
+        List<Long> categoryIds = expenses.stream().map(ExpenseResponse::getCategoryId).distinct().toList();
+        return categoryLookupClient.getCategories(categoryIds).map(categories -> {
+            for (ExpenseResponse expense : expenses) {
+                CategoryResponse category = categories.get(expense.getCategoryId());
+                if (category != null) {
+                    expense.setCategoryName(category.getName());
+                    expense.setCategoryColorCode(category.getColorCode());
+                    expense.setCategoryIconName(category.getIconName());
+                }
+            }
+            return expenses;
+        });
+    }
+
+    // Why: Chạy JDBC call trên jdbcScheduler - queue của scheduler đầy thì subscribe lỗi RejectedExecutionException
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(jdbcScheduler);
+    }
+}
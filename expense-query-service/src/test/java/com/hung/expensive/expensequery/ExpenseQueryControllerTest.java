@@ -0,0 +1,111 @@
+package com.hung.expensive.expensequery;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Why: Read path trả đúng data trên H2 và vẫn trả data khi category-service không truy cập được
+ * Note: Schema tạo trong test - production dùng schema Flyway của expense-service
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:expense_query;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.read-only=false",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "services.category-service.url=http://localhost:1",
+        "category.lookup.timeout=500ms",
+        "expense-query.stream.chunk-size=2"
+})
+@AutoConfigureWebTestClient
+class ExpenseQueryControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS expenses");
+        jdbcTemplate.execute("CREATE TABLE expenses (id BIGINT AUTO_INCREMENT PRIMARY KEY, amount DECIMAL(10, 2) NOT NULL, " +
+                "description VARCHAR(255) NOT NULL, notes VARCHAR(255), expense_date DATE NOT NULL, location VARCHAR(255), " +
+                "receipt_url VARCHAR(255), created_at DATETIME(6), updated_at DATETIME(6), user_id BIGINT NOT NULL, " +
+                "category_id BIGINT NOT NULL)");
+        insert(1L, 10L, "12.50", "2024-01-05");
+        insert(1L, 10L, "7.50", "2024-01-20");
+        insert(1L, 20L, "30.00", "2024-02-03");
+        insert(2L, 10L, "99.00", "2024-02-03");
+    }
+
+    @Test
+    void listsNewestFirstWithinPage() {
+        webTestClient.get().uri("/api/expense-queries?userId=1&size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[0].expenseDate").isEqualTo("2024-02-03")
+                .jsonPath("$.data[1].expenseDate").isEqualTo("2024-01-20");
+    }
+
+    @Test
+    void aggregatesAreComputedPerUser() {
+        webTestClient.get().uri("/api/expense-queries/user/1/total")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.data").isEqualTo(50.0);
+
+        webTestClient.get().uri("/api/expense-queries/user/1/monthly-totals")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[1].month").isEqualTo(1)
+                .jsonPath("$.data[1].total").isEqualTo(20.0)
+                .jsonPath("$.data[1].expenseCount").isEqualTo(2);
+    }
+
+    @Test
+    void missingExpenseIsNotFound() {
+        webTestClient.get().uri("/api/expense-queries/999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void exportStreamsEveryExpenseOfTheUser() {
+        List<Map> exported = webTestClient.get().uri("/api/expense-queries/user/1/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Map.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(3, exported.size());
+    }
+
+    private void insert(Long userId, Long categoryId, String amount, String date) {
+        jdbcTemplate.update("INSERT INTO expenses (amount, description, expense_date, user_id, category_id, created_at) " +
+                "VALUES (?, 'test', ?, ?, ?, CURRENT_TIMESTAMP)", new BigDecimal(amount),
+                Date.valueOf(date), userId, categoryId);
+    }
+}
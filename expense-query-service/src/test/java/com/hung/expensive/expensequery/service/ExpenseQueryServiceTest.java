@@ -0,0 +1,119 @@
+package com.hung.expensive.expensequery.service;
+
+import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.expensequery.repository.ExpenseQueryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Why: Exports giữ connection suốt thời gian client đọc - giới hạn số exports đồng thời và deadline của
+ * mỗi export là thứ giữ phần còn lại của pool cho list/aggregate queries
+ * Note: Repository trả stream vô hạn như client đọc rất chậm một bảng lớn; onClose thay cho trả connection
+ */
+class ExpenseQueryServiceTest {
+
+    private final Scheduler jdbcScheduler = Schedulers.newBoundedElastic(2, 10, "test-jdbc");
+    private final Scheduler exportScheduler = Schedulers.newBoundedElastic(1, 1, "test-export");
+    private final ExpenseQueryRepository repository = mock(ExpenseQueryRepository.class);
+    private final CategoryLookupClient categoryLookupClient = mock(CategoryLookupClient.class);
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    @AfterEach
+    void dispose() {
+        jdbcScheduler.dispose();
+        exportScheduler.dispose();
+    }
+
+    @Test
+    void rejectsExportsBeyondLimitUntilOneFinishes() {
+        ExpenseQueryService service = service(Duration.ofMinutes(1));
+        Disposable slowClient = service.streamExpenses(1L, null, null)
+                .limitRate(1)
+                .delayElements(Duration.ofHours(1))
+                .subscribe();
+
+        Throwable rejected = catchError(() -> service.streamExpenses(1L, null, null).take(1).blockLast());
+        assertInstanceOf(RejectedExecutionException.class, rejected);
+
+        slowClient.dispose();
+        awaitClosedStreams();
+        assertNotNull(service.streamExpenses(1L, null, null).take(1).blockLast(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void cutsExportAtDeadlineAndClosesStream() throws InterruptedException {
+        ExpenseQueryService service = service(Duration.ofMillis(300));
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch terminated = new CountDownLatch(1);
+
+        // Why: Client đọc một row mỗi 100ms - không có khoảng chờ nào vượt timeout, chỉ tổng thời gian vượt
+        service.streamExpenses(1L, null, null)
+                .delayElements(Duration.ofMillis(100))
+                .subscribe(expense -> { }, e -> {
+                    error.set(e);
+                    terminated.countDown();
+                }, terminated::countDown);
+
+        assertTrue(terminated.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.get());
+        awaitClosedStreams();
+    }
+
+    private ExpenseQueryService service(Duration exportTimeout) {
+        when(repository.streamByUser(any(), any(), any())).thenAnswer(invocation -> {
+            openStreams.incrementAndGet();
+            return Stream.iterate(1L, id -> id + 1).map(ExpenseQueryServiceTest::expense)
+                    .onClose(openStreams::decrementAndGet);
+        });
+        when(categoryLookupClient.getCategories(anyCollection())).thenReturn(Mono.just(Map.of()));
+        return new ExpenseQueryService(repository, categoryLookupClient, jdbcScheduler, exportScheduler,
+                1, exportTimeout, 2);
+    }
+
+    private void awaitClosedStreams() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (openStreams.get() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, openStreams.get(), "Export stream (connection) not closed");
+    }
+
+    private static Throwable catchError(Runnable call) {
+        try {
+            call.run();
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static ExpenseResponse expense(long id) {
+        ExpenseResponse expense = new ExpenseResponse();
+        expense.setId(id);
+        expense.setCategoryId(10L);
+        return expense;
+    }
+}
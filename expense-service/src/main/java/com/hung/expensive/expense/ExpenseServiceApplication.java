@@ -2,8 +2,10 @@ package com.hung.expensive.expense;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Why: Expense Service quản lý tất cả operations liên quan đến chi tiêu
@@ -13,6 +15,8 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients
+@EnableScheduling  // Why: OutboxRelay publish outbox events định kỳ
+@EntityScan({"com.hung.expensive.entity", "com.hung.expensive.expense.outbox"})  // Why: Expense nằm trong shared, OutboxEvent trong service
 public class ExpenseServiceApplication {
 
     public static void main(String[] args) {
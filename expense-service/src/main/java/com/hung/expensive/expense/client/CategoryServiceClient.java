@@ -1,16 +1,20 @@
 package com.hung.expensive.expense.client;
 
+import com.hung.expensive.dto.ApiResponse;
 import com.hung.expensive.dto.CategoryResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 /**
  * Why: Feign Client để gọi Category Service
  * Design decision: Declarative REST client để simplify service-to-service communication
  * Business requirement: Cần validate category existence khi tạo expense
  */
-@FeignClient(name = "category-service", url = "http://localhost:8084")
+@FeignClient(name = "category-service", url = "${services.category-service.url:http://localhost:8084}")
 public interface CategoryServiceClient {
 
     /**
@@ -26,4 +30,11 @@ public interface CategoryServiceClient {
      */
     @GetMapping("/api/categories/name/{name}")
     CategoryResponse getCategoryByName(@PathVariable("name") String name);
+
+    /**
+     * Why: Batch lookup categories theo IDs
+     * Business rule: Enrich cả page expenses bằng một call thay vì N calls
+     */
+    @GetMapping("/api/categories/batch")
+    ApiResponse<List<CategoryResponse>> getCategoriesByIds(@RequestParam("ids") List<Long> ids);
 }
@@ -0,0 +1,50 @@
+package com.hung.expensive.expense.client;
+
+import com.hung.expensive.dto.ApiResponse;
+import com.hung.expensive.dto.CategoryResponse;
+import feign.FeignException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Why: Internal lookups qua REST endpoints của user-service / category-service (expensive.internal-lookup.transport=rest)
+ * Note: 404 nghĩa là không tồn tại; lỗi khác (timeout, 5xx) được throw như gRPC client
+ */
+public class FeignInternalLookupClient implements InternalLookupClient {
+
+    private final UserServiceClient userServiceClient;
+    private final CategoryServiceClient categoryServiceClient;
+
+    public FeignInternalLookupClient(UserServiceClient userServiceClient, CategoryServiceClient categoryServiceClient) {
+        this.userServiceClient = userServiceClient;
+        this.categoryServiceClient = categoryServiceClient;
+    }
+
+    @Override
+    public boolean userExists(Long userId) {
+        try {
+            userServiceClient.getUserProfile(userId);
+            return true;
+        } catch (FeignException.NotFound e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean categoryExists(Long categoryId) {
+        try {
+            categoryServiceClient.getCategoryById(categoryId);
+            return true;
+        } catch (FeignException.NotFound e) {
+            return false;
+        }
+    }
+
+    @Override
+    public List<CategoryResponse> getCategoriesByIds(Collection<Long> categoryIds) {
+        ApiResponse<List<CategoryResponse>> response = categoryServiceClient.getCategoriesByIds(new ArrayList<>(categoryIds));
+        return response == null || response.getData() == null ? List.of() : response.getData();
+    }
+}
@@ -0,0 +1,79 @@
+package com.hung.expensive.expense.client;
+
+import com.hung.expensive.dto.CategoryResponse;
+import com.hung.expensive.grpc.CategoryLookupGrpc;
+import com.hung.expensive.grpc.InternalLookupProto.CategorySummary;
+import com.hung.expensive.grpc.InternalLookupProto.IdList;
+import com.hung.expensive.grpc.InternalLookupProto.IdRequest;
+import com.hung.expensive.grpc.UserLookupGrpc;
+import io.grpc.Channel;
+import io.grpc.StatusRuntimeException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Why: Internal lookups qua gRPC - binary messages vài bytes trên một HTTP/2 connection multiplex cho mọi request
+ * thay vì JSON ApiResponse qua HTTP/1.1 connection pool của Feign
+ * Design decision: Deadline đặt riêng cho từng call - user-service chậm không giữ request tạo expense quá
+ * expensive.grpc.client.deadline
+ */
+public class GrpcInternalLookupClient implements InternalLookupClient {
+
+    private final UserLookupGrpc.UserLookupBlockingStub userLookup;
+    private final CategoryLookupGrpc.CategoryLookupBlockingStub categoryLookup;
+    private final long deadlineMillis;
+
+    public GrpcInternalLookupClient(Channel userServiceChannel, Channel categoryServiceChannel, Duration deadline) {
+        this.userLookup = UserLookupGrpc.newBlockingStub(userServiceChannel);
+        this.categoryLookup = CategoryLookupGrpc.newBlockingStub(categoryServiceChannel);
+        this.deadlineMillis = deadline.toMillis();
+    }
+
+    @Override
+    public boolean userExists(Long userId) {
+        try {
+            return userLookup.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS)
+                .exists(new IdRequest(userId))
+                .exists();
+        } catch (StatusRuntimeException e) {
+            throw new RuntimeException("User service unavailable: " + e.getStatus().getCode(), e);
+        }
+    }
+
+    @Override
+    public boolean categoryExists(Long categoryId) {
+        try {
+            return categoryLookup.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS)
+                .exists(new IdRequest(categoryId))
+                .exists();
+        } catch (StatusRuntimeException e) {
+            throw new RuntimeException("Category service unavailable: " + e.getStatus().getCode(), e);
+        }
+    }
+
+    @Override
+    public List<CategoryResponse> getCategoriesByIds(Collection<Long> categoryIds) {
+        try {
+            return categoryLookup.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS)
+                .batchGet(new IdList(List.copyOf(categoryIds)))
+                .categories()
+                .stream()
+                .map(GrpcInternalLookupClient::toResponse)
+                .toList();
+        } catch (StatusRuntimeException e) {
+            throw new RuntimeException("Category service unavailable: " + e.getStatus().getCode(), e);
+        }
+    }
+
+    private static CategoryResponse toResponse(CategorySummary summary) {
+        CategoryResponse response = new CategoryResponse();
+        response.setId(summary.id());
+        response.setName(summary.name());
+        response.setColorCode(summary.colorCode());
+        response.setIconName(summary.iconName());
+        return response;
+    }
+}
@@ -0,0 +1,26 @@
+package com.hung.expensive.expense.client;
+
+import com.hung.expensive.dto.CategoryResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Why: Lookups sang user-service / category-service trên write path và listing enrichment
+ * Design decision: Interface để chọn transport qua expensive.internal-lookup.transport - grpc (default) hoặc rest
+ * (Feign clients cũ, dùng khi rollout/rollback gRPC)
+ * Business rule: Service kia không trả lời được thì throw - caller quyết định fail hay degrade
+ */
+public interface InternalLookupClient {
+
+    boolean userExists(Long userId);
+
+    boolean categoryExists(Long categoryId);
+
+    /**
+     * Why: Category info (name/color/icon) cho nhiều IDs trong một call
+     *
+     * @return categories tồn tại, IDs không tồn tại bị bỏ qua
+     */
+    List<CategoryResponse> getCategoriesByIds(Collection<Long> categoryIds);
+}
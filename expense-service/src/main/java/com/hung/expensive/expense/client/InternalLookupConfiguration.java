@@ -0,0 +1,62 @@
+package com.hung.expensive.expense.client;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Why: Chọn InternalLookupClient theo expensive.internal-lookup.transport: grpc (default) hoặc rest (Feign)
+ * Design decision: Một ManagedChannel cho mỗi downstream service, dùng chung cho mọi request - HTTP/2 multiplex
+ * các calls đồng thời trên vài connections thay vì mỗi call giữ một connection
+ */
+@Configuration
+public class InternalLookupConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "expensive.internal-lookup.transport", havingValue = "grpc", matchIfMissing = true)
+    public InternalLookupClient grpcInternalLookupClient(ManagedChannel userServiceChannel,
+                                                         ManagedChannel categoryServiceChannel,
+                                                         @Value("${expensive.grpc.client.deadline:500ms}") Duration deadline) {
+        return new GrpcInternalLookupClient(userServiceChannel, categoryServiceChannel, deadline);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "expensive.internal-lookup.transport", havingValue = "rest")
+    public InternalLookupClient feignInternalLookupClient(UserServiceClient userServiceClient,
+                                                          CategoryServiceClient categoryServiceClient) {
+        return new FeignInternalLookupClient(userServiceClient, categoryServiceClient);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnProperty(name = "expensive.internal-lookup.transport", havingValue = "grpc", matchIfMissing = true)
+    public ManagedChannel userServiceChannel(@Value("${services.user-service.grpc-target:localhost:9082}") String target,
+                                             @Value("${expensive.grpc.client.keep-alive-time:30s}") Duration keepAliveTime) {
+        return channel(target, keepAliveTime);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnProperty(name = "expensive.internal-lookup.transport", havingValue = "grpc", matchIfMissing = true)
+    public ManagedChannel categoryServiceChannel(@Value("${services.category-service.grpc-target:localhost:9084}") String target,
+                                                 @Value("${expensive.grpc.client.keep-alive-time:30s}") Duration keepAliveTime) {
+        return channel(target, keepAliveTime);
+    }
+
+    /**
+     * Why: round_robin trên mọi địa chỉ DNS trả về - scale service thành nhiều instances thì calls được chia đều
+     * Note: Channel connect lazily ở call đầu tiên, tự reconnect khi instance restart
+     */
+    private static ManagedChannel channel(String target, Duration keepAliveTime) {
+        return Grpc.newChannelBuilder(target, InsecureChannelCredentials.create())
+            .defaultLoadBalancingPolicy("round_robin")
+            // Why: Phát hiện connection chết (NAT/LB idle timeout) trước khi request thật bị treo tới deadline
+            .keepAliveTime(keepAliveTime.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+}
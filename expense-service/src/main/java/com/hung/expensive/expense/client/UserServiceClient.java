@@ -1,16 +1,19 @@
 package com.hung.expensive.expense.client;
 
-import com.hung.expensive.user.dto.UserProfileResponse;
+import com.hung.expensive.dto.ApiResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
+import java.util.Map;
+
 /**
  * Why: Feign Client để gọi User Service
  * Design decision: Declarative REST client để simplify service-to-service communication
  * Business requirement: Cần validate user existence khi tạo expense
+ * Note: Profile giữ dạng Map - expense-service chỉ cần biết user tồn tại, không phụ thuộc DTO của user-service
  */
-@FeignClient(name = "user-service", url = "http://localhost:8082")
+@FeignClient(name = "user-service", url = "${services.user-service.url:http://localhost:8082}")
 public interface UserServiceClient {
 
     /**
@@ -18,12 +21,12 @@ public interface UserServiceClient {
      * Business rule: Validate user exists trước khi tạo expense
      */
     @GetMapping("/api/users/{userId}")
-    UserProfileResponse getUserProfile(@PathVariable("userId") Long userId);
+    ApiResponse<Map<String, Object>> getUserProfile(@PathVariable("userId") Long userId);
 
     /**
      * Why: Get user by username
      * Business rule: Alternative way to get user info
      */
     @GetMapping("/api/users/username/{username}")
-    UserProfileResponse getUserByUsername(@PathVariable("username") String username);
+    ApiResponse<Map<String, Object>> getUserByUsername(@PathVariable("username") String username);
 }
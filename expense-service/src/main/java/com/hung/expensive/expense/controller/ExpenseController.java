@@ -3,6 +3,7 @@ package com.hung.expensive.expense.controller;
 import com.hung.expensive.dto.ApiResponse;
 import com.hung.expensive.dto.ExpenseRequest;
 import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.expense.service.CategoryLookupService;
 import com.hung.expensive.expense.service.ExpenseService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -27,9 +28,11 @@ import java.util.List;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final CategoryLookupService categoryLookupService;
 
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService, CategoryLookupService categoryLookupService) {
         this.expenseService = expenseService;
+        this.categoryLookupService = categoryLookupService;
     }
 
     /**
@@ -46,7 +49,9 @@ public class ExpenseController {
         try {
             Page<ExpenseResponse> expenses = expenseService.getAllExpenses(
                     userId, startDate, endDate, categoryId, pageable);
-            return ResponseEntity.ok(ApiResponse.success(expenses, "Expenses retrieved successfully"));
+            // Why: Enrich category info cho cả page bằng một batch lookup - sau khi transaction đã trả connection
+            categoryLookupService.enrich(expenses.getContent());
+            return ResponseEntity.ok(ApiResponse.success("Expenses retrieved successfully", expenses));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to retrieve expenses: " + e.getMessage()));
@@ -61,7 +66,8 @@ public class ExpenseController {
     public ResponseEntity<ApiResponse<ExpenseResponse>> getExpenseById(@PathVariable Long id) {
         try {
             ExpenseResponse expense = expenseService.getExpenseById(id);
-            return ResponseEntity.ok(ApiResponse.success(expense, "Expense retrieved successfully"));
+            categoryLookupService.enrich(List.of(expense));
+            return ResponseEntity.ok(ApiResponse.success("Expense retrieved successfully", expense));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("Expense not found: " + e.getMessage()));
@@ -77,7 +83,7 @@ public class ExpenseController {
         try {
             ExpenseResponse expense = expenseService.createExpense(request);
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success(expense, "Expense created successfully"));
+                    .body(ApiResponse.success("Expense created successfully", expense));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to create expense: " + e.getMessage()));
@@ -94,7 +100,7 @@ public class ExpenseController {
             @Valid @RequestBody ExpenseRequest request) {
         try {
             ExpenseResponse expense = expenseService.updateExpense(id, request);
-            return ResponseEntity.ok(ApiResponse.success(expense, "Expense updated successfully"));
+            return ResponseEntity.ok(ApiResponse.success("Expense updated successfully", expense));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to update expense: " + e.getMessage()));
@@ -124,7 +130,8 @@ public class ExpenseController {
     public ResponseEntity<ApiResponse<List<ExpenseResponse>>> getExpensesByUser(@PathVariable Long userId) {
         try {
             List<ExpenseResponse> expenses = expenseService.getExpensesByUser(userId);
-            return ResponseEntity.ok(ApiResponse.success(expenses, "User expenses retrieved successfully"));
+            categoryLookupService.enrich(expenses);
+            return ResponseEntity.ok(ApiResponse.success("User expenses retrieved successfully", expenses));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to retrieve user expenses: " + e.getMessage()));
@@ -139,7 +146,7 @@ public class ExpenseController {
     public ResponseEntity<ApiResponse<BigDecimal>> getTotalExpensesByUser(@PathVariable Long userId) {
         try {
             BigDecimal total = expenseService.getTotalExpensesByUser(userId);
-            return ResponseEntity.ok(ApiResponse.success(total, "Total expenses calculated successfully"));
+            return ResponseEntity.ok(ApiResponse.success("Total expenses calculated successfully", total));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to calculate total: " + e.getMessage()));
@@ -0,0 +1,14 @@
+package com.hung.expensive.expense.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Why: Message gửi lên broker - cùng shape với Kafka ProducerRecord (topic, key, value) cộng metadata của event
+ *
+ * @param eventId    id của outbox row - consumers dùng để bỏ qua event nhận trùng (relay là at-least-once)
+ * @param key        partition key (user id) - events cùng key giữ thứ tự
+ * @param occurredAt thời điểm mutation ghi outbox row
+ */
+public record BrokerRecord(String topic, String key, long eventId, ExpenseEventType eventType,
+                           long aggregateId, String payload, LocalDateTime occurredAt) {
+}
@@ -0,0 +1,18 @@
+package com.hung.expensive.expense.outbox;
+
+import java.util.List;
+
+/**
+ * Why: Điểm cắm broker cho OutboxRelay - InMemoryEventBroker cho local/tests, production implement bằng Kafka producer
+ * (send từng record với key rồi flush)
+ * Design decision: Broker chọn partition theo key - mọi event của một user nằm trên cùng partition theo thứ tự publish
+ */
+public interface EventBroker {
+
+    /**
+     * Why: Publish một batch theo thứ tự; chỉ return khi broker đã ack toàn bộ batch
+     *
+     * @throws RuntimeException nếu có record không được ack - relay giữ nguyên batch để publish lại
+     */
+    void publish(List<BrokerRecord> records);
+}
@@ -0,0 +1,10 @@
+package com.hung.expensive.expense.outbox;
+
+/**
+ * Why: Loại event của expense mutations - consumers (caches, rollups, search index, notifications) switch theo type
+ */
+public enum ExpenseEventType {
+    EXPENSE_CREATED,
+    EXPENSE_UPDATED,
+    EXPENSE_DELETED
+}
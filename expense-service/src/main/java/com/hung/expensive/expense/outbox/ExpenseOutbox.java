@@ -0,0 +1,45 @@
+package com.hung.expensive.expense.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hung.expensive.dto.ExpenseResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Why: Ghi event của expense mutation vào outbox - consumers cập nhật async thay vì poll aggregate queries
+ * Design decision: Propagation.MANDATORY - event chỉ được ghi trong transaction của mutation, nên event tồn tại
+ * khi và chỉ khi thay đổi trên expenses được commit
+ */
+@Component
+public class ExpenseOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExpenseOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Why: Payload là trạng thái expense sau mutation (với delete là trạng thái cuối trước khi xóa) -
+     * consumers không phải gọi ngược lại expense-service
+     *
+     * Note: Caller flush mutation trên expenses trước khi gọi - outbox id (IDENTITY) được cấp lúc INSERT, row lock
+     * của expense phải có trước đó thì thứ tự id mới khớp thứ tự commit của cùng một expense
+     *
+     * @param userId partition key - owner của expense
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ExpenseEventType eventType, Long userId, ExpenseResponse expense) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(expense);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize expense event " + eventType + " for expense " + expense.getId(), e);
+        }
+        outboxEventRepository.save(new OutboxEvent(eventType, expense.getId(), userId, payload));
+    }
+}
@@ -0,0 +1,35 @@
+package com.hung.expensive.expense.outbox;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Why: Broker không cần hạ tầng riêng - POST cả batch tới endpoint của từng service consumer
+ * (ví dụ category-service /internal/expense-events)
+ * Design decision: Mỗi subscriber nhận nguyên batch theo thứ tự id, nên thứ tự per-user được giữ; một subscriber
+ * lỗi làm cả batch được publish lại cho mọi subscribers - consumers phải idempotent theo eventId
+ */
+public class HttpEventBroker implements EventBroker {
+
+    private final RestClient restClient;
+    private final List<String> subscriberUrls;
+
+    public HttpEventBroker(RestClient restClient, List<String> subscriberUrls) {
+        this.restClient = restClient;
+        this.subscriberUrls = List.copyOf(subscriberUrls);
+    }
+
+    @Override
+    public void publish(List<BrokerRecord> records) {
+        for (String url : subscriberUrls) {
+            restClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(records)
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+    }
+}
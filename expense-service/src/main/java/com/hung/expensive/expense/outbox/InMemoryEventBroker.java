@@ -0,0 +1,90 @@
+package com.hung.expensive.expense.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Why: Broker stand-in khi chạy một instance/local - cùng semantics partition theo key như Kafka
+ * Design decision: Mỗi partition là log append-only giữ tối đa retention records gần nhất; subscribers in-process
+ * nhận records đồng bộ theo thứ tự publish
+ * Note: Subscriber throw exception làm publish fail - relay publish lại batch, subscriber phải idempotent theo eventId
+ */
+public class InMemoryEventBroker implements EventBroker {
+
+    private final List<Partition> partitions;
+    private final int retentionPerPartition;
+    private final List<Consumer<BrokerRecord>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InMemoryEventBroker(int partitionCount, int retentionPerPartition) {
+        this.partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new Partition());
+        }
+        this.retentionPerPartition = retentionPerPartition;
+    }
+
+    @Override
+    public void publish(List<BrokerRecord> records) {
+        for (BrokerRecord record : records) {
+            Partition partition = partitions.get(partitionFor(record.key()));
+            partition.lock.lock();
+            try {
+                partition.log.addLast(record);
+                if (partition.log.size() > retentionPerPartition) {
+                    partition.log.removeFirst();
+                }
+            } finally {
+                partition.lock.unlock();
+            }
+            for (Consumer<BrokerRecord> subscriber : subscribers) {
+                subscriber.accept(record);
+            }
+        }
+    }
+
+    /**
+     * Why: Consumer in-process (cache invalidation, rollups) - nhận mọi record từ lúc subscribe
+     */
+    public void subscribe(Consumer<BrokerRecord> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Why: Partition của key - cùng key luôn cùng partition
+     */
+    public int partitionFor(String key) {
+        return Math.floorMod(key.hashCode(), partitions.size());
+    }
+
+    /**
+     * Why: Snapshot records còn giữ của một partition, theo thứ tự publish
+     */
+    public List<BrokerRecord> records(int partition) {
+        Partition log = partitions.get(partition);
+        log.lock.lock();
+        try {
+            return List.copyOf(log.log);
+        } finally {
+            log.lock.unlock();
+        }
+    }
+
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * Why: ReentrantLock thay cho synchronized - publish chạy trên virtual threads của relay/request
+     * (xem scripts/check-virtual-thread-pinning.sh)
+     */
+    private static final class Partition {
+
+        private final Deque<BrokerRecord> log = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+    }
+}
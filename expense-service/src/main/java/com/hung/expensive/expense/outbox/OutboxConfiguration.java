@@ -0,0 +1,40 @@
+package com.hung.expensive.expense.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Why: Chọn EventBroker theo outbox.broker.type: in-memory (default, local/một instance), http (push batches tới
+ * các services consumer) hoặc broker thật (ví dụ kafka - deployment đó đăng ký EventBroker bean bọc Kafka producer)
+ */
+@Configuration
+public class OutboxConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.broker.type", havingValue = "in-memory", matchIfMissing = true)
+    public InMemoryEventBroker inMemoryEventBroker(@Value("${outbox.broker.in-memory.partitions:8}") int partitions,
+                                                   @Value("${outbox.broker.in-memory.retention-per-partition:10000}") int retentionPerPartition) {
+        return new InMemoryEventBroker(partitions, retentionPerPartition);
+    }
+
+    /**
+     * Note: Relay giữ lock trên outbox rows trong lúc POST - timeout ngắn để subscriber treo không giữ lock lâu
+     */
+    @Bean
+    @ConditionalOnProperty(name = "outbox.broker.type", havingValue = "http")
+    public HttpEventBroker httpEventBroker(RestClient.Builder restClientBuilder,
+                                           @Value("${outbox.broker.http.subscribers}") List<String> subscribers,
+                                           @Value("${outbox.broker.http.timeout:5s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        return new HttpEventBroker(restClientBuilder.requestFactory(requestFactory).build(), subscribers);
+    }
+}
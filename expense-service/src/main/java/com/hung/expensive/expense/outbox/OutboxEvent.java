@@ -0,0 +1,85 @@
+package com.hung.expensive.expense.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row - event chờ OutboxRelay publish lên broker
+ * Id tăng dần là thứ tự publish; published_at null nghĩa là chưa publish
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private ExpenseEventType eventType;
+    
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+    
+    // Why: Partition key - mọi event của một user đi vào cùng partition, giữ thứ tự
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    // Constructors
+    protected OutboxEvent() {}
+    
+    public OutboxEvent(ExpenseEventType eventType, Long aggregateId, Long userId, String payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.userId = userId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public ExpenseEventType getEventType() {
+        return eventType;
+    }
+    
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+}
@@ -0,0 +1,105 @@
+package com.hung.expensive.expense.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Why: Đẩy outbox rows lên broker theo batches - request path chỉ tốn một INSERT, không chờ broker
+ * Design decision: Mỗi batch chạy trong một transaction: lock rows chưa publish theo thứ tự id, publish, đánh dấu
+ * published_at. Broker lỗi thì rollback và batch được publish lại ở lần chạy sau (at-least-once, không mất event)
+ * Note: Query theo published_at IS NULL thay vì cursor theo id - row có id nhỏ hơn commit muộn vẫn được publish
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventBroker eventBroker;
+    private final TransactionTemplate transaction;
+    private final String topic;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       EventBroker eventBroker,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.topic:expense-events}") String topic,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+                       @Value("${outbox.relay.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventBroker = eventBroker;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+    }
+
+    /**
+     * Why: Drain backlog - chạy tiếp khi batch đầy, giới hạn số batches để một lần chạy không giữ scheduler quá lâu
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int published;
+            try {
+                published = publishBatch();
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay failed, retrying next run: {}", e.getMessage());
+                return;
+            }
+            if (published < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Why: Một batch - lock, publish, mark trong cùng transaction
+     *
+     * @return số events đã publish
+     */
+    public int publishBatch() {
+        Integer published = transaction.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.lockUnpublished(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            eventBroker.publish(events.stream().map(this::toRecord).toList());
+            outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+            return events.size();
+        });
+        return published == null ? 0 : published;
+    }
+
+    /**
+     * Why: Xóa events đã publish quá retention - bảng outbox chỉ chứa backlog và lịch sử gần
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.purge-interval:1h}")
+    public void purgePublished() {
+        Integer deleted = transaction.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    // Why: Key theo user - broker giữ thứ tự events của từng user trên một partition
+    private BrokerRecord toRecord(OutboxEvent event) {
+        return new BrokerRecord(topic, String.valueOf(event.getUserId()), event.getId(), event.getEventType(),
+                event.getAggregateId(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -23,26 +23,35 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     /**
      * Why: Find expenses by user ID
      * Business rule: Get all expenses for specific user
+     * Note: @Query tường minh - derived query cho user.id LEFT JOIN bảng users, bảng không có trong database
+     * của expense-service; so sánh e.user.id đọc thẳng cột user_id
      */
-    List<Expense> findByUserId(Long userId);
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId")
+    List<Expense> findByUserId(@Param("userId") Long userId);
 
     /**
      * Why: Find expenses by user ID với pagination
      * Business rule: Support pagination cho large datasets
      */
-    Page<Expense> findByUserId(Long userId, Pageable pageable);
+    @Query(value = "SELECT e FROM Expense e WHERE e.user.id = :userId",
+           countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.user.id = :userId")
+    Page<Expense> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
     /**
      * Why: Find expenses by category ID
      * Business rule: Get all expenses for specific category
+     * Note: Cùng lý do với findByUserId - bảng categories nằm ở category-service
      */
-    List<Expense> findByCategoryId(Long categoryId);
+    @Query("SELECT e FROM Expense e WHERE e.category.id = :categoryId")
+    List<Expense> findByCategoryId(@Param("categoryId") Long categoryId);
 
     /**
      * Why: Find expenses by category ID với pagination
      * Business rule: Support pagination cho large datasets
      */
-    Page<Expense> findByCategoryId(Long categoryId, Pageable pageable);
+    @Query(value = "SELECT e FROM Expense e WHERE e.category.id = :categoryId",
+           countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.category.id = :categoryId")
+    Page<Expense> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
 
     /**
      * Why: Find expenses by user và date range
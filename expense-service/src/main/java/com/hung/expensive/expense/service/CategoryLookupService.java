@@ -0,0 +1,133 @@
+package com.hung.expensive.expense.service;
+
+import com.hung.expensive.dto.CategoryResponse;
+import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.expense.client.InternalLookupClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Why: Resolve category name/color/icon cho expense listing từ category-service
+ * Design decision: Gom distinct category IDs của cả page thành một batch call, cache kết quả theo TTL
+ * Performance: Một page render tốn tối đa một remote call thay vì N calls từ client
+ * Note: Gọi ngoài transaction (ExpenseController) - remote call không giữ JDBC connection. Không có signal khi category
+ * đổi, thay đổi name/color/icon hiện lên sau tối đa cache-ttl-ms
+ */
+@Service
+public class CategoryLookupService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryLookupService.class);
+
+    private final InternalLookupClient internalLookupClient;
+    private final Map<Long, CachedCategory> cache = new ConcurrentHashMap<>();
+
+    // Why: Category ít thay đổi - cache vài phút là đủ fresh cho UI
+    @Value("${category.lookup.cache-ttl-ms:300000}")
+    private long cacheTtlMs;
+
+    // Why: Giới hạn memory nếu có quá nhiều categories
+    @Value("${category.lookup.cache-max-size:10000}")
+    private int cacheMaxSize;
+
+    public CategoryLookupService(InternalLookupClient internalLookupClient) {
+        this.internalLookupClient = internalLookupClient;
+    }
+
+    /**
+     * Why: Fill categoryName/categoryColorCode/categoryIconName cho danh sách expenses
+     * Business rule: Nếu category-service lỗi thì vẫn trả listing, chỉ thiếu category info
+     */
+    public void enrich(Collection<ExpenseResponse> expenses) {
+        if (expenses == null || expenses.isEmpty()) {
+            return;
+        }
+
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        for (ExpenseResponse expense : expenses) {
+            if (expense.getCategoryId() != null) {
+                categoryIds.add(expense.getCategoryId());
+            }
+        }
+
+        Map<Long, CategoryResponse> categories = getCategories(categoryIds);
+        for (ExpenseResponse expense : expenses) {
+            CategoryResponse category = categories.get(expense.getCategoryId());
+            if (category != null) {
+                expense.setCategoryName(category.getName());
+                expense.setCategoryColorCode(category.getColorCode());
+                expense.setCategoryIconName(category.getIconName());
+            }
+        }
+    }
+
+    /**
+     * Why: Lấy categories theo IDs - cache hit trả ngay, cache miss gom thành một batch call
+     */
+    public Map<Long, CategoryResponse> getCategories(Set<Long> categoryIds) {
+        Map<Long, CategoryResponse> result = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        for (Long id : categoryIds) {
+            CachedCategory cached = cache.get(id);
+            if (cached != null && cached.expiresAt > now) {
+                result.put(id, cached.category);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        if (missingIds.isEmpty()) {
+            return result;
+        }
+
+        try {
+            List<CategoryResponse> categories = internalLookupClient.getCategoriesByIds(missingIds);
+            evictIfFull();
+            long expiresAt = System.currentTimeMillis() + cacheTtlMs;
+            for (CategoryResponse category : categories) {
+                cache.put(category.getId(), new CachedCategory(category, expiresAt));
+                result.put(category.getId(), category);
+            }
+        } catch (Exception e) {
+            // Why: Degrade gracefully - listing vẫn hoạt động khi category-service down
+            log.warn("Failed to resolve categories {}: {}", missingIds, e.getMessage());
+        }
+
+        return result;
+    }
+
+    // Why: Xóa entries hết hạn trước, nếu vẫn đầy thì reset toàn bộ cache
+    private void evictIfFull() {
+        if (cache.size() < cacheMaxSize) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.expiresAt <= now);
+        if (cache.size() >= cacheMaxSize) {
+            cache.clear();
+        }
+    }
+
+    // Why: Cache entry với thời điểm hết hạn
+    private static class CachedCategory {
+        final CategoryResponse category;
+        final long expiresAt;
+
+        CachedCategory(CategoryResponse category, long expiresAt) {
+            this.category = category;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -6,8 +6,9 @@ import com.hung.expensive.entity.Expense;
 import com.hung.expensive.entity.User;
 import com.hung.expensive.entity.Category;
 import com.hung.expensive.expense.repository.ExpenseRepository;
-import com.hung.expensive.expense.client.UserServiceClient;
-import com.hung.expensive.expense.client.CategoryServiceClient;
+import com.hung.expensive.expense.client.InternalLookupClient;
+import com.hung.expensive.expense.outbox.ExpenseEventType;
+import com.hung.expensive.expense.outbox.ExpenseOutbox;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,21 +30,22 @@ import java.util.stream.Collectors;
 public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
-    private final UserServiceClient userServiceClient;
-    private final CategoryServiceClient categoryServiceClient;
+    private final InternalLookupClient internalLookupClient;
+    private final ExpenseOutbox expenseOutbox;
 
     public ExpenseService(ExpenseRepository expenseRepository,
-                         UserServiceClient userServiceClient,
-                         CategoryServiceClient categoryServiceClient) {
+                         InternalLookupClient internalLookupClient,
+                         ExpenseOutbox expenseOutbox) {
         this.expenseRepository = expenseRepository;
-        this.userServiceClient = userServiceClient;
-        this.categoryServiceClient = categoryServiceClient;
+        this.internalLookupClient = internalLookupClient;
+        this.expenseOutbox = expenseOutbox;
     }
 
     /**
      * Why: Get all expenses với filtering và pagination
      * Business rule: Support multiple filters, pagination
      */
+    @Transactional(readOnly = true)
     public Page<ExpenseResponse> getAllExpenses(Long userId, LocalDate startDate, 
                                                LocalDate endDate, Long categoryId, Pageable pageable) {
         Page<Expense> expenses;
@@ -58,6 +60,7 @@ public class ExpenseService {
             expenses = expenseRepository.findAll(pageable);
         }
 
+        // Note: Category info được enrich ở controller sau khi transaction đóng - không giữ connection qua remote call
         return expenses.map(this::mapToExpenseResponse);
     }
 
@@ -65,6 +68,7 @@ public class ExpenseService {
      * Why: Get expense by ID
      * Business rule: Return specific expense details
      */
+    @Transactional(readOnly = true)
     public ExpenseResponse getExpenseById(Long id) {
         Optional<Expense> expenseOpt = expenseRepository.findById(id);
         if (expenseOpt.isEmpty()) {
@@ -80,16 +84,14 @@ public class ExpenseService {
      */
     public ExpenseResponse createExpense(ExpenseRequest request) {
         // Why: Validate user exists
-        try {
-            userServiceClient.getUserProfile(request.getUserId());
-        } catch (Exception e) {
+        // Note: User/category service không trả lời được (deadline, down) thì lỗi đó được throw nguyên vẹn -
+        // không báo nhầm thành "not found"
+        if (!internalLookupClient.userExists(request.getUserId())) {
             throw new RuntimeException("User not found: " + request.getUserId());
         }
 
         // Why: Validate category exists
-        try {
-            categoryServiceClient.getCategoryById(request.getCategoryId());
-        } catch (Exception e) {
+        if (!internalLookupClient.categoryExists(request.getCategoryId())) {
             throw new RuntimeException("Category not found: " + request.getCategoryId());
         }
 
@@ -112,7 +114,11 @@ public class ExpenseService {
         expense.setCategory(category);
 
         Expense savedExpense = expenseRepository.save(expense);
-        return mapToExpenseResponse(savedExpense);
+        ExpenseResponse response = mapToExpenseResponse(savedExpense);
+
+        // Why: Event ghi cùng transaction - consumers được báo async sau khi commit
+        expenseOutbox.record(ExpenseEventType.EXPENSE_CREATED, savedExpense.getUser().getId(), response);
+        return response;
     }
 
     /**
@@ -135,8 +141,12 @@ public class ExpenseService {
         expense.setLocation(request.getLocation());
         expense.setReceiptUrl(request.getReceiptUrl());
 
-        Expense updatedExpense = expenseRepository.save(expense);
-        return mapToExpenseResponse(updatedExpense);
+        // Why: Flush để UPDATE lấy row lock trước khi outbox id được cấp - hai updates đồng thời của cùng expense
+        // có outbox ids theo đúng thứ tự commit, relay publish theo id nên consumers nhận đúng thứ tự
+        Expense updatedExpense = expenseRepository.saveAndFlush(expense);
+        ExpenseResponse response = mapToExpenseResponse(updatedExpense);
+        expenseOutbox.record(ExpenseEventType.EXPENSE_UPDATED, expense.getUser().getId(), response);
+        return response;
     }
 
     /**
@@ -150,12 +160,19 @@ public class ExpenseService {
         }
 
         expenseRepository.deleteById(id);
+        // Why: Như updateExpense - DELETE giữ row lock trước khi outbox id được cấp
+        expenseRepository.flush();
+
+        // Why: Payload là trạng thái cuối - rollups trừ được amount mà không cần đọc lại
+        Expense deleted = expenseOpt.get();
+        expenseOutbox.record(ExpenseEventType.EXPENSE_DELETED, deleted.getUser().getId(), mapToExpenseResponse(deleted));
     }
 
     /**
      * Why: Get expenses by user
      * Business rule: Return all expenses for specific user
      */
+    @Transactional(readOnly = true)
     public List<ExpenseResponse> getExpensesByUser(Long userId) {
         List<Expense> expenses = expenseRepository.findByUserId(userId);
         return expenses.stream()
@@ -167,6 +184,7 @@ public class ExpenseService {
      * Why: Get total expenses by user
      * Business rule: Calculate total amount for user
      */
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpensesByUser(Long userId) {
         return expenseRepository.getTotalExpensesByUser(userId);
     }
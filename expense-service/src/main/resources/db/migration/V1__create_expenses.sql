@@ -0,0 +1,18 @@
+-- Why: Baseline schema cho expense-service - khớp với schema ddl-auto đã tạo trước đây
+-- Design decision: user_id/category_id không có foreign key vì users/categories thuộc service khác
+-- Existing database: Flyway baseline ở version 1 (spring.flyway.baseline-on-migrate) rồi chỉ chạy V2+
+
+CREATE TABLE IF NOT EXISTS expenses (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    amount       DECIMAL(10, 2) NOT NULL,
+    description  VARCHAR(255)   NOT NULL,
+    notes        VARCHAR(255),
+    expense_date DATE           NOT NULL,
+    location     VARCHAR(255),
+    receipt_url  VARCHAR(255),
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    user_id      BIGINT         NOT NULL,
+    category_id  BIGINT         NOT NULL,
+    PRIMARY KEY (id)
+);
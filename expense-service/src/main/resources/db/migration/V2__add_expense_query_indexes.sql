@@ -0,0 +1,15 @@
+-- Why: Indexes cho query shapes trong ExpenseRepository
+-- Performance: Mọi listing đều filter theo user_id và sort theo expense_date
+
+-- findByUserId, findByUserAndDateRange (ORDER BY expense_date DESC), countByUserId,
+-- getTotalExpensesByUser, getTotalExpensesByUserAndMonth (user_id prefix)
+CREATE INDEX idx_expenses_user_date ON expenses (user_id, expense_date, created_at);
+
+-- findByUserAndCategory (ORDER BY expense_date DESC)
+CREATE INDEX idx_expenses_user_category_date ON expenses (user_id, category_id, expense_date);
+
+-- findByCategoryId (paged, không có user_id)
+CREATE INDEX idx_expenses_category ON expenses (category_id);
+
+-- findTopExpensesByUser (ORDER BY amount DESC) - tránh filesort trên toàn bộ expenses của user
+CREATE INDEX idx_expenses_user_amount ON expenses (user_id, amount);
@@ -0,0 +1,16 @@
+-- Why: Transactional outbox - event của mỗi expense mutation được ghi cùng transaction với thay đổi trên expenses,
+-- OutboxRelay đọc rows chưa publish và đẩy lên broker (không mất event khi broker down, không publish event của transaction rollback)
+
+CREATE TABLE outbox_events (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    event_type   VARCHAR(32) NOT NULL,
+    aggregate_id BIGINT      NOT NULL,
+    user_id      BIGINT      NOT NULL,
+    payload      TEXT        NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    published_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- lockUnpublished (published_at IS NULL ORDER BY id), deletePublishedBefore
+CREATE INDEX idx_outbox_events_published ON outbox_events (published_at, id);
@@ -0,0 +1,12 @@
+-- Why: Consumers build projections từ events (category usage ở category-service) - expenses tạo trước khi có outbox
+-- cần một EXPENSE_CREATED event để projection bắt đầu từ trạng thái đúng
+-- Note: Payload backfill chỉ có ids, amount và expense_date (không có text fields cần JSON escaping);
+-- consumers xử lý created/updated như upsert nên event trùng với event thật không sao
+
+INSERT INTO outbox_events (event_type, aggregate_id, user_id, payload, created_at)
+SELECT 'EXPENSE_CREATED', id, user_id,
+       CONCAT('{"id":', id, ',"userId":', user_id, ',"categoryId":', category_id,
+              ',"amount":', amount, ',"expenseDate":"', expense_date, '"}'),
+       CURRENT_TIMESTAMP(6)
+FROM expenses
+ORDER BY id;
@@ -0,0 +1,126 @@
+package com.hung.expensive.expense.client;
+
+import com.hung.expensive.dto.CategoryResponse;
+import com.hung.expensive.grpc.CategoryLookupGrpc;
+import com.hung.expensive.grpc.InternalLookupProto.CategoryList;
+import com.hung.expensive.grpc.InternalLookupProto.CategorySummary;
+import com.hung.expensive.grpc.InternalLookupProto.ExistsReply;
+import com.hung.expensive.grpc.InternalLookupProto.IdList;
+import com.hung.expensive.grpc.InternalLookupProto.IdRequest;
+import com.hung.expensive.grpc.UserLookupGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Client gRPC mà ExpenseService/CategoryLookupService dùng - request/response đi qua marshallers
+ * (hand-encoded proto) như trên network, deadline được áp dụng cho từng call
+ * Note: In-process transport - không mở port
+ */
+class GrpcInternalLookupClientTest {
+
+    private static final Set<Long> USERS = Set.of(1L, 2L);
+
+    private final AtomicReference<List<Long>> receivedIds = new AtomicReference<>();
+    private volatile boolean categoryServiceStalled;
+
+    private Server server;
+    private ManagedChannel channel;
+    private GrpcInternalLookupClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new UserLookupStandIn())
+                .addService(new CategoryLookupStandIn())
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+        client = new GrpcInternalLookupClient(channel, channel, Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void stopServer() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void userExistsReflectsUserService() {
+        assertTrue(client.userExists(1L));
+        assertFalse(client.userExists(42L));
+    }
+
+    @Test
+    void batchGetMapsCategorySummaries() {
+        List<CategoryResponse> categories = client.getCategoriesByIds(List.of(2L, 3L, 300_000L));
+
+        assertEquals(List.of(2L, 3L, 300_000L), receivedIds.get());
+        assertEquals(2, categories.size());
+        CategoryResponse food = categories.get(0);
+        assertEquals(2L, food.getId());
+        assertEquals("Ăn uống", food.getName());
+        assertEquals("#FF5733", food.getColorCode());
+        assertEquals("utensils", food.getIconName());
+        // Why: Field rỗng không được encode - phía client nhận null như REST response
+        assertNull(categories.get(1).getColorCode());
+    }
+
+    @Test
+    void deadlineExceededSurfacesAsUnavailable() {
+        categoryServiceStalled = true;
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> client.categoryExists(2L));
+        assertEquals("Category service unavailable: DEADLINE_EXCEEDED", error.getMessage());
+    }
+
+    private static final class UserLookupStandIn extends UserLookupGrpc.UserLookupImplBase {
+
+        @Override
+        public void exists(IdRequest request, StreamObserver<ExistsReply> responseObserver) {
+            responseObserver.onNext(new ExistsReply(USERS.contains(request.id())));
+            responseObserver.onCompleted();
+        }
+    }
+
+    private final class CategoryLookupStandIn extends CategoryLookupGrpc.CategoryLookupImplBase {
+
+        @Override
+        public void exists(IdRequest request, StreamObserver<ExistsReply> responseObserver) {
+            if (categoryServiceStalled) {
+                // Why: Không trả lời - client phải tự cắt bằng deadline
+                return;
+            }
+            responseObserver.onNext(new ExistsReply(request.id() == 2L));
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void batchGet(IdList request, StreamObserver<CategoryList> responseObserver) {
+            receivedIds.set(request.ids());
+            responseObserver.onNext(new CategoryList(List.of(
+                    new CategorySummary(2L, "Ăn uống", "#FF5733", "utensils"),
+                    new CategorySummary(3L, "Đi lại", null, null))));
+            responseObserver.onCompleted();
+        }
+    }
+}
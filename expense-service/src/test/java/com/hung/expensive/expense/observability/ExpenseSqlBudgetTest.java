@@ -0,0 +1,82 @@
+package com.hung.expensive.expense.observability;
+
+import com.hung.expensive.entity.Category;
+import com.hung.expensive.entity.Expense;
+import com.hung.expensive.entity.User;
+import com.hung.expensive.expense.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Why: Giữ số SQL statements của các endpoints trong budget khai báo ở application.yml (expensive.sql.budget.*)
+ * Design decision: mode=fail - request vượt budget throw SqlStatementBudgetExceededException trước khi ghi body
+ * (SqlStatementBudgetAdvice), ra khỏi MockMvc vì service không có exception handler cho nó,
+ * nên N+1 mới (ví dụ mapping đọc lazy user/category) làm test fail thay vì chỉ chậm trên production
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:expense_budget;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "expensive.sql.budget.mode=fail",
+        // Note: JWT được gateway validate - service chỉ nhận traffic đã authenticate
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                + "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration"
+})
+@AutoConfigureMockMvc
+class ExpenseSqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    private Long expenseId;
+
+    @BeforeEach
+    void seed() {
+        expenseRepository.deleteAll();
+        User user = new User();
+        user.setId(1L);
+        Category category = new Category();
+        category.setId(2L);
+        for (int i = 0; i < 5; i++) {
+            expenseId = expenseRepository.save(new Expense(BigDecimal.valueOf(10 + i), "expense " + i,
+                    LocalDate.now().minusDays(i), user, category)).getId();
+        }
+    }
+
+    @Test
+    void readEndpointsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/expenses").param("size", "2")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/{id}", expenseId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/user/{userId}/total", 1)).andExpect(status().isOk());
+    }
+
+    @Test
+    void userAndCategoryFiltersStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/expenses").param("userId", "1").param("size", "2")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses").param("categoryId", "2").param("size", "2")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/user/{userId}", 1)).andExpect(status().isOk());
+    }
+
+    @Test
+    void deleteStaysWithinBudget() throws Exception {
+        mockMvc.perform(delete("/api/expenses/{id}", expenseId)).andExpect(status().isOk());
+    }
+}
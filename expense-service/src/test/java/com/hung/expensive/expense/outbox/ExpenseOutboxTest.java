@@ -0,0 +1,163 @@
+package com.hung.expensive.expense.outbox;
+
+import com.hung.expensive.dto.ExpenseRequest;
+import com.hung.expensive.entity.Category;
+import com.hung.expensive.entity.Expense;
+import com.hung.expensive.entity.User;
+import com.hung.expensive.expense.repository.ExpenseRepository;
+import com.hung.expensive.expense.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Outbox event tồn tại khi và chỉ khi mutation commit; relay publish theo thứ tự per-user partition
+ * và publish lại batch khi broker lỗi
+ * Note: Relay schedule đặt 1h - test gọi publishBatch trực tiếp
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:expense_outbox;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "outbox.relay.interval=1h",
+        // Note: JWT được gateway validate - service chỉ nhận traffic đã authenticate
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                + "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration"
+})
+class ExpenseOutboxTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private FlakyBroker broker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clean() {
+        expenseRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        broker.failNext = false;
+        broker.delegate = new InMemoryEventBroker(4, 100);
+    }
+
+    @Test
+    void mutationsArePublishedInOrderOnTheUsersPartition() {
+        Long aliceExpense = seed(1L);
+        Long bobExpense = seed(2L);
+
+        expenseService.updateExpense(aliceExpense, request(1L, "50.00"));
+        expenseService.updateExpense(bobExpense, request(2L, "70.00"));
+        expenseService.deleteExpense(aliceExpense);
+
+        assertEquals(3, outboxRelay.publishBatch());
+        assertEquals(0, outboxRelay.publishBatch());
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null));
+
+        List<BrokerRecord> alice = new ArrayList<>(broker.delegate.records(broker.delegate.partitionFor("1")));
+        alice.removeIf(record -> !record.key().equals("1"));
+        assertEquals(List.of(ExpenseEventType.EXPENSE_UPDATED, ExpenseEventType.EXPENSE_DELETED),
+                alice.stream().map(BrokerRecord::eventType).toList());
+        assertTrue(alice.get(0).eventId() < alice.get(1).eventId());
+        assertTrue(alice.get(0).payload().contains("\"amount\":50.00"), alice.get(0).payload());
+    }
+
+    @Test
+    void rolledBackMutationLeavesNoEvent() {
+        Long expenseId = seed(1L);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            expenseService.updateExpense(expenseId, request(1L, "50.00"));
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void failedPublishIsRetried() {
+        expenseService.updateExpense(seed(1L), request(1L, "50.00"));
+
+        broker.failNext = true;
+        assertThrows(IllegalStateException.class, () -> outboxRelay.publishBatch());
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getPublishedAt() == null));
+
+        assertEquals(1, outboxRelay.publishBatch());
+        assertEquals(1, broker.delegate.records(broker.delegate.partitionFor("1")).size());
+    }
+
+    private Long seed(Long userId) {
+        User user = new User();
+        user.setId(userId);
+        Category category = new Category();
+        category.setId(2L);
+        return expenseRepository.save(new Expense(BigDecimal.TEN, "expense", LocalDate.now(), user, category)).getId();
+    }
+
+    private static ExpenseRequest request(Long userId, String amount) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setUserId(userId);
+        request.setCategoryId(2L);
+        request.setAmount(new BigDecimal(amount));
+        request.setDescription("updated");
+        request.setExpenseDate(LocalDate.now());
+        return request;
+    }
+
+    // Why: Broker stand-in có thể fail một lần để kiểm tra rollback của batch
+    static class FlakyBroker implements EventBroker {
+
+        volatile InMemoryEventBroker delegate = new InMemoryEventBroker(4, 100);
+        volatile boolean failNext;
+
+        @Override
+        public void publish(List<BrokerRecord> records) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("broker unavailable");
+            }
+            delegate.publish(records);
+        }
+    }
+
+    @TestConfiguration
+    static class BrokerStandIn {
+
+        @Bean
+        @Primary
+        FlakyBroker flakyBroker() {
+            return new FlakyBroker();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.hung.expensive.expense.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Đảm bảo hot queries của ExpenseRepository dùng indexes từ db/migration thay vì full scan
+ * Design decision: Gọi chính repository methods, bắt SQL Hibernate sinh ra qua StatementInspector rồi EXPLAIN
+ * trên H2 (MySQL mode, schema từ Flyway) - đổi @Query, pagination hay count query đều được kiểm tra theo SQL thật
+ * Note: H2 EXPLAIN chấp nhận parameters chưa bind (?), plan vẫn cho biết index nào được dùng
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:expense_plan;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.cloud.config.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExpenseQueryPlanTest {
+
+    private static final List<String> CAPTURED_SQL = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // Why: Seed đủ nhiều users để optimizer thấy index selective hơn table scan
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            rows.add(new Object[]{BigDecimal.valueOf(10 + i % 500), "expense " + i, start.plusDays(i % 365),
+                    1 + i % 100, 1 + i % 20});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO expenses (amount, description, expense_date, created_at, user_id, "
+                + "category_id) VALUES (?, ?, ?, CURRENT_TIMESTAMP, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+        CAPTURED_SQL.clear();
+    }
+
+    @Test
+    void findByUserIdAvoidsFullScan() {
+        // Note: Page query + count query
+        expenseRepository.findByUserId(1L, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "expenseDate")));
+        assertCapturedQueriesAvoidFullScan(2);
+    }
+
+    @Test
+    void findByUserAndDateRangeAvoidsFullScan() {
+        // Note: Page nhỏ hơn số rows để Spring Data chạy count query thay vì suy ra total từ page đầu
+        expenseRepository.findByUserAndDateRange(1L, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                PageRequest.of(0, 2));
+        assertCapturedQueriesAvoidFullScan(2);
+    }
+
+    @Test
+    void findByUserAndCategoryAvoidsFullScan() {
+        expenseRepository.findByUserAndCategory(1L, 2L);
+        assertCapturedQueriesAvoidFullScan(1);
+    }
+
+    @Test
+    void findByCategoryIdUsesCategoryIndex() {
+        expenseRepository.findByCategoryId(2L);
+        assertCapturedQueriesAvoidFullScan(1);
+        String plan = explain(CAPTURED_SQL.get(0));
+        assertTrue(plan.toUpperCase().contains("IDX_EXPENSES_CATEGORY"),
+                () -> "Expected IDX_EXPENSES_CATEGORY for: " + CAPTURED_SQL.get(0) + "\n" + plan);
+    }
+
+    @Test
+    void findTopExpensesByUserAvoidsFullScan() {
+        expenseRepository.findTopExpensesByUser(1L, PageRequest.of(0, 5));
+        assertCapturedQueriesAvoidFullScan(1);
+    }
+
+    @Test
+    void totalByUserAndMonthAvoidsFullScan() {
+        // Note: YEAR()/MONTH() không sargable - chỉ dùng được prefix user_id của index
+        expenseRepository.getTotalExpensesByUserAndMonth(1L, 2024, 3);
+        assertCapturedQueriesAvoidFullScan(1);
+    }
+
+    @Test
+    void countByUserIdAvoidsFullScan() {
+        expenseRepository.countByUserId(1L);
+        assertCapturedQueriesAvoidFullScan(1);
+    }
+
+    private void assertCapturedQueriesAvoidFullScan(int expectedStatements) {
+        List<String> statements = List.copyOf(CAPTURED_SQL);
+        assertEquals(expectedStatements, statements.size(), () -> "Captured: " + statements);
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains("tableScan"), () -> "Full scan for: " + sql + "\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        List<String> lines = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                (resultSet, rowNum) -> resultSet.getString(1));
+        return String.join("\n", lines);
+    }
+
+    // Why: Bắt SQL cuối cùng Hibernate gửi xuống JDBC (sau HQL translation, pagination, count query)
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CapturingInspectorConfiguration {
+
+        @Bean
+        HibernatePropertiesCustomizer capturingStatementInspector() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                CAPTURED_SQL.add(sql);
+                return sql;
+            });
+        }
+    }
+}
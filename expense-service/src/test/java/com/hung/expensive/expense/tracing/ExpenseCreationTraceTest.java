@@ -0,0 +1,201 @@
+package com.hung.expensive.expense.tracing;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Trace view của critical path POST /api/expenses: gateway -> expense-service -> user-service + category-service + SQL
+ * Design decision: Gateway được giả lập bằng traceparent header, user/category services là HTTP stand-ins ghi lại
+ * header nhận được; spans được thu bằng InMemorySpanExporter (collector stand-in) thay vì OTLP endpoint thật
+ * Note: @AutoConfigureObservability vì Spring Boot tắt tracing trong tests mặc định
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:expense_trace;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "management.tracing.sampling.probability=1.0",
+        "management.otlp.tracing.export.enabled=false",
+        "outbox.broker.type=in-memory",  // Why: Relay không POST events tới category-service stand-in
+        "expensive.internal-lookup.transport=rest",  // Why: Test trace của Feign calls tới HTTP stand-ins
+        // Note: JWT được gateway validate - service chỉ nhận traffic đã authenticate
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                + "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration"
+})
+class ExpenseCreationTraceTest {
+
+    // Why: Trace context mà gateway forward xuống sau JwtAuthenticationFilter
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String GATEWAY_SPAN_ID = "00f067aa0ba902b7";
+
+    private static final Map<String, String> receivedTraceparents = new ConcurrentHashMap<>();
+    private static HttpServer userService;
+    private static HttpServer categoryService;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @BeforeAll
+    static void startStandIns() throws IOException {
+        userService = standIn("user-service", "{\"id\":1,\"username\":\"alice\",\"email\":\"alice@example.com\"}");
+        categoryService = standIn("category-service", "{\"id\":2,\"name\":\"Ăn uống\"}");
+    }
+
+    @AfterAll
+    static void stopStandIns() {
+        userService.stop(0);
+        categoryService.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void serviceUrls(DynamicPropertyRegistry registry) {
+        registry.add("services.user-service.url", () -> "http://localhost:" + userService.getAddress().getPort());
+        registry.add("services.category-service.url", () -> "http://localhost:" + categoryService.getAddress().getPort());
+    }
+
+    @Test
+    void expenseCreationProducesSingleTraceAcrossServicesAndSql() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01");
+        String body = "{\"userId\":1,\"categoryId\":2,\"amount\":45000.00,\"description\":\"Cơm trưa\","
+                + "\"expenseDate\":\"" + LocalDate.now() + "\"}";
+
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/expenses", new HttpEntity<>(body, headers), String.class);
+        assertEquals(201, response.getStatusCode().value(), response.getBody());
+
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        List<SpanData> spans = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(TRACE_ID))
+                .collect(Collectors.toList());
+        System.out.println(render(spans));
+
+        // Why: Server span của expense-service là con trực tiếp của span gateway
+        SpanData server = spans.stream()
+                .filter(span -> span.getKind() == SpanKind.SERVER)
+                .findFirst()
+                .orElse(null);
+        assertNotNull(server, "Missing server span\n" + render(spans));
+        assertEquals(GATEWAY_SPAN_ID, server.getParentSpanId());
+
+        // Why: Hai Feign calls (user + category) nằm trong trace và propagate traceparent tới downstream
+        long clientSpans = spans.stream().filter(span -> span.getKind() == SpanKind.CLIENT).count();
+        assertTrue(clientSpans >= 2, "Expected Feign client spans\n" + render(spans));
+        assertTrue(receivedTraceparents.get("user-service").contains(TRACE_ID));
+        assertTrue(receivedTraceparents.get("category-service").contains(TRACE_ID));
+
+        // Why: INSERT expense có span riêng dưới request
+        boolean insertSpan = spans.stream().anyMatch(span -> span.getAttributes().asMap().entrySet().stream()
+                .anyMatch(attribute -> attribute.getKey().getKey().startsWith("jdbc.query")
+                        && attribute.getValue().toString().toLowerCase().contains("insert into expenses")));
+        assertTrue(insertSpan, "Missing JDBC insert span\n" + render(spans));
+
+        assertFalse(spans.stream().anyMatch(span -> !span.getTraceId().equals(server.getTraceId())));
+    }
+
+    private static HttpServer standIn(String name, String json) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedTraceparents.put(name, String.valueOf(exchange.getRequestHeaders().getFirst("traceparent")));
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    // Why: In cây spans (indent theo parent, thời gian ms) - đây là "trace view" khi chạy test
+    private static String render(List<SpanData> spans) {
+        StringBuilder view = new StringBuilder("Trace " + TRACE_ID + "\n");
+        List<SpanData> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+        renderChildren(view, sorted, GATEWAY_SPAN_ID, 1);
+        return view.toString();
+    }
+
+    private static void renderChildren(StringBuilder view, List<SpanData> spans, String parentId, int depth) {
+        for (SpanData span : spans) {
+            if (span.getParentSpanId().equals(parentId)) {
+                view.append("  ".repeat(depth))
+                        .append(span.getKind()).append(' ')
+                        .append(span.getName())
+                        .append(describe(span))
+                        .append(String.format(" %.2fms%n", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1e6));
+                renderChildren(view, spans, span.getSpanId(), depth + 1);
+            }
+        }
+    }
+
+    // Why: Feign span name chỉ là "HTTP GET" - thêm client interface / SQL để biết span gọi tới đâu
+    private static String describe(SpanData span) {
+        return span.getAttributes().asMap().entrySet().stream()
+                .filter(attribute -> attribute.getKey().getKey().equals("clientName")
+                        || attribute.getKey().getKey().startsWith("jdbc.query"))
+                .map(attribute -> {
+                    String value = attribute.getValue().toString();
+                    return attribute.getKey().getKey().equals("clientName")
+                            ? " [" + value.substring(value.lastIndexOf('.') + 1) + "]"
+                            : " [" + value.substring(0, Math.min(value.length(), 60)) + "]";
+                })
+                .collect(Collectors.joining());
+    }
+
+    @TestConfiguration
+    static class CollectorStandIn {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hung.expensive.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Why: Latency histogram + counters của một endpoint
+ * Design decision: HdrHistogram (microseconds, 3 significant digits) cho p50/p99 chính xác với memory cố định,
+ * ConcurrentHistogram để hàng trăm virtual threads record không cần lock
+ */
+final class EndpointStats {
+
+    private final String endpoint;
+    private final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), histogram.getHighestTrackableValue()));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    long successes() {
+        return histogram.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double throughput(double seconds) {
+        return (successes() + errors()) / seconds;
+    }
+
+    double percentileMillis(double percentile) {
+        return successes() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return successes() == 0 ? 0 : histogram.getMaxValue() / 1000.0;
+    }
+}
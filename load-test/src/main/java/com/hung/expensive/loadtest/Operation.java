@@ -0,0 +1,112 @@
+package com.hung.expensive.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Why: Các bước của workload mix - mỗi operation là một endpoint của ExpenseController/CategoryController/AuthController
+ * Design decision: Default weights phỏng theo traffic của app: dashboard đọc nhiều (listing, recent, monthly total),
+ * ghi ít (create ~10%), login chỉ khi token hết hạn; override bằng --mix=key=weight,...
+ */
+enum Operation {
+
+    EXPENSES_LIST("list", "GET /api/expenses", 25),
+    EXPENSES_DATE_RANGE("date-range", "GET /api/expenses/date-range", 12),
+    EXPENSES_RECENT("recent", "GET /api/expenses/recent", 15),
+    EXPENSES_MONTHLY_TOTAL("monthly-total", "GET /api/expenses/monthly-total", 10),
+    EXPENSES_SEARCH("search", "GET /api/expenses/search", 5),
+    EXPENSES_CREATE("create", "POST /api/expenses", 10),
+    CATEGORIES_LIST("categories", "GET /api/categories", 12),
+    CATEGORIES_WITH_STATS("categories-stats", "GET /api/categories/with-stats", 6),
+    AUTH_LOGIN("login", "POST /api/auth/login", 5);
+
+    private static final String[] SEARCH_TERMS = {"cà phê", "grab", "siêu thị", "tiền", "ăn", "xăng"};
+
+    final String key;
+    final String endpoint;
+    final int defaultWeight;
+
+    Operation(String key, String endpoint, int defaultWeight) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.defaultWeight = defaultWeight;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operation không tồn tại: " + key);
+    }
+
+    /**
+     * Why: Build request cho user đã chọn - params random nhưng bám theo data của generator
+     * (date ranges trong vài tháng gần đây, categoryId thuộc về chính user đó)
+     */
+    HttpRequest.Builder request(String baseUrl, long userId, SplittableRandom random) {
+        LocalDate today = LocalDate.now();
+        switch (this) {
+            case EXPENSES_LIST:
+                return get(baseUrl + "/api/expenses?page=" + page(random) + "&size=20");
+            case EXPENSES_DATE_RANGE: {
+                LocalDate end = today.minusDays(random.nextInt(90));
+                LocalDate start = end.minusDays(7 + random.nextInt(31));
+                return get(baseUrl + "/api/expenses/date-range?startDate=" + start + "&endDate=" + end
+                        + "&page=0&size=20");
+            }
+            case EXPENSES_RECENT:
+                return get(baseUrl + "/api/expenses/recent?limit=5");
+            case EXPENSES_MONTHLY_TOTAL: {
+                LocalDate month = today.minusMonths(random.nextInt(3));
+                return get(baseUrl + "/api/expenses/monthly-total?year=" + month.getYear()
+                        + "&month=" + month.getMonthValue());
+            }
+            case EXPENSES_SEARCH: {
+                String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                return get(baseUrl + "/api/expenses/search?term="
+                        + URLEncoder.encode(term, StandardCharsets.UTF_8) + "&page=0&size=20");
+            }
+            case EXPENSES_CREATE: {
+                long categoryId = Population.categoryId(userId, Population.pickCategoryIndex(random));
+                String body = "{\"amount\":" + (10 + random.nextInt(500)) + "000.00"
+                        + ",\"description\":\"" + Population.DESCRIPTIONS[random.nextInt(Population.DESCRIPTIONS.length)]
+                        + "\",\"expenseDate\":\"" + today + "\",\"categoryId\":" + categoryId + "}";
+                return post(baseUrl + "/api/expenses", body);
+            }
+            case CATEGORIES_LIST:
+                return get(baseUrl + "/api/categories");
+            case CATEGORIES_WITH_STATS:
+                return get(baseUrl + "/api/categories/with-stats");
+            default:
+                throw new IllegalStateException("Unhandled operation " + this);
+        }
+    }
+
+    // Why: Login tách riêng vì password do driver cấu hình (--password), không random theo request
+    static HttpRequest.Builder login(String baseUrl, long userId, String password) {
+        return post(baseUrl + "/api/auth/login",
+                "{\"username\":\"" + Population.username(userId) + "\",\"password\":\"" + password + "\"}");
+    }
+
+    // Why: Phần lớn users chỉ xem trang đầu - page sâu hơn hiếm dần
+    private static int page(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 70 ? 0 : roll < 90 ? 1 : 2 + random.nextInt(8);
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private static HttpRequest.Builder post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+}
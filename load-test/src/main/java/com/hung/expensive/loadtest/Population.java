@@ -0,0 +1,120 @@
+package com.hung.expensive.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Why: Layout deterministic của synthetic population - generator và driver cùng suy ra usernames/category IDs
+ * Design decision: IDs được gán tường minh theo công thức (user i có categories (i-1)*8+1..i*8) nên driver
+ * không cần đọc database để biết user nào sở hữu category nào
+ */
+final class Population {
+
+    static final String DEFAULT_PASSWORD = "LoadTest@123";
+
+    // Why: Khớp DEFAULT_CATEGORIES trong CategoryService - mỗi user mới có đúng 8 categories này
+    static final List<String[]> DEFAULT_CATEGORIES = List.of(
+        new String[] {"Ăn uống", "Chi tiêu cho thức ăn và đồ uống", "#FF6B6B", "food"},
+        new String[] {"Di chuyển", "Xăng xe, xe bus, taxi, grab", "#4ECDC4", "transport"},
+        new String[] {"Giải trí", "Phim ảnh, game, du lịch", "#45B7D1", "entertainment"},
+        new String[] {"Mua sắm", "Quần áo, đồ dùng cá nhân", "#96CEB4", "shopping"},
+        new String[] {"Y tế", "Khám bệnh, thuốc men", "#FFEAA7", "healthcare"},
+        new String[] {"Giáo dục", "Học phí, sách vở, khóa học", "#DDA0DD", "education"},
+        new String[] {"Hóa đơn", "Điện, nước, internet, điện thoại", "#FFB6C1", "bills"},
+        new String[] {"Khác", "Các chi tiêu khác", "#D3D3D3", "other"}
+    );
+
+    static final int CATEGORIES_PER_USER = DEFAULT_CATEGORIES.size();
+
+    // Why: Tần suất chi tiêu theo category - ăn uống/di chuyển chiếm phần lớn giao dịch
+    static final double[] CATEGORY_WEIGHTS = {0.35, 0.20, 0.08, 0.12, 0.04, 0.03, 0.08, 0.10};
+
+    static final String[] DESCRIPTIONS = {
+        "Cà phê sáng", "Cơm trưa văn phòng", "Grab đi làm", "Đổ xăng", "Siêu thị cuối tuần",
+        "Xem phim", "Tiền điện", "Tiền nước", "Internet tháng", "Mua sách", "Thuốc cảm",
+        "Trà sữa", "Ăn tối gia đình", "Quần áo", "Taxi sân bay", "Học phí tiếng Anh"
+    };
+
+    private Population() {
+    }
+
+    static String username(long userId) {
+        return "loadtest_user_" + userId;
+    }
+
+    static String email(long userId) {
+        return "loadtest_user_" + userId + "@loadtest.local";
+    }
+
+    static long categoryId(long userId, int index) {
+        return (userId - 1) * CATEGORIES_PER_USER + index + 1;
+    }
+
+    static int pickCategoryIndex(SplittableRandom random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < CATEGORY_WEIGHTS.length - 1; i++) {
+            r -= CATEGORY_WEIGHTS[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return CATEGORY_WEIGHTS.length - 1;
+    }
+
+    /**
+     * Why: Zipf-like activity - số ít users rất active, long tail ít giao dịch (giống production)
+     * Design decision: Weight của user rank r là 1/r^skew, rank được hoán vị theo hash để heavy users
+     * không dồn vào đầu bảng (tránh locality giả tạo trên primary key)
+     */
+    static final class ZipfSampler {
+        private final double[] cumulative;
+        private final long[] userIdByRank;
+        private final int[] rankByUserId;
+
+        ZipfSampler(int users, double skew) {
+            cumulative = new double[users];
+            userIdByRank = new long[users];
+            double sum = 0;
+            for (int rank = 0; rank < users; rank++) {
+                sum += 1.0 / Math.pow(rank + 1, skew);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < users; rank++) {
+                cumulative[rank] /= sum;
+                userIdByRank[rank] = rank + 1;
+            }
+            SplittableRandom shuffle = new SplittableRandom(users);
+            for (int i = users - 1; i > 0; i--) {
+                int j = shuffle.nextInt(i + 1);
+                long tmp = userIdByRank[i];
+                userIdByRank[i] = userIdByRank[j];
+                userIdByRank[j] = tmp;
+            }
+            rankByUserId = new int[users + 1];
+            for (int rank = 0; rank < users; rank++) {
+                rankByUserId[(int) userIdByRank[rank]] = rank;
+            }
+        }
+
+        /**
+         * Why: Chia total theo activity của user - floor trên cumulative nên tổng các phần đúng bằng total
+         */
+        long allocate(long userId, long total) {
+            int rank = rankByUserId[(int) userId];
+            long upTo = (long) Math.floor(cumulative[rank] * total);
+            long before = rank == 0 ? 0 : (long) Math.floor(cumulative[rank - 1] * total);
+            return rank == cumulative.length - 1 ? total - before : upTo - before;
+        }
+
+        long sample(SplittableRandom random) {
+            double r = random.nextDouble();
+            int index = Arrays.binarySearch(cumulative, r);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return userIdByRank[Math.min(index, cumulative.length - 1)];
+        }
+
+    }
+}
@@ -0,0 +1,192 @@
+package com.hung.expensive.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Why: So sánh servlet read path (expense-service) và reactive read path (expense-query-service) dưới cùng tải,
+ * đo ảnh hưởng của burst reads lên latency ghi expense
+ * Design decision: Readers và writers chạy đồng thời, closed-loop trên virtual threads; writers luôn POST vào
+ * expense-service, readers gửi cùng query shapes (page listing + total) tới path được chọn. Chạy một lần với
+ * --read-path=servlet và một lần với --read-path=reactive rồi so sánh p99 của "POST /api/expenses"
+ * Note: Gọi thẳng services (không qua gateway) để chỉ đo chính services đó
+ *
+ * Usage:
+ *   java -cp load-test/target/load-test.jar com.hung.expensive.loadtest.ReadPathComparison \
+ *       --read-path=reactive --readers=256 --writers=16 --duration=120
+ *
+ * Options: --read-path (servlet|reactive) --expense-url --query-url --users --skew --readers --writers
+ *          --duration --warmup --results-dir --seed
+ */
+public final class ReadPathComparison {
+
+    private final String readPath;
+    private final String expenseUrl;
+    private final String queryUrl;
+    private final int readers;
+    private final int writers;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final Path resultsDir;
+    private final long seed;
+    private final Population.ZipfSampler userSampler;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final EndpointStats listStats;
+    private final EndpointStats totalStats;
+    private final EndpointStats writeStats = new EndpointStats("POST /api/expenses");
+
+    private volatile long measureStartNanos;
+
+    private ReadPathComparison(Args args) {
+        this.readPath = args.get("read-path", "reactive");
+        if (!readPath.equals("servlet") && !readPath.equals("reactive")) {
+            throw new IllegalArgumentException("--read-path phải là servlet hoặc reactive: " + readPath);
+        }
+        this.expenseUrl = args.get("expense-url", "http://localhost:8083");
+        this.queryUrl = args.get("query-url", "http://localhost:8085");
+        this.readers = args.getInt("readers", 256);
+        this.writers = args.getInt("writers", 16);
+        this.durationSeconds = args.getInt("duration", 120);
+        this.warmupSeconds = args.getInt("warmup", 15);
+        this.resultsDir = Path.of(args.get("results-dir", "load-test-results"));
+        this.seed = args.getLong("seed", 7L);
+        this.userSampler = new Population.ZipfSampler(args.getInt("users", 100_000), args.getDouble("skew", 0.7));
+
+        String prefix = readPath.equals("servlet") ? "GET /api/expenses" : "GET /api/expense-queries";
+        this.listStats = new EndpointStats(prefix + "?userId");
+        this.totalStats = new EndpointStats(prefix + "/user/{id}/total");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ReadPathComparison(new Args(args)).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("🚀 Read path %s: %d readers + %d writers, %ds warmup + %ds measured%n",
+                readPath, readers, writers, warmupSeconds, durationSeconds);
+
+        long startNanos = System.nanoTime();
+        measureStartNanos = startNanos + Duration.ofSeconds(warmupSeconds).toNanos();
+        long endNanos = measureStartNanos + Duration.ofSeconds(durationSeconds).toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int reader = 0; reader < readers; reader++) {
+                SplittableRandom random = new SplittableRandom(seed * 7919 + reader);
+                executor.submit(() -> readerLoop(random, endNanos));
+            }
+            for (int writer = 0; writer < writers; writer++) {
+                SplittableRandom random = new SplittableRandom(seed * 104729 + writer);
+                executor.submit(() -> writerLoop(random, endNanos));
+            }
+        }
+
+        double seconds = (System.nanoTime() - measureStartNanos) / 1e9;
+        report(Math.min(seconds, durationSeconds));
+    }
+
+    private void readerLoop(SplittableRandom random, long endNanos) {
+        String base = readPath.equals("servlet") ? expenseUrl + "/api/expenses" : queryUrl + "/api/expense-queries";
+        while (System.nanoTime() < endNanos) {
+            long userId = userSampler.sample(random);
+            boolean list = random.nextInt(4) != 0;
+            String url = list
+                    ? base + "?userId=" + userId + "&page=" + random.nextInt(3) + "&size=20"
+                    : base + "/user/" + userId + "/total";
+            if (!send(list ? listStats : totalStats, HttpRequest.newBuilder(URI.create(url)).GET())) {
+                return;
+            }
+        }
+    }
+
+    private void writerLoop(SplittableRandom random, long endNanos) {
+        while (System.nanoTime() < endNanos) {
+            long userId = userSampler.sample(random);
+            long categoryId = Population.categoryId(userId, Population.pickCategoryIndex(random));
+            String body = "{\"amount\":" + (10 + random.nextInt(500)) + "000.00"
+                    + ",\"description\":\"" + Population.DESCRIPTIONS[random.nextInt(Population.DESCRIPTIONS.length)]
+                    + "\",\"expenseDate\":\"" + LocalDate.now() + "\",\"categoryId\":" + categoryId
+                    + ",\"userId\":" + userId + "}";
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(expenseUrl + "/api/expenses"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+            if (!send(writeStats, request)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Why: Gửi request và record latency - chỉ 2xx được tính vào histogram
+     *
+     * @return false nếu thread bị interrupt
+     */
+    private boolean send(EndpointStats endpointStats, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (start >= measureStartNanos) {
+                if (response.statusCode() / 100 == 2) {
+                    endpointStats.recordSuccess(System.nanoTime() - start);
+                } else {
+                    endpointStats.recordError();
+                }
+            }
+        } catch (IOException e) {
+            if (start >= measureStartNanos) {
+                endpointStats.recordError();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    private void report(double seconds) throws IOException {
+        List<EndpointStats> rows = List.of(writeStats, listStats, totalStats);
+
+        System.out.println();
+        System.out.printf("📊 Results over %.0fs (read path: %s)%n", seconds, readPath);
+        System.out.printf("%-40s %10s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (EndpointStats row : rows) {
+            System.out.printf(Locale.ROOT, "%-40s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                    row.endpoint(), row.successes() + row.errors(), row.errors(), row.throughput(seconds),
+                    row.percentileMillis(50), row.percentileMillis(99), row.maxMillis());
+        }
+
+        Files.createDirectories(resultsDir);
+        Path csv = resultsDir.resolve("read-path-" + readPath + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+            writer.println("read_path,endpoint,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms");
+            for (EndpointStats row : rows) {
+                writer.printf(Locale.ROOT, "%s,%s,%d,%d,%.2f,%.3f,%.3f,%.3f%n",
+                        readPath, row.endpoint(), row.successes() + row.errors(), row.errors(),
+                        row.throughput(seconds), row.percentileMillis(50), row.percentileMillis(99), row.maxMillis());
+            }
+        }
+
+        System.out.println("✅ Results in " + csv);
+    }
+}
@@ -0,0 +1,410 @@
+package com.hung.expensive.loadtest;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Why: Seed database của monolith với synthetic population đủ lớn để tái hiện production load
+ * Design decision: Tạo schema bằng Flyway migrations của monolith rồi insert bằng JDBC batches với IDs tường minh -
+ * nhanh hơn nhiều lần so với đi qua REST API, và driver suy ra được ownership từ IDs (xem Population)
+ *
+ * Usage:
+ *   java -cp load-test/target/load-test.jar com.hung.expensive.loadtest.SyntheticDataGenerator \
+ *       --jdbc-url=jdbc:h2:file:./data/expensivedb --users=100000 --expenses=5000000
+ *
+ * Options: --jdbc-url --db-user --db-password --users --expenses --months --recency-days --skew
+ *          --budget-months --batch-size --threads --seed
+ */
+public final class SyntheticDataGenerator {
+
+    private static final String INSERT_USER = "INSERT INTO users "
+            + "(id, username, email, password, created_at, updated_at, is_enabled) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY = "INSERT INTO categories "
+            + "(id, name, description, color_code, icon_name, is_default, created_at, updated_at, user_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EXPENSE = "INSERT INTO expenses "
+            + "(id, amount, description, notes, expense_date, location, receipt_url, created_at, updated_at, user_id, category_id, "
+            + "sync_version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BUDGET = "INSERT INTO budgets "
+            + "(id, amount, budget_month, budget_year, created_at, updated_at, user_id, category_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] LOCATIONS = {"Hà Nội", "TP. Hồ Chí Minh", "Đà Nẵng", "Hải Phòng", "Cần Thơ"};
+
+    private final String jdbcUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final int users;
+    private final long expenses;
+    private final int months;
+    private final double recencyDays;
+    private final int budgetMonths;
+    private final int batchSize;
+    private final int threads;
+    private final long seed;
+    private final Population.ZipfSampler activity;
+    private final LocalDate today = LocalDate.now();
+
+    private SyntheticDataGenerator(Args args) {
+        this.jdbcUrl = args.get("jdbc-url", "jdbc:h2:file:./data/expensivedb");
+        this.dbUser = args.get("db-user", "sa");
+        this.dbPassword = args.get("db-password", "password");
+        this.users = args.getInt("users", 100_000);
+        this.expenses = args.getLong("expenses", 5_000_000L);
+        this.months = args.getInt("months", 24);
+        // Why: Mean age của expense (ngày) - phân phối exponential nên tháng gần đây dày hơn hẳn lịch sử cũ
+        this.recencyDays = args.getDouble("recency-days", 90);
+        this.budgetMonths = args.getInt("budget-months", 6);
+        this.batchSize = args.getInt("batch-size", 5_000);
+        this.threads = args.getInt("threads", Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors())));
+        this.seed = args.getLong("seed", 42L);
+        this.activity = new Population.ZipfSampler(users, args.getDouble("skew", 0.7));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new SyntheticDataGenerator(new Args(args)).run();
+    }
+
+    private void run() throws Exception {
+        long start = System.currentTimeMillis();
+        System.out.printf("🌱 Seeding %s: %,d users, %,d expenses over %d months (%d threads)%n",
+                jdbcUrl, users, expenses, months, threads);
+
+        migrate();
+        try (Connection connection = connect()) {
+            requireEmpty(connection);
+        }
+
+        // Why: Một hash cho mọi users - BCrypt cost mặc định của app, hash 100k lần sẽ tốn hàng phút CPU
+        String passwordHash = new BCryptPasswordEncoder().encode(Population.DEFAULT_PASSWORD);
+
+        runPartitioned("users", userId -> 1, (connection, from, to, firstId, progress) ->
+                insertUsers(connection, from, to, firstId, progress, passwordHash));
+        runPartitioned("categories", userId -> Population.CATEGORIES_PER_USER, this::insertCategories);
+        runPartitioned("expenses", userId -> activity.allocate(userId, expenses), this::insertExpenses);
+        runPartitioned("budgets", userId -> budgetsPerUser(), this::insertBudgets);
+
+        try (Connection connection = connect()) {
+            finish(connection);
+        }
+
+        System.out.printf("✅ Seed completed in %ds - login với username %s..%s, password %s%n",
+                (System.currentTimeMillis() - start) / 1000,
+                Population.username(1), Population.username(users), Population.DEFAULT_PASSWORD);
+    }
+
+    private void migrate() {
+        // Why: Baseline cho database đã có schema từ ddl-auto - giống spring.flyway config của prod profile
+        Flyway.configure()
+                .dataSource(jdbcUrl, dbUser, dbPassword)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(jdbcUrl, dbUser, dbPassword);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    // Why: IDs tường minh chỉ đúng trên database rỗng - không trộn synthetic data với data thật
+    private void requireEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+            resultSet.next();
+            if (resultSet.getLong(1) > 0) {
+                throw new IllegalStateException("Database đã có users - hãy seed vào database rỗng (xóa ./data hoặc schema MySQL)");
+            }
+        }
+    }
+
+    /**
+     * Why: Chia users thành các dải liên tiếp cho từng thread, mỗi thread một connection
+     * Design decision: ID bắt đầu của mỗi dải = prefix sum số rows của các users trước đó, nên kết quả
+     * giống hệt nhau bất kể số threads (random cũng seed theo userId)
+     */
+    private void runPartitioned(String table, RowCount rowCount, RangeWriter writer) throws Exception {
+        long tableStart = System.currentTimeMillis();
+        long[] firstId = new long[users + 2];
+        firstId[1] = 1;
+        for (int userId = 1; userId <= users; userId++) {
+            firstId[userId + 1] = firstId[userId] + rowCount.rows(userId);
+        }
+        long total = firstId[users + 1] - 1;
+        AtomicLong written = new AtomicLong();
+        long reportEvery = Math.max(total / 20, 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            int chunk = (users + threads - 1) / threads;
+            for (int from = 1; from <= users; from += chunk) {
+                int rangeFrom = from;
+                int rangeTo = Math.min(users, from + chunk - 1);
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = connect()) {
+                        writer.write(connection, rangeFrom, rangeTo, firstId, rows -> {
+                            long done = written.addAndGet(rows);
+                            if (done / reportEvery != (done - rows) / reportEvery) {
+                                System.out.printf("   %s: %,d / %,d%n", table, done, total);
+                            }
+                        });
+                        connection.commit();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        System.out.printf("📦 %s: %,d rows in %ds%n", table, total, (System.currentTimeMillis() - tableStart) / 1000);
+    }
+
+    private void insertUsers(Connection connection, int from, int to, long[] firstId, Progress progress,
+                             String passwordHash) throws SQLException {
+        try (Batch batch = new Batch(connection, INSERT_USER, progress)) {
+            PreparedStatement statement = batch.statement;
+            for (int userId = from; userId <= to; userId++) {
+                SplittableRandom random = random(userId, 1);
+                Timestamp createdAt = Timestamp.valueOf(today.minusDays(months * 30L + random.nextInt(365)).atTime(9, 0));
+                statement.setLong(1, userId);
+                statement.setString(2, Population.username(userId));
+                statement.setString(3, Population.email(userId));
+                statement.setString(4, passwordHash);
+                statement.setTimestamp(5, createdAt);
+                statement.setTimestamp(6, createdAt);
+                statement.setBoolean(7, true);
+                batch.add();
+            }
+        }
+    }
+
+    private void insertCategories(Connection connection, int from, int to, long[] firstId, Progress progress)
+            throws SQLException {
+        Timestamp createdAt = Timestamp.valueOf(today.minusDays(months * 30L).atStartOfDay());
+        try (Batch batch = new Batch(connection, INSERT_CATEGORY, progress)) {
+            PreparedStatement statement = batch.statement;
+            for (int userId = from; userId <= to; userId++) {
+                for (int index = 0; index < Population.CATEGORIES_PER_USER; index++) {
+                    String[] category = Population.DEFAULT_CATEGORIES.get(index);
+                    statement.setLong(1, Population.categoryId(userId, index));
+                    statement.setString(2, category[0]);
+                    statement.setString(3, category[1]);
+                    statement.setString(4, category[2]);
+                    statement.setString(5, category[3]);
+                    statement.setBoolean(6, true);
+                    statement.setTimestamp(7, createdAt);
+                    statement.setTimestamp(8, createdAt);
+                    statement.setLong(9, userId);
+                    batch.add();
+                }
+            }
+        }
+    }
+
+    private void insertExpenses(Connection connection, int from, int to, long[] firstId, Progress progress)
+            throws SQLException {
+        long maxAgeDays = months * 30L;
+        try (Batch batch = new Batch(connection, INSERT_EXPENSE, progress)) {
+            PreparedStatement statement = batch.statement;
+            for (int userId = from; userId <= to; userId++) {
+                SplittableRandom random = random(userId, 3);
+                long id = firstId[userId];
+                for (; id < firstId[userId + 1]; id++) {
+                    // Why: Exponential recency - phần lớn expenses nằm trong vài tháng gần nhất (hot range của dashboard)
+                    long ageDays = Math.min(maxAgeDays, (long) (-Math.log(1 - random.nextDouble()) * recencyDays));
+                    LocalDate expenseDate = today.minusDays(ageDays);
+                    LocalDateTime createdAt = expenseDate.atTime(7 + random.nextInt(15), random.nextInt(60));
+                    int categoryIndex = Population.pickCategoryIndex(random);
+
+                    statement.setLong(1, id);
+                    statement.setBigDecimal(2, amount(random));
+                    statement.setString(3, Population.DESCRIPTIONS[random.nextInt(Population.DESCRIPTIONS.length)]);
+                    setNullable(statement, 4, random.nextInt(10) == 0 ? "Ghi chú #" + id : null);
+                    statement.setObject(5, expenseDate);
+                    setNullable(statement, 6, random.nextInt(3) == 0 ? LOCATIONS[random.nextInt(LOCATIONS.length)] : null);
+                    setNullable(statement, 7, random.nextInt(20) == 0 ? "https://receipts.local/" + id + ".jpg" : null);
+                    statement.setTimestamp(8, Timestamp.valueOf(createdAt));
+                    statement.setTimestamp(9, Timestamp.valueOf(createdAt));
+                    statement.setLong(10, userId);
+                    statement.setLong(11, Population.categoryId(userId, categoryIndex));
+                    // Why: Giống backfill của V4 - sync_version = id, unique và tăng dần trong từng user
+                    statement.setLong(12, id);
+                    batch.add();
+                }
+            }
+        }
+    }
+
+    private void insertBudgets(Connection connection, int from, int to, long[] firstId, Progress progress)
+            throws SQLException {
+        YearMonth current = YearMonth.from(today);
+        Timestamp createdAt = Timestamp.valueOf(today.atStartOfDay());
+        try (Batch batch = new Batch(connection, INSERT_BUDGET, progress)) {
+            PreparedStatement statement = batch.statement;
+            for (int userId = from; userId <= to; userId++) {
+                SplittableRandom random = random(userId, 4);
+                long id = firstId[userId];
+                for (int offset = 0; offset < budgetMonths; offset++) {
+                    YearMonth month = current.minusMonths(offset);
+                    // Why: Tổng budget tháng (category NULL) + budget cho 2 categories chi nhiều nhất
+                    Long[] categories = {null, Population.categoryId(userId, 0), Population.categoryId(userId, 1)};
+                    for (Long categoryId : categories) {
+                        statement.setLong(1, id++);
+                        statement.setBigDecimal(2, BigDecimal.valueOf((categoryId == null ? 5_000_000 : 1_500_000)
+                                + random.nextInt(20) * 100_000L).setScale(2));
+                        statement.setInt(3, month.getMonthValue());
+                        statement.setInt(4, month.getYear());
+                        statement.setTimestamp(5, createdAt);
+                        statement.setTimestamp(6, createdAt);
+                        statement.setLong(7, userId);
+                        if (categoryId == null) {
+                            statement.setNull(8, Types.BIGINT);
+                        } else {
+                            statement.setLong(8, categoryId);
+                        }
+                        batch.add();
+                    }
+                }
+            }
+        }
+    }
+
+    private int budgetsPerUser() {
+        return budgetMonths * 3;
+    }
+
+    /**
+     * Why: Sau khi insert IDs tường minh, identity counter của H2 vẫn ở 1 - app sẽ lỗi duplicate key khi tạo mới
+     * Note: MySQL tự nâng AUTO_INCREMENT theo max(id) nên chỉ cần ANALYZE
+     * Sync: Counter users.sync_version tiếp tục từ MAX(id) expenses của user như backfill của V4 -
+     * thay đổi mới sau seed nhận version lớn hơn mọi expense đã seed
+     */
+    private void finish(Connection connection) throws SQLException {
+        boolean h2 = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("h2");
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE users SET sync_version = "
+                    + "COALESCE((SELECT MAX(e.id) FROM expenses e WHERE e.user_id = users.id), 0)");
+            for (String table : new String[] {"users", "categories", "expenses", "budgets"}) {
+                if (h2) {
+                    long next;
+                    try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                        resultSet.next();
+                        next = resultSet.getLong(1);
+                    }
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+                } else {
+                    statement.execute("ANALYZE TABLE " + table);
+                }
+            }
+            if (h2) {
+                statement.execute("ANALYZE");
+            }
+        }
+        connection.commit();
+    }
+
+    // Why: Log-normal amount (median ~85k VND) - nhiều giao dịch nhỏ, ít giao dịch lớn
+    private static BigDecimal amount(SplittableRandom random) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        double value = Math.exp(Math.log(85_000) + 1.1 * gaussian);
+        value = Math.max(1_000, Math.min(value, 50_000_000));
+        return BigDecimal.valueOf(value).setScale(-3, RoundingMode.HALF_UP).setScale(2);
+    }
+
+    private SplittableRandom random(long userId, int stream) {
+        return new SplittableRandom(seed * 1_000_003L + userId * 31 + stream);
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowCount {
+        long rows(long userId);
+    }
+
+    @FunctionalInterface
+    private interface Progress {
+        void written(int rows);
+    }
+
+    @FunctionalInterface
+    private interface RangeWriter {
+        void write(Connection connection, int from, int to, long[] firstId, Progress progress) throws SQLException;
+    }
+
+    /**
+     * Why: Gom rows thành JDBC batch, flush + commit mỗi batchSize rows để transaction không phình to
+     */
+    private final class Batch implements AutoCloseable {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final Progress progress;
+        private int pending;
+
+        Batch(Connection connection, String sql, Progress progress) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+            this.progress = progress;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++pending >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            statement.executeBatch();
+            connection.commit();
+            progress.written(pending);
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
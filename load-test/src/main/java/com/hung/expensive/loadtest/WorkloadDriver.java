@@ -0,0 +1,301 @@
+package com.hung.expensive.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Why: Drive ExpenseController, CategoryController và AuthController với workload mix có kịch bản,
+ * report p50/p99 latency và throughput theo từng endpoint
+ * Design decision: Closed-loop model - mỗi virtual thread là một client gửi request kế tiếp ngay khi nhận response;
+ * users được chọn theo cùng Zipf skew với generator nên heavy users nhận nhiều traffic hơn (giống production)
+ * Note: Chỉ record sau warmup để JIT, connection pools và caches của server đã ổn định
+ *
+ * Usage:
+ *   java -cp load-test/target/load-test.jar com.hung.expensive.loadtest.WorkloadDriver \
+ *       --base-url=http://localhost:8080 --users=100000 --concurrency=64 --duration=120
+ *
+ * Options: --base-url --users --skew --concurrency --duration --warmup --think-time-ms --mix --password
+ *          --results-dir --seed
+ */
+public final class WorkloadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final long thinkTimeMs;
+    private final String password;
+    private final Path resultsDir;
+    private final long seed;
+    private final Population.ZipfSampler userSampler;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final Map<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+
+    private volatile long measureStartNanos;
+
+    private WorkloadDriver(Args args) {
+        this.baseUrl = args.get("base-url", "http://localhost:8080");
+        this.concurrency = args.getInt("concurrency", 64);
+        this.durationSeconds = args.getInt("duration", 120);
+        this.warmupSeconds = args.getInt("warmup", 15);
+        this.thinkTimeMs = args.getLong("think-time-ms", 0);
+        this.password = args.get("password", Population.DEFAULT_PASSWORD);
+        this.resultsDir = Path.of(args.get("results-dir", "load-test-results"));
+        this.seed = args.getLong("seed", 7L);
+        this.userSampler = new Population.ZipfSampler(args.getInt("users", 100_000), args.getDouble("skew", 0.7));
+
+        Map<Operation, Integer> weights = parseMix(args.get("mix", ""));
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.endpoint));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new WorkloadDriver(new Args(args)).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("🚀 Driving %s: %d clients, %ds warmup + %ds measured%n",
+                baseUrl, concurrency, warmupSeconds, durationSeconds);
+
+        long startNanos = System.nanoTime();
+        measureStartNanos = startNanos + Duration.ofSeconds(warmupSeconds).toNanos();
+        long endNanos = measureStartNanos + Duration.ofSeconds(durationSeconds).toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < concurrency; client++) {
+                SplittableRandom random = new SplittableRandom(seed * 7919 + client);
+                executor.submit(() -> clientLoop(random, endNanos));
+            }
+        }
+
+        double seconds = (System.nanoTime() - measureStartNanos) / 1e9;
+        report(Math.min(seconds, durationSeconds));
+    }
+
+    private void clientLoop(SplittableRandom random, long endNanos) {
+        while (System.nanoTime() < endNanos) {
+            long userId = userSampler.sample(random);
+            Operation operation = pickOperation(random);
+            try {
+                execute(operation, userId, random);
+                if (thinkTimeMs > 0) {
+                    Thread.sleep(thinkTimeMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void execute(Operation operation, long userId, SplittableRandom random) throws InterruptedException {
+        if (operation == Operation.AUTH_LOGIN) {
+            login(userId);
+            return;
+        }
+
+        String token = tokens.get(userId);
+        if (token == null) {
+            // Why: Login lần đầu của user cũng là traffic thật lên AuthController - record dưới endpoint login
+            token = login(userId);
+            if (token == null) {
+                return;
+            }
+        }
+
+        HttpRequest request = operation.request(baseUrl, userId, random)
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        HttpResponse<String> response = send(operation, request);
+        if (response == null) {
+            return;
+        }
+        if (response.statusCode() == 401 || response.statusCode() == 403) {
+            // Why: Token hết hạn - login lại ở request kế tiếp của user này
+            tokens.remove(userId);
+        }
+    }
+
+    private String login(long userId) throws InterruptedException {
+        HttpRequest request = Operation.login(baseUrl, userId, password).timeout(Duration.ofSeconds(30)).build();
+        HttpResponse<String> response = send(Operation.AUTH_LOGIN, request);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        return cacheToken(userId, response.body());
+    }
+
+    private String cacheToken(long userId, String body) {
+        try {
+            JsonNode token = MAPPER.readTree(body).path("data").path("token");
+            if (token.isTextual()) {
+                tokens.put(userId, token.asText());
+                return token.asText();
+            }
+        } catch (IOException e) {
+            // Why: Body không parse được thì coi như login thất bại - đã được đếm qua status code
+        }
+        return null;
+    }
+
+    /**
+     * Why: Gửi request và record latency - chỉ 2xx được tính vào histogram, còn lại đếm là error
+     */
+    private HttpResponse<String> send(Operation operation, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            if (start >= measureStartNanos) {
+                stats.get(operation).recordError();
+                statusCounts.computeIfAbsent(-1, status -> new AtomicLong()).incrementAndGet();
+            }
+            return null;
+        }
+        long latency = System.nanoTime() - start;
+
+        if (start >= measureStartNanos) {
+            statusCounts.computeIfAbsent(response.statusCode(), status -> new AtomicLong()).incrementAndGet();
+            if (response.statusCode() / 100 == 2) {
+                stats.get(operation).recordSuccess(latency);
+            } else {
+                stats.get(operation).recordError();
+            }
+        }
+        return response;
+    }
+
+    private Operation pickOperation(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    // Why: --mix=list=40,create=20 chỉ chạy các operations được liệt kê; bỏ trống thì dùng default weights
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        if (mix.isBlank()) {
+            for (Operation operation : Operation.values()) {
+                weights.put(operation, operation.defaultWeight);
+            }
+            return weights;
+        }
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix không có operation nào với weight > 0");
+        }
+        return weights;
+    }
+
+    private void report(double seconds) throws IOException {
+        List<EndpointStats> rows = new ArrayList<>();
+        for (EndpointStats endpointStats : stats.values()) {
+            if (endpointStats.successes() + endpointStats.errors() > 0) {
+                rows.add(endpointStats);
+            }
+        }
+
+        System.out.println();
+        System.out.printf("📊 Results over %.0fs (%d clients)%n", seconds, concurrency);
+        System.out.printf("%-34s %10s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        for (EndpointStats row : rows) {
+            long requests = row.successes() + row.errors();
+            totalRequests += requests;
+            System.out.printf(Locale.ROOT, "%-34s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                    row.endpoint(), requests, row.errors(), row.throughput(seconds),
+                    row.percentileMillis(50), row.percentileMillis(99), row.maxMillis());
+        }
+        System.out.printf(Locale.ROOT, "%-34s %10d %8s %10.1f%n", "TOTAL", totalRequests, "", totalRequests / seconds);
+        System.out.println("   HTTP status counts (-1 = I/O error): " + statusCounts);
+
+        Files.createDirectories(resultsDir);
+        String name = "workload-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path csv = resultsDir.resolve(name + ".csv");
+        Path json = resultsDir.resolve(name + ".json");
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+            writer.println("endpoint,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms");
+            for (EndpointStats row : rows) {
+                writer.printf(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f%n",
+                        row.endpoint(), row.successes() + row.errors(), row.errors(), row.throughput(seconds),
+                        row.percentileMillis(50), row.percentileMillis(99), row.maxMillis());
+            }
+        }
+
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("baseUrl", baseUrl);
+        root.put("concurrency", concurrency);
+        root.put("durationSeconds", seconds);
+        root.put("warmupSeconds", warmupSeconds);
+        ArrayNode endpoints = root.putArray("endpoints");
+        for (EndpointStats row : rows) {
+            ObjectNode node = endpoints.addObject();
+            node.put("endpoint", row.endpoint());
+            node.put("requests", row.successes() + row.errors());
+            node.put("errors", row.errors());
+            node.put("throughputRps", row.throughput(seconds));
+            node.put("p50Ms", row.percentileMillis(50));
+            node.put("p99Ms", row.percentileMillis(99));
+            node.put("maxMs", row.maxMillis());
+        }
+        MAPPER.writeValue(json.toFile(), root);
+
+        System.out.println("✅ Results in " + csv + " and " + json);
+    }
+}
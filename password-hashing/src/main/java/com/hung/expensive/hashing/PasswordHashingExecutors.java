@@ -0,0 +1,35 @@
+package com.hung.expensive.hashing;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Why: Executor riêng cho password hashing
+ * Design decision: Pool size = số cores, queue có giới hạn và AbortPolicy - quá tải thì reject ngay
+ * (PooledPasswordEncoder chuyển thành 503) thay vì để requests xếp hàng vô hạn
+ * Performance: Threads > cores không tăng throughput của CPU-bound work, chỉ tăng latency
+ */
+public final class PasswordHashingExecutors {
+
+    private PasswordHashingExecutors() {
+    }
+
+    /**
+     * @param threads       số threads, <= 0 = số cores
+     * @param queueCapacity số hashing requests tối đa được chờ
+     */
+    public static ThreadPoolExecutor bounded(int threads, int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
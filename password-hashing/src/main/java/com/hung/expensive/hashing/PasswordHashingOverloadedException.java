@@ -0,0 +1,11 @@
+package com.hung.expensive.hashing;
+
+/**
+ * Why: Password hashing pool đã đầy - login/register fail fast với 503 thay vì chờ trong queue
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,83 @@
+package com.hung.expensive.hashing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Hashing chạy trên pool riêng và backpressure khi pool quá tải
+ */
+class PooledPasswordEncoderTest {
+
+    private final ThreadPoolExecutor executor = PasswordHashingExecutors.bounded(1, 1);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hashesOnPoolThreads() {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(new ThreadRecordingEncoder(), executor,
+                Duration.ofSeconds(5));
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("password-hashing-"), hash);
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void fullQueueFailsFast() {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(new ThreadRecordingEncoder(), executor,
+                Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        // Why: Một task chiếm thread, một task chiếm chỗ duy nhất trong queue
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertThrows(PasswordHashingOverloadedException.class, () -> encoder.encode("secret"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void slowHashingTimesOut() {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(new ThreadRecordingEncoder(), executor,
+                Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertThrows(PasswordHashingOverloadedException.class, () -> encoder.encode("secret"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    // Note: "Hash" = tên thread đã chạy encode + password - đủ để kiểm tra hashing không chạy trên caller thread
+    private static final class ThreadRecordingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return Thread.currentThread().getName() + ":" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.endsWith(":" + rawPassword);
+        }
+    }
+}
@@ -8,6 +8,10 @@ set -e
 
 echo "🚀 Building Expensive Project Microservices..."
 
+# Why: Fail sớm nếu có synchronized mới trong servlet services (profile virtual-threads) - build bên dưới chạy -DskipTests
+echo "🔍 Checking virtual thread pinning..."
+./scripts/check-virtual-thread-pinning.sh
+
 # Why: Clean và build parent project
 echo "📦 Building parent project..."
 ./mvnw clean install -DskipTests
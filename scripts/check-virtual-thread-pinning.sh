@@ -0,0 +1,93 @@
+#!/bin/bash
+
+# Why: Automated check cho virtual thread pinning
+# Design decision: Hai bước - static scan source code + scan runtime log từ -Djdk.tracePinnedThreads
+# Business requirement: synchronized bao quanh blocking I/O (JDBC, Feign) sẽ pin carrier thread
+#                       và làm mất lợi ích của profile virtual-threads
+#
+# Usage:
+#   ./scripts/check-virtual-thread-pinning.sh                 # static scan
+#   ./scripts/check-virtual-thread-pinning.sh service.log ... # static scan + runtime logs
+#
+# Runtime log: chạy service với
+#   JAVA_TOOL_OPTIONS="-Djdk.tracePinnedThreads=short" SPRING_PROFILES_ACTIVE=virtual-threads java -jar app.jar > service.log
+
+set -e
+
+# Why: Servlet services chạy profile virtual-threads
+SOURCE_DIRS="src/main/java auth-service/src/main/java user-service/src/main/java expense-service/src/main/java category-service/src/main/java shared/src/main/java"
+
+# Why: Chỉ synchronized bao quanh blocking I/O mới pin carrier thread đáng kể - counter/map in-memory
+# trong synchronized chỉ giữ monitor vài micro giây nên không bị flag
+# Note: Chỉ thấy I/O gọi trực tiếp trong block; I/O nằm sâu trong method được gọi thì dựa vào runtime log
+BLOCKING_IO_PATTERN='([Rr]epository|[Cc]lient|[Tt]emplate)\.[A-Za-z]+\(|\.execute(Query|Update|Batch)?\(|getConnection\(|\.(block|join)\(\)|Future[A-Za-z]*\.get\(|\.get\([0-9]+|Thread\.sleep\(|Files\.|(Input|Output)Stream|Socket|HttpURLConnection|\.send\('
+
+failed=0
+
+echo "🔍 Scanning source code for synchronized blocks/methods wrapping blocking I/O..."
+
+# Why: In các synchronized block/method (tới dấu } đóng) có chứa blocking I/O, dạng file:line: code
+scan_synchronized() {
+    # Note: Pattern truyền qua ENVIRON - awk -v sẽ xử lý backslash escapes trong regex
+    BLOCKING_IO_PATTERN="$BLOCKING_IO_PATTERN" awk '
+        BEGIN { pattern = ENVIRON["BLOCKING_IO_PATTERN"] }
+        FNR == 1 { inside = 0 }
+        {
+            line = $0
+            # Why: Bỏ qua comment lines, chỉ bắt keyword thật sự
+            if (line ~ /^[ \t]*(\/\/|\*|\/\*)/) next
+            sub(/\/\/.*/, "", line)
+            if (!inside && line ~ /(^|[^A-Za-z_.])synchronized([^A-Za-z_]|$)/) {
+                inside = 1; depth = 0; opened = 0; start = FNR; hits = ""
+            }
+            if (!inside) next
+            if (line ~ pattern) hits = hits "\n    " FILENAME ":" FNR ": " line
+            n = split(line, chars, "")
+            for (i = 1; i <= n; i++) {
+                if (chars[i] == "{") { depth++; opened = 1 }
+                else if (chars[i] == "}") depth--
+            }
+            # Why: Method abstract/interface không có body
+            if (!opened && line ~ /;/) { inside = 0; next }
+            if (opened && depth <= 0) {
+                if (hits != "") print FILENAME ":" start ": synchronized wraps blocking I/O:" hits
+                inside = 0
+            }
+        }' "$@"
+}
+
+for dir in $SOURCE_DIRS; do
+    [ -d "$dir" ] || continue
+    files=$(find "$dir" -name '*.java')
+    [ -n "$files" ] || continue
+    matches=$(scan_synchronized $files)
+    if [ -n "$matches" ]; then
+        echo "❌ synchronized around blocking I/O in $dir (use ReentrantLock instead):"
+        echo "$matches"
+        failed=1
+    fi
+done
+
+# Why: Runtime check - JVM in stack trace mỗi khi virtual thread bị pin
+for log in "$@"; do
+    if [ ! -f "$log" ]; then
+        echo "❌ Log file not found: $log"
+        failed=1
+        continue
+    fi
+
+    echo "🔍 Scanning $log for pinned virtual threads..."
+    pinned=$(grep -c 'onPinned\|<== monitors:' "$log" || true)
+    if [ "$pinned" -gt 0 ]; then
+        echo "❌ $pinned pinned-thread events in $log:"
+        grep -A 3 '<== monitors:' "$log" | head -40
+        failed=1
+    fi
+done
+
+if [ $failed -ne 0 ]; then
+    echo "❌ Virtual thread pinning check failed"
+    exit 1
+fi
+
+echo "✅ No virtual thread pinning detected"
@@ -0,0 +1,43 @@
+#!/bin/bash
+
+# Why: So sánh hai JMH JSON results (ví dụ main vs feature branch) theo từng benchmark/params
+# Design decision: Score là average time (thấp hơn là tốt hơn) - đánh dấu regression khi chậm hơn ngưỡng
+#
+# Usage:
+#   ./scripts/compare-benchmarks.sh <base.json> <head.json>
+#   THRESHOLD=5 ./scripts/compare-benchmarks.sh benchmark-results/jmh-abc123.json benchmark-results/jmh-def456.json
+#
+# Requirements: jq
+
+set -e
+
+BASE=$1
+HEAD=$2
+THRESHOLD=${THRESHOLD:-10}
+
+if [ -z "$BASE" ] || [ -z "$HEAD" ]; then
+    echo "Usage: $0 <base.json> <head.json>"
+    exit 1
+fi
+
+if ! command -v jq > /dev/null; then
+    echo "❌ jq is required"
+    exit 1
+fi
+
+# Why: Key = benchmark + params để so sánh đúng từng case (rows=10/100/1000)
+summarize() {
+    jq -r '.[] | [(.benchmark | split(".") | .[-2:] | join(".")) + ((.params // {}) | to_entries | map("[" + .key + "=" + .value + "]") | join("")),
+                  .primaryMetric.score, .primaryMetric.scoreUnit] | @tsv' "$1"
+}
+
+join -t $'\t' <(summarize "$BASE" | sort) <(summarize "$HEAD" | sort) | \
+    awk -F '\t' -v threshold="$THRESHOLD" '
+        BEGIN { regressions = 0; printf "%-60s %14s %14s %9s\n", "benchmark", "base", "head", "change" }
+        {
+            change = ($4 - $2) / $2 * 100
+            flag = change > threshold ? "  ❌" : (change < -threshold ? "  ✅" : "")
+            if (change > threshold) regressions++
+            printf "%-60s %10.3f %s %10.3f %s %+8.1f%%%s\n", $1, $2, $3, $4, $5, change, flag
+        }
+        END { exit regressions > 0 ? 1 : 0 }'
@@ -0,0 +1,47 @@
+#!/bin/bash
+
+# Why: So sánh servlet read path (expense-service) với reactive read path (expense-query-service) dưới cùng tải
+# Design decision: Chạy hai lượt với cùng readers/writers/seed - khác nhau duy nhất ở service nhận reads;
+#                  metric chính là p99 của POST /api/expenses (writes có bị reads làm chậm không)
+#
+# Usage:
+#   ./scripts/compare-read-paths.sh                          # cả hai lượt, servlet trước
+#   READERS=512 WRITERS=32 DURATION=300 ./scripts/compare-read-paths.sh
+#   ./scripts/compare-read-paths.sh reactive                 # chỉ một lượt
+#
+# Requirements: expense-service (:8083), expense-query-service (:8085), user-service và category-service
+#               đang chạy trên cùng database đã seed bằng ./scripts/load-test.sh seed
+
+set -e
+
+PATHS=${1:-"servlet reactive"}
+
+EXPENSE_URL=${EXPENSE_URL:-http://localhost:8083}
+QUERY_URL=${QUERY_URL:-http://localhost:8085}
+USERS=${USERS:-100000}
+READERS=${READERS:-256}
+WRITERS=${WRITERS:-16}
+DURATION=${DURATION:-120}
+WARMUP=${WARMUP:-15}
+RESULTS_DIR=${RESULTS_DIR:-load-test-results}
+
+JAR=load-test/target/load-test.jar
+
+if [ ! -f "$JAR" ]; then
+    echo "🔨 Building load-test module..."
+    ./mvnw -q -pl load-test -am package -DskipTests
+fi
+
+for URL in "$EXPENSE_URL" "$QUERY_URL"; do
+    if ! curl -s -o /dev/null "$URL/actuator/health"; then
+        echo "❌ Service is not reachable at $URL"
+        exit 1
+    fi
+done
+
+for READ_PATH in $PATHS; do
+    java -cp "$JAR" com.hung.expensive.loadtest.ReadPathComparison \
+        --read-path="$READ_PATH" --expense-url="$EXPENSE_URL" --query-url="$QUERY_URL" \
+        --users="$USERS" --readers="$READERS" --writers="$WRITERS" \
+        --duration="$DURATION" --warmup="$WARMUP" --results-dir="$RESULTS_DIR"
+done
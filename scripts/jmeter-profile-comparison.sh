@@ -0,0 +1,79 @@
+#!/bin/bash
+
+# Why: So sánh insert/read throughput giữa default profile và prod profile (tuned Hikari + JDBC batching)
+# Design decision: Cùng một JAR, cùng JMeter plan, chỉ khác Spring profile
+# Business requirement: Cần số liệu trước/sau khi thay đổi pool sizing và driver settings
+#
+# Usage:
+#   ./scripts/jmeter-profile-comparison.sh [module] [port]
+#   THREADS=100 DURATION=120 ./scripts/jmeter-profile-comparison.sh expense-service 8083
+#
+# Requirements: jmeter trong PATH, MySQL đang chạy, JAR đã build bằng ./scripts/build.sh
+
+set -e
+
+MODULE=${1:-expense-service}
+PORT=${2:-8083}
+PLAN=${PLAN:-perf/jmeter/expense-throughput.jmx}
+THREADS=${THREADS:-50}
+DURATION=${DURATION:-60}
+RESULTS_DIR=${RESULTS_DIR:-load-test-results}
+
+if ! command -v jmeter > /dev/null; then
+    echo "❌ jmeter is required (https://jmeter.apache.org/download_jmeter.cgi)"
+    exit 1
+fi
+
+JAR=$(ls "$MODULE"/target/"$MODULE"-*.jar 2>/dev/null | grep -v original | head -1)
+if [ -z "$JAR" ]; then
+    echo "❌ JAR not found for $MODULE - run ./scripts/build.sh first"
+    exit 1
+fi
+
+mkdir -p "$RESULTS_DIR"
+
+# Why: Function chạy JMeter plan với một profile
+run_profile() {
+    local label=$1
+    local profiles=$2
+    local out="$RESULTS_DIR/$MODULE-jmeter-$label"
+
+    rm -rf "$out" "$out.jtl"
+    echo "🚀 Starting $MODULE ($label)..."
+    java -jar "$JAR" ${profiles:+--spring.profiles.active=$profiles} > "$out.log" 2>&1 &
+    local pid=$!
+
+    local attempt=1
+    until curl -f -s "http://localhost:$PORT/actuator/health" > /dev/null; do
+        if [ $attempt -ge 60 ]; then
+            echo "❌ $MODULE did not become healthy"
+            kill $pid
+            exit 1
+        fi
+        sleep 2
+        ((attempt++))
+    done
+
+    echo "🔥 Running JMeter ($THREADS threads per group, ${DURATION}s)..."
+    jmeter -n -t "$PLAN" -Jport="$PORT" -Jthreads="$THREADS" -Jduration="$DURATION" \
+        -l "$out.jtl" -e -o "$out" > /dev/null
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+
+    echo "📊 $label: $out/index.html"
+    # Why: Tóm tắt throughput (req/s) theo sampler từ statistics.json
+    python3 - "$out/statistics.json" <<'PY'
+import json, sys
+stats = json.load(open(sys.argv[1]))
+for name, s in stats.items():
+    if name == "Total":
+        continue
+    print(f"   {name:<22} {s['throughput']:>9.1f} req/s   p99 {s['pct3ResTime']:>7.1f} ms   errors {s['errorPct']:.2f}%")
+PY
+}
+
+run_profile "default" ""
+run_profile "prod" "prod"
+
+echo "✅ Comparison completed - results in $RESULTS_DIR/"
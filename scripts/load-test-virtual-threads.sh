@@ -0,0 +1,92 @@
+#!/bin/bash
+
+# Why: So sánh platform threads vs virtual threads ở 2k concurrent connections
+# Design decision: Chạy cùng một JAR hai lần (default profile và virtual-threads profile),
+#                  dùng hey để bắn tải giống nhau, lưu kết quả cạnh nhau để diff
+# Business requirement: Cần số liệu thật trước khi bật virtual-threads trong production
+#
+# Usage:
+#   ./scripts/load-test-virtual-threads.sh <module> <port> <path> [bearer-token]
+#   ./scripts/load-test-virtual-threads.sh expense-service 8083 "/api/expenses?userId=1&size=20"
+#
+# Requirements: hey (https://github.com/rakyll/hey), JAR đã build bằng ./scripts/build.sh
+
+set -e
+
+MODULE=$1
+PORT=$2
+ENDPOINT=$3
+TOKEN=$4
+
+CONCURRENCY=${CONCURRENCY:-2000}
+DURATION=${DURATION:-60s}
+BASE_PROFILES=${BASE_PROFILES:-prod}
+RESULTS_DIR=${RESULTS_DIR:-load-test-results}
+
+if [ -z "$MODULE" ] || [ -z "$PORT" ] || [ -z "$ENDPOINT" ]; then
+    echo "Usage: $0 <module> <port> <path> [bearer-token]"
+    exit 1
+fi
+
+if ! command -v hey > /dev/null; then
+    echo "❌ hey is required: go install github.com/rakyll/hey@latest"
+    exit 1
+fi
+
+JAR=$(ls "$MODULE"/target/"$MODULE"-*.jar 2>/dev/null | grep -v original | head -1)
+if [ -z "$JAR" ]; then
+    echo "❌ JAR not found for $MODULE - run ./scripts/build.sh first"
+    exit 1
+fi
+
+mkdir -p "$RESULTS_DIR"
+
+HEADER_ARGS=()
+if [ -n "$TOKEN" ]; then
+    HEADER_ARGS=(-H "Authorization: Bearer $TOKEN")
+fi
+
+# Why: Function chạy một vòng load test với profile cho trước
+run_mode() {
+    local mode=$1
+    local profiles=$2
+    local log_file="$RESULTS_DIR/$MODULE-$mode.log"
+    local result_file="$RESULTS_DIR/$MODULE-$mode.txt"
+
+    echo "🚀 Starting $MODULE ($mode, profiles=$profiles)..."
+    JAVA_TOOL_OPTIONS="-Djdk.tracePinnedThreads=short" \
+        java -jar "$JAR" --spring.profiles.active="$profiles" > "$log_file" 2>&1 &
+    local pid=$!
+
+    # Why: Đợi service healthy trước khi bắn tải
+    local attempt=1
+    until curl -f -s "http://localhost:$PORT/actuator/health" > /dev/null; do
+        if [ $attempt -ge 60 ]; then
+            echo "❌ $MODULE did not become healthy"
+            kill $pid
+            exit 1
+        fi
+        sleep 2
+        ((attempt++))
+    done
+
+    # Why: Warm-up ngắn để JIT và connection pool ổn định
+    hey -z 10s -c 50 "${HEADER_ARGS[@]}" "http://localhost:$PORT$ENDPOINT" > /dev/null
+
+    echo "🔥 Running $CONCURRENCY concurrent connections for $DURATION..."
+    hey -z "$DURATION" -c "$CONCURRENCY" "${HEADER_ARGS[@]}" "http://localhost:$PORT$ENDPOINT" > "$result_file"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+
+    echo "📊 $mode results:"
+    grep -E 'Requests/sec|Average|Slowest|99% in|\[[0-9]+\]' "$result_file"
+}
+
+run_mode "platform-threads" "$BASE_PROFILES"
+run_mode "virtual-threads" "$BASE_PROFILES,virtual-threads"
+
+# Why: Pinning trong lúc chạy tải là dấu hiệu synchronized quanh blocking I/O
+./scripts/check-virtual-thread-pinning.sh "$RESULTS_DIR/$MODULE-virtual-threads.log"
+
+echo "✅ Load test completed - results in $RESULTS_DIR/"
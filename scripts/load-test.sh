@@ -0,0 +1,59 @@
+#!/bin/bash
+
+# Why: Tái hiện production load ở local - seed synthetic population rồi drive các endpoints của monolith
+# Design decision: Hai bước tách biệt (seed / drive) vì seed 5M expenses tốn vài phút và chỉ cần làm một lần,
+#                  còn workload thì chạy lại nhiều lần khi so sánh các thay đổi
+# Business requirement: Đo p50/p99 và throughput theo endpoint trên data volume giống production
+#
+# Usage:
+#   ./scripts/load-test.sh seed                 # H2 file ./data/expensivedb (application-file.properties)
+#   ./scripts/load-test.sh drive                # app đang chạy ở BASE_URL
+#   USERS=10000 EXPENSES=500000 ./scripts/load-test.sh seed
+#   JDBC_URL="jdbc:mysql://localhost:3306/expensive_db?rewriteBatchedStatements=true" \
+#       DB_USER=root DB_PASSWORD=password ./scripts/load-test.sh seed
+#   CONCURRENCY=128 DURATION=300 MIX="list=40,create=20,login=5" ./scripts/load-test.sh drive
+#
+# Requirements: Seed khi app đã dừng (H2 file mode giữ lock trên database file);
+#               drive khi app đang chạy với cùng database, ví dụ --spring.profiles.active=file
+
+set -e
+
+COMMAND=$1
+
+USERS=${USERS:-100000}
+EXPENSES=${EXPENSES:-5000000}
+JDBC_URL=${JDBC_URL:-jdbc:h2:file:./data/expensivedb}
+DB_USER=${DB_USER:-sa}
+DB_PASSWORD=${DB_PASSWORD:-password}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+CONCURRENCY=${CONCURRENCY:-64}
+DURATION=${DURATION:-120}
+WARMUP=${WARMUP:-15}
+MIX=${MIX:-}
+RESULTS_DIR=${RESULTS_DIR:-load-test-results}
+
+JAR=load-test/target/load-test.jar
+
+if [ "$COMMAND" != "seed" ] && [ "$COMMAND" != "drive" ]; then
+    echo "Usage: $0 seed|drive"
+    exit 1
+fi
+
+if [ ! -f "$JAR" ]; then
+    echo "🔨 Building load-test module..."
+    ./mvnw -q -pl load-test -am package -DskipTests
+fi
+
+if [ "$COMMAND" = "seed" ]; then
+    java -cp "$JAR" com.hung.expensive.loadtest.SyntheticDataGenerator \
+        --jdbc-url="$JDBC_URL" --db-user="$DB_USER" --db-password="$DB_PASSWORD" \
+        --users="$USERS" --expenses="$EXPENSES"
+else
+    if ! curl -s -o /dev/null "$BASE_URL/api/auth/test"; then
+        echo "❌ App is not reachable at $BASE_URL"
+        exit 1
+    fi
+    java -cp "$JAR" com.hung.expensive.loadtest.WorkloadDriver \
+        --base-url="$BASE_URL" --users="$USERS" --concurrency="$CONCURRENCY" \
+        --duration="$DURATION" --warmup="$WARMUP" --mix="$MIX" --results-dir="$RESULTS_DIR"
+fi
@@ -0,0 +1,32 @@
+#!/bin/bash
+
+# Why: Chạy JMH benchmarks và lưu kết quả JSON theo commit để diff regressions
+# Design decision: Một file JSON cho mỗi commit (benchmark-results/jmh-<sha>.json), so sánh bằng compare-benchmarks.sh
+#
+# Usage:
+#   ./scripts/run-benchmarks.sh [jmh-args...]
+#   ./scripts/run-benchmarks.sh ExpenseMappingBenchmark -p rows=1000
+#   ./scripts/run-benchmarks.sh -f 1 -wi 1 -i 2          # smoke run
+#
+# Compare: ./scripts/compare-benchmarks.sh benchmark-results/jmh-<base>.json benchmark-results/jmh-<head>.json
+
+set -e
+
+RESULTS_DIR=${RESULTS_DIR:-benchmark-results}
+COMMIT=$(git rev-parse --short HEAD)
+
+# Why: Đánh dấu kết quả từ working tree có thay đổi chưa commit
+if [ -n "$(git status --porcelain -- src benchmarks)" ]; then
+    COMMIT="$COMMIT-dirty"
+fi
+
+echo "📦 Building benchmarks..."
+./mvnw -B -q -pl benchmarks -am package -DskipTests
+
+mkdir -p "$RESULTS_DIR"
+RESULT_FILE="$RESULTS_DIR/jmh-$COMMIT.json"
+
+echo "⏱️  Running JMH benchmarks..."
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "$RESULT_FILE" "$@"
+
+echo "✅ Results in $RESULT_FILE"
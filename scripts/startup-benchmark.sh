@@ -0,0 +1,177 @@
+#!/bin/bash
+
+# Why: Đo time-to-first-healthy-response của từng module với các startup modes
+# Design decision: Đo từ lúc launch process đến response 200 đầu tiên của /actuator/health -
+#                  đây là thời điểm Kubernetes readiness probe cho pod nhận traffic
+# Business requirement: Cold start là bottleneck khi autoscale - cần số liệu trước khi chọn mode cho production
+#
+# Modes:
+#   jvm      - fat JAR như hiện tại
+#   aot      - JAR build bằng mvn -Paot, chạy với -Dspring.aot.enabled=true
+#   cds      - extracted JAR + CDS archive (training run với spring.context.exit=onRefresh)
+#   aot-cds  - aot + cds
+#   native   - GraalVM native executable (chỉ api-gateway, category-service - mvn -Pnative native:compile)
+#
+# Usage:
+#   ./scripts/startup-benchmark.sh [mode...]
+#   MODULES="api-gateway category-service" RUNS=5 ./scripts/startup-benchmark.sh jvm aot-cds native
+#
+# Requirements: Infrastructure (MySQL, service-discovery, config-service) đang chạy để health trả về UP;
+#               JAR của các modes aot/aot-cds phải được build bằng mvn -Paot package -DskipTests
+
+set -e
+
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(jvm aot cds aot-cds)
+fi
+
+MODULES=${MODULES:-"service-discovery config-service api-gateway auth-service user-service expense-service category-service"}
+RUNS=${RUNS:-3}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+PROFILES=${PROFILES:-fast-startup}
+RESULTS_DIR=${RESULTS_DIR:-startup-results}
+WORK_DIR=${WORK_DIR:-target/startup-benchmark}
+# Why: Flags bổ sung cho mọi mode, ví dụ JAVA_OPTS="-Deureka.client.enabled=false" khi đo không có Eureka
+JAVA_OPTS=${JAVA_OPTS:-}
+
+# Why: Modules không hỗ trợ AOT (spring-boot.aot.skip trong pom)
+AOT_UNSUPPORTED="service-discovery config-service"
+NATIVE_SUPPORTED="api-gateway category-service"
+
+# Why: Flags cho CDS training run - tắt mọi thứ cần network/database để refresh context offline
+TRAINING_OPTS="-Dspring.context.exit=onRefresh \
+    -Deureka.client.enabled=false \
+    -Dspring.cloud.config.enabled=false \
+    -Dspring.cloud.config.import-check.enabled=false \
+    -Dspring.flyway.enabled=false \
+    -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false"
+
+module_port() {
+    case $1 in
+        service-discovery) echo 8761 ;;
+        config-service) echo 8888 ;;
+        api-gateway) echo 8080 ;;
+        auth-service) echo 8081 ;;
+        user-service) echo 8082 ;;
+        expense-service) echo 8083 ;;
+        category-service) echo 8084 ;;
+    esac
+}
+
+contains() {
+    [[ " $1 " == *" $2 "* ]]
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+# Why: Extract JAR + training run một lần cho mỗi module/mode, các runs sau dùng lại archive
+prepare_cds() {
+    local module=$1
+    local mode=$2
+    local jar=$3
+    local dir="$WORK_DIR/$module-$mode"
+    local aot_flag=""
+    [[ $mode == aot-cds ]] && aot_flag="-Dspring.aot.enabled=true"
+
+    if [ -f "$dir/application.jsa" ]; then
+        return 0
+    fi
+
+    rm -rf "$dir"
+    mkdir -p "$dir"
+    java -Djarmode=tools -jar "$jar" extract --destination "$dir" > /dev/null
+    mv "$dir/$(basename "$jar")" "$dir/app.jar"
+
+    echo "🧪 CDS training run for $module ($mode)..."
+    java -XX:ArchiveClassesAtExit="$dir/application.jsa" $aot_flag $TRAINING_OPTS \
+        -Dspring.profiles.active="$PROFILES" -jar "$dir/app.jar" > "$dir/training.log" 2>&1
+}
+
+# Why: Launch một lần, trả về số ms đến response healthy đầu tiên (hoặc "timeout")
+measure() {
+    local module=$1
+    local mode=$2
+    local jar=$3
+    local port
+    port=$(module_port "$module")
+    local log_file="$RESULTS_DIR/$module-$mode.log"
+    local cds_dir="$WORK_DIR/$module-$mode"
+    local cmd
+
+    case $mode in
+        jvm) cmd=(java -jar "$jar") ;;
+        aot) cmd=(java -Dspring.aot.enabled=true -jar "$jar") ;;
+        cds) cmd=(java -XX:SharedArchiveFile="$cds_dir/application.jsa" -jar "$cds_dir/app.jar") ;;
+        aot-cds) cmd=(java -XX:SharedArchiveFile="$cds_dir/application.jsa" -Dspring.aot.enabled=true -jar "$cds_dir/app.jar") ;;
+        native) cmd=("$module/target/$module") ;;
+    esac
+
+    local start
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    "${cmd[0]}" $JAVA_OPTS "${cmd[@]:1}" --spring.profiles.active="$PROFILES" > "$log_file" 2>&1 &
+    local pid=$!
+
+    local result="timeout"
+    local deadline=$((start + TIMEOUT_SECONDS * 1000))
+    while [ "$(now_ms)" -lt "$deadline" ]; do
+        if curl -f -s "http://localhost:$port/actuator/health" > /dev/null; then
+            result=$(($(now_ms) - start))
+            break
+        fi
+        if ! kill -0 $pid 2>/dev/null; then
+            result="crashed"
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill $pid 2>/dev/null || true
+    wait $pid 2>/dev/null || true
+    echo "$result"
+}
+
+mkdir -p "$RESULTS_DIR" "$WORK_DIR"
+CSV="$RESULTS_DIR/startup-$(date +%Y%m%d-%H%M%S).csv"
+echo "module,mode,run,time_to_healthy_ms" > "$CSV"
+
+for module in $MODULES; do
+    JAR=$(ls "$module"/target/"$module"-*.jar 2>/dev/null | grep -v original | head -1)
+
+    for mode in "${MODES[@]}"; do
+        if [[ $mode == aot* ]] && contains "$AOT_UNSUPPORTED" "$module"; then
+            echo "⏭️  $module: $mode not supported"
+            continue
+        fi
+        if [[ $mode == native ]]; then
+            if ! contains "$NATIVE_SUPPORTED" "$module" || [ ! -x "$module/target/$module" ]; then
+                echo "⏭️  $module: native executable not found"
+                continue
+            fi
+        elif [ -z "$JAR" ]; then
+            echo "❌ JAR not found for $module - run ./scripts/build.sh (or mvn -Paot package) first"
+            exit 1
+        fi
+
+        if [[ $mode == *cds ]]; then
+            prepare_cds "$module" "$mode" "$JAR"
+        fi
+
+        for run in $(seq 1 "$RUNS"); do
+            ms=$(measure "$module" "$mode" "$JAR")
+            echo "⏱️  $module [$mode] run $run: $ms ms"
+            echo "$module,$mode,$run,$ms" >> "$CSV"
+        done
+    done
+done
+
+# Why: Tóm tắt trung bình theo module/mode (bỏ qua runs timeout/crashed)
+echo ""
+echo "📊 Average time-to-healthy (ms):"
+awk -F, 'NR > 1 && $4 ~ /^[0-9]+$/ { sum[$1","$2] += $4; n[$1","$2]++ }
+    END { for (k in sum) printf "  %-40s %8.0f\n", k, sum[k] / n[k] }' "$CSV" | sort
+
+echo "✅ Results in $CSV"
@@ -0,0 +1,63 @@
+package com.hung.expensive.defaults;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Why: Services import expensive-prod.yml và expensive-virtual-threads.yml giống nhau - mỗi file chỉ có hiệu lực
+ * khi profile của nó active, override default settings của service và cộng dồn với application-{profile}.yml
+ * Note: src/test/resources/application*.yml đóng vai config của một service
+ */
+class ServiceDefaultsTest {
+
+    @Test
+    void defaultProfileKeepsServiceSettings() {
+        try (ConfigurableApplicationContext context = start("default")) {
+            Environment environment = context.getEnvironment();
+            assertThat(environment.getProperty("spring.jpa.show-sql")).isEqualTo("true");
+            assertThat(environment.getProperty("spring.threads.virtual.enabled")).isNull();
+            assertThat(environment.getProperty("expensive.datasource.replica.enabled")).isNull();
+        }
+    }
+
+    @Test
+    void prodProfileOverridesDefaultsAndKeepsServiceSpecificSettings() {
+        try (ConfigurableApplicationContext context = start("prod")) {
+            Environment environment = context.getEnvironment();
+            assertThat(environment.getProperty("spring.jpa.show-sql")).isEqualTo("false");
+            assertThat(environment.getProperty("spring.datasource.hikari.connection-timeout")).isEqualTo("5000");
+            assertThat(environment.getProperty("spring.datasource.hikari.pool-name")).isEqualTo("test-service-pool");
+            assertThat(environment.getProperty("expensive.datasource.replica.enabled")).isEqualTo("true");
+            assertThat(environment.getProperty("spring.threads.virtual.enabled")).isNull();
+        }
+    }
+
+    @Test
+    void virtualThreadsProfileWinsOverProdForPoolSettings() {
+        try (ConfigurableApplicationContext context = start("prod", "virtual-threads")) {
+            Environment environment = context.getEnvironment();
+            assertThat(environment.getProperty("spring.threads.virtual.enabled")).isEqualTo("true");
+            assertThat(environment.getProperty("spring.datasource.hikari.maximum-pool-size")).isEqualTo("20");
+            // Why: Import virtual-threads khai báo sau prod - fail fast 3s thay vì 5s của prod
+            assertThat(environment.getProperty("spring.datasource.hikari.connection-timeout")).isEqualTo("3000");
+            assertThat(environment.getProperty("server.tomcat.max-connections")).isEqualTo("10000");
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String... profiles) {
+        return new SpringApplicationBuilder(EmptyConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles)
+                .run();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class EmptyConfiguration {
+    }
+}
@@ -0,0 +1,33 @@
+package com.hung.expensive.config;
+
+import com.hung.expensive.grpc.GrpcServerLifecycle;
+import io.grpc.BindableService;
+import io.grpc.Server;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Why: Expose mọi BindableService bean (UserLookupImplBase, CategoryLookupImplBase) trên một gRPC server
+ * Design decision: Auto-configuration trong shared như HikariPoolSizingAutoConfiguration - service chỉ cần
+ * khai báo implementation bean và expensive.grpc.server.port
+ */
+@AutoConfiguration
+@ConditionalOnClass(Server.class)
+@ConditionalOnProperty(name = "expensive.grpc.server.port")
+public class GrpcServerAutoConfiguration {
+
+    @Bean
+    public GrpcServerLifecycle grpcServerLifecycle(Environment environment, ObjectProvider<BindableService> services) {
+        return new GrpcServerLifecycle(
+            environment.getRequiredProperty("expensive.grpc.server.port", Integer.class),
+            environment.getProperty("expensive.grpc.server.shutdown-grace", Duration.class, Duration.ofSeconds(10)),
+            environment.getProperty("expensive.grpc.server.permit-keep-alive-time", Duration.class, Duration.ofSeconds(20)),
+            services.orderedStream().toList());
+    }
+}
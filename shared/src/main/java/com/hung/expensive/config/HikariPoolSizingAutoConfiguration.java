@@ -0,0 +1,72 @@
+package com.hung.expensive.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Why: Size Hikari pool theo số CPU cores thay vì hard-code cho từng service
+ * Design decision: Auto-configuration trong shared để mọi service dùng chung, bật qua property
+ * Performance: Công thức HikariCP (cores * 2 + spindles) - pool lớn hơn chỉ tăng contention trên MySQL
+ * Business rule: spring.datasource.hikari.maximum-pool-size khai báo tường minh (vd. profile virtual-threads, nơi pool
+ * là concurrency limit cho JDBC) thắng công thức - không override
+ */
+@AutoConfiguration
+@ConditionalOnClass(HikariDataSource.class)
+@ConditionalOnProperty(name = "expensive.datasource.cpu-based-pool-sizing", havingValue = "true")
+public class HikariPoolSizingAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(HikariPoolSizingAutoConfiguration.class);
+
+    static final String EXPLICIT_POOL_SIZE_PROPERTY = "spring.datasource.hikari.maximum-pool-size";
+
+    /**
+     * Why: Static để BeanPostProcessor được tạo sớm, không kéo theo config class
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolSizingPostProcessor(Environment environment) {
+        int connectionsPerCore = environment.getProperty(
+                "expensive.datasource.connections-per-core", Integer.class, 2);
+        int effectiveSpindles = environment.getProperty(
+                "expensive.datasource.effective-spindles", Integer.class, 1);
+        int cores = Runtime.getRuntime().availableProcessors();
+        int poolSize = cores * connectionsPerCore + effectiveSpindles;
+        boolean explicitPoolSize = environment.containsProperty(EXPLICIT_POOL_SIZE_PROPERTY);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                // Why: After initialization để override giá trị đã bind từ spring.datasource.hikari.*
+                // Note: Unwrap vì primary có thể đã được bọc (ReadReplicaAutoConfiguration)
+                if (bean instanceof DataSource dataSource) {
+                    HikariConfigMXBean hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+                    if (hikari == null) {
+                        return bean;
+                    }
+                    if (explicitPoolSize) {
+                        log.info("Hikari pool {}: keeping explicit {}={} (cpu-based sizing would be {})",
+                                hikari.getPoolName(), EXPLICIT_POOL_SIZE_PROPERTY, hikari.getMaximumPoolSize(), poolSize);
+                        return bean;
+                    }
+                    hikari.setMaximumPoolSize(poolSize);
+                    // Why: Fixed-size pool - tránh latency tạo connection mới khi tải tăng đột ngột
+                    hikari.setMinimumIdle(poolSize);
+                    log.info("Hikari pool {} sized to {} connections ({} cores * {} + {})",
+                            hikari.getPoolName(), poolSize, cores, connectionsPerCore, effectiveSpindles);
+                }
+                return bean;
+            }
+        };
+    }
+}
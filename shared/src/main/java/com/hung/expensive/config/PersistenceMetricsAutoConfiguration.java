@@ -0,0 +1,98 @@
+package com.hung.expensive.config;
+
+import com.hung.expensive.observability.CountingStatementInspector;
+import com.hung.expensive.observability.SlowQueryListener;
+import com.hung.expensive.observability.SqlStatementBudget;
+import com.hung.expensive.observability.SqlStatementBudgetAdvice;
+import com.hung.expensive.observability.SqlStatementMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Why: Metrics cho persistence layer mà Spring Boot không tự có - số SQL statements per request, SQL budget
+ * theo endpoint và slow-query log
+ * Design decision: Auto-configuration trong shared như HikariPoolSizingAutoConfiguration; repository timers,
+ * Hikari wait time và Feign latency dùng auto-configuration sẵn có của Boot/OpenFeign (chỉ cần config)
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass({MeterRegistry.class, HibernatePropertiesCustomizer.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(name = "expensive.metrics.sql-statements.enabled", havingValue = "true", matchIfMissing = true)
+public class PersistenceMetricsAutoConfiguration {
+
+    /**
+     * Why: Đăng ký StatementInspector cho SessionFactory - Hibernate gọi nó cho mọi SQL
+     */
+    @Bean
+    public HibernatePropertiesCustomizer countingStatementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+    }
+
+    /**
+     * Why: Budget đọc từ expensive.sql.budget.* - endpoints là map "METHOD uri-pattern" -> số statements tối đa
+     * Note: Key chứa space và '/' nên YAML phải dùng bracket notation: "[GET /api/expenses/{id}]": 2
+     */
+    @Bean
+    public SqlStatementBudget sqlStatementBudget(Environment environment) {
+        Map<String, Integer> endpoints = Binder.get(environment)
+                .bind("expensive.sql.budget.endpoints", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        return new SqlStatementBudget(
+                environment.getProperty("expensive.sql.budget.default-max-statements", Integer.class),
+                endpoints,
+                environment.getProperty("expensive.sql.budget.mode", SqlStatementBudget.Mode.class, SqlStatementBudget.Mode.WARN));
+    }
+
+    /**
+     * Why: Filter chạy ngoài cùng để đếm cả statements của security filters (load user) lẫn controller
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry meterRegistry,
+                                                                                     SqlStatementBudget sqlStatementBudget) {
+        FilterRegistrationBean<SqlStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementMetricsFilter(meterRegistry, sqlStatementBudget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Why: FAIL mode check budget trước khi controller ghi body - sau đó response đã commit, filter chỉ log được
+     */
+    @Bean
+    public SqlStatementBudgetAdvice sqlStatementBudgetAdvice(SqlStatementBudget sqlStatementBudget) {
+        return new SqlStatementBudgetAdvice(sqlStatementBudget);
+    }
+
+    /**
+     * Why: Slow-query log cần thời gian execute thật - chỉ có khi DataSource được datasource-proxy bọc
+     * (datasource-micrometer-spring-boot nhận mọi QueryExecutionListener bean)
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(QueryExecutionListener.class)
+    static class SlowQueryLogConfiguration {
+
+        @Bean
+        public SlowQueryListener slowQueryListener(Environment environment) {
+            Duration threshold = environment.getProperty("expensive.sql.slow-query-threshold", Duration.class, Duration.ofMillis(200));
+            return new SlowQueryListener(threshold.toMillis());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.hung.expensive.config;
+
+import com.hung.expensive.datasource.MySqlReplicaLagProbe;
+import com.hung.expensive.datasource.ReadYourWritesFilter;
+import com.hung.expensive.datasource.ReplicaLagMonitor;
+import com.hung.expensive.datasource.ReplicaLagProbe;
+import com.hung.expensive.datasource.ReplicaRoutingDataSource;
+import com.hung.expensive.datasource.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Why: Read-only transactions (@Transactional(readOnly = true)) đọc từ replica, còn lại đi primary
+ * Design decision: Bọc primary DataSource bằng LazyConnectionDataSourceProxy của Spring - physical connection chỉ
+ * được lấy ở statement đầu tiên, sau khi transaction manager đã set readOnly, nên proxy chọn được replica hay
+ * primary mà không cần AOP quanh service methods
+ * Note: Replica pool không phải DataSource bean để DataSourceAutoConfiguration vẫn tạo primary như cũ
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration")
+@ConditionalOnClass({HikariDataSource.class, LazyConnectionDataSourceProxy.class})
+@ConditionalOnProperty(name = "expensive.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaAutoConfiguration {
+
+    private static final String PREFIX = "expensive.datasource.replica";
+
+    /**
+     * Why: Mặc định probe theo MySQL replication; "none" cho replica không có replication thật (local, tests)
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReplicaLagProbe replicaLagProbe(Environment environment) {
+        return "none".equalsIgnoreCase(environment.getProperty(PREFIX + ".lag-probe", "mysql"))
+                ? ReplicaLagProbe.none()
+                : new MySqlReplicaLagProbe();
+    }
+
+    /**
+     * Why: Replica pool riêng - hikari.* bind như spring.datasource.hikari.* của primary
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaPool readReplicaPool(Environment environment) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty(PREFIX + ".url"))
+                .username(environment.getProperty(PREFIX + ".username"))
+                .password(environment.getProperty(PREFIX + ".password"))
+                .driverClassName(environment.getProperty(PREFIX + ".driver-class-name"))
+                .build();
+        Binder.get(environment).bind(PREFIX + ".hikari", Bindable.ofInstance(replica));
+        replica.setPoolName(environment.getProperty(PREFIX + ".hikari.pool-name", "replica-pool"));
+        // Why: Replica chưa lên không được chặn service start - lag monitor sẽ để reads ở primary
+        replica.setInitializationFailTimeout(-1);
+        return new ReplicaPool(replica);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaPool readReplicaPool, ReplicaLagProbe replicaLagProbe,
+                                               Environment environment) {
+        return new ReplicaLagMonitor(readReplicaPool.dataSource(), replicaLagProbe,
+                environment.getProperty(PREFIX + ".max-lag", Duration.class, Duration.ofSeconds(5)),
+                environment.getProperty(PREFIX + ".lag-check-interval", Duration.class, Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Why: Static và Ordered để chạy trước BeanPostProcessor của datasource-micrometer - proxy đo SQL bọc ngoài
+     * cùng nên queries trên replica vẫn có trace/slow-query log
+     * Note: ObjectProvider để replica pool chỉ được tạo khi gặp primary DataSource
+     */
+    @Bean
+    public static BeanPostProcessor readReplicaRoutingPostProcessor(Environment environment,
+                                                                    ObjectProvider<ReplicaPool> readReplicaPool,
+                                                                    ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        Duration readYourWritesWindow = readYourWritesWindow(environment);
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                    return bean;
+                }
+                LazyConnectionDataSourceProxy routing =
+                        new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary, readYourWritesWindow));
+                routing.setReadOnlyDataSource(new ReplicaRoutingDataSource(
+                        primary, readReplicaPool.getObject().dataSource(), replicaLagMonitor.getObject()));
+                return routing;
+            }
+        };
+    }
+
+    // Why: Cùng window cho cookie khi ghi (WriteTrackingDataSource) và giới hạn cookie khi đọc (ReadYourWritesFilter)
+    private static Duration readYourWritesWindow(Environment environment) {
+        return environment.getProperty(PREFIX + ".read-your-writes-window", Duration.class, Duration.ofSeconds(5));
+    }
+
+    /**
+     * Why: Khôi phục read-your-writes window từ cookie trước mọi filter có thể đọc DB (security load user)
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ReadYourWritesWebConfiguration {
+
+        @Bean
+        public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(Environment environment) {
+            FilterRegistrationBean<ReadYourWritesFilter> registration =
+                    new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWritesWindow(environment)));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+            return registration;
+        }
+    }
+
+    /**
+     * Why: Bọc HikariDataSource để replica không bị nhận là DataSource bean (tránh 2 DataSource candidates)
+     */
+    public record ReplicaPool(HikariDataSource dataSource) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            dataSource.close();
+        }
+    }
+
+    private interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+
+        @Override
+        default int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
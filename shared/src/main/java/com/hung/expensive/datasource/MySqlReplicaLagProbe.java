@@ -0,0 +1,28 @@
+package com.hung.expensive.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Why: Lag của MySQL replica từ SHOW REPLICA STATUS (MySQL 8.0.22+)
+ * Note: Seconds_Behind_Source NULL = SQL/IO thread đã dừng -> replica không dùng được;
+ * không có row = server không phải replica (cùng một instance) -> không lag
+ */
+public class MySqlReplicaLagProbe implements ReplicaLagProbe {
+
+    @Override
+    public Optional<Duration> currentLag(Connection replica) throws SQLException {
+        try (Statement statement = replica.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                return Optional.of(Duration.ZERO);
+            }
+            long seconds = status.getLong("Seconds_Behind_Source");
+            return status.wasNull() ? Optional.empty() : Optional.of(Duration.ofSeconds(seconds));
+        }
+    }
+}
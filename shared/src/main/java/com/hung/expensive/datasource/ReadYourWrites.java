@@ -0,0 +1,69 @@
+package com.hung.expensive.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Why: Sau một mutation, reads của cùng client phải thấy dữ liệu vừa ghi dù replica chưa kịp replicate
+ * Design decision: Window lưu trong ThreadLocal cho request hiện tại và trong cookie cho các requests tiếp theo -
+ * stateless nên đúng với mọi instance phía sau gateway
+ */
+public final class ReadYourWrites {
+
+    public static final String COOKIE_NAME = "rw-primary-until";
+
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Why: Request hiện tại (hoặc client của nó) vừa ghi trong window - đọc từ primary
+     */
+    public static boolean isPinnedToPrimary() {
+        Long until = PRIMARY_UNTIL.get();
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    // Note: Cho tests - thời điểm hết window của request hiện tại, null nếu không pin
+    static Long primaryUntil() {
+        return PRIMARY_UNTIL.get();
+    }
+
+    /**
+     * Why: Gọi từ filter khi request mang cookie của một mutation trước đó
+     */
+    public static void pinUntil(long epochMillis) {
+        PRIMARY_UNTIL.set(epochMillis);
+    }
+
+    /**
+     * Why: Gọi sau khi read-write transaction commit - pin request hiện tại và set cookie cho client
+     * Note: Transaction commit trong service layer, trước khi controller ghi response body nên cookie vẫn kịp gửi
+     */
+    public static void recordWrite(Duration window) {
+        long until = System.currentTimeMillis() + window.toMillis();
+        PRIMARY_UNTIL.set(until);
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+                response.addCookie(cookie);
+            }
+        }
+    }
+
+    public static void clear() {
+        PRIMARY_UNTIL.remove();
+    }
+}
@@ -0,0 +1,58 @@
+package com.hung.expensive.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Why: Khôi phục read-your-writes window từ cookie và dọn ThreadLocal khi request kết thúc
+ * Note: Cookie do client gửi lên - giá trị quá xa trong tương lai bị cắt về now + window để client không tự
+ * pin mọi reads vào primary
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (ReadYourWrites.COOKIE_NAME.equals(cookie.getName())) {
+                    restoreWindow(cookie.getValue());
+                }
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private void restoreWindow(String value) {
+        long until;
+        try {
+            until = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // Why: Cookie hỏng chỉ mất read-your-writes, không làm fail request
+            return;
+        }
+        long now = System.currentTimeMillis();
+        // Why: Window đã hết hạn thì reads quay lại replica
+        if (until > now) {
+            ReadYourWrites.pinUntil(Math.min(until, now + window.toMillis()));
+        }
+    }
+}
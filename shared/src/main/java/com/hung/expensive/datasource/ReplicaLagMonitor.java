@@ -0,0 +1,84 @@
+package com.hung.expensive.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Why: Theo dõi replica định kỳ - replica lag quá max-lag hoặc không connect được thì reads quay về primary
+ * Design decision: Check ở background thread và cache kết quả trong volatile field - routing decision trên
+ * request path chỉ đọc một boolean, không query replica status mỗi lần
+ * Note: Khởi động ở trạng thái unusable cho tới lần check đầu tiên thành công
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final ReplicaLagProbe probe;
+    private final Duration maxLag;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean usable;
+    private volatile Duration lastLag;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaLagProbe probe, Duration maxLag, Duration checkInterval) {
+        this.replica = replica;
+        this.probe = probe;
+        this.maxLag = maxLag;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Why: Lag đo được lần gần nhất (null nếu replica không connect được) - cho metrics/health
+     */
+    public Duration getLastLag() {
+        return lastLag;
+    }
+
+    /**
+     * Why: Connect replica thất bại trên request path - chuyển reads về primary ngay, không đợi lần check tới
+     */
+    public void markUnavailable() {
+        usable = false;
+    }
+
+    /**
+     * Why: Check lag ngay - scheduler gọi định kỳ, tests gọi trực tiếp
+     */
+    public void refresh() {
+        boolean wasUsable = usable;
+        try (Connection connection = replica.getConnection()) {
+            Optional<Duration> lag = probe.currentLag(connection);
+            lastLag = lag.orElse(null);
+            usable = lag.isPresent() && lag.get().compareTo(maxLag) <= 0;
+        } catch (Exception e) {
+            lastLag = null;
+            usable = false;
+        }
+        if (wasUsable != usable) {
+            log.warn("Read replica {} (lag {}, max {})", usable ? "enabled" : "disabled - reads go to primary", lastLag, maxLag);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,26 @@
+package com.hung.expensive.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Why: Đo replication lag của replica - ReplicaLagMonitor dùng để quyết định có đọc từ replica hay không
+ * Design decision: Interface để MySQL production và H2 tests (không có replication) dùng probe khác nhau
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+    /**
+     * @return lag hiện tại, empty nếu replication không chạy (replica không dùng được)
+     */
+    Optional<Duration> currentLag(Connection replica) throws SQLException;
+
+    /**
+     * Why: Replica không có replication thật (local, tests) - chỉ cần connect được là coi như không lag
+     */
+    static ReplicaLagProbe none() {
+        return connection -> Optional.of(Duration.ZERO);
+    }
+}
@@ -0,0 +1,67 @@
+package com.hung.expensive.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Why: DataSource cho read-only connections - replica khi dùng được, primary khi replica lag/down hoặc request
+ * đang trong read-your-writes window
+ * Design decision: Được dùng làm readOnlyDataSource của LazyConnectionDataSourceProxy - chỉ được hỏi khi
+ * transaction đã set Connection.setReadOnly(true), nên không cần tự đọc transaction state
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /**
+     * Why: Cùng routing với getConnection() - pool được chọn tự xử lý credentials (HikariCP không hỗ trợ
+     * đổi user theo connection thì tự throw SQLFeatureNotSupportedException)
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (ReadYourWrites.isPinnedToPrimary() || !lagMonitor.isReplicaUsable()) {
+            return source.connect(primary);
+        }
+        try {
+            return source.connect(replica);
+        } catch (SQLFeatureNotSupportedException e) {
+            // Why: Lỗi của caller (ví dụ credentials riêng) chứ không phải replica down
+            throw e;
+        } catch (SQLException e) {
+            // Why: Replica down giữa hai lần check - request vẫn thành công với primary
+            log.warn("Read replica unavailable, falling back to primary: {}", e.getMessage());
+            lagMonitor.markUnavailable();
+            return source.connect(primary);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+}
@@ -0,0 +1,40 @@
+package com.hung.expensive.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Why: Primary connection cho read-write transaction = request có mutation - mở read-your-writes window sau commit
+ * Design decision: LazyConnectionDataSourceProxy chỉ lấy connection từ đây khi transaction không read-only,
+ * nên read methods (readOnly = true) không mở window
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final Duration readYourWritesWindow;
+
+    public WriteTrackingDataSource(DataSource primary, Duration readYourWritesWindow) {
+        super(primary);
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ReadYourWrites.recordWrite(readYourWritesWindow);
+                }
+            });
+        }
+        return connection;
+    }
+}
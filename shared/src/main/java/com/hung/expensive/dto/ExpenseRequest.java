@@ -38,6 +38,9 @@ public class ExpenseRequest {
     @Size(max = 500, message = "Receipt URL không quá 500 ký tự")
     private String receiptUrl;
     
+    // Why: expense-service gắn expense với user qua ID (validate bằng user-service)
+    private Long userId;
+    
     // Constructors
     public ExpenseRequest() {}
     
@@ -104,4 +107,12 @@ public class ExpenseRequest {
     public void setReceiptUrl(String receiptUrl) {
         this.receiptUrl = receiptUrl;
     }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
 }
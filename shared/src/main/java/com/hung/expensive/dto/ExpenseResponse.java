@@ -20,6 +20,7 @@ public class ExpenseResponse {
     private String receiptUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long userId;
     
     // Category information - Why: Embedded để reduce API calls
     private Long categoryId;
@@ -144,4 +145,12 @@ public class ExpenseResponse {
     public void setCategoryIconName(String categoryIconName) {
         this.categoryIconName = categoryIconName;
     }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
 }
@@ -0,0 +1,95 @@
+package com.hung.expensive.grpc;
+
+import com.hung.expensive.grpc.InternalLookupProto.CategoryList;
+import com.hung.expensive.grpc.InternalLookupProto.ExistsReply;
+import com.hung.expensive.grpc.InternalLookupProto.IdList;
+import com.hung.expensive.grpc.InternalLookupProto.IdRequest;
+import io.grpc.BindableService;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.stub.AbstractBlockingStub;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Why: service CategoryLookup của internal_lookup.proto - category-service implement, expense-service gọi
+ * Design decision: Cùng hình dạng với UserLookupGrpc / code protoc-gen-grpc-java sinh ra
+ */
+public final class CategoryLookupGrpc {
+
+    public static final String SERVICE_NAME = "expensive.internal.CategoryLookup";
+
+    public static final MethodDescriptor<IdRequest, ExistsReply> EXISTS =
+        MethodDescriptor.<IdRequest, ExistsReply>newBuilder()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "Exists"))
+            .setRequestMarshaller(ProtoMarshaller.of(IdRequest::parse))
+            .setResponseMarshaller(ProtoMarshaller.of(ExistsReply::parse))
+            .setIdempotent(true)
+            .setSafe(true)
+            .build();
+
+    public static final MethodDescriptor<IdList, CategoryList> BATCH_GET =
+        MethodDescriptor.<IdList, CategoryList>newBuilder()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "BatchGet"))
+            .setRequestMarshaller(ProtoMarshaller.of(IdList::parse))
+            .setResponseMarshaller(ProtoMarshaller.of(CategoryList::parse))
+            .setIdempotent(true)
+            .setSafe(true)
+            .build();
+
+    public static final ServiceDescriptor SERVICE = ServiceDescriptor.newBuilder(SERVICE_NAME)
+        .addMethod(EXISTS)
+        .addMethod(BATCH_GET)
+        .build();
+
+    private CategoryLookupGrpc() {
+    }
+
+    public static CategoryLookupBlockingStub newBlockingStub(Channel channel) {
+        return AbstractBlockingStub.newStub(CategoryLookupBlockingStub::new, channel);
+    }
+
+    /**
+     * Why: Server side - bean kế thừa class này được GrpcServerLifecycle đăng ký tự động
+     */
+    public abstract static class CategoryLookupImplBase implements BindableService {
+
+        public abstract void exists(IdRequest request, StreamObserver<ExistsReply> responseObserver);
+
+        public abstract void batchGet(IdList request, StreamObserver<CategoryList> responseObserver);
+
+        @Override
+        public final ServerServiceDefinition bindService() {
+            return ServerServiceDefinition.builder(SERVICE)
+                .addMethod(EXISTS, ServerCalls.asyncUnaryCall(this::exists))
+                .addMethod(BATCH_GET, ServerCalls.asyncUnaryCall(this::batchGet))
+                .build();
+        }
+    }
+
+    public static final class CategoryLookupBlockingStub extends AbstractBlockingStub<CategoryLookupBlockingStub> {
+
+        private CategoryLookupBlockingStub(Channel channel, CallOptions callOptions) {
+            super(channel, callOptions);
+        }
+
+        @Override
+        protected CategoryLookupBlockingStub build(Channel channel, CallOptions callOptions) {
+            return new CategoryLookupBlockingStub(channel, callOptions);
+        }
+
+        public ExistsReply exists(IdRequest request) {
+            return ClientCalls.blockingUnaryCall(getChannel(), EXISTS, getCallOptions(), request);
+        }
+
+        public CategoryList batchGet(IdList request) {
+            return ClientCalls.blockingUnaryCall(getChannel(), BATCH_GET, getCallOptions(), request);
+        }
+    }
+}
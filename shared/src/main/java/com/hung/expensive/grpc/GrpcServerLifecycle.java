@@ -0,0 +1,89 @@
+package com.hung.expensive.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Why: gRPC server cho internal lookups, chạy song song với Tomcat trên port riêng
+ * Design decision: Start sau khi mọi bean đã sẵn sàng (SmartLifecycle), stop trước khi DataSource đóng -
+ * calls đang chạy có shutdown-grace để hoàn tất
+ * Note: Plaintext - port chỉ mở trong network nội bộ, không đi qua gateway
+ */
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    private final int port;
+    private final Duration shutdownGrace;
+    private final Duration permitKeepAliveTime;
+    private final List<BindableService> services;
+
+    private volatile Server server;
+
+    public GrpcServerLifecycle(int port, Duration shutdownGrace, Duration permitKeepAliveTime,
+                               List<BindableService> services) {
+        this.port = port;
+        this.shutdownGrace = shutdownGrace;
+        this.permitKeepAliveTime = permitKeepAliveTime;
+        this.services = services;
+    }
+
+    @Override
+    public void start() {
+        ServerBuilder<?> builder = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+            // Why: Clients giữ channel lâu dài bằng keepalive pings - ping dày hơn mức này bị GOAWAY
+            .permitKeepAliveTime(permitKeepAliveTime.toMillis(), TimeUnit.MILLISECONDS)
+            .permitKeepAliveWithoutCalls(true);
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start gRPC server on port " + port, e);
+        }
+        log.info("gRPC server started on port {} with services {}", server.getPort(),
+            services.stream().map(service -> service.bindService().getServiceDescriptor().getName()).toList());
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(shutdownGrace.toMillis(), TimeUnit.MILLISECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Why: Port thực tế - port 0 (tests) được bind ngẫu nhiên
+     */
+    public int getPort() {
+        Server current = server;
+        return current == null ? port : current.getPort();
+    }
+}
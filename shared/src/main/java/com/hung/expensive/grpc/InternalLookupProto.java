@@ -0,0 +1,244 @@
+package com.hung.expensive.grpc;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Why: Messages của src/main/proto/internal_lookup.proto
+ * Design decision: Build offline không có protoc nên không có generated classes - records bất biến thay cho
+ * generated builders, encode/decode bằng CodedOutputStream/CodedInputStream của protobuf-java (cùng codec
+ * generated code dùng); field mặc định (0, "", list rỗng) không được ghi như proto3, field lạ được skip nên
+ * client/server khác version vẫn đọc được nhau
+ * Performance: Một lookup id là vài bytes trên HTTP/2 thay vì một ApiResponse JSON qua HTTP/1.1
+ * Note: Tags trong parse() là (field number << 3) | wire type - 8 = field 1 varint, 10 = field 1 length-delimited
+ */
+public final class InternalLookupProto {
+
+    private InternalLookupProto() {
+    }
+
+    /**
+     * Why: message IdRequest { int64 id = 1; }
+     */
+    public record IdRequest(long id) implements ProtoMessage {
+
+        @Override
+        public void writeTo(CodedOutputStream output) throws IOException {
+            if (id != 0) {
+                output.writeInt64(1, id);
+            }
+        }
+
+        @Override
+        public int serializedSize() {
+            return id == 0 ? 0 : CodedOutputStream.computeInt64Size(1, id);
+        }
+
+        static IdRequest parse(CodedInputStream input) throws IOException {
+            long id = 0;
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                switch (tag) {
+                    case 8 -> id = input.readInt64();
+                    default -> input.skipField(tag);
+                }
+            }
+            return new IdRequest(id);
+        }
+    }
+
+    /**
+     * Why: message IdList { repeated int64 ids = 1; } - packed encoding
+     */
+    public record IdList(List<Long> ids) implements ProtoMessage {
+
+        public IdList {
+            ids = List.copyOf(ids);
+        }
+
+        @Override
+        public void writeTo(CodedOutputStream output) throws IOException {
+            if (ids.isEmpty()) {
+                return;
+            }
+            output.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(payloadSize());
+            for (long id : ids) {
+                output.writeInt64NoTag(id);
+            }
+        }
+
+        @Override
+        public int serializedSize() {
+            return ids.isEmpty() ? 0 : lengthDelimitedSize(1, payloadSize());
+        }
+
+        private int payloadSize() {
+            int size = 0;
+            for (long id : ids) {
+                size += CodedOutputStream.computeInt64SizeNoTag(id);
+            }
+            return size;
+        }
+
+        static IdList parse(CodedInputStream input) throws IOException {
+            List<Long> ids = new ArrayList<>();
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                switch (tag) {
+                    case 10 -> {
+                        int limit = input.pushLimit(input.readRawVarint32());
+                        while (input.getBytesUntilLimit() > 0) {
+                            ids.add(input.readInt64());
+                        }
+                        input.popLimit(limit);
+                    }
+                    // Why: Parser protobuf phải chấp nhận cả encoding không packed
+                    case 8 -> ids.add(input.readInt64());
+                    default -> input.skipField(tag);
+                }
+            }
+            return new IdList(ids);
+        }
+    }
+
+    /**
+     * Why: message ExistsReply { bool exists = 1; }
+     */
+    public record ExistsReply(boolean exists) implements ProtoMessage {
+
+        @Override
+        public void writeTo(CodedOutputStream output) throws IOException {
+            if (exists) {
+                output.writeBool(1, true);
+            }
+        }
+
+        @Override
+        public int serializedSize() {
+            return exists ? CodedOutputStream.computeBoolSize(1, true) : 0;
+        }
+
+        static ExistsReply parse(CodedInputStream input) throws IOException {
+            boolean exists = false;
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                switch (tag) {
+                    case 8 -> exists = input.readBool();
+                    default -> input.skipField(tag);
+                }
+            }
+            return new ExistsReply(exists);
+        }
+    }
+
+    /**
+     * Why: message CategorySummary { int64 id = 1; string name = 2; string color_code = 3; string icon_name = 4; }
+     * Note: String rỗng trên wire được đọc thành null - khớp với CategoryResponse khi field chưa set
+     */
+    public record CategorySummary(long id, String name, String colorCode, String iconName) implements ProtoMessage {
+
+        @Override
+        public void writeTo(CodedOutputStream output) throws IOException {
+            if (id != 0) {
+                output.writeInt64(1, id);
+            }
+            writeString(output, 2, name);
+            writeString(output, 3, colorCode);
+            writeString(output, 4, iconName);
+        }
+
+        @Override
+        public int serializedSize() {
+            return (id == 0 ? 0 : CodedOutputStream.computeInt64Size(1, id))
+                + stringSize(2, name) + stringSize(3, colorCode) + stringSize(4, iconName);
+        }
+
+        static CategorySummary parse(CodedInputStream input) throws IOException {
+            long id = 0;
+            String name = null;
+            String colorCode = null;
+            String iconName = null;
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                switch (tag) {
+                    case 8 -> id = input.readInt64();
+                    // Why: proto3 string phải là UTF-8 hợp lệ - giống generated code
+                    case 18 -> name = emptyToNull(input.readStringRequireUtf8());
+                    case 26 -> colorCode = emptyToNull(input.readStringRequireUtf8());
+                    case 34 -> iconName = emptyToNull(input.readStringRequireUtf8());
+                    default -> input.skipField(tag);
+                }
+            }
+            return new CategorySummary(id, name, colorCode, iconName);
+        }
+    }
+
+    /**
+     * Why: message CategoryList { repeated CategorySummary categories = 1; }
+     */
+    public record CategoryList(List<CategorySummary> categories) implements ProtoMessage {
+
+        public CategoryList {
+            categories = List.copyOf(categories);
+        }
+
+        @Override
+        public void writeTo(CodedOutputStream output) throws IOException {
+            for (CategorySummary category : categories) {
+                output.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(category.serializedSize());
+                category.writeTo(output);
+            }
+        }
+
+        @Override
+        public int serializedSize() {
+            int size = 0;
+            for (CategorySummary category : categories) {
+                size += lengthDelimitedSize(1, category.serializedSize());
+            }
+            return size;
+        }
+
+        static CategoryList parse(CodedInputStream input) throws IOException {
+            List<CategorySummary> categories = new ArrayList<>();
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                switch (tag) {
+                    case 10 -> {
+                        int limit = input.pushLimit(input.readRawVarint32());
+                        categories.add(CategorySummary.parse(input));
+                        input.popLimit(limit);
+                    }
+                    default -> input.skipField(tag);
+                }
+            }
+            return new CategoryList(categories);
+        }
+    }
+
+    private static void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            output.writeString(field, value);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static int lengthDelimitedSize(int field, int payloadSize) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(payloadSize)
+            + payloadSize;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,56 @@
+package com.hung.expensive.grpc;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Why: gRPC marshaller cho ProtoMessage - encode một lần vào byte[] đúng kích thước
+ * Design decision: Lỗi decode trả về Status.INTERNAL như ProtoUtils.marshaller của grpc-protobuf
+ */
+final class ProtoMarshaller<T extends ProtoMessage> implements MethodDescriptor.Marshaller<T> {
+
+    @FunctionalInterface
+    interface Parser<T> {
+        T parse(CodedInputStream input) throws IOException;
+    }
+
+    private final Parser<T> parser;
+
+    private ProtoMarshaller(Parser<T> parser) {
+        this.parser = parser;
+    }
+
+    static <T extends ProtoMessage> ProtoMarshaller<T> of(Parser<T> parser) {
+        return new ProtoMarshaller<>(parser);
+    }
+
+    @Override
+    public InputStream stream(T value) {
+        byte[] bytes = new byte[value.serializedSize()];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            value.writeTo(output);
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            // Note: Ghi vào byte[] chỉ lỗi khi serializedSize() sai - bug của message, không phải lỗi I/O
+            throw new IllegalStateException("serializedSize() does not match bytes written", e);
+        }
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public T parse(InputStream stream) {
+        try {
+            // Note: gRPC đã giới hạn message size (mặc định 4MB) trước khi tới đây
+            return parser.parse(CodedInputStream.newInstance(stream));
+        } catch (IOException e) {
+            throw Status.INTERNAL.withDescription("Invalid protobuf message").withCause(e).asRuntimeException();
+        }
+    }
+}
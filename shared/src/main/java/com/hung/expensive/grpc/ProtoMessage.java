@@ -0,0 +1,18 @@
+package com.hung.expensive.grpc;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+
+/**
+ * Why: Message encode được sang protobuf wire format - thay cho GeneratedMessageV3 khi không chạy protoc
+ */
+interface ProtoMessage {
+
+    /**
+     * Why: Ghi đúng serializedSize() bytes
+     */
+    void writeTo(CodedOutputStream output) throws IOException;
+
+    int serializedSize();
+}
@@ -0,0 +1,80 @@
+package com.hung.expensive.grpc;
+
+import com.hung.expensive.grpc.InternalLookupProto.ExistsReply;
+import com.hung.expensive.grpc.InternalLookupProto.IdRequest;
+import io.grpc.BindableService;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.stub.AbstractBlockingStub;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Why: service UserLookup của internal_lookup.proto - user-service implement, expense-service gọi
+ * Design decision: Cùng hình dạng với code protoc-gen-grpc-java sinh ra (descriptors, ImplBase, blocking stub)
+ * để sau này thay bằng generated code mà không đổi call sites
+ */
+public final class UserLookupGrpc {
+
+    public static final String SERVICE_NAME = "expensive.internal.UserLookup";
+
+    // Why: Read-only lookups - idempotent nên client được phép retry/hedge
+    public static final MethodDescriptor<IdRequest, ExistsReply> EXISTS =
+        MethodDescriptor.<IdRequest, ExistsReply>newBuilder()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "Exists"))
+            .setRequestMarshaller(ProtoMarshaller.of(IdRequest::parse))
+            .setResponseMarshaller(ProtoMarshaller.of(ExistsReply::parse))
+            .setIdempotent(true)
+            .setSafe(true)
+            .build();
+
+    public static final ServiceDescriptor SERVICE = ServiceDescriptor.newBuilder(SERVICE_NAME)
+        .addMethod(EXISTS)
+        .build();
+
+    private UserLookupGrpc() {
+    }
+
+    public static UserLookupBlockingStub newBlockingStub(Channel channel) {
+        return AbstractBlockingStub.newStub(UserLookupBlockingStub::new, channel);
+    }
+
+    /**
+     * Why: Server side - bean kế thừa class này được GrpcServerLifecycle đăng ký tự động
+     */
+    public abstract static class UserLookupImplBase implements BindableService {
+
+        public abstract void exists(IdRequest request, StreamObserver<ExistsReply> responseObserver);
+
+        @Override
+        public final ServerServiceDefinition bindService() {
+            return ServerServiceDefinition.builder(SERVICE)
+                .addMethod(EXISTS, ServerCalls.asyncUnaryCall(this::exists))
+                .build();
+        }
+    }
+
+    /**
+     * Why: Client side - deadline đặt theo từng call bằng withDeadlineAfter
+     */
+    public static final class UserLookupBlockingStub extends AbstractBlockingStub<UserLookupBlockingStub> {
+
+        private UserLookupBlockingStub(Channel channel, CallOptions callOptions) {
+            super(channel, callOptions);
+        }
+
+        @Override
+        protected UserLookupBlockingStub build(Channel channel, CallOptions callOptions) {
+            return new UserLookupBlockingStub(channel, callOptions);
+        }
+
+        public ExistsReply exists(IdRequest request) {
+            return ClientCalls.blockingUnaryCall(getChannel(), EXISTS, getCallOptions(), request);
+        }
+    }
+}
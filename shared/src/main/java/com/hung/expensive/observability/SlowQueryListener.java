@@ -0,0 +1,43 @@
+package com.hung.expensive.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Why: Log queries chậm hơn threshold kèm controller method - slow scans của derived queries chỉ lộ ra trên production data
+ * Design decision: datasource-proxy listener (DataSource đã được datasource-micrometer proxy cho tracing) đo thời gian
+ * execute thật của JDBC; StatementInspector của Hibernate chỉ thấy SQL trước khi prepare, không thấy thời gian
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private final long thresholdMillis;
+
+    public SlowQueryListener(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        // Note: Không log parameters - có thể chứa dữ liệu người dùng
+        log.warn("Slow query ({} ms, threshold {} ms{}) from {}: {}",
+                execInfo.getElapsedTime(), thresholdMillis,
+                execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                CallingController.current(), sql);
+    }
+}
@@ -0,0 +1,35 @@
+package com.hung.expensive.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Why: Record số SQL statements của mỗi request thành histogram theo endpoint
+ * Business requirement: Phát hiện N+1 - endpoint có p99 statements cao bất thường là ứng viên đầu tiên
+ * Design decision: Tag bằng URI pattern (/api/expenses/{id}) thay vì URI thật để cardinality không tăng theo IDs;
+ * đếm và budget check dùng chung SqlStatementBudgetFilter (sql-budget) với monolith
+ */
+public class SqlStatementMetricsFilter extends SqlStatementBudgetFilter {
+
+    public static final String METRIC_NAME = "hibernate.statements.per.request";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry, SqlStatementBudget budget) {
+        super(budget);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void recordStatements(HttpServletRequest request, int statements) {
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements prepared by Hibernate per HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uriPattern(request))
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
@@ -0,0 +1,90 @@
+package com.hung.expensive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Why: Chạy scripts/check-virtual-thread-pinning.sh trong test phase - mọi servlet service phụ thuộc shared nên
+ * synchronized bao quanh blocking I/O ở bất kỳ module nào (kể cả monolith) làm fail build thay vì chỉ bị phát hiện
+ * khi ai đó nhớ chạy script
+ * Note: Docker builds chỉ copy sources của module và chạy -DskipTests - không có script thì bỏ qua
+ */
+class VirtualThreadPinningCheckTest {
+
+    private static final Path ROOT = Path.of("").toAbsolutePath().getParent();
+    private static final Path SCRIPT = ROOT.resolve("scripts/check-virtual-thread-pinning.sh");
+
+    @Test
+    void noSynchronizedAroundBlockingIoInServletServices() throws IOException, InterruptedException {
+        assumeTrue(Files.exists(SCRIPT), "Pinning check script not found in " + ROOT);
+
+        Result result = run(ROOT);
+        assertEquals(0, result.exitCode(), result.output());
+    }
+
+    @Test
+    void synchronizedAroundRepositoryCallFails(@TempDir Path dir) throws IOException, InterruptedException {
+        assumeTrue(Files.exists(SCRIPT), "Pinning check script not found in " + ROOT);
+        writeSource(dir, """
+                class Registrar {
+                    void register(User user) {
+                        synchronized (this) {
+                            userRepository.save(user);
+                        }
+                    }
+                }
+                """);
+
+        Result result = run(dir);
+        assertEquals(1, result.exitCode(), result.output());
+        assertTrue(result.output().contains("Registrar.java:3"), result.output());
+    }
+
+    @Test
+    void synchronizedAroundInMemoryStateIsAllowed(@TempDir Path dir) throws IOException, InterruptedException {
+        assumeTrue(Files.exists(SCRIPT), "Pinning check script not found in " + ROOT);
+        writeSource(dir, """
+                class Counter {
+                    private final Map<String, Integer> counts = new HashMap<>();
+
+                    // Note: synchronized quanh userRepository.save(user) sẽ bị flag
+                    synchronized void increment(String key) {
+                        counts.merge(key, 1, Integer::sum);
+                    }
+                }
+                """);
+
+        Result result = run(dir);
+        assertEquals(0, result.exitCode(), result.output());
+    }
+
+    // Why: Script scan src/main/java tương đối với working directory - temp dir đóng vai monolith
+    private static void writeSource(Path dir, String source) throws IOException {
+        Path sources = Files.createDirectories(dir.resolve("src/main/java"));
+        String className = source.substring(source.indexOf("class ") + 6, source.indexOf(" {"));
+        Files.writeString(sources.resolve(className + ".java"), source);
+    }
+
+    private static Result run(Path workingDirectory) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder("bash", SCRIPT.toString())
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(process.waitFor(1, TimeUnit.MINUTES), "Pinning check timed out");
+        return new Result(process.exitValue(), output);
+    }
+
+    private record Result(int exitCode, String output) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.hung.expensive.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Why: CPU-based sizing áp dụng khi không có pool size tường minh, và không đè giá trị tường minh
+ * (prod + virtual-threads)
+ */
+class HikariPoolSizingAutoConfigurationTest {
+
+    @Test
+    void sizesPoolFromCpuCores() {
+        BeanPostProcessor postProcessor = HikariPoolSizingAutoConfiguration.hikariPoolSizingPostProcessor(
+                new MockEnvironment().withProperty("expensive.datasource.connections-per-core", "2"));
+        HikariDataSource dataSource = new HikariDataSource();
+
+        postProcessor.postProcessAfterInitialization(dataSource, "dataSource");
+
+        int expected = Runtime.getRuntime().availableProcessors() * 2 + 1;
+        assertEquals(expected, dataSource.getMaximumPoolSize());
+        assertEquals(expected, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void keepsExplicitPoolSize() {
+        BeanPostProcessor postProcessor = HikariPoolSizingAutoConfiguration.hikariPoolSizingPostProcessor(
+                new MockEnvironment().withProperty("spring.datasource.hikari.maximum-pool-size", "20"));
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(20);
+        dataSource.setMinimumIdle(20);
+
+        postProcessor.postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertEquals(20, dataSource.getMaximumPoolSize());
+        assertEquals(20, dataSource.getMinimumIdle());
+    }
+}
@@ -0,0 +1,59 @@
+package com.hung.expensive.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Why: Cookie read-your-writes do client gửi lên - chỉ giá trị hợp lệ trong window mới được pin vào primary
+ */
+class ReadYourWritesFilterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(WINDOW);
+
+    @Test
+    void cookieWithinWindowPinsUntilItsValue() throws Exception {
+        long until = System.currentTimeMillis() + 2_000;
+
+        assertThat(primaryUntilDuringRequest(Long.toString(until))).isEqualTo(until);
+    }
+
+    @Test
+    void cookieBeyondWindowIsClampedToWindow() throws Exception {
+        long before = System.currentTimeMillis();
+        Long until = primaryUntilDuringRequest(Long.toString(before + Duration.ofDays(365).toMillis()));
+
+        assertThat(until).isBetween(before, System.currentTimeMillis() + WINDOW.toMillis());
+    }
+
+    @Test
+    void expiredCookieIsIgnored() throws Exception {
+        assertThat(primaryUntilDuringRequest(Long.toString(System.currentTimeMillis() - 1_000))).isNull();
+    }
+
+    @Test
+    void unparsableCookieIsIgnored() throws Exception {
+        assertThat(primaryUntilDuringRequest("not-a-timestamp")).isNull();
+    }
+
+    private Long primaryUntilDuringRequest(String cookieValue) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, cookieValue));
+        AtomicReference<Long> primaryUntil = new AtomicReference<>();
+        FilterChain chain = (req, res) -> primaryUntil.set(ReadYourWrites.primaryUntil());
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(ReadYourWrites.primaryUntil()).isNull();
+        return primaryUntil.get();
+    }
+}
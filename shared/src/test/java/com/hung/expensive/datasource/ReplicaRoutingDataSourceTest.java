@@ -0,0 +1,61 @@
+package com.hung.expensive.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Why: getConnection(username, password) phải đi cùng routing với getConnection()
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, lagMonitor);
+
+    @AfterEach
+    void clearWindow() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void credentialsGoToReplicaWhenUsable() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(replica.getConnection("reader", "secret")).thenReturn(connection);
+
+        assertThat(routing.getConnection("reader", "secret")).isSameAs(connection);
+    }
+
+    @Test
+    void credentialsGoToPrimaryInsideReadYourWritesWindow() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(primary.getConnection("reader", "secret")).thenReturn(connection);
+        ReadYourWrites.pinUntil(System.currentTimeMillis() + 5_000);
+
+        assertThat(routing.getConnection("reader", "secret")).isSameAs(connection);
+    }
+
+    @Test
+    void unsupportedCredentialsDoNotMarkReplicaDown() throws SQLException {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(replica.getConnection("reader", "secret")).thenThrow(new SQLFeatureNotSupportedException());
+
+        assertThatThrownBy(() -> routing.getConnection("reader", "secret"))
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+        verify(lagMonitor, never()).markUnavailable();
+    }
+}
@@ -0,0 +1,137 @@
+package com.hung.expensive.grpc;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.WireFormat;
+import com.hung.expensive.grpc.InternalLookupProto.CategoryList;
+import com.hung.expensive.grpc.InternalLookupProto.CategorySummary;
+import com.hung.expensive.grpc.InternalLookupProto.IdList;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Why: Records phải encode/decode đúng như class protoc sinh từ internal_lookup.proto
+ * Design decision: So với DynamicMessage dựng từ descriptor của cùng schema - không cần protoc trong build
+ */
+class InternalLookupProtoTest {
+
+    private static Descriptor categorySummary;
+    private static Descriptor categoryList;
+    private static Descriptor idList;
+
+    @BeforeAll
+    static void describeSchema() throws DescriptorValidationException {
+        FileDescriptorProto file = FileDescriptorProto.newBuilder()
+                .setName("internal_lookup.proto")
+                .setPackage("expensive.internal")
+                .setSyntax("proto3")
+                .addMessageType(DescriptorProto.newBuilder().setName("IdList")
+                        .addField(field("ids", 1, FieldDescriptorProto.Type.TYPE_INT64, FieldDescriptorProto.Label.LABEL_REPEATED)))
+                .addMessageType(DescriptorProto.newBuilder().setName("CategorySummary")
+                        .addField(field("id", 1, FieldDescriptorProto.Type.TYPE_INT64, FieldDescriptorProto.Label.LABEL_OPTIONAL))
+                        .addField(field("name", 2, FieldDescriptorProto.Type.TYPE_STRING, FieldDescriptorProto.Label.LABEL_OPTIONAL))
+                        .addField(field("color_code", 3, FieldDescriptorProto.Type.TYPE_STRING, FieldDescriptorProto.Label.LABEL_OPTIONAL))
+                        .addField(field("icon_name", 4, FieldDescriptorProto.Type.TYPE_STRING, FieldDescriptorProto.Label.LABEL_OPTIONAL)))
+                .addMessageType(DescriptorProto.newBuilder().setName("CategoryList")
+                        .addField(field("categories", 1, FieldDescriptorProto.Type.TYPE_MESSAGE, FieldDescriptorProto.Label.LABEL_REPEATED)
+                                .setTypeName(".expensive.internal.CategorySummary")))
+                .build();
+        FileDescriptor descriptor = FileDescriptor.buildFrom(file, new FileDescriptor[0]);
+        idList = descriptor.findMessageTypeByName("IdList");
+        categorySummary = descriptor.findMessageTypeByName("CategorySummary");
+        categoryList = descriptor.findMessageTypeByName("CategoryList");
+    }
+
+    @Test
+    void categoryListMatchesProtobufEncoding() throws IOException {
+        CategoryList categories = new CategoryList(List.of(
+                new CategorySummary(1, "Ăn uống", "#ff5722", "restaurant"),
+                new CategorySummary(300, "Đi lại", null, null)));
+        DynamicMessage expected = DynamicMessage.newBuilder(categoryList)
+                .addRepeatedField(categoryList.findFieldByName("categories"), summary(1, "Ăn uống", "#ff5722", "restaurant"))
+                .addRepeatedField(categoryList.findFieldByName("categories"), summary(300, "Đi lại", "", ""))
+                .build();
+
+        byte[] encoded = encode(ProtoMarshaller.of(CategoryList::parse), categories);
+
+        assertArrayEquals(expected.toByteArray(), encoded);
+        assertEquals(categories, ProtoMarshaller.of(CategoryList::parse).parse(new ByteArrayInputStream(expected.toByteArray())));
+    }
+
+    @Test
+    void idListMatchesPackedEncoding() throws IOException {
+        IdList ids = new IdList(List.of(1L, 150L, Long.MAX_VALUE, -1L));
+        DynamicMessage expected = DynamicMessage.newBuilder(idList)
+                .addRepeatedField(idList.findFieldByName("ids"), 1L)
+                .addRepeatedField(idList.findFieldByName("ids"), 150L)
+                .addRepeatedField(idList.findFieldByName("ids"), Long.MAX_VALUE)
+                .addRepeatedField(idList.findFieldByName("ids"), -1L)
+                .build();
+
+        assertArrayEquals(expected.toByteArray(), encode(ProtoMarshaller.of(IdList::parse), ids));
+    }
+
+    @Test
+    void unpackedIdsAndUnknownFieldsAreRead() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        output.writeInt64(1, 7);
+        // Note: Field 9 chỉ có ở version mới hơn của message
+        output.writeString(9, "added later");
+        output.writeInt64(1, 8);
+        output.flush();
+
+        IdList parsed = ProtoMarshaller.of(IdList::parse).parse(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(List.of(7L, 8L), parsed.ids());
+    }
+
+    @Test
+    void truncatedMessageIsInternalError() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        output.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(20);
+        output.writeInt64NoTag(7);
+        output.flush();
+
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class,
+                () -> ProtoMarshaller.of(CategoryList::parse).parse(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(Status.Code.INTERNAL, error.getStatus().getCode());
+    }
+
+    private static DynamicMessage summary(long id, String name, String colorCode, String iconName) {
+        return DynamicMessage.newBuilder(categorySummary)
+                .setField(categorySummary.findFieldByName("id"), id)
+                .setField(categorySummary.findFieldByName("name"), name)
+                .setField(categorySummary.findFieldByName("color_code"), colorCode)
+                .setField(categorySummary.findFieldByName("icon_name"), iconName)
+                .build();
+    }
+
+    private static FieldDescriptorProto.Builder field(String name, int number, FieldDescriptorProto.Type type,
+                                                      FieldDescriptorProto.Label label) {
+        return FieldDescriptorProto.newBuilder().setName(name).setNumber(number).setType(type).setLabel(label);
+    }
+
+    private static <T extends ProtoMessage> byte[] encode(ProtoMarshaller<T> marshaller, T message) throws IOException {
+        return marshaller.stream(message).readAllBytes();
+    }
+}
@@ -0,0 +1,59 @@
+package com.hung.expensive.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Why: Budget FAIL mode không được che exception gốc của request, và statements vẫn được record khi request lỗi
+ */
+class SqlStatementMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(meterRegistry,
+            new SqlStatementBudget(null, Map.of("GET /api/expenses/{id}", 1), SqlStatementBudget.Mode.FAIL));
+
+    @Test
+    void overBudgetRequestFailsAfterNormalReturn() {
+        FilterChain chain = (request, response) -> runStatements(2);
+
+        assertThrows(SqlStatementBudgetExceededException.class,
+                () -> filter.doFilter(expenseRequest(), new MockHttpServletResponse(), chain));
+    }
+
+    @Test
+    void failingRequestKeepsItsOwnException() {
+        IllegalStateException failure = new IllegalStateException("expense lookup failed");
+        FilterChain chain = (request, response) -> {
+            runStatements(2);
+            throw failure;
+        };
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(expenseRequest(), new MockHttpServletResponse(), chain));
+        assertSame(failure, thrown);
+        assertEquals(1, meterRegistry.get(SqlStatementMetricsFilter.METRIC_NAME).summary().count());
+    }
+
+    private static MockHttpServletRequest expenseRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/expenses/{id}");
+        return request;
+    }
+
+    // Note: Giả lập Hibernate prepare statements trong request
+    private static void runStatements(int count) {
+        for (int i = 0; i < count; i++) {
+            SqlStatementCounter.increment();
+        }
+    }
+}
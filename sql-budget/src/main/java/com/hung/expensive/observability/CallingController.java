@@ -0,0 +1,42 @@
+package com.hung.expensive.observability;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Why: Gắn SQL với controller method đã gây ra nó - derived query methods không cho biết endpoint nào gọi chúng
+ * Design decision: Đọc handler DispatcherServlet đã resolve từ request attributes thay vì parse stack trace
+ */
+public final class CallingController {
+
+    private static final String NO_REQUEST = "no request";
+
+    private CallingController() {
+    }
+
+    /**
+     * Why: Controller method của request trên thread hiện tại (RequestContextHolder do RequestContextFilter set)
+     */
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return describe(servletAttributes.getRequest());
+        }
+        return NO_REQUEST;
+    }
+
+    /**
+     * Why: "ExpenseController#createExpense"; trước khi resolve handler (security filters) thì dùng method + URI
+     */
+    public static String describe(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+}
@@ -0,0 +1,17 @@
+package com.hung.expensive.observability;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Why: Hook của Hibernate được gọi cho mọi SQL trước khi prepare - điểm duy nhất thấy cả derived queries,
+ * @Query và lazy loading (N+1)
+ * Note: Batch statements được prepare một lần cho cả batch nên chỉ đếm một
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.increment();
+        return sql;
+    }
+}
@@ -0,0 +1,88 @@
+package com.hung.expensive.observability;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Why: Giới hạn số SQL statements mỗi endpoint được phép chạy trong một request
+ * Business requirement: N+1 phải bị phát hiện trong tests (FAIL) và được cảnh báo trên production (WARN)
+ * Design decision: Budget theo "METHOD uri-pattern" (GET /api/expenses/{id}), endpoint không khai báo dùng default
+ */
+public class SqlStatementBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudget.class);
+
+    // Why: Đánh dấu request đã bị fail bởi SqlStatementBudgetAdvice - filter không báo lại lần nữa
+    static final String REPORTED_ATTRIBUTE = SqlStatementBudget.class.getName() + ".REPORTED";
+
+    public enum Mode {
+        WARN,
+        FAIL
+    }
+
+    private final Integer defaultMaxStatements;
+    private final Map<String, Integer> endpointBudgets;
+    private final Mode mode;
+
+    /**
+     * @param defaultMaxStatements budget cho endpoints không khai báo riêng, null = không giới hạn
+     * @param endpointBudgets      key dạng "GET /api/expenses/{id}"
+     */
+    public SqlStatementBudget(Integer defaultMaxStatements, Map<String, Integer> endpointBudgets, Mode mode) {
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.endpointBudgets = Map.copyOf(endpointBudgets);
+        this.mode = mode;
+    }
+
+    /**
+     * Why: FAIL mode - gọi trước khi controller ghi body, exception còn đi qua exception handlers thành error response
+     * Note: Statements chạy trong lúc serialize body (lazy loading) chỉ được filter thấy sau đó
+     */
+    public void checkBeforeCommit(HttpServletRequest request, int statements) {
+        if (mode != Mode.FAIL || request.getAttribute(REPORTED_ATTRIBUTE) != null) {
+            return;
+        }
+        String violation = violation(request, statements);
+        if (violation != null) {
+            request.setAttribute(REPORTED_ATTRIBUTE, Boolean.TRUE);
+            throw new SqlStatementBudgetExceededException(violation);
+        }
+    }
+
+    /**
+     * Why: Gọi khi request kết thúc bình thường với tổng số statements
+     * Note: Response đã commit thì status không đổi được nữa - FAIL mode chỉ log ERROR thay vì throw exception
+     * mà client không bao giờ thấy
+     */
+    public void check(HttpServletRequest request, HttpServletResponse response, int statements) {
+        if (request.getAttribute(REPORTED_ATTRIBUTE) != null) {
+            return;
+        }
+        String violation = violation(request, statements);
+        if (violation == null) {
+            return;
+        }
+
+        if (mode == Mode.WARN) {
+            log.warn(violation);
+        } else if (response.isCommitted()) {
+            log.error("{} (response already committed)", violation);
+        } else {
+            throw new SqlStatementBudgetExceededException(violation);
+        }
+    }
+
+    private String violation(HttpServletRequest request, int statements) {
+        String endpoint = request.getMethod() + " " + SqlStatementBudgetFilter.uriPattern(request);
+        Integer budget = endpointBudgets.getOrDefault(endpoint, defaultMaxStatements);
+        if (budget == null || statements <= budget) {
+            return null;
+        }
+        return String.format("SQL statement budget exceeded for %s (%s): %d statements, budget %d",
+                endpoint, CallingController.describe(request), statements, budget);
+    }
+}
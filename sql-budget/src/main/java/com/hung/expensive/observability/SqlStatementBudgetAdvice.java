@@ -0,0 +1,45 @@
+package com.hung.expensive.observability;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Why: FAIL mode phải fail trước khi response commit - SqlStatementBudgetFilter chỉ check sau khi controller
+ * đã ghi body, lúc đó status 200 đã gửi đi và exception chỉ còn là log
+ * Design decision: ResponseBodyAdvice chạy ngay trước khi ghi body, exception đi qua exception handlers của
+ * service thành error response; statements sau điểm này (serialize body) vẫn được filter check
+ */
+@ControllerAdvice
+public class SqlStatementBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlStatementBudget budget;
+
+    public SqlStatementBudgetAdvice(SqlStatementBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int statements = SqlStatementCounter.current();
+        // Note: -1 = request không đi qua SqlStatementBudgetFilter
+        if (statements >= 0 && request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            budget.checkBeforeCommit(httpRequest, statements);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,11 @@
+package com.hung.expensive.observability;
+
+/**
+ * Why: Request prepare nhiều SQL statements hơn budget của endpoint (thường là N+1)
+ */
+public class SqlStatementBudgetExceededException extends IllegalStateException {
+
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.hung.expensive.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Why: Mở/đóng SqlStatementCounter quanh mỗi request và check tổng số statements với SqlStatementBudget
+ * Design decision: Monolith dùng trực tiếp; shared extend để record thêm histogram qua recordStatements
+ */
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlStatementBudget budget;
+
+    public SqlStatementBudgetFilter(SqlStatementBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        int statements;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements = SqlStatementCounter.stop();
+            recordStatements(request, statements);
+        }
+        // Why: Chỉ check khi chain trả về bình thường - check trong finally ở FAIL mode sẽ throw đè lên
+        // exception gốc của request
+        budget.check(request, response, statements);
+    }
+
+    /**
+     * Why: Hook cho metrics - gọi cả khi request lỗi
+     */
+    protected void recordStatements(HttpServletRequest request, int statements) {
+    }
+
+    // Why: Pattern do DispatcherServlet set sau khi resolve handler; request không tới controller thì gom chung
+    public static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
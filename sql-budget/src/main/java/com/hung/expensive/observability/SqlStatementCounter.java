@@ -0,0 +1,48 @@
+package com.hung.expensive.observability;
+
+/**
+ * Why: Đếm số SQL statements Hibernate prepare trong phạm vi một HTTP request
+ * Design decision: ThreadLocal - servlet services xử lý request và JPA calls trên cùng một thread,
+ * nên không cần truyền context qua các layers
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Why: Bắt đầu đếm cho request hiện tại (gọi từ filter)
+     */
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Why: Gọi mỗi khi Hibernate prepare một statement - no-op ngoài request (scheduled jobs, startup)
+     */
+    public static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    /**
+     * Why: Số statements hiện tại của request, -1 nếu không nằm trong request
+     */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? -1 : count[0];
+    }
+
+    /**
+     * Why: Kết thúc request - trả về tổng số statements và dọn ThreadLocal (thread được pool tái sử dụng)
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,102 @@
+package com.hung.expensive.observability;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Why: FAIL mode phải fail trước khi response commit, không throw sau commit và không che exception gốc của request
+ */
+class SqlStatementBudgetFilterTest {
+
+    private final SqlStatementBudget budget =
+            new SqlStatementBudget(null, Map.of("GET /api/expenses/{id}", 1), SqlStatementBudget.Mode.FAIL);
+    private final SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(budget);
+    private final SqlStatementBudgetAdvice advice = new SqlStatementBudgetAdvice(budget);
+
+    @Test
+    void overBudgetRequestFailsBeforeBodyIsWritten() {
+        MockHttpServletRequest request = expenseRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            runStatements(2);
+            advice.beforeBodyWrite("body", null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                    new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+        };
+
+        assertThrows(SqlStatementBudgetExceededException.class, () -> filter.doFilter(request, response, chain));
+    }
+
+    @Test
+    void violationReportedByAdviceIsNotReportedAgain() {
+        MockHttpServletRequest request = expenseRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // Note: Exception handler của service đã biến violation thành error response
+        FilterChain chain = (req, res) -> {
+            runStatements(2);
+            assertThrows(SqlStatementBudgetExceededException.class, () -> advice.beforeBodyWrite("body", null,
+                    MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                    new ServletServerHttpRequest(request), new ServletServerHttpResponse(response)));
+            response.setStatus(500);
+        };
+
+        assertDoesNotThrow(() -> filter.doFilter(request, response, chain));
+    }
+
+    @Test
+    void overBudgetWithoutBodyFailsInFilter() {
+        FilterChain chain = (request, response) -> runStatements(2);
+
+        assertThrows(SqlStatementBudgetExceededException.class,
+                () -> filter.doFilter(expenseRequest(), new MockHttpServletResponse(), chain));
+    }
+
+    @Test
+    void overBudgetAfterCommitIsLoggedInsteadOfThrown() {
+        // Why: Statements chạy trong lúc serialize body - status 200 đã gửi đi, throw lúc này client không thấy
+        FilterChain chain = (request, response) -> {
+            response.flushBuffer();
+            runStatements(2);
+        };
+
+        assertDoesNotThrow(() -> filter.doFilter(expenseRequest(), new MockHttpServletResponse(), chain));
+    }
+
+    @Test
+    void failingRequestKeepsItsOwnException() {
+        IllegalStateException failure = new IllegalStateException("expense lookup failed");
+        FilterChain chain = (request, response) -> {
+            runStatements(2);
+            throw failure;
+        };
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(expenseRequest(), new MockHttpServletResponse(), chain));
+        assertSame(failure, thrown);
+    }
+
+    private static MockHttpServletRequest expenseRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/expenses/{id}");
+        return request;
+    }
+
+    // Note: Giả lập Hibernate prepare statements trong request
+    private static void runStatements(int count) {
+        for (int i = 0; i < count; i++) {
+            SqlStatementCounter.increment();
+        }
+    }
+}
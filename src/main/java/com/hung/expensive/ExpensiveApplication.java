@@ -2,8 +2,10 @@ package com.hung.expensive;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // Why: Rebuild Bloom filter (UsernameAvailabilityService), dọn tombstones (ExpenseSyncService), SSE heartbeat (ExpenseStreamService)
 public class ExpensiveApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,46 @@
+package com.hung.expensive.config;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Why: Chọn BCrypt cost theo phần cứng đang chạy thay vì hard-code - cùng một cost có thể 60ms trên server
+ * này và 400ms trên server khác
+ * Design decision: Benchmark lúc startup, chọn cost cao nhất mà median thời gian hash vẫn <= target
+ * Performance: Mỗi cost tăng 1 thì thời gian hash gấp đôi - dừng ngay ở cost đầu tiên vượt target
+ */
+public final class BCryptCostCalibrator {
+
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * @return cost trong [minCost, maxCost]; minCost nếu ngay cả minCost đã vượt target
+     */
+    public static int calibrate(Duration targetHashTime, int minCost, int maxCost) {
+        int chosen = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            if (medianHashTime(cost).compareTo(targetHashTime) > 0) {
+                break;
+            }
+            chosen = cost;
+        }
+        return chosen;
+    }
+
+    static Duration medianHashTime(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration-password", salt);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[SAMPLES / 2]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.hung.expensive.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hung.expensive.service.ExpenseStreamBroker;
+import com.hung.expensive.service.LocalExpenseStreamBroker;
+import com.hung.expensive.service.RedisExpenseStreamBroker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Why: Chọn ExpenseStreamBroker theo expense-stream.broker: local (default, một instance)
+ * hoặc redis (nhiều instances, user có thể connect vào instance khác instance xử lý mutation)
+ */
+@Configuration
+public class ExpenseStreamConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "expense-stream.broker", havingValue = "local", matchIfMissing = true)
+    public ExpenseStreamBroker localExpenseStreamBroker() {
+        return new LocalExpenseStreamBroker();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "expense-stream.broker", havingValue = "redis")
+    static class Redis {
+
+        @Bean
+        public RedisExpenseStreamBroker redisExpenseStreamBroker(StringRedisTemplate redisTemplate,
+                                                                 ObjectMapper objectMapper,
+                                                                 @Value("${expense-stream.redis-channel:expense-stream}") String channel) {
+            return new RedisExpenseStreamBroker(redisTemplate, objectMapper, channel);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer expenseStreamListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            RedisExpenseStreamBroker broker,
+                                                                            @Value("${expense-stream.redis-channel:expense-stream}") String channel) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(broker, new ChannelTopic(channel));
+            return container;
+        }
+    }
+}
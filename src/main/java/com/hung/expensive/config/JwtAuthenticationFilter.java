@@ -7,14 +7,15 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Why: JWT Authentication Filter để validate JWT token trong mỗi request
@@ -27,8 +28,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtService jwtService;
     
-    @Autowired
-    private UserDetailsService userDetailsService;
+    // Why: Mọi user đều có role USER (xem User.getAuthorities)
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
     
     @Override
     protected void doFilterInternal(
@@ -56,27 +57,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             username = jwtService.extractUsername(jwt);
             
             // Why: Check nếu user chưa được authenticate
+            // Performance: Không load user từ DB - chữ ký và expiration đã được verify khi parse token;
+            // access token sống ngắn nên user bị disable mất quyền ở lần refresh tiếp theo
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Why: Load user details từ database
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // Why: Create authentication token từ claims
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    username,
+                    null,
+                    USER_AUTHORITIES
+                );
+                
+                // Why: Set authentication details
+                authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+                );
                 
-                // Why: Validate JWT token với user details
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    // Why: Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                    );
-                    
-                    // Why: Set authentication details
-                    authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-                    
-                    // Why: Set authentication vào SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                // Why: Set authentication vào SecurityContext
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             // Why: Log error và continue filter chain
@@ -0,0 +1,39 @@
+package com.hung.expensive.config;
+
+import com.hung.expensive.service.InMemoryLoginAttemptStore;
+import com.hung.expensive.service.LoginAttemptStore;
+import com.hung.expensive.service.RedisLoginAttemptStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Why: Chọn LoginAttemptStore theo security.login-throttle.store: in-memory (default, một instance)
+ * hoặc redis (nhiều instances đếm chung)
+ */
+@Configuration
+public class LoginThrottleConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "security.login-throttle.store", havingValue = "in-memory", matchIfMissing = true)
+    public LoginAttemptStore inMemoryLoginAttemptStore(@Value("${security.login-throttle.window:15m}") Duration window,
+                                                       @Value("${security.login-throttle.max-tracked-keys:100000}") int maxTrackedKeys) {
+        return new InMemoryLoginAttemptStore(window, maxTrackedKeys);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "security.login-throttle.store", havingValue = "redis")
+    static class Redis {
+
+        @Bean
+        public LoginAttemptStore redisLoginAttemptStore(StringRedisTemplate redisTemplate,
+                                                        @Value("${security.login-throttle.window:15m}") Duration window,
+                                                        @Value("${security.login-throttle.redis-key-prefix:login-failures:}") String keyPrefix) {
+            return new RedisLoginAttemptStore(redisTemplate, keyPrefix, window);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hung.expensive.config;
+
+import com.hung.expensive.hashing.PasswordHashingExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Why: Executor và PasswordEncoder cho password hashing
+ * Design decision: Executor và pool encoder dùng chung module password-hashing với auth-service
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    /**
+     * Why: Bounded executor chỉ dành cho BCrypt
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(
+            @Value("${security.password.hashing.threads:0}") int threads,
+            @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity) {
+        return PasswordHashingExecutors.bounded(threads, queueCapacity);
+    }
+
+    /**
+     * Why: Cost cố định nếu set security.password.bcrypt.strength, ngược lại calibrate theo target-hash-time
+     */
+    @Bean
+    public PooledBCryptPasswordEncoder passwordEncoder(
+            ThreadPoolExecutor passwordHashingExecutor,
+            @Value("${security.password.bcrypt.strength:0}") int strength,
+            @Value("${security.password.bcrypt.target-hash-time:250ms}") Duration targetHashTime,
+            @Value("${security.password.bcrypt.min-strength:10}") int minStrength,
+            @Value("${security.password.bcrypt.max-strength:14}") int maxStrength,
+            @Value("${security.password.hashing.timeout:5s}") Duration timeout) {
+        int cost = strength > 0 ? strength : BCryptCostCalibrator.calibrate(targetHashTime, minStrength, maxStrength);
+        log.info("BCrypt cost {} ({}), hashing pool {} threads", cost,
+                strength > 0 ? "configured" : "calibrated for " + targetHashTime.toMillis() + " ms",
+                passwordHashingExecutor.getMaximumPoolSize());
+        return new PooledBCryptPasswordEncoder(cost, passwordHashingExecutor, timeout);
+    }
+}
@@ -0,0 +1,45 @@
+package com.hung.expensive.config;
+
+import com.hung.expensive.hashing.PooledPasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Why: BCrypt chạy trên pool riêng có giới hạn thay vì Tomcat request threads - login storm chỉ chiếm
+ * số cores của pool, các endpoints khác vẫn còn CPU
+ * Design decision: Pool và backpressure dùng chung PooledPasswordEncoder (module password-hashing) với
+ * auth-service; class này chỉ thêm điều kiện rehash theo cost
+ * Note: Queue đầy hoặc chờ quá timeout -> PasswordHashingOverloadedException (503)
+ */
+public class PooledBCryptPasswordEncoder extends PooledPasswordEncoder {
+
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public PooledBCryptPasswordEncoder(int strength, ExecutorService executor, Duration timeout) {
+        super(new BCryptPasswordEncoder(strength), executor, timeout);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Why: Hash có cost khác cost hiện tại được rehash khi login thành công (DaoAuthenticationProvider gọi
+     * UserDetailsPasswordService) - cả khi tăng cost lẫn khi hạ cost vì hash cũ quá chậm
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
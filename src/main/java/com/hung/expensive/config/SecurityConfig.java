@@ -1,6 +1,8 @@
 package com.hung.expensive.config;
 
+import com.hung.expensive.entity.User;
 import com.hung.expensive.repository.UserRepository;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,9 +13,9 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -48,6 +50,8 @@ public class SecurityConfig {
                 .requestMatchers("/h2-console/**").permitAll() // Why: H2 console cho development
                 .requestMatchers("/").permitAll()
                 .requestMatchers("/static/**").permitAll()
+                // Why: SSE (/api/expenses/stream) kết thúc bằng ASYNC dispatch không mang JWT - request gốc đã được xác thực
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 
                 // Why: Tất cả endpoints khác cần authentication
                 .anyRequest().authenticated()
@@ -67,12 +71,14 @@ public class SecurityConfig {
     /**
      * Why: Authentication Provider để authenticate users
      * Context: Configure DaoAuthenticationProvider với UserDetailsService và PasswordEncoder
+     * (PooledBCryptPasswordEncoder từ PasswordHashingConfig)
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
     
@@ -87,12 +93,16 @@ public class SecurityConfig {
     }
     
     /**
-     * Why: Password Encoder để hash passwords
-     * Context: BCrypt là industry standard cho password hashing
+     * Why: Rehash password khi login thành công nếu hash đang lưu có BCrypt cost khác cost hiện tại
+     * Context: DaoAuthenticationProvider gọi sau khi PasswordEncoder.upgradeEncoding trả về true
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> {
+            User entity = (User) user;
+            entity.setPassword(newPassword);
+            return userRepository.save(entity);
+        };
     }
     
     /**
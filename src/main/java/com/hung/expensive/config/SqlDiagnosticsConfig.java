@@ -0,0 +1,70 @@
+package com.hung.expensive.config;
+
+import com.hung.expensive.observability.CountingStatementInspector;
+import com.hung.expensive.observability.SqlStatementBudget;
+import com.hung.expensive.observability.SqlStatementBudgetFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Why: Slow-query log và SQL statement budget cho monolith - cùng expensive.sql.* properties với các microservices
+ * Design decision: Monolith không dùng shared (trùng tên classes) và không có datasource-proxy, nên slow-query log
+ * dùng hibernate.log_slow_query (logger org.hibernate.SQL_SLOW, Hibernate tự đo thời gian execute);
+ * counter, budget và filter dùng chung module sql-budget với shared
+ * Note: SqlStatementBudgetAdvice (FAIL mode check trước khi ghi body) nằm trong com.hung.expensive.observability
+ * nên được component scan của monolith đăng ký, dùng SqlStatementBudget bean bên dưới
+ */
+@Configuration
+public class SqlDiagnosticsConfig {
+
+    /**
+     * Why: StatementInspector đếm statements cho budget + threshold slow-query của Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlDiagnosticsHibernateCustomizer(
+            @Value("${expensive.sql.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryThreshold.toMillis());
+        };
+    }
+
+    /**
+     * Why: Budget đọc từ expensive.sql.budget.* - endpoints là map "METHOD uri-pattern" -> số statements tối đa
+     * Note: Key chứa space và '/' nên phải dùng bracket notation, space escape trong .properties:
+     * expensive.sql.budget.endpoints[GET\ /api/expenses/{id}]=3
+     */
+    @Bean
+    public SqlStatementBudget sqlStatementBudget(Environment environment) {
+        Map<String, Integer> endpoints = Binder.get(environment)
+                .bind("expensive.sql.budget.endpoints", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        return new SqlStatementBudget(
+                environment.getProperty("expensive.sql.budget.default-max-statements", Integer.class),
+                endpoints,
+                environment.getProperty("expensive.sql.budget.mode", SqlStatementBudget.Mode.class,
+                        SqlStatementBudget.Mode.WARN));
+    }
+
+    /**
+     * Why: Filter chạy ngoài cùng để đếm cả statements của security filters lẫn controller
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(SqlStatementBudget sqlStatementBudget) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementBudgetFilter(sqlStatementBudget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -3,10 +3,17 @@ package com.hung.expensive.controller;
 import com.hung.expensive.dto.ApiResponse;
 import com.hung.expensive.dto.AuthResponse;
 import com.hung.expensive.dto.LoginRequest;
+import com.hung.expensive.dto.RefreshTokenRequest;
 import com.hung.expensive.dto.RegisterRequest;
+import com.hung.expensive.exception.InvalidRefreshTokenException;
+import com.hung.expensive.exception.LoginThrottledException;
+import com.hung.expensive.hashing.PasswordHashingOverloadedException;
 import com.hung.expensive.service.AuthService;
+import com.hung.expensive.service.UsernameAvailabilityService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +31,9 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private UsernameAvailabilityService usernameAvailabilityService;
+    
     /**
      * Why: POST endpoint cho user registration
      * Context: Accept RegisterRequest và return AuthResponse
@@ -43,6 +53,9 @@ public class AuthController {
                 ApiResponse.success("Đăng ký thành công", authResponse)
             );
             
+        } catch (PasswordHashingOverloadedException e) {
+            // Why: Password hashing pool quá tải - client retry sau thay vì chờ
+            return overloaded();
         } catch (RuntimeException e) {
             // Why: Handle business logic errors
             return ResponseEntity.badRequest().body(
@@ -65,16 +78,26 @@ public class AuthController {
      * @return ResponseEntity với ApiResponse<AuthResponse>
      */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                           HttpServletRequest httpRequest) {
         try {
-            // Why: Call service để login user
-            AuthResponse authResponse = authService.login(request);
+            // Why: Call service để login user - remote address dùng để throttle theo IP
+            // Note: server.forward-headers-strategy=native - sau reverse proxy remote address là IP thật của client
+            AuthResponse authResponse = authService.login(request, httpRequest.getRemoteAddr());
             
             // Why: Return success response với data
             return ResponseEntity.ok(
                 ApiResponse.success("Đăng nhập thành công", authResponse)
             );
             
+        } catch (PasswordHashingOverloadedException e) {
+            // Why: Password hashing pool quá tải - client retry sau thay vì chờ
+            return overloaded();
+        } catch (LoginThrottledException e) {
+            // Why: Login sai quá nhiều lần - 429 + Retry-After, không verify password
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error(e.getMessage()));
         } catch (RuntimeException e) {
             // Why: Handle authentication errors
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
@@ -88,6 +111,74 @@ public class AuthController {
         }
     }
     
+    /**
+     * Why: GET endpoint check username còn trống cho form đăng ký
+     * Context: Form gọi theo từng phím gõ - phần lớn được trả lời từ Bloom filter, không chạm MySQL
+     * Note: Chỉ là gợi ý - POST /register vẫn có thể từ chối nếu username vừa bị người khác đăng ký
+     * 
+     * @param username username cần check
+     * @return ResponseEntity với ApiResponse<Boolean> (true = còn trống)
+     */
+    @GetMapping("/username-available")
+    public ResponseEntity<ApiResponse<Boolean>> usernameAvailable(@RequestParam String username) {
+        // Why: Cùng rule với RegisterRequest - username không hợp lệ thì không cần check
+        if (username.isBlank() || username.length() < 3 || username.length() > 50) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error("Username phải từ 3-50 ký tự")
+            );
+        }
+        boolean available = usernameAvailabilityService.isAvailable(username);
+        return ResponseEntity.ok(
+            ApiResponse.success(available ? "Username có thể sử dụng" : "Username đã tồn tại", available)
+        );
+    }
+    
+    /**
+     * Why: POST endpoint đổi refresh token lấy access token mới
+     * Context: Access token sống ngắn (jwt.expiration) - client gọi khi token sắp/đã hết hạn
+     * Security: Refresh token được rotate; token cũ dùng lại -> cả family bị revoke
+     * 
+     * @param request RefreshTokenRequest từ client
+     * @return ResponseEntity với ApiResponse<AuthResponse>
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Làm mới token thành công", authService.refresh(request))
+            );
+        } catch (InvalidRefreshTokenException e) {
+            // Why: Client phải login lại
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
+                ApiResponse.error(e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * Why: POST endpoint logout - revoke refresh token family
+     * Note: Access token đang dùng vẫn hợp lệ tới khi hết hạn (tối đa jwt.expiration)
+     * 
+     * @param request RefreshTokenRequest từ client
+     * @return ResponseEntity với ApiResponse<String>
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.ok(
+            ApiResponse.success("Đăng xuất thành công")
+        );
+    }
+    
+    /**
+     * Why: 503 + Retry-After khi password hashing pool đầy
+     */
+    private ResponseEntity<ApiResponse<AuthResponse>> overloaded() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiResponse.error("Hệ thống đang quá tải, vui lòng thử lại sau"));
+    }
+    
     /**
      * Why: GET endpoint để test authentication
      * Context: Simple endpoint để test JWT token
@@ -1,17 +1,24 @@
 package com.hung.expensive.controller;
 
 import com.hung.expensive.dto.ApiResponse;
+import com.hung.expensive.dto.ExpenseChangesResponse;
 import com.hung.expensive.dto.ExpenseRequest;
 import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.dto.ExpenseSyncRequest;
+import com.hung.expensive.dto.ExpenseSyncResult;
 import com.hung.expensive.service.ExpenseService;
+import com.hung.expensive.service.ExpenseStreamService;
+import com.hung.expensive.service.ExpenseSyncService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -28,10 +35,16 @@ import java.util.List;
 public class ExpenseController {
     
     private final ExpenseService expenseService;
+    private final ExpenseSyncService expenseSyncService;
+    private final ExpenseStreamService expenseStreamService;
     
     @Autowired
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService,
+                             ExpenseSyncService expenseSyncService,
+                             ExpenseStreamService expenseStreamService) {
         this.expenseService = expenseService;
+        this.expenseSyncService = expenseSyncService;
+        this.expenseStreamService = expenseStreamService;
     }
     
     /**
@@ -227,4 +240,57 @@ public class ExpenseController {
                 .body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
+    
+    /**
+     * Why: Delta sync - mobile client chỉ tải thay đổi sau token lần trước thay vì tải lại mọi page
+     * GET /api/expenses/changes?since=<token>&limit=200 (bỏ since ở lần sync đầu tiên)
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<ExpenseChangesResponse>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int limit,
+            Authentication authentication) {
+        
+        try {
+            ExpenseChangesResponse changes = expenseSyncService.changesSince(
+                authentication.getName(), since, limit);
+            
+            return ResponseEntity.ok(new ApiResponse<>(true, "Lấy thay đổi expenses thành công", changes));
+            
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+    
+    /**
+     * Why: Push các thao tác client đã queue lúc offline trong một request
+     * POST /api/expenses/sync - kết quả từng thao tác nằm trong data, thao tác lỗi không chặn các thao tác khác
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<ApiResponse<List<ExpenseSyncResult>>> syncExpenses(
+            @Valid @RequestBody ExpenseSyncRequest request,
+            Authentication authentication) {
+        
+        try {
+            List<ExpenseSyncResult> results = expenseSyncService.applyOperations(
+                authentication.getName(), request.getOperations());
+            
+            return ResponseEntity.ok(new ApiResponse<>(true, "Đồng bộ expenses thành công", results));
+            
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+    
+    /**
+     * Why: Dashboard nhận thay đổi expense và monthly-total deltas ngay khi commit thay vì poll
+     * /recent và /monthly-total theo timer
+     * GET /api/expenses/stream (text/event-stream, event "expense" với id = syncVersion)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExpenses(Authentication authentication) {
+        return expenseStreamService.subscribe(authentication.getName());
+    }
 }
@@ -9,6 +9,9 @@ public class AuthResponse {
     
     private String token;
     private String type = "Bearer";
+    // Why: Access token sống ngắn - client đổi refreshToken lấy token mới qua POST /api/auth/refresh
+    private String refreshToken;
+    private Long expiresIn;
     private Long id;
     private String username;
     private String email;
@@ -23,6 +26,12 @@ public class AuthResponse {
         this.email = email;
     }
     
+    public AuthResponse(String token, String refreshToken, Long expiresIn, Long id, String username, String email) {
+        this(token, id, username, email);
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+    
     // Getters and Setters
     public String getToken() {
         return token;
@@ -40,6 +49,23 @@ public class AuthResponse {
         this.type = type;
     }
     
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    // Why: Số giây access token còn hiệu lực
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+    
     public Long getId() {
         return id;
     }
@@ -0,0 +1,49 @@
+package com.hung.expensive.dto;
+
+import java.util.List;
+
+/**
+ * Why: Response của GET /api/expenses/changes - chỉ các expenses đã tạo/sửa/xoá sau sync token
+ * Business rule: Client áp dụng upserts và deletedIds vào local store, lưu nextToken cho lần sync sau;
+ * hasMore = true thì gọi tiếp ngay với nextToken. fullResync = true thì xoá local store trước khi áp dụng
+ */
+public class ExpenseChangesResponse {
+
+    private List<ExpenseResponse> upserts;
+    private List<Long> deletedIds;
+    private String nextToken;
+    private boolean hasMore;
+    private boolean fullResync;
+
+    // Why: Default constructor cần thiết cho JSON serialization
+    public ExpenseChangesResponse() {}
+
+    public ExpenseChangesResponse(List<ExpenseResponse> upserts, List<Long> deletedIds, String nextToken,
+                                  boolean hasMore, boolean fullResync) {
+        this.upserts = upserts;
+        this.deletedIds = deletedIds;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+        this.fullResync = fullResync;
+    }
+
+    public List<ExpenseResponse> getUpserts() {
+        return upserts;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public boolean isFullResync() {
+        return fullResync;
+    }
+}
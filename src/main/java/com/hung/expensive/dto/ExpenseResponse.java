@@ -20,6 +20,7 @@ public class ExpenseResponse {
     private String receiptUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long syncVersion; // Why: Client gửi lại làm baseVersion khi push update offline
     
     // Category information - Why: Embedded để reduce API calls
     private Long categoryId;
@@ -113,6 +114,14 @@ public class ExpenseResponse {
         this.updatedAt = updatedAt;
     }
     
+    public long getSyncVersion() {
+        return syncVersion;
+    }
+    
+    public void setSyncVersion(long syncVersion) {
+        this.syncVersion = syncVersion;
+    }
+    
     public Long getCategoryId() {
         return categoryId;
     }
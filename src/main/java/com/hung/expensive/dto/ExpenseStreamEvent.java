@@ -0,0 +1,128 @@
+package com.hung.expensive.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Why: Một thay đổi expense đẩy xuống dashboard qua GET /api/expenses/stream thay vì client poll
+ * /api/expenses/recent và /api/expenses/monthly-total
+ * Design decision: Mang theo delta của monthly total (không phải total mới) - tính từ amount cũ/mới ngay
+ * trong ExpenseService, không tốn thêm query SUM cho mỗi thay đổi
+ * Business rule: Client cộng delta vào total đang hiển thị của tháng tương ứng; syncVersion dùng làm SSE id,
+ * mất kết nối thì gọi GET /api/expenses/changes để bù các thay đổi bị lỡ
+ */
+public class ExpenseStreamEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private Type type;
+    private Long userId;
+    private Long expenseId;
+    private long syncVersion;
+    private ExpenseResponse expense; // Why: null với DELETED
+    private List<MonthlyTotalDelta> monthlyTotalDeltas;
+
+    // Why: Default constructor cần thiết cho JSON deserialization (RedisExpenseStreamBroker)
+    public ExpenseStreamEvent() {}
+
+    public ExpenseStreamEvent(Type type, Long userId, Long expenseId, long syncVersion,
+                              ExpenseResponse expense, List<MonthlyTotalDelta> monthlyTotalDeltas) {
+        this.type = type;
+        this.userId = userId;
+        this.expenseId = expenseId;
+        this.syncVersion = syncVersion;
+        this.expense = expense;
+        this.monthlyTotalDeltas = monthlyTotalDeltas;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    public void setExpenseId(Long expenseId) {
+        this.expenseId = expenseId;
+    }
+
+    public long getSyncVersion() {
+        return syncVersion;
+    }
+
+    public void setSyncVersion(long syncVersion) {
+        this.syncVersion = syncVersion;
+    }
+
+    public ExpenseResponse getExpense() {
+        return expense;
+    }
+
+    public void setExpense(ExpenseResponse expense) {
+        this.expense = expense;
+    }
+
+    public List<MonthlyTotalDelta> getMonthlyTotalDeltas() {
+        return monthlyTotalDeltas;
+    }
+
+    public void setMonthlyTotalDeltas(List<MonthlyTotalDelta> monthlyTotalDeltas) {
+        this.monthlyTotalDeltas = monthlyTotalDeltas;
+    }
+
+    /**
+     * Why: Thay đổi của total một tháng - update đổi expenseDate sang tháng khác tạo hai deltas
+     */
+    public static class MonthlyTotalDelta {
+
+        private int year;
+        private int month;
+        private BigDecimal delta;
+
+        // Why: Default constructor cần thiết cho JSON deserialization
+        public MonthlyTotalDelta() {}
+
+        public MonthlyTotalDelta(int year, int month, BigDecimal delta) {
+            this.year = year;
+            this.month = month;
+            this.delta = delta;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public void setYear(int year) {
+            this.year = year;
+        }
+
+        public int getMonth() {
+            return month;
+        }
+
+        public void setMonth(int month) {
+            this.month = month;
+        }
+
+        public BigDecimal getDelta() {
+            return delta;
+        }
+
+        public void setDelta(BigDecimal delta) {
+            this.delta = delta;
+        }
+    }
+}
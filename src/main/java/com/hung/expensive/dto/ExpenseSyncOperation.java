@@ -0,0 +1,71 @@
+package com.hung.expensive.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Why: Một thao tác client đã queue lúc offline - POST /api/expenses/sync áp dụng theo đúng thứ tự queue
+ * Business rule: CREATE cần expense (clientId để push lại không tạo bản trùng);
+ * UPDATE cần expenseId, expense và baseVersion (syncVersion client thấy lúc sửa); DELETE chỉ cần expenseId
+ */
+public class ExpenseSyncOperation {
+
+    public enum Type { CREATE, UPDATE, DELETE }
+
+    @NotNull(message = "Loại thao tác không được để trống")
+    private Type type;
+
+    @Size(max = 64, message = "Client ID không quá 64 ký tự")
+    private String clientId;
+
+    private Long expenseId;
+
+    private Long baseVersion;
+
+    @Valid
+    private ExpenseRequest expense;
+
+    // Why: Default constructor cần thiết cho JSON deserialization
+    public ExpenseSyncOperation() {}
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    public void setExpenseId(Long expenseId) {
+        this.expenseId = expenseId;
+    }
+
+    public Long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(Long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    public ExpenseRequest getExpense() {
+        return expense;
+    }
+
+    public void setExpense(ExpenseRequest expense) {
+        this.expense = expense;
+    }
+}
@@ -0,0 +1,30 @@
+package com.hung.expensive.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Why: Batch các thao tác offline - một request thay vì một request cho mỗi thao tác khi app online trở lại
+ * Performance: Giới hạn 100 thao tác mỗi batch để request không giữ thread quá lâu; queue dài hơn thì push nhiều lần
+ */
+public class ExpenseSyncRequest {
+
+    @NotEmpty(message = "Danh sách thao tác không được để trống")
+    @Size(max = 100, message = "Tối đa 100 thao tác mỗi lần sync")
+    @Valid
+    private List<ExpenseSyncOperation> operations;
+
+    // Why: Default constructor cần thiết cho JSON deserialization
+    public ExpenseSyncRequest() {}
+
+    public List<ExpenseSyncOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<ExpenseSyncOperation> operations) {
+        this.operations = operations;
+    }
+}
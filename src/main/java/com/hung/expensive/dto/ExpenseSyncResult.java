@@ -0,0 +1,48 @@
+package com.hung.expensive.dto;
+
+/**
+ * Why: Kết quả của từng thao tác trong POST /api/expenses/sync - cùng thứ tự với request
+ * Business rule: APPLIED -> client bỏ thao tác khỏi queue; CONFLICT -> expense là bản hiện tại trên server,
+ * client tự merge; FAILED -> thao tác không hợp lệ (message), không nên retry nguyên trạng
+ */
+public class ExpenseSyncResult {
+
+    public enum Status { APPLIED, CONFLICT, FAILED }
+
+    private String clientId;
+    private Long expenseId;
+    private Status status;
+    private String message;
+    private ExpenseResponse expense;
+
+    // Why: Default constructor cần thiết cho JSON serialization
+    public ExpenseSyncResult() {}
+
+    public ExpenseSyncResult(String clientId, Long expenseId, Status status, String message, ExpenseResponse expense) {
+        this.clientId = clientId;
+        this.expenseId = expenseId;
+        this.status = status;
+        this.message = message;
+        this.expense = expense;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public ExpenseResponse getExpense() {
+        return expense;
+    }
+}
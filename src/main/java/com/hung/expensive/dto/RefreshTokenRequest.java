@@ -0,0 +1,27 @@
+package com.hung.expensive.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Why: DTO cho refresh/logout request - client gửi refresh token nhận được lúc login
+ */
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token không được để trống")
+    private String refreshToken;
+
+    // Why: Default constructor cần thiết cho JSON deserialization
+    public RefreshTokenRequest() {}
+
+    public RefreshTokenRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
  * Business rule: Mỗi expense phải có amount > 0, thuộc về một user và một category
  */
 @Entity
-@Table(name = "expenses")
+// Why: Unique (user_id, client_id) khớp V4__add_expense_sync.sql - push trùng từ client offline bị DB chặn
+@Table(name = "expenses", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_expenses_user_client", columnNames = {"user_id", "client_id"})
+})
 @NamedQueries({
     @NamedQuery(
         name = "Expense.findByUserAndDateRange",
@@ -66,6 +69,14 @@ public class Expense {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Why: Version của lần thay đổi gần nhất - GET /api/expenses/changes trả rows có sync_version > token
+    @Column(name = "sync_version", nullable = false)
+    private long syncVersion;
+    
+    // Why: Id client offline tự sinh khi tạo expense - push lại cùng clientId trả về expense đã tạo
+    @Column(name = "client_id", length = 64)
+    private String clientId;
+    
     // Why: Many-to-One relationship - expense thuộc về user
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -173,6 +184,22 @@ public class Expense {
         this.updatedAt = updatedAt;
     }
     
+    public long getSyncVersion() {
+        return syncVersion;
+    }
+    
+    public void setSyncVersion(long syncVersion) {
+        this.syncVersion = syncVersion;
+    }
+    
+    public String getClientId() {
+        return clientId;
+    }
+    
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+    
     public User getUser() {
         return user;
     }
@@ -0,0 +1,61 @@
+package com.hung.expensive.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Why: Dấu vết của expense đã xoá - expenses bị hard delete nên delta sync chỉ biết id nào cần xoá
+ * khỏi local store của client qua bảng này
+ * Business rule: Giữ trong sync.tombstone-retention rồi bị ExpenseSyncService.purgeTombstones xoá;
+ * client có sync token cũ hơn retention phải full resync
+ */
+@Entity
+@Table(name = "expense_tombstones", indexes = {
+    @Index(name = "idx_expense_tombstones_user_sync", columnList = "user_id, sync_version"),
+    @Index(name = "idx_expense_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class ExpenseTombstone {
+
+    // Why: Id của expense đã xoá - IDENTITY không tái sử dụng id nên mỗi expense có tối đa một tombstone
+    @Id
+    @Column(name = "expense_id")
+    private Long expenseId;
+
+    // Why: Chỉ lưu id - user đọc tombstone của chính mình, không cần load User entity
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "sync_version", nullable = false)
+    private long syncVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Why: Default constructor cần thiết cho JPA
+    public ExpenseTombstone() {}
+
+    public ExpenseTombstone(Long expenseId, Long userId, long syncVersion) {
+        this.expenseId = expenseId;
+        this.userId = userId;
+        this.syncVersion = syncVersion;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getSyncVersion() {
+        return syncVersion;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
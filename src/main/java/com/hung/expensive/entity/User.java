@@ -18,21 +18,28 @@ import java.util.Collections;
  * Business rule: Mỗi user có unique email và username
  */
 @Entity
-@Table(name = "users")
+// Why: Đặt tên unique constraints (khớp V1__create_schema.sql) để register map được vi phạm về đúng field
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+    @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
 public class User implements UserDetails {
     
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
     @NotBlank(message = "Username không được để trống")
     @Size(min = 3, max = 50, message = "Username phải từ 3-50 ký tự")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
     
     @NotBlank(message = "Email không được để trống")
     @Email(message = "Email không hợp lệ")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
     
     @NotBlank(message = "Password không được để trống")
@@ -49,6 +56,12 @@ public class User implements UserDetails {
     @Column(name = "is_enabled")
     private Boolean enabled = true;
     
+    // Why: Counter cấp sync_version cho expenses của user - chỉ tăng qua UserRepository.incrementSyncVersion
+    // Note: insertable/updatable = false để save(User) với giá trị cũ trong persistence context không ghi đè counter
+    @Column(name = "sync_version", insertable = false, updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long syncVersion;
+    
     // Why: Default constructor cần thiết cho JPA
     public User() {}
     
@@ -159,5 +172,9 @@ public class User implements UserDetails {
     public void setEnabled(Boolean enabled) {
         this.enabled = enabled;
     }
+    
+    public long getSyncVersion() {
+        return syncVersion;
+    }
 }
 
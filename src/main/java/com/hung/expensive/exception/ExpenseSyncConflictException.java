@@ -0,0 +1,19 @@
+package com.hung.expensive.exception;
+
+/**
+ * Why: Update offline dựa trên version cũ - expense đã bị sửa ở nơi khác sau khi client đọc về
+ * Design decision: Không ghi đè; POST /api/expenses/sync trả CONFLICT kèm bản hiện tại để client tự merge
+ */
+public class ExpenseSyncConflictException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public ExpenseSyncConflictException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
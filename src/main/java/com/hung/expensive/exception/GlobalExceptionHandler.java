@@ -1,6 +1,8 @@
 package com.hung.expensive.exception;
 
 import com.hung.expensive.dto.ApiResponse;
+import com.hung.expensive.hashing.PasswordHashingOverloadedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -45,6 +47,32 @@ public class GlobalExceptionHandler {
         );
     }
     
+    /**
+     * Why: Password hashing pool quá tải - 503 để client/load balancer retry sau
+     *
+     * @param ex PasswordHashingOverloadedException
+     * @return ResponseEntity 503 với Retry-After header
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ApiResponse<String>> handlePasswordHashingOverloaded(PasswordHashingOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiResponse.error("Hệ thống đang quá tải, vui lòng thử lại sau"));
+    }
+    
+    /**
+     * Why: Username/IP đã login sai quá nhiều lần - 429 để client chờ thay vì tiếp tục thử
+     *
+     * @param ex LoginThrottledException
+     * @return ResponseEntity 429 với Retry-After header
+     */
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ApiResponse<String>> handleLoginThrottled(LoginThrottledException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(ApiResponse.error(ex.getMessage()));
+    }
+    
     /**
      * Why: Handle business logic exceptions
      * Context: RuntimeException từ service layer
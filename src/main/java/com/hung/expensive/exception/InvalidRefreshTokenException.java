@@ -0,0 +1,11 @@
+package com.hung.expensive.exception;
+
+/**
+ * Why: Refresh token không tồn tại, hết hạn, đã bị revoke hoặc bị dùng lại - client phải login lại
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
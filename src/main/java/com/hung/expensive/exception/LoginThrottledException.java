@@ -0,0 +1,19 @@
+package com.hung.expensive.exception;
+
+/**
+ * Why: Username hoặc IP đã vượt ngưỡng login thất bại - request bị từ chối trước khi load user và verify BCrypt
+ * Design decision: Không extend AuthenticationException để không bị đếm thêm như một lần sai mật khẩu
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
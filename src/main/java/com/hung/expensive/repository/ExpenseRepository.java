@@ -3,6 +3,7 @@ package com.hung.expensive.repository;
 import com.hung.expensive.entity.Expense;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Why: Repository interface cho Expense entity - core business operations
@@ -22,13 +24,16 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     
     /**
      * Why: Find expenses by user với pagination - core listing function
-     * Performance: Pagination để avoid loading too much data
+     * Performance: Pagination để avoid loading too much data; fetch category cùng query vì mapToResponse đọc
+     * category - không thì mỗi category trong page thêm một SELECT (N+1, bị SQL budget bắt)
      */
+    @EntityGraph(attributePaths = "category")
     Page<Expense> findByUserIdOrderByExpenseDateDescCreatedAtDesc(Long userId, Pageable pageable);
     
     /**
      * Why: Find expenses by user trong date range - filtering function
      */
+    @EntityGraph(attributePaths = "category")
     Page<Expense> findByUserIdAndExpenseDateBetweenOrderByExpenseDateDescCreatedAtDesc(
         Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable
     );
@@ -93,18 +98,19 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     
     /**
      * Why: Recent expenses preview - dashboard quick view
-     * Performance: LIMIT query để avoid loading too much data
+     * Performance: LIMIT qua Pageable để avoid loading too much data; JPQL thay cho native query để
+     * JOIN FETCH category (native query trả entities với category lazy -> một SELECT mỗi category)
      */
-    @Query(value = "SELECT * FROM expenses e " +
-                   "WHERE e.user_id = :userId " +
-                   "ORDER BY e.expense_date DESC, e.created_at DESC " +
-                   "LIMIT :limit", nativeQuery = true)
-    List<Expense> findRecentExpenses(@Param("userId") Long userId, @Param("limit") int limit);
+    @Query("SELECT e FROM Expense e JOIN FETCH e.category " +
+           "WHERE e.user.id = :userId " +
+           "ORDER BY e.expenseDate DESC, e.createdAt DESC")
+    List<Expense> findRecentExpenses(@Param("userId") Long userId, Pageable pageable);
     
     /**
      * Why: Search expenses by description - search functionality
      * Performance: LIKE query với index trên description
      */
+    @EntityGraph(attributePaths = "category")
     Page<Expense> findByUserIdAndDescriptionContainingIgnoreCaseOrderByExpenseDateDescCreatedAtDesc(
         Long userId, String searchTerm, Pageable pageable
     );
@@ -123,11 +129,43 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
                                       @Param("endDate") LocalDate endDate,
                                       Pageable pageable);
     
+    /**
+     * Why: Expenses tạo/sửa sau sync token theo thứ tự version - delta sync cho mobile clients
+     * Performance: Range scan trên idx_expenses_user_sync; JOIN FETCH category vì mapToResponse đọc category
+     */
+    @Query("SELECT e FROM Expense e JOIN FETCH e.category " +
+           "WHERE e.user.id = :userId AND e.syncVersion > :since " +
+           "ORDER BY e.syncVersion")
+    List<Expense> findChangedSince(@Param("userId") Long userId,
+                                   @Param("since") long since,
+                                   Pageable pageable);
+    
+    /**
+     * Why: Full resync - mọi expenses của user theo thứ tự version, kể cả rows còn sync_version = 0
+     * (tạo trước khi có delta sync mà chưa được backfill)
+     * Performance: Cùng idx_expenses_user_sync - equality trên user_id, ORDER BY đi theo index
+     */
+    @Query("SELECT e FROM Expense e JOIN FETCH e.category " +
+           "WHERE e.user.id = :userId " +
+           "ORDER BY e.syncVersion")
+    List<Expense> findAllForResync(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Why: Tìm expense đã tạo từ cùng một thao tác offline - push lặp lại không tạo bản trùng
+     */
+    Optional<Expense> findByUserIdAndClientId(Long userId, String clientId);
+    
     /**
      * Why: Check if user has any expenses - validation for delete user
      */
     boolean existsByUserId(Long userId);
     
+    /**
+     * Why: Category còn expenses không - validation for delete category
+     * Performance: EXISTS dừng ở row đầu tiên của idx_expenses_category_date, không load expenses
+     */
+    boolean existsByCategoryId(Long categoryId);
+    
     /**
      * Why: Count expenses by category - for statistics
      */
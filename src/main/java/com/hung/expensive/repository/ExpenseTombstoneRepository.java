@@ -0,0 +1,41 @@
+package com.hung.expensive.repository;
+
+import com.hung.expensive.entity.ExpenseTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Why: Repository cho tombstones của expenses đã xoá - đọc bởi delta sync, dọn định kỳ theo retention
+ */
+@Repository
+public interface ExpenseTombstoneRepository extends JpaRepository<ExpenseTombstone, Long> {
+
+    /**
+     * Why: Tombstones sau sync token theo thứ tự version - merge với ExpenseRepository.findChangedSince
+     * Performance: Range scan trên idx_expense_tombstones_user_sync, pageable giới hạn số rows
+     */
+    @Query("SELECT t FROM ExpenseTombstone t WHERE t.userId = :userId AND t.syncVersion > :since " +
+           "ORDER BY t.syncVersion")
+    List<ExpenseTombstone> findChangedSince(@Param("userId") Long userId,
+                                            @Param("since") long since,
+                                            Pageable pageable);
+
+    /**
+     * Why: Expense đã bị xoá bởi user này chưa - push delete lặp lại được coi là đã áp dụng
+     */
+    boolean existsByExpenseIdAndUserId(Long expenseId, Long userId);
+
+    /**
+     * Why: Xoá tombstones quá retention - bulk DELETE trên idx_expense_tombstones_deleted_at
+     */
+    @Modifying
+    @Query("DELETE FROM ExpenseTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
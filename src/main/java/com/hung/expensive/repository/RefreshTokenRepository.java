@@ -0,0 +1,49 @@
+package com.hung.expensive.repository;
+
+import com.hung.expensive.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Why: Repository cho refresh tokens - chỉ được gọi ở login/refresh/logout, không nằm trên hot path của API
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Why: Lookup theo hash của token client gửi lên, fetch luôn user để cấp access token mới
+     * @param tokenHash SHA-256 hex của refresh token
+     * @return Optional<RefreshToken>
+     */
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Why: Revoke token nếu còn active - conditional UPDATE để hai request refresh đồng thời với cùng token
+     * chỉ có một request thắng (request còn lại bị coi là reuse)
+     * @return 1 nếu revoke thành công, 0 nếu token đã bị revoke trước đó
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id = :id AND t.revokedAt IS NULL")
+    int revokeIfActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Why: Revoke mọi token còn active của family - dùng khi phát hiện reuse hoặc logout
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    /**
+     * Why: Dọn token đã hết hạn của user lúc login - token đã revoke được giữ tới khi hết hạn để còn phát hiện reuse
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId AND t.expiresAt < :now")
+    int deleteExpiredByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
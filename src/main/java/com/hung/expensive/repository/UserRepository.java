@@ -2,9 +2,13 @@ package com.hung.expensive.repository;
 
 import com.hung.expensive.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Why: Repository interface cho User entity
@@ -45,5 +49,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true nếu đã tồn tại
      */
     boolean existsByEmail(String email);
+    
+    /**
+     * Why: Stream mọi username để build Bloom filter của UsernameAvailabilityService
+     * Performance: Projection một cột, đọc dần thay vì load toàn bộ User entities (cần transaction đang mở)
+     * @return Stream<String> phải được close sau khi dùng
+     */
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
+    
+    /**
+     * Why: Cấp sync_version tiếp theo cho một thay đổi expense của user
+     * Design decision: UPDATE giữ row lock tới commit - hai transactions của cùng user nhận versions
+     * và commit theo đúng thứ tự, client đọc changes không bỏ sót version nhỏ hơn commit muộn
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.syncVersion = u.syncVersion + 1 WHERE u.id = :userId")
+    int incrementSyncVersion(@Param("userId") Long userId);
+    
+    /**
+     * Why: Đọc counter sau incrementSyncVersion trong cùng transaction (query đi thẳng xuống DB,
+     * không lấy giá trị cũ từ persistence context)
+     */
+    @Query("SELECT u.syncVersion FROM User u WHERE u.id = :userId")
+    long findSyncVersion(@Param("userId") Long userId);
 }
-
@@ -2,17 +2,23 @@ package com.hung.expensive.service;
 
 import com.hung.expensive.dto.AuthResponse;
 import com.hung.expensive.dto.LoginRequest;
+import com.hung.expensive.dto.RefreshTokenRequest;
 import com.hung.expensive.dto.RegisterRequest;
 import com.hung.expensive.entity.User;
 import com.hung.expensive.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+
 /**
  * Why: Service layer chứa business logic cho authentication
  * Design decision: Tách biệt business logic khỏi Controller
@@ -33,26 +39,27 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
     
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private UsernameAvailabilityService usernameAvailabilityService;
+    
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+    
     /**
      * Why: Register user mới với validation và password encoding
-     * Business rule: Check duplicate username/email trước khi tạo
+     * Business rule: Username/email trùng bị chặn bởi unique constraints của bảng users
+     * Performance: Một INSERT duy nhất thay vì existsByUsername + existsByEmail + save - vừa bớt 2 round trips,
+     * vừa không còn race giữa check và insert khi hai request đăng ký cùng lúc
      * Security: Hash password trước khi lưu vào database
      * 
      * @param request RegisterRequest từ client
-     * @return AuthResponse với JWT token
+     * @return AuthResponse với access token và refresh token
      * @throws RuntimeException nếu username/email đã tồn tại
      */
     public AuthResponse register(RegisterRequest request) {
-        // Why: Check duplicate username trước khi tạo user
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username đã tồn tại");
-        }
-        
-        // Why: Check duplicate email trước khi tạo user
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email đã tồn tại");
-        }
-        
         // Why: Tạo user mới với password đã được hash
         User user = new User(
             request.getUsername(),
@@ -60,38 +67,49 @@ public class AuthService {
             passwordEncoder.encode(request.getPassword())
         );
         
-        // Why: Lưu user vào database
-        User savedUser = userRepository.save(user);
-        
-        // Why: Generate JWT token cho user mới
-        String token = jwtService.generateToken(savedUser.getUsername());
+        // Why: Lưu user vào database - trùng username/email thì DB từ chối
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUser(request, e);
+        }
+        usernameAvailabilityService.recordUsername(savedUser.getUsername());
         
-        // Why: Return response với token và user info
-        return new AuthResponse(
-            token,
-            savedUser.getId(),
-            savedUser.getUsername(),
-            savedUser.getEmail()
-        );
+        // Why: Generate access + refresh token cho user mới
+        return issueTokens(savedUser, refreshTokenService.issue(savedUser));
     }
     
     /**
      * Why: Login user với authentication và JWT token generation
      * Business rule: Validate credentials trước khi generate token
-     * Security: Sử dụng Spring Security AuthenticationManager
+     * Security: Sử dụng Spring Security AuthenticationManager; username/IP vượt ngưỡng login sai bị từ chối
+     * trước khi load user và verify BCrypt
      * 
      * @param request LoginRequest từ client
-     * @return AuthResponse với JWT token
+     * @param clientIp địa chỉ client để throttle theo IP (null nếu không xác định)
+     * @return AuthResponse với access token và refresh token
      * @throws RuntimeException nếu credentials không hợp lệ
+     * @throws com.hung.expensive.exception.LoginThrottledException nếu đã login sai quá nhiều lần
      */
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // Why: Chỉ đọc counters - attacker vượt ngưỡng không tốn DB lookup hay BCrypt
+        loginAttemptService.checkAllowed(request.getUsername(), clientIp);
+        
         // Why: Authenticate user với Spring Security
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                request.getUsername(),
-                request.getPassword()
-            )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(
+                    request.getUsername(),
+                    request.getPassword()
+                )
+            );
+        } catch (AuthenticationException e) {
+            loginAttemptService.recordFailure(request.getUsername(), clientIp);
+            throw e;
+        }
+        loginAttemptService.recordSuccess(request.getUsername());
         
         // Why: Set authentication vào SecurityContext
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -99,12 +117,66 @@ public class AuthService {
         // Why: Lấy user details từ authentication
         User user = (User) authentication.getPrincipal();
         
-        // Why: Generate JWT token
-        String token = jwtService.generateToken(user.getUsername());
+        // Why: Access token ngắn hạn + refresh token mở family mới cho lần login này
+        return issueTokens(user, refreshTokenService.issue(user));
+    }
+    
+    /**
+     * Why: Đổi refresh token lấy access token mới - chỉ ở đây mới check revoke/disable
+     * Business rule: Refresh token được rotate, token cũ không dùng lại được
+     * 
+     * @param request RefreshTokenRequest từ client
+     * @return AuthResponse với access token và refresh token mới
+     * @throws com.hung.expensive.exception.InvalidRefreshTokenException nếu refresh token không hợp lệ
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        return issueTokens(rotation.user(), rotation.refreshToken());
+    }
+    
+    /**
+     * Why: Logout - revoke refresh token family, access token hiện tại tự hết hạn sau jwt.expiration
+     * 
+     * @param request RefreshTokenRequest từ client
+     */
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+    
+    /**
+     * Why: Map vi phạm unique constraint về field bị trùng
+     * Note: Database cũ tạo bằng ddl-auto có tên constraint do Hibernate sinh - khi đó hỏi DB để biết field nào
+     * (chỉ chạy trên đường lỗi)
+     */
+    private RuntimeException duplicateUser(RegisterRequest request, DataIntegrityViolationException e) {
+        String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).toLowerCase(Locale.ROOT);
+        boolean usernameTaken;
+        if (message.contains(User.USERNAME_CONSTRAINT)) {
+            usernameTaken = true;
+        } else if (message.contains(User.EMAIL_CONSTRAINT)) {
+            usernameTaken = false;
+        } else if (userRepository.existsByUsername(request.getUsername())) {
+            usernameTaken = true;
+        } else if (userRepository.existsByEmail(request.getEmail())) {
+            usernameTaken = false;
+        } else {
+            return e;
+        }
         
-        // Why: Return response với token và user info
+        if (usernameTaken) {
+            // Why: Username có thể được đăng ký ở instance khác - filter local chưa biết
+            usernameAvailabilityService.recordUsername(request.getUsername());
+            return new RuntimeException("Username đã tồn tại");
+        }
+        return new RuntimeException("Email đã tồn tại");
+    }
+    
+    // Why: Response chung cho register/login/refresh
+    private AuthResponse issueTokens(User user, String refreshToken) {
         return new AuthResponse(
-            token,
+            jwtService.generateToken(user.getUsername()),
+            refreshToken,
+            jwtService.getExpiration() / 1000,
             user.getId(),
             user.getUsername(),
             user.getEmail()
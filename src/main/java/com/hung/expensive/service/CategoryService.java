@@ -5,6 +5,7 @@ import com.hung.expensive.dto.CategoryResponse;
 import com.hung.expensive.entity.Category;
 import com.hung.expensive.entity.User;
 import com.hung.expensive.repository.CategoryRepository;
+import com.hung.expensive.repository.ExpenseRepository;
 import com.hung.expensive.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,7 @@ public class CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final ExpenseRepository expenseRepository;
     
     // Why: Predefined default categories cho new users
     private static final List<DefaultCategoryData> DEFAULT_CATEGORIES = Arrays.asList(
@@ -40,9 +42,11 @@ public class CategoryService {
     );
     
     @Autowired
-    public CategoryService(CategoryRepository categoryRepository, UserRepository userRepository) {
+    public CategoryService(CategoryRepository categoryRepository, UserRepository userRepository,
+                           ExpenseRepository expenseRepository) {
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.expenseRepository = expenseRepository;
     }
     
     /**
@@ -167,7 +171,8 @@ public class CategoryService {
         }
         
         // Why: Business rule - cannot delete category with expenses
-        if (category.getExpenses() != null && !category.getExpenses().isEmpty()) {
+        // Performance: EXISTS query thay vì load toàn bộ category.getExpenses() chỉ để check rỗng
+        if (expenseRepository.existsByCategoryId(category.getId())) {
             throw new RuntimeException("Không thể xóa category đang có expenses. " +
                 "Vui lòng chuyển expenses sang category khác trước.");
         }
@@ -196,7 +201,8 @@ public class CategoryService {
         return response;
     }
     
-    private CategoryResponse mapToResponseWithStats(Object[] stats) {
+    // Why: Package-private để benchmarks module đo được mapping cost (CategoryStatsBenchmark)
+    CategoryResponse mapToResponseWithStats(Object[] stats) {
         CategoryResponse response = new CategoryResponse();
         response.setId(((Number) stats[0]).longValue());
         response.setName((String) stats[1]);
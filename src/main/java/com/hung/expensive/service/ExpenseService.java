@@ -2,13 +2,19 @@ package com.hung.expensive.service;
 
 import com.hung.expensive.dto.ExpenseRequest;
 import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.dto.ExpenseStreamEvent;
+import com.hung.expensive.dto.ExpenseStreamEvent.MonthlyTotalDelta;
 import com.hung.expensive.entity.Category;
 import com.hung.expensive.entity.Expense;
+import com.hung.expensive.entity.ExpenseTombstone;
 import com.hung.expensive.entity.User;
+import com.hung.expensive.exception.ExpenseSyncConflictException;
 import com.hung.expensive.repository.CategoryRepository;
 import com.hung.expensive.repository.ExpenseRepository;
+import com.hung.expensive.repository.ExpenseTombstoneRepository;
 import com.hung.expensive.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,13 +23,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Why: Service layer cho expense business logic
  * Design decision: Transactional methods để ensure data consistency
  * Security: Always verify user ownership trước khi modify data
+ * Sync: Mọi create/update/delete nhận sync_version mới (delete để lại tombstone) cho delta sync của mobile clients
+ * và publish ExpenseStreamEvent cho SSE stream của dashboard (ExpenseStreamService đẩy sau khi commit)
  */
 @Service
 @Transactional
@@ -32,14 +42,20 @@ public class ExpenseService {
     private final ExpenseRepository expenseRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final ExpenseTombstoneRepository tombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public ExpenseService(ExpenseRepository expenseRepository, 
                          CategoryRepository categoryRepository,
-                         UserRepository userRepository) {
+                         UserRepository userRepository,
+                         ExpenseTombstoneRepository tombstoneRepository,
+                         ApplicationEventPublisher eventPublisher) {
         this.expenseRepository = expenseRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -47,7 +63,21 @@ public class ExpenseService {
      * Business rule: Verify category thuộc về user hoặc là default category
      */
     public ExpenseResponse createExpense(ExpenseRequest request, String username) {
+        return createExpense(request, username, null);
+    }
+    
+    /**
+     * Why: Create expense từ thao tác offline - clientId do client sinh
+     * Business rule: Push lại cùng clientId (response trước bị mất) trả về expense đã tạo thay vì tạo bản trùng
+     */
+    public ExpenseResponse createExpense(ExpenseRequest request, String username, String clientId) {
         User user = findUserByUsername(username);
+        if (clientId != null) {
+            Optional<Expense> existing = expenseRepository.findByUserIdAndClientId(user.getId(), clientId);
+            if (existing.isPresent()) {
+                return mapToResponse(existing.get());
+            }
+        }
         Category category = findAndValidateCategory(request.getCategoryId(), user.getId());
         
         Expense expense = new Expense(
@@ -62,9 +92,14 @@ public class ExpenseService {
         expense.setNotes(request.getNotes());
         expense.setLocation(request.getLocation());
         expense.setReceiptUrl(request.getReceiptUrl());
+        expense.setClientId(clientId);
+        expense.setSyncVersion(nextSyncVersion(user.getId()));
         
         expense = expenseRepository.save(expense);
-        return mapToResponse(expense);
+        ExpenseResponse response = mapToResponse(expense);
+        eventPublisher.publishEvent(new ExpenseStreamEvent(ExpenseStreamEvent.Type.CREATED, user.getId(), expense.getId(),
+            expense.getSyncVersion(), response, List.of(monthlyDelta(expense.getExpenseDate(), expense.getAmount()))));
+        return response;
     }
     
     /**
@@ -121,6 +156,17 @@ public class ExpenseService {
      * Why: Update existing expense với validation
      */
     public ExpenseResponse updateExpense(Long id, ExpenseRequest request, String username) {
+        return updateExpense(id, request, username, null);
+    }
+    
+    /**
+     * Why: Update với optimistic check cho thao tác offline
+     * Business rule: baseVersion là syncVersion client thấy lúc sửa; expense đã đổi sau đó -> conflict, không ghi đè
+     *
+     * @param baseVersion null để bỏ qua check (update online)
+     * @throws ExpenseSyncConflictException nếu expense đã có version mới hơn baseVersion
+     */
+    public ExpenseResponse updateExpense(Long id, ExpenseRequest request, String username, Long baseVersion) {
         User user = findUserByUsername(username);
         Expense expense = expenseRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Expense không tồn tại"));
@@ -130,7 +176,12 @@ public class ExpenseService {
             throw new RuntimeException("Bạn không có quyền chỉnh sửa expense này");
         }
         
+        if (baseVersion != null && expense.getSyncVersion() > baseVersion) {
+            throw new ExpenseSyncConflictException("Expense đã được thay đổi ở thiết bị khác", expense.getSyncVersion());
+        }
+        
         Category category = findAndValidateCategory(request.getCategoryId(), user.getId());
+        MonthlyTotalDelta removed = monthlyDelta(expense.getExpenseDate(), expense.getAmount().negate());
         
         // Why: Update expense fields
         expense.setAmount(request.getAmount());
@@ -140,9 +191,13 @@ public class ExpenseService {
         expense.setLocation(request.getLocation());
         expense.setReceiptUrl(request.getReceiptUrl());
         expense.setCategory(category);
+        expense.setSyncVersion(nextSyncVersion(user.getId()));
         
         expense = expenseRepository.save(expense);
-        return mapToResponse(expense);
+        ExpenseResponse response = mapToResponse(expense);
+        eventPublisher.publishEvent(new ExpenseStreamEvent(ExpenseStreamEvent.Type.UPDATED, user.getId(), expense.getId(),
+            expense.getSyncVersion(), response, mergeDeltas(removed, monthlyDelta(expense.getExpenseDate(), expense.getAmount()))));
+        return response;
     }
     
     /**
@@ -158,7 +213,12 @@ public class ExpenseService {
             throw new RuntimeException("Bạn không có quyền xóa expense này");
         }
         
+        // Why: Hard delete - tombstone để delta sync báo cho clients xoá bản local
+        long syncVersion = nextSyncVersion(user.getId());
+        tombstoneRepository.save(new ExpenseTombstone(expense.getId(), user.getId(), syncVersion));
         expenseRepository.delete(expense);
+        eventPublisher.publishEvent(new ExpenseStreamEvent(ExpenseStreamEvent.Type.DELETED, user.getId(), id,
+            syncVersion, null, List.of(monthlyDelta(expense.getExpenseDate(), expense.getAmount().negate()))));
     }
     
     /**
@@ -176,7 +236,7 @@ public class ExpenseService {
     @Transactional(readOnly = true)
     public List<ExpenseResponse> getRecentExpenses(String username, int limit) {
         User user = findUserByUsername(username);
-        List<Expense> expenses = expenseRepository.findRecentExpenses(user.getId(), limit);
+        List<Expense> expenses = expenseRepository.findRecentExpenses(user.getId(), PageRequest.of(0, limit));
         
         return expenses.stream()
             .map(this::mapToResponse)
@@ -205,6 +265,24 @@ public class ExpenseService {
             .orElseThrow(() -> new RuntimeException("User không tồn tại"));
     }
     
+    // Why: Hai statements (UPDATE counter + SELECT) - row lock của user giữ tới commit của transaction hiện tại
+    private long nextSyncVersion(Long userId) {
+        userRepository.incrementSyncVersion(userId);
+        return userRepository.findSyncVersion(userId);
+    }
+    
+    private static MonthlyTotalDelta monthlyDelta(LocalDate expenseDate, BigDecimal delta) {
+        return new MonthlyTotalDelta(expenseDate.getYear(), expenseDate.getMonthValue(), delta);
+    }
+    
+    // Why: Update trong cùng tháng gộp thành một delta (new - old); đổi sang tháng khác thì mỗi tháng một delta
+    private static List<MonthlyTotalDelta> mergeDeltas(MonthlyTotalDelta removed, MonthlyTotalDelta added) {
+        if (YearMonth.of(removed.getYear(), removed.getMonth()).equals(YearMonth.of(added.getYear(), added.getMonth()))) {
+            return List.of(new MonthlyTotalDelta(added.getYear(), added.getMonth(), added.getDelta().add(removed.getDelta())));
+        }
+        return List.of(removed, added);
+    }
+    
     private Category findAndValidateCategory(Long categoryId, Long userId) {
         Category category = categoryRepository.findById(categoryId)
             .orElseThrow(() -> new RuntimeException("Category không tồn tại"));
@@ -217,7 +295,8 @@ public class ExpenseService {
         return category;
     }
     
-    private ExpenseResponse mapToResponse(Expense expense) {
+    // Why: Package-private để benchmarks module đo được mapping cost (ExpenseMappingBenchmark)
+    ExpenseResponse mapToResponse(Expense expense) {
         ExpenseResponse response = new ExpenseResponse();
         response.setId(expense.getId());
         response.setAmount(expense.getAmount());
@@ -228,6 +307,7 @@ public class ExpenseService {
         response.setReceiptUrl(expense.getReceiptUrl());
         response.setCreatedAt(expense.getCreatedAt());
         response.setUpdatedAt(expense.getUpdatedAt());
+        response.setSyncVersion(expense.getSyncVersion());
         
         // Why: Include category information để avoid additional API calls
         Category category = expense.getCategory();
@@ -0,0 +1,28 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.dto.ExpenseStreamEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Why: Fan-out thay đổi expense tới mọi instance đang giữ SSE connections của user
+ * Design decision: Interface để thay broker - LocalExpenseStreamBroker cho một instance,
+ * RedisExpenseStreamBroker (pub/sub) khi user có connections ở nhiều instances sau load balancer
+ * Note: Best-effort - event bị mất thì client bù bằng GET /api/expenses/changes khi reconnect
+ */
+public interface ExpenseStreamBroker {
+
+    /**
+     * Why: Gọi sau khi transaction của thay đổi đã commit
+     *
+     * @param event thay đổi cần đẩy tới connections của event.userId
+     */
+    void publish(ExpenseStreamEvent event);
+
+    /**
+     * Why: ExpenseStreamService đăng ký nhận events (kể cả events do chính instance này publish)
+     *
+     * @param consumer được gọi trên thread của broker - không được block
+     */
+    void subscribe(Consumer<ExpenseStreamEvent> consumer);
+}
@@ -0,0 +1,211 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.dto.ExpenseStreamEvent;
+import com.hung.expensive.entity.User;
+import com.hung.expensive.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Why: SSE connections của dashboard - đẩy thay đổi expense ngay khi commit thay vì client poll
+ * /api/expenses/recent và /api/expenses/monthly-total theo timer (phần lớn lần poll không có gì mới nhưng vẫn tốn query)
+ * Design decision: ExpenseService publish ExpenseStreamEvent qua ApplicationEventPublisher, listener AFTER_COMMIT
+ * chuyển cho ExpenseStreamBroker; broker giao lại cho deliver() ở mọi instance
+ * Performance: Mỗi connection có buffer giới hạn và được drain trên virtual thread riêng - client chậm chỉ block
+ * virtual thread của nó; buffer đầy thì đóng connection (slow consumer), client reconnect và bù bằng
+ * GET /api/expenses/changes. Không drop từng event vì client cộng dồn monthly deltas sẽ lệch
+ */
+@Service
+public class ExpenseStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseStreamService.class);
+
+    @Autowired
+    private ExpenseStreamBroker broker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${expense-stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${expense-stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    // Why: Hết hạn thì EventSource tự reconnect - connection chết mà không báo lỗi không bị giữ mãi
+    @Value("${expense-stream.timeout:30m}")
+    private Duration timeout;
+
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void subscribeToBroker() {
+        broker.subscribe(this::deliver);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+        sender.shutdownNow();
+    }
+
+    /**
+     * Why: Mở SSE connection cho user hiện tại
+     * Business rule: Quá expense-stream.max-connections-per-user thì connection cũ nhất bị đóng
+     *
+     * @param username user hiện tại
+     * @return emitter để controller trả về
+     */
+    public SseEmitter subscribe(String username) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User không tồn tại"));
+        Long userId = user.getId();
+
+        Connection connection = new Connection(userId, new SseEmitter(timeout.toMillis()));
+        // Why: compute thay vì computeIfAbsent + add - close() đồng thời có thể vừa gỡ list rỗng khỏi map
+        List<Connection> userConnections = connections.compute(userId, (id, current) -> {
+            List<Connection> next = current == null ? new CopyOnWriteArrayList<>() : current;
+            next.add(connection);
+            return next;
+        });
+        // Why: Gỡ đúng connection đó khỏi list rồi mới đóng - connection đã closed nhưng close() chưa kịp gỡ
+        // sẽ không bị chọn lại mãi (vòng lặp quay tại chỗ)
+        while (userConnections.size() > maxConnectionsPerUser) {
+            Connection oldest = userConnections.get(0);
+            if (userConnections.remove(oldest)) {
+                oldest.close();
+            }
+        }
+
+        connection.emitter.onCompletion(connection::close);
+        connection.emitter.onTimeout(connection::close);
+        connection.emitter.onError(error -> connection.close());
+        // Why: Gửi ngay một comment để response headers được flush qua proxies
+        connection.offer(SseEmitter.event().comment("connected"));
+        return connection.emitter;
+    }
+
+    /**
+     * Why: Chỉ đẩy thay đổi đã commit - rollback thì dashboard không thấy gì
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExpenseChanged(ExpenseStreamEvent event) {
+        broker.publish(event);
+    }
+
+    /**
+     * Why: Giao event từ broker cho connections của user trên instance này - không block, chỉ enqueue
+     */
+    void deliver(ExpenseStreamEvent event) {
+        List<Connection> userConnections = connections.get(event.getUserId());
+        if (userConnections == null) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            connection.offer(SseEmitter.event()
+                .id(String.valueOf(event.getSyncVersion()))
+                .name("expense")
+                .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Why: Heartbeat giữ connection qua proxies/load balancers có idle timeout và phát hiện client đã đi mất
+     */
+    @Scheduled(fixedDelayString = "${expense-stream.heartbeat-interval:20s}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections ->
+            userConnections.forEach(connection -> connection.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    /**
+     * Why: Một SSE connection - buffer giới hạn, tối đa một drain task đang chạy tại một thời điểm
+     * để events được gửi đúng thứ tự
+     */
+    private final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.debug("Closing slow expense stream consumer for user {}", userId);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event = buffer.poll();
+                if (event == null) {
+                    draining.set(false);
+                    // Why: offer() chen vào giữa poll() và set(false) thì không ai drain event đó - kiểm tra lại
+                    if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (Exception e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            buffer.clear();
+            connections.computeIfPresent(userId, (id, userConnections) -> {
+                userConnections.remove(this);
+                return userConnections.isEmpty() ? null : userConnections;
+            });
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+                // Why: Connection đã đóng từ phía client
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.dto.ExpenseChangesResponse;
+import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.dto.ExpenseSyncOperation;
+import com.hung.expensive.dto.ExpenseSyncResult;
+import com.hung.expensive.entity.Expense;
+import com.hung.expensive.entity.ExpenseTombstone;
+import com.hung.expensive.entity.User;
+import com.hung.expensive.exception.ExpenseSyncConflictException;
+import com.hung.expensive.repository.ExpenseRepository;
+import com.hung.expensive.repository.ExpenseTombstoneRepository;
+import com.hung.expensive.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Why: Delta sync cho mobile clients offline - mỗi lần resume chỉ tải expenses đã đổi thay vì tải lại mọi page
+ * Design decision: Sync token = "<version>.<epochSeconds>" - version là sync_version lớn nhất client đã nhận,
+ * epochSeconds là thời điểm client chắc chắn đã thấy mọi thay đổi tới version đó. Token cũ hơn tombstone
+ * retention có thể đã mất tombstones -> full resync
+ * Performance: Một range scan trên (user_id, sync_version) cho expenses và một cho tombstones, tối đa
+ * sync.max-page-size rows mỗi request
+ */
+@Service
+public class ExpenseSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSyncService.class);
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Why: Thời gian giữ tombstones - client offline lâu hơn phải tải lại toàn bộ
+    @Value("${sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    @Value("${sync.max-page-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Why: Thay đổi của user sau sync token
+     *
+     * @param username user hiện tại
+     * @param token token từ lần sync trước, null cho lần sync đầu tiên
+     * @param limit số thay đổi tối đa (bị giới hạn bởi sync.max-page-size)
+     * @return upserts + deletedIds theo thứ tự version và token cho lần gọi tiếp theo
+     */
+    @Transactional(readOnly = true)
+    public ExpenseChangesResponse changesSince(String username, String token, int limit) {
+        User user = findUserByUsername(username);
+        Instant now = Instant.now();
+        SyncToken since = token == null || token.isBlank() ? null : SyncToken.parse(token);
+        boolean fullResync = since == null || since.issuedAt().isBefore(now.minus(tombstoneRetention));
+        long sinceVersion = fullResync ? 0 : since.version();
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        // Why: Lấy dư một row mỗi bên để biết còn thay đổi sau page này không
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<Expense> expenses = fullResync
+            ? expenseRepository.findAllForResync(user.getId(), window)
+            : expenseRepository.findChangedSince(user.getId(), sinceVersion, window);
+        // Why: Full resync - client xoá local store trước, tombstones không cần thiết
+        List<ExpenseTombstone> tombstones = fullResync
+            ? List.of()
+            : tombstoneRepository.findChangedSince(user.getId(), sinceVersion, window);
+
+        // Why: Merge theo version - token trỏ tới version cuối cùng đã trả về, không bỏ sót thay đổi nào giữa hai bên
+        List<ExpenseResponse> upserts = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        long lastVersion = sinceVersion;
+        int e = 0;
+        int t = 0;
+        while (upserts.size() + deletedIds.size() < pageSize && (e < expenses.size() || t < tombstones.size())) {
+            if (t >= tombstones.size()
+                    || (e < expenses.size() && expenses.get(e).getSyncVersion() < tombstones.get(t).getSyncVersion())) {
+                Expense expense = expenses.get(e++);
+                upserts.add(expenseService.mapToResponse(expense));
+                lastVersion = expense.getSyncVersion();
+            } else {
+                ExpenseTombstone tombstone = tombstones.get(t++);
+                deletedIds.add(tombstone.getExpenseId());
+                lastVersion = tombstone.getSyncVersion();
+            }
+        }
+        boolean hasMore = e < expenses.size() || t < tombstones.size();
+
+        // Why: Còn page sau thì giữ thời điểm của token cũ - tombstones chưa đọc có thể đã gần hết retention
+        Instant issuedAt = hasMore && !fullResync ? since.issuedAt() : now;
+        return new ExpenseChangesResponse(upserts, deletedIds, new SyncToken(lastVersion, issuedAt).format(),
+            hasMore, fullResync);
+    }
+
+    /**
+     * Why: Áp dụng thao tác offline theo thứ tự queue
+     * Design decision: Không transactional - mỗi thao tác chạy trong transaction riêng của ExpenseService,
+     * một thao tác lỗi không rollback các thao tác trước
+     *
+     * @return kết quả của từng thao tác, cùng thứ tự với operations
+     */
+    public List<ExpenseSyncResult> applyOperations(String username, List<ExpenseSyncOperation> operations) {
+        User user = findUserByUsername(username);
+        List<ExpenseSyncResult> results = new ArrayList<>(operations.size());
+        for (ExpenseSyncOperation operation : operations) {
+            results.add(apply(user, username, operation));
+        }
+        return results;
+    }
+
+    /**
+     * Why: Dọn tombstones quá retention - token cũ hơn retention đã bị yêu cầu full resync nên không cần chúng nữa
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${sync.tombstone-purge-interval:1h}",
+               initialDelayString = "${sync.tombstone-purge-interval:1h}")
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} expense tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    private ExpenseSyncResult apply(User user, String username, ExpenseSyncOperation operation) {
+        String clientId = operation.getClientId();
+        Long expenseId = operation.getExpenseId();
+        try {
+            switch (operation.getType()) {
+                case CREATE -> {
+                    requireExpense(operation);
+                    ExpenseResponse created = expenseService.createExpense(operation.getExpense(), username, clientId);
+                    return new ExpenseSyncResult(clientId, created.getId(), ExpenseSyncResult.Status.APPLIED, null, created);
+                }
+                case UPDATE -> {
+                    requireExpenseId(operation);
+                    requireExpense(operation);
+                    if (tombstoneRepository.existsByExpenseIdAndUserId(expenseId, user.getId())) {
+                        return new ExpenseSyncResult(clientId, expenseId, ExpenseSyncResult.Status.CONFLICT,
+                            "Expense đã bị xóa ở thiết bị khác", null);
+                    }
+                    ExpenseResponse updated = expenseService.updateExpense(
+                        expenseId, operation.getExpense(), username, operation.getBaseVersion());
+                    return new ExpenseSyncResult(clientId, expenseId, ExpenseSyncResult.Status.APPLIED, null, updated);
+                }
+                case DELETE -> {
+                    requireExpenseId(operation);
+                    // Why: Delete lặp lại (response trước bị mất) hoặc đã bị xoá ở thiết bị khác - kết quả như nhau
+                    if (!tombstoneRepository.existsByExpenseIdAndUserId(expenseId, user.getId())) {
+                        expenseService.deleteExpense(expenseId, username);
+                    }
+                    return new ExpenseSyncResult(clientId, expenseId, ExpenseSyncResult.Status.APPLIED, null, null);
+                }
+                default -> throw new IllegalStateException("Unexpected operation type: " + operation.getType());
+            }
+        } catch (ExpenseSyncConflictException e) {
+            return new ExpenseSyncResult(clientId, expenseId, ExpenseSyncResult.Status.CONFLICT, e.getMessage(),
+                expenseService.getExpenseById(expenseId, username));
+        } catch (RuntimeException e) {
+            return new ExpenseSyncResult(clientId, expenseId, ExpenseSyncResult.Status.FAILED, e.getMessage(), null);
+        }
+    }
+
+    private static void requireExpense(ExpenseSyncOperation operation) {
+        if (operation.getExpense() == null) {
+            throw new IllegalArgumentException("Thiếu dữ liệu expense cho thao tác " + operation.getType());
+        }
+    }
+
+    private static void requireExpenseId(ExpenseSyncOperation operation) {
+        if (operation.getExpenseId() == null) {
+            throw new IllegalArgumentException("Thiếu expense ID cho thao tác " + operation.getType());
+        }
+    }
+
+    private User findUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User không tồn tại"));
+    }
+
+    /**
+     * Why: Token opaque với client - client chỉ lưu và gửi lại nguyên vẹn
+     */
+    record SyncToken(long version, Instant issuedAt) {
+
+        static SyncToken parse(String token) {
+            int separator = token.indexOf('.');
+            try {
+                if (separator < 0) {
+                    throw new NumberFormatException(token);
+                }
+                return new SyncToken(Long.parseLong(token.substring(0, separator)),
+                    Instant.ofEpochSecond(Long.parseLong(token.substring(separator + 1))));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Sync token không hợp lệ");
+            }
+        }
+
+        String format() {
+            return version + "." + issuedAt.getEpochSecond();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hung.expensive.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Why: LoginAttemptStore trong memory cho một instance - check trước login chỉ là một map lookup + atomic read
+ * Design decision: Mỗi key là một AtomicLong đóng gói (window index | count window trước | count window hiện tại),
+ * update bằng CAS nên không có lock; keys chia vào stripes để dọn dẹp/giới hạn memory theo từng stripe nhỏ
+ * thay vì quét cả map trên request path
+ * Performance: Sliding window xấp xỉ bằng 2 counters: estimate = previous * (phần window trước còn nằm trong
+ * sliding window) + current - decay dần thay vì reset đột ngột ở ranh giới window
+ */
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private static final int STRIPES = 64;
+    private static final long COUNT_MASK = 0xFFFF;
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int maxKeysPerStripe;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    public InMemoryLoginAttemptStore(Duration window, int maxTrackedKeys) {
+        this(window, maxTrackedKeys, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    InMemoryLoginAttemptStore(Duration window, int maxTrackedKeys, LongSupplier clock) {
+        this.windowMillis = window.toMillis();
+        this.maxKeysPerStripe = Math.max(1, maxTrackedKeys / STRIPES);
+        this.clock = clock;
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @Override
+    public long failures(String key) {
+        AtomicLong counter = stripe(key).get(key);
+        return counter == null ? 0 : estimate(counter.get(), clock.getAsLong());
+    }
+
+    @Override
+    public long recordFailure(String key) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripe(key);
+        AtomicLong counter = stripe.get(key);
+        if (counter == null) {
+            if (stripe.size() >= maxKeysPerStripe) {
+                evict(stripe);
+            }
+            counter = stripe.computeIfAbsent(key, k -> new AtomicLong());
+        }
+
+        long now = clock.getAsLong();
+        long window = now / windowMillis;
+        long current;
+        long next;
+        do {
+            current = counter.get();
+            long rolled = roll(current, window);
+            long count = Math.min((rolled & COUNT_MASK) + 1, COUNT_MASK);
+            next = (rolled & ~COUNT_MASK) | count;
+        } while (!counter.compareAndSet(current, next));
+        return estimate(next, now);
+    }
+
+    @Override
+    public void reset(String key) {
+        stripe(key).remove(key);
+    }
+
+    /**
+     * Why: Số keys đang được track (metrics/tests)
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    // Why: Dời counters sang window hiện tại - window kế tiếp thì current thành previous, xa hơn thì về 0
+    private long roll(long packed, long window) {
+        long packedWindow = packed >>> 32;
+        if (packedWindow == window) {
+            return packed;
+        }
+        long previous = packedWindow == window - 1 ? packed & COUNT_MASK : 0;
+        return (window << 32) | (previous << 16);
+    }
+
+    private long estimate(long packed, long now) {
+        long rolled = roll(packed, now / windowMillis);
+        long previous = (rolled >>> 16) & COUNT_MASK;
+        long current = rolled & COUNT_MASK;
+        double previousWeight = 1.0 - (double) (now % windowMillis) / windowMillis;
+        return current + (long) (previous * previousWeight);
+    }
+
+    // Why: Stripe đầy - bỏ keys đã decay về 0, vẫn đầy thì bỏ key bất kỳ (memory có giới hạn khi bị spray usernames)
+    private void evict(ConcurrentHashMap<String, AtomicLong> stripe) {
+        long now = clock.getAsLong();
+        stripe.values().removeIf(counter -> estimate(counter.get(), now) == 0);
+        Iterator<String> keys = stripe.keySet().iterator();
+        while (stripe.size() >= maxKeysPerStripe && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+}
@@ -26,8 +26,9 @@ public class JwtService {
     @Value("${jwt.secret:mySecretKey}")
     private String secretKey;
     
-    // Why: JWT expiration time (24 hours)
-    @Value("${jwt.expiration:86400000}")
+    // Why: Access token sống ngắn (15 phút) - revoke/disable user có hiệu lực ở lần refresh tiếp theo,
+    // không cần lookup DB cho mỗi request
+    @Value("${jwt.expiration:900000}")
     private long jwtExpiration;
     
     /**
@@ -133,6 +134,15 @@ public class JwtService {
         return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
     }
     
+    /**
+     * Why: Thời gian sống của access token (ms) - client dùng expiresIn để refresh trước khi hết hạn
+     *
+     * @return expiration tính bằng milliseconds
+     */
+    public long getExpiration() {
+        return jwtExpiration;
+    }
+    
     /**
      * Why: Get signing key từ secret
      * Context: Convert string secret thành SecretKey object
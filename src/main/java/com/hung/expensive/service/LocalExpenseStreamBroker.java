@@ -0,0 +1,25 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.dto.ExpenseStreamEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Why: ExpenseStreamBroker cho một instance - publish giao thẳng cho subscribers trong cùng JVM
+ */
+public class LocalExpenseStreamBroker implements ExpenseStreamBroker {
+
+    private final List<Consumer<ExpenseStreamEvent>> consumers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ExpenseStreamEvent event) {
+        consumers.forEach(consumer -> consumer.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<ExpenseStreamEvent> consumer) {
+        consumers.add(consumer);
+    }
+}
@@ -0,0 +1,79 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.exception.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Why: Chặn brute-force/credential stuffing - mỗi lần login sai tốn một lần verify BCrypt (~250ms CPU),
+ * attacker không được dùng CPU của login path tùy ý
+ * Design decision: Đếm theo cả username (đoán password một account) lẫn IP (thử nhiều accounts từ một nguồn);
+ * vượt ngưỡng thì từ chối trước khi load user từ DB và trước khi hash
+ * Business rule: Login thành công reset counter của username; counter IP chỉ giảm theo thời gian
+ */
+@Service
+public class LoginAttemptService {
+
+    @Autowired
+    private LoginAttemptStore loginAttemptStore;
+
+    @Value("${security.login-throttle.max-failures-per-username:10}")
+    private long maxFailuresPerUsername;
+
+    @Value("${security.login-throttle.max-failures-per-ip:100}")
+    private long maxFailuresPerIp;
+
+    @Value("${security.login-throttle.window:15m}")
+    private Duration window;
+
+    /**
+     * Why: Gọi trước khi authenticate - chỉ đọc counters, không chạm DB
+     *
+     * @param username username client gửi lên
+     * @param clientIp địa chỉ client (null nếu không xác định)
+     * @throws LoginThrottledException nếu username hoặc IP đã vượt ngưỡng
+     */
+    public void checkAllowed(String username, String clientIp) {
+        if (loginAttemptStore.failures(usernameKey(username)) >= maxFailuresPerUsername
+                || (clientIp != null && loginAttemptStore.failures(ipKey(clientIp)) >= maxFailuresPerIp)) {
+            throw new LoginThrottledException("Đăng nhập sai quá nhiều lần, vui lòng thử lại sau", retryAfterSeconds());
+        }
+    }
+
+    /**
+     * Why: Login sai (sai password hoặc username không tồn tại) - tính cho cả username và IP
+     */
+    public void recordFailure(String username, String clientIp) {
+        loginAttemptStore.recordFailure(usernameKey(username));
+        if (clientIp != null) {
+            loginAttemptStore.recordFailure(ipKey(clientIp));
+        }
+    }
+
+    /**
+     * Why: Login đúng - user thật không bị khóa vì những lần gõ sai trước đó
+     */
+    public void recordSuccess(String username) {
+        loginAttemptStore.reset(usernameKey(username));
+    }
+
+    // Why: Gợi ý cho client - tới cuối window hiện tại phần lớn counter đã decay
+    private long retryAfterSeconds() {
+        long windowMillis = window.toMillis();
+        long remaining = windowMillis - System.currentTimeMillis() % windowMillis;
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+
+    // Why: MySQL collation không phân biệt hoa thường - "Alice" và "alice" là cùng một account
+    private static String usernameKey(String username) {
+        return "u:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+}
@@ -0,0 +1,33 @@
+package com.hung.expensive.service;
+
+/**
+ * Why: Nơi lưu số lần login thất bại theo key (username hoặc IP) trong một sliding window
+ * Design decision: Interface để thay store - InMemoryLoginAttemptStore cho một instance,
+ * RedisLoginAttemptStore khi nhiều instances phải thấy chung số lần thất bại
+ * Note: Số trả về là ước lượng sliding window (window trước được tính theo tỉ lệ thời gian còn lại)
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Why: Số lần thất bại hiện tại - gọi trước mỗi lần login nên phải rẻ (không chạm DB)
+     *
+     * @param key "u:<username>" hoặc "ip:<address>"
+     * @return số lần thất bại ước lượng trong window
+     */
+    long failures(String key);
+
+    /**
+     * Why: Ghi một lần thất bại
+     *
+     * @param key "u:<username>" hoặc "ip:<address>"
+     * @return số lần thất bại ước lượng sau khi ghi
+     */
+    long recordFailure(String key);
+
+    /**
+     * Why: Xóa counter - login thành công thì username không còn bị tính các lần gõ sai trước đó
+     *
+     * @param key "u:<username>" hoặc "ip:<address>"
+     */
+    void reset(String key);
+}
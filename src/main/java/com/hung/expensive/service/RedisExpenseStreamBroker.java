@@ -0,0 +1,63 @@
+package com.hung.expensive.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hung.expensive.dto.ExpenseStreamEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Why: ExpenseStreamBroker cho nhiều instances - mọi instance subscribe cùng Redis channel, instance nào
+ * giữ connection của user thì đẩy xuống (instance publish cũng nhận lại message của chính nó)
+ * Design decision: Pub/sub thay vì stream - không lưu lại events, instance đang restart bỏ lỡ thì client
+ * reconnect và bù bằng delta sync
+ * Note: Redis lỗi chỉ log warning - mutation đã commit, không được fail request vì push
+ */
+public class RedisExpenseStreamBroker implements ExpenseStreamBroker, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisExpenseStreamBroker.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final List<Consumer<ExpenseStreamEvent>> consumers = new CopyOnWriteArrayList<>();
+
+    public RedisExpenseStreamBroker(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(ExpenseStreamEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.warn("Redis publish failed for expense {}: {}", event.getExpenseId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ExpenseStreamEvent> consumer) {
+        consumers.add(consumer);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        ExpenseStreamEvent event;
+        try {
+            event = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), ExpenseStreamEvent.class);
+        } catch (Exception e) {
+            log.warn("Dropped malformed expense stream message: {}", e.getMessage());
+            return;
+        }
+        consumers.forEach(consumer -> consumer.accept(event));
+    }
+}
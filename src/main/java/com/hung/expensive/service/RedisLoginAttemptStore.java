@@ -0,0 +1,84 @@
+package com.hung.expensive.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Why: LoginAttemptStore dùng chung cho nhiều instances - attacker xoay vòng giữa các instances vẫn bị đếm chung
+ * Design decision: Cùng sliding window xấp xỉ như InMemoryLoginAttemptStore nhưng mỗi window là một Redis key
+ * "<prefix><key>:<window index>" (INCR + EXPIRE 2 windows) - không cần Lua script
+ * Note: Redis lỗi/timeout chỉ log warning và coi như 0 lần thất bại - throttling không được làm sập login
+ */
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisLoginAttemptStore.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final long windowMillis;
+
+    public RedisLoginAttemptStore(StringRedisTemplate redisTemplate, String keyPrefix, Duration window) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    public long failures(String key) {
+        long now = System.currentTimeMillis();
+        long window = now / windowMillis;
+        try {
+            // Why: MGET - một round trip cho cả hai windows
+            List<String> counts = redisTemplate.opsForValue().multiGet(List.of(redisKey(key, window - 1), redisKey(key, window)));
+            return counts == null ? 0 : estimate(parse(counts.get(0)), parse(counts.get(1)), now);
+        } catch (Exception e) {
+            log.warn("Redis read failed for {}: {}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public long recordFailure(String key) {
+        long now = System.currentTimeMillis();
+        long window = now / windowMillis;
+        try {
+            String currentKey = redisKey(key, window);
+            Long current = redisTemplate.opsForValue().increment(currentKey);
+            if (current != null && current == 1) {
+                redisTemplate.expire(currentKey, Duration.ofMillis(windowMillis * 2));
+            }
+            long previous = parse(redisTemplate.opsForValue().get(redisKey(key, window - 1)));
+            return estimate(previous, current == null ? 0 : current, now);
+        } catch (Exception e) {
+            log.warn("Redis write failed for {}: {}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        long window = System.currentTimeMillis() / windowMillis;
+        try {
+            redisTemplate.delete(List.of(redisKey(key, window - 1), redisKey(key, window)));
+        } catch (Exception e) {
+            log.warn("Redis delete failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private long estimate(long previous, long current, long now) {
+        double previousWeight = 1.0 - (double) (now % windowMillis) / windowMillis;
+        return current + (long) (previous * previousWeight);
+    }
+
+    private String redisKey(String key, long window) {
+        return keyPrefix + key + ":" + window;
+    }
+
+    private static long parse(String value) {
+        return value == null ? 0 : Long.parseLong(value);
+    }
+}
@@ -0,0 +1,132 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.entity.RefreshToken;
+import com.hung.expensive.entity.User;
+import com.hung.expensive.exception.InvalidRefreshTokenException;
+import com.hung.expensive.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Why: Cấp và rotate refresh tokens - access token sống ngắn (jwt.expiration) nên revoke chỉ cần check ở đây,
+ * JwtAuthenticationFilter validate access token hoàn toàn local
+ * Design decision: Refresh token là chuỗi random opaque (không phải JWT) - chỉ có ý nghĩa với server,
+ * DB lưu SHA-256 (token đã đủ entropy nên không cần salt/BCrypt)
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    // Why: Thời gian sống của refresh token - hết hạn thì user phải login lại
+    @Value("${jwt.refresh-expiration:30d}")
+    private Duration refreshExpiration;
+
+    /**
+     * Why: Kết quả rotate - user để cấp access token mới và refresh token mới (raw, chỉ trả về client một lần)
+     */
+    public record Rotation(User user, String refreshToken) {}
+
+    /**
+     * Why: Cấp refresh token mở family mới cho lần login/register
+     *
+     * @param user user vừa authenticate
+     * @return refresh token dạng raw để trả về client
+     */
+    @Transactional
+    public String issue(User user) {
+        refreshTokenRepository.deleteExpiredByUserId(user.getId(), LocalDateTime.now());
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Why: Đổi refresh token lấy token mới cùng family, token cũ bị revoke
+     * Security: Token đã revoke mà bị dùng lại nghĩa là đã bị lộ - revoke cả family để kẻ cắp lẫn user
+     * đều phải login lại
+     * Note: noRollbackFor để việc revoke family vẫn được commit dù request bị từ chối
+     *
+     * @param rawToken refresh token client gửi lên
+     * @return user và refresh token mới
+     * @throws InvalidRefreshTokenException nếu token không hợp lệ, hết hạn hoặc bị dùng lại
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+            .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token không hợp lệ"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.isExpired(now)) {
+            throw new InvalidRefreshTokenException("Refresh token đã hết hạn");
+        }
+
+        // Why: revokeIfActive = 0 khi token đã bị revoke, kể cả bởi một request refresh đồng thời
+        if (current.getRevokedAt() != null || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Refresh token đã được sử dụng");
+        }
+
+        // Why: User bị disable mất quyền truy cập sau tối đa một access token lifetime
+        User user = current.getUser();
+        if (!user.isEnabled()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Tài khoản đã bị vô hiệu hóa");
+        }
+
+        return new Rotation(user, create(user, current.getFamilyId()));
+    }
+
+    /**
+     * Why: Logout - revoke cả family của refresh token; access token hiện tại tự hết hạn sau jwt.expiration
+     * Note: Token không tồn tại thì bỏ qua - logout idempotent
+     *
+     * @param rawToken refresh token client gửi lên
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+            .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    public Duration getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(
+            hash(rawToken),
+            familyId,
+            user,
+            LocalDateTime.now().plus(refreshExpiration)
+        ));
+        return rawToken;
+    }
+
+    // Why: SHA-256 hex - cùng input luôn cho cùng hash nên lookup được bằng unique index
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
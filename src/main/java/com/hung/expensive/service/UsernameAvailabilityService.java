@@ -0,0 +1,115 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.bloom.BloomFilter;
+import com.hung.expensive.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Why: Check username availability cho form đăng ký (gọi theo từng phím gõ) mà phần lớn không chạm MySQL
+ * Design decision: Bloom filter chứa mọi username - miss nghĩa là chắc chắn còn trống, trả lời từ memory;
+ * hit (đã tồn tại hoặc false positive ~1%) mới hỏi DB
+ * Business rule: Kết quả chỉ mang tính gợi ý - register vẫn do unique constraint của users quyết định, nên filter
+ * thiếu username (đăng ký ở instance khác, chưa rebuild) chỉ làm form báo "còn trống" sai
+ */
+@Service
+public class UsernameAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(UsernameAvailabilityService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${security.username-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Why: Capacity tối thiểu - chừa chỗ cho users mới tới lần rebuild sau
+    @Value("${security.username-filter.min-capacity:100000}")
+    private long minCapacity;
+
+    // Why: null cho tới khi load xong - trong lúc đó mọi check đi thẳng xuống DB
+    private volatile BloomFilter filter;
+    // Why: Guard thay cho synchronized - rebuild stream cả bảng users, giữ monitor suốt thời gian đó sẽ pin
+    // carrier thread khi chạy virtual threads
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<String> registeredDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Why: Username còn trống không
+     *
+     * @param username username user đang gõ
+     * @return true nếu chưa có user nào dùng username này
+     */
+    public boolean isAvailable(String username) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(normalize(username))) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
+    }
+
+    /**
+     * Why: Gọi sau khi insert user thành công (hoặc bị unique constraint từ chối) để filter biết username đã dùng
+     *
+     * @param username username đã tồn tại trong DB
+     */
+    public void recordUsername(String username) {
+        String key = normalize(username);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        if (rebuilding.get()) {
+            registeredDuringRebuild.add(key);
+        }
+    }
+
+    /**
+     * Why: Load lúc startup rồi rebuild định kỳ từ DB - size lại theo số users và nhận usernames đăng ký
+     * ở instance khác
+     * Performance: Stream usernames (projection, không load entities) trong read-only transaction
+     */
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.username-filter.rebuild-interval:1h}",
+               initialDelayString = "${security.username-filter.rebuild-interval:1h}")
+    public void rebuild() {
+        // Why: Startup và schedule trùng nhau thì lần sau bỏ qua - kết quả như nhau
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.debug("Username filter rebuild already running, skipping");
+            return;
+        }
+        registeredDuringRebuild.clear();
+        try {
+            long users = userRepository.count();
+            BloomFilter next = BloomFilter.create(Math.max(minCapacity, users * 2), falsePositiveRate);
+            try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                usernames.map(UsernameAvailabilityService::normalize).forEach(next::put);
+            }
+            filter = next;
+            // Why: Users đăng ký trong lúc stream chạy có thể không nằm trong kết quả stream
+            registeredDuringRebuild.forEach(next::put);
+            log.info("Loaded username filter: {} users, {} KB", users, next.bitSize() / 8 / 1024);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Why: MySQL collation mặc định không phân biệt hoa thường - "Alice" và "alice" phải cùng một key
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
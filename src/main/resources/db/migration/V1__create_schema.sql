@@ -0,0 +1,61 @@
+-- Why: Baseline schema cho monolith - khớp với schema ddl-auto đã tạo trước đây
+-- Existing database: Flyway baseline ở version 1 (spring.flyway.baseline-on-migrate) rồi chỉ chạy V2+
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    is_enabled BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    color_code  VARCHAR(255),
+    icon_name   VARCHAR(255),
+    is_default  BIT,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    user_id     BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_categories_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS expenses (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    amount       DECIMAL(10, 2) NOT NULL,
+    description  VARCHAR(255)   NOT NULL,
+    notes        VARCHAR(255),
+    expense_date DATE           NOT NULL,
+    location     VARCHAR(255),
+    receipt_url  VARCHAR(255),
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    user_id      BIGINT         NOT NULL,
+    category_id  BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_expenses_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_expenses_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE TABLE IF NOT EXISTS budgets (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    amount       DECIMAL(12, 2) NOT NULL,
+    budget_month INT            NOT NULL,
+    budget_year  INT            NOT NULL,
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    user_id      BIGINT         NOT NULL,
+    category_id  BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_budgets_user_category_month UNIQUE (user_id, category_id, budget_month, budget_year),
+    CONSTRAINT fk_budgets_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_budgets_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
@@ -0,0 +1,22 @@
+-- Why: Indexes cho query shapes trong ExpenseRepository/BudgetRepository/CategoryRepository
+-- Performance: Mọi listing đều filter theo user_id và sort theo expense_date DESC, created_at DESC
+
+-- findByUserIdOrderByExpenseDateDescCreatedAtDesc, findByUserIdAndExpenseDateBetween...,
+-- findRecentExpenses, findDailyExpenseSummary, findTopSpendingDays, existsByUserId
+CREATE INDEX idx_expenses_user_date ON expenses (user_id, expense_date, created_at);
+
+-- findByUserIdAndCategoryIdOrderBy..., calculateTotalByCategoryAndMonth, countByUserIdAndCategoryId
+CREATE INDEX idx_expenses_user_category_date ON expenses (user_id, category_id, expense_date);
+
+-- findCategoriesWithExpensesInDateRange, findEmptyCategoriesByUser (EXISTS theo category)
+CREATE INDEX idx_expenses_category_date ON expenses (category_id, expense_date);
+
+-- findByUserIdAndBudgetYearAndBudgetMonth..., calculateTotalBudgetByMonth, findBudgetsInDateRange
+-- Note: Unique constraint bắt đầu bằng (user_id, category_id) nên không dùng được cho lookup theo tháng
+CREATE INDEX idx_budgets_user_period ON budgets (user_id, budget_year, budget_month);
+
+-- findByUserIdOrderByNameAsc, existsByUserIdAndNameIgnoreCase, findByUserIdAndNameIgnoreCase
+CREATE INDEX idx_categories_user_name ON categories (user_id, name);
+
+-- findByIsDefaultTrueOrderByNameAsc
+CREATE INDEX idx_categories_default_name ON categories (is_default, name);
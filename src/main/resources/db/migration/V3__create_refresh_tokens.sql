@@ -0,0 +1,21 @@
+-- Why: Refresh tokens của monolith - chỉ lưu SHA-256 của token, rotate mỗi lần POST /api/auth/refresh
+-- Note: Token đã revoke được giữ tới expires_at để phát hiện reuse; token hết hạn bị xoá lúc user login
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id  VARCHAR(36) NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6),
+    revoked_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- RefreshTokenRepository.revokeFamily
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+
+-- RefreshTokenRepository.deleteExpiredByUserId
+CREATE INDEX idx_refresh_tokens_user_expires ON refresh_tokens (user_id, expires_at);
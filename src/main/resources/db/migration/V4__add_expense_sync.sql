@@ -0,0 +1,36 @@
+-- Why: Delta sync cho mobile clients (GET /api/expenses/changes, POST /api/expenses/sync)
+-- Design decision: Mỗi thay đổi expense nhận sync_version tăng dần theo user; users.sync_version là counter,
+-- UPDATE counter giữ row lock tới commit nên versions của một user commit theo đúng thứ tự tăng dần
+
+ALTER TABLE users ADD COLUMN sync_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE expenses ADD COLUMN sync_version BIGINT NOT NULL DEFAULT 0;
+
+-- Why: Id do client offline tự sinh cho expense tạo mới - push lại sau khi mất response không tạo bản trùng
+ALTER TABLE expenses ADD COLUMN client_id VARCHAR(64);
+
+-- Note: Backfill bằng id - unique trong từng user và tăng dần, counter của user tiếp tục từ MAX(id)
+UPDATE expenses SET sync_version = id;
+UPDATE users SET sync_version = COALESCE((SELECT MAX(e.id) FROM expenses e WHERE e.user_id = users.id), 0);
+
+-- ExpenseRepository.findChangedSince
+CREATE INDEX idx_expenses_user_sync ON expenses (user_id, sync_version);
+
+-- ExpenseRepository.findByUserIdAndClientId
+CREATE UNIQUE INDEX uk_expenses_user_client ON expenses (user_id, client_id);
+
+-- Why: Tombstone của expense đã xoá - clients cần biết id nào phải xoá khỏi local store
+-- Note: Giữ trong sync.tombstone-retention; token cũ hơn retention bị yêu cầu full resync
+CREATE TABLE IF NOT EXISTS expense_tombstones (
+    expense_id   BIGINT      NOT NULL,
+    user_id      BIGINT      NOT NULL,
+    sync_version BIGINT      NOT NULL,
+    deleted_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (expense_id)
+);
+
+-- ExpenseTombstoneRepository.findChangedSince
+CREATE INDEX idx_expense_tombstones_user_sync ON expense_tombstones (user_id, sync_version);
+
+-- ExpenseTombstoneRepository.deleteDeletedBefore
+CREATE INDEX idx_expense_tombstones_deleted_at ON expense_tombstones (deleted_at);
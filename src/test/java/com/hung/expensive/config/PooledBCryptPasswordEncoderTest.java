@@ -0,0 +1,55 @@
+package com.hung.expensive.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: BCrypt trên hashing pool và điều kiện rehash theo cost
+ * Note: Backpressure của pool được test trong module password-hashing
+ */
+class PooledBCryptPasswordEncoderTest {
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encodesAndMatchesOnPool() {
+        PooledBCryptPasswordEncoder encoder = new PooledBCryptPasswordEncoder(4, executor, Duration.ofSeconds(5));
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void rehashesWhenStoredCostDiffers() {
+        PooledBCryptPasswordEncoder encoder = new PooledBCryptPasswordEncoder(5, executor, Duration.ofSeconds(5));
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        int cost = BCryptCostCalibrator.calibrate(Duration.ofMillis(1), 4, 6);
+
+        assertTrue(cost >= 4 && cost <= 6);
+    }
+}
@@ -0,0 +1,85 @@
+package com.hung.expensive.controller;
+
+import com.hung.expensive.entity.Category;
+import com.hung.expensive.entity.Expense;
+import com.hung.expensive.entity.User;
+import com.hung.expensive.repository.CategoryRepository;
+import com.hung.expensive.repository.ExpenseRepository;
+import com.hung.expensive.repository.UserRepository;
+import com.hung.expensive.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Why: Giữ số SQL statements của expense endpoints trong budget khai báo ở application.properties (expensive.sql.budget.*)
+ * Design decision: mode=fail - request vượt budget throw SqlStatementBudgetExceededException trước khi ghi body
+ * (SqlStatementBudgetAdvice) và GlobalExceptionHandler trả error status thay vì 200,
+ * nên N+1 mới (ví dụ mapping đọc lazy category) làm test fail thay vì chỉ chậm trên production
+ */
+@SpringBootTest(properties = "expensive.sql.budget.mode=fail")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExpenseSqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String bearer;
+    private Long expenseId;
+
+    @BeforeEach
+    void seed() {
+        expenseRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+        User user = userRepository.save(new User("budget_user", "budget@example.com", "not-a-real-hash"));
+        // Why: Nhiều categories - mapping đọc lazy category sẽ lộ ra thành một query mỗi category
+        for (int i = 0; i < 3; i++) {
+            Category category = categoryRepository.save(new Category("category " + i, null, user));
+            expenseId = expenseRepository.save(new Expense(BigDecimal.valueOf(10 + i), "expense " + i,
+                    LocalDate.now().minusDays(i), user, category)).getId();
+        }
+        bearer = "Bearer " + jwtService.generateToken(user.getUsername());
+    }
+
+    @Test
+    void readEndpointsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/expenses").param("size", "2").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/{id}", expenseId).header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/recent").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/search").param("term", "expense").header("Authorization", bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/date-range").param("startDate", LocalDate.now().minusDays(7).toString())
+                .param("endDate", LocalDate.now().toString()).header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/changes").header("Authorization", bearer)).andExpect(status().isOk());
+    }
+
+    @Test
+    void deleteStaysWithinBudget() throws Exception {
+        mockMvc.perform(delete("/api/expenses/{id}", expenseId).header("Authorization", bearer)).andExpect(status().isOk());
+    }
+}
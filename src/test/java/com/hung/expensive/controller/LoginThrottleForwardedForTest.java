@@ -0,0 +1,46 @@
+package com.hung.expensive.controller;
+
+import com.hung.expensive.service.LoginAttemptStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Why: Login throttle đếm theo IP của client thật - sau reverse proxy đó là X-Forwarded-For, không phải IP proxy
+ * Design decision: Tomcat thật (RANDOM_PORT) vì server.forward-headers-strategy=native chạy trong RemoteIpValve,
+ * MockMvc không đi qua valve; test gọi từ loopback nên đóng vai proxy nội bộ
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LoginThrottleForwardedForTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoginAttemptStore loginAttemptStore;
+
+    @Test
+    void failedLoginCountsAgainstForwardedClientIp() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", "203.0.113.7")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"ghost\",\"password\":\"wrong-password\"}"))
+                .build();
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(401, response.statusCode(), response.body());
+        assertEquals(1, loginAttemptStore.failures("ip:203.0.113.7"));
+        assertEquals(0, loginAttemptStore.failures("ip:127.0.0.1"));
+    }
+}
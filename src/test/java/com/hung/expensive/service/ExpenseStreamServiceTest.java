@@ -0,0 +1,186 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.dto.ExpenseStreamEvent;
+import com.hung.expensive.entity.User;
+import com.hung.expensive.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Why: Routing theo user, giới hạn connections, đóng slow consumer và chỉ publish sau commit
+ * Design decision: sender là executor không chạy task nào - events nằm lại trong buffer của connection,
+ * đúng như client không đọc kịp
+ */
+class ExpenseStreamServiceTest {
+
+    private static final long ALICE = 1L;
+    private static final long BOB = 2L;
+
+    private final ExpenseStreamBroker broker = mock(ExpenseStreamBroker.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ExpenseStreamService service = new ExpenseStreamService();
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user(ALICE, "alice")));
+        when(userRepository.findByUsername("bob")).thenReturn(Optional.of(user(BOB, "bob")));
+        ReflectionTestUtils.setField(service, "broker", broker);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "bufferSize", 4);
+        ReflectionTestUtils.setField(service, "maxConnectionsPerUser", 2);
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(service, "sender", mock(ExecutorService.class));
+    }
+
+    @Test
+    void deliversOnlyToConnectionsOfTheEventUser() {
+        service.subscribe("alice");
+        service.subscribe("bob");
+
+        service.deliver(event(ALICE, 10));
+
+        // Why: Mỗi connection đã có comment "connected" trong buffer
+        assertEquals(List.of(2), buffered(ALICE));
+        assertEquals(List.of(1), buffered(BOB));
+    }
+
+    @Test
+    void closesSlowConsumerWhenBufferIsFull() {
+        service.subscribe("alice");
+        service.subscribe("bob");
+        Object slow = connections(ALICE).get(0);
+
+        for (int version = 1; version <= 4; version++) {
+            service.deliver(event(ALICE, version));
+        }
+
+        assertTrue(closed(slow));
+        assertNull(connectionMap().get(ALICE));
+        assertEquals(List.of(1), buffered(BOB));
+    }
+
+    @Test
+    void evictsOldestConnectionOverThePerUserLimit() {
+        service.subscribe("alice");
+        Object oldest = connections(ALICE).get(0);
+        service.subscribe("alice");
+        service.subscribe("alice");
+
+        assertTrue(closed(oldest));
+        assertEquals(2, connections(ALICE).size());
+        assertFalse(connections(ALICE).contains(oldest));
+        connections(ALICE).forEach(connection -> assertFalse(closed(connection)));
+    }
+
+    @Test
+    void publishesToBrokerOnlyAfterCommit() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+            context.registerBean(ExpenseStreamBroker.class, () -> broker);
+            context.registerBean(UserRepository.class, () -> userRepository);
+            context.register(TransactionConfig.class, ExpenseStreamService.class);
+            context.refresh();
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            ExpenseStreamEvent committed = event(ALICE, 1);
+            transaction.executeWithoutResult(status -> {
+                context.publishEvent(committed);
+                verify(broker, never()).publish(any());
+            });
+            verify(broker).publish(committed);
+
+            ExpenseStreamEvent rolledBack = event(ALICE, 2);
+            transaction.executeWithoutResult(status -> {
+                context.publishEvent(rolledBack);
+                status.setRollbackOnly();
+            });
+            verify(broker, never()).publish(rolledBack);
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class TransactionConfig {
+
+        // Why: Chỉ cần transaction synchronization để AFTER_COMMIT listener chạy, không cần database
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new AbstractPlatformTransactionManager() {
+                @Override
+                protected Object doGetTransaction() {
+                    return new Object();
+                }
+
+                @Override
+                protected void doBegin(Object transaction, TransactionDefinition definition) {
+                }
+
+                @Override
+                protected void doCommit(DefaultTransactionStatus status) {
+                }
+
+                @Override
+                protected void doRollback(DefaultTransactionStatus status) {
+                }
+            };
+        }
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User(username, username + "@example.com", "hash");
+        user.setId(id);
+        return user;
+    }
+
+    private static ExpenseStreamEvent event(Long userId, long syncVersion) {
+        return new ExpenseStreamEvent(ExpenseStreamEvent.Type.DELETED, userId, 100 + syncVersion, syncVersion, null, List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<Object>> connectionMap() {
+        return (Map<Long, List<Object>>) ReflectionTestUtils.getField(service, "connections");
+    }
+
+    private List<Object> connections(Long userId) {
+        return connectionMap().get(userId);
+    }
+
+    private List<Integer> buffered(Long userId) {
+        return connections(userId).stream()
+            .map(connection -> ((Queue<?>) ReflectionTestUtils.getField(connection, "buffer")).size())
+            .toList();
+    }
+
+    private static boolean closed(Object connection) {
+        return ((AtomicBoolean) ReflectionTestUtils.getField(connection, "closed")).get();
+    }
+}
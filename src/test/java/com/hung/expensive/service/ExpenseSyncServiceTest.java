@@ -0,0 +1,218 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.dto.ExpenseChangesResponse;
+import com.hung.expensive.dto.ExpenseRequest;
+import com.hung.expensive.dto.ExpenseResponse;
+import com.hung.expensive.dto.ExpenseSyncOperation;
+import com.hung.expensive.dto.ExpenseSyncResult;
+import com.hung.expensive.entity.Category;
+import com.hung.expensive.entity.Expense;
+import com.hung.expensive.entity.ExpenseTombstone;
+import com.hung.expensive.entity.User;
+import com.hung.expensive.repository.CategoryRepository;
+import com.hung.expensive.repository.ExpenseRepository;
+import com.hung.expensive.repository.ExpenseTombstoneRepository;
+import com.hung.expensive.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Why: Sync token, merge expenses + tombstones qua nhiều pages, full resync và CREATE idempotent theo clientId
+ * Design decision: Repositories là in-memory stand-ins trả về đúng thứ tự version như các queries thật
+ */
+class ExpenseSyncServiceTest {
+
+    private static final long USER_ID = 7L;
+    private static final String USERNAME = "alice";
+
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private final ExpenseTombstoneRepository tombstoneRepository = mock(ExpenseTombstoneRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+
+    private final List<Expense> expenses = new ArrayList<>();
+    private final List<ExpenseTombstone> tombstones = new ArrayList<>();
+    private final AtomicLong syncCounter = new AtomicLong(100);
+
+    private User user;
+    private Category category;
+    private ExpenseSyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        user = new User(USERNAME, "alice@example.com", "hash");
+        user.setId(USER_ID);
+        category = new Category("Ăn uống", null, user);
+        category.setId(1L);
+
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+        when(userRepository.incrementSyncVersion(USER_ID)).thenAnswer(invocation -> {
+            syncCounter.incrementAndGet();
+            return 1;
+        });
+        when(userRepository.findSyncVersion(USER_ID)).thenAnswer(invocation -> syncCounter.get());
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+
+        when(expenseRepository.findChangedSince(eq(USER_ID), anyLong(), any(Pageable.class)))
+            .thenAnswer(invocation -> expenses.stream()
+                .filter(expense -> expense.getSyncVersion() > invocation.getArgument(1, Long.class))
+                .limit(invocation.getArgument(2, Pageable.class).getPageSize())
+                .toList());
+        when(expenseRepository.findAllForResync(eq(USER_ID), any(Pageable.class)))
+            .thenAnswer(invocation -> expenses.stream()
+                .limit(invocation.getArgument(1, Pageable.class).getPageSize())
+                .toList());
+        when(tombstoneRepository.findChangedSince(eq(USER_ID), anyLong(), any(Pageable.class)))
+            .thenAnswer(invocation -> tombstones.stream()
+                .filter(tombstone -> tombstone.getSyncVersion() > invocation.getArgument(1, Long.class))
+                .limit(invocation.getArgument(2, Pageable.class).getPageSize())
+                .toList());
+
+        ExpenseService expenseService = new ExpenseService(expenseRepository, categoryRepository, userRepository,
+            tombstoneRepository, mock(ApplicationEventPublisher.class));
+        syncService = new ExpenseSyncService();
+        ReflectionTestUtils.setField(syncService, "expenseService", expenseService);
+        ReflectionTestUtils.setField(syncService, "expenseRepository", expenseRepository);
+        ReflectionTestUtils.setField(syncService, "tombstoneRepository", tombstoneRepository);
+        ReflectionTestUtils.setField(syncService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(syncService, "tombstoneRetention", Duration.ofDays(30));
+        ReflectionTestUtils.setField(syncService, "maxPageSize", 500);
+    }
+
+    @Test
+    void tokenRoundTripsAndRejectsGarbage() {
+        ExpenseSyncService.SyncToken token = ExpenseSyncService.SyncToken.parse("42.1700000000");
+
+        assertEquals(42, token.version());
+        assertEquals(Instant.ofEpochSecond(1_700_000_000L), token.issuedAt());
+        assertEquals("42.1700000000", token.format());
+        assertThrows(RuntimeException.class, () -> ExpenseSyncService.SyncToken.parse("42"));
+        assertThrows(RuntimeException.class, () -> ExpenseSyncService.SyncToken.parse("abc.def"));
+        assertThrows(RuntimeException.class, () -> syncService.changesSince(USERNAME, "not-a-token", 10));
+    }
+
+    @Test
+    void mergesExpensesAndTombstonesInVersionOrderAcrossPages() {
+        addExpense(11L, 1);
+        addExpense(13L, 3);
+        addExpense(15L, 5);
+        tombstones.add(new ExpenseTombstone(12L, USER_ID, 2));
+        tombstones.add(new ExpenseTombstone(14L, USER_ID, 4));
+        Instant issuedAt = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        String token = new ExpenseSyncService.SyncToken(0, issuedAt).format();
+
+        ExpenseChangesResponse first = syncService.changesSince(USERNAME, token, 2);
+        assertEquals(List.of(11L), ids(first.getUpserts()));
+        assertEquals(List.of(12L), first.getDeletedIds());
+        assertTrue(first.isHasMore());
+        assertFalse(first.isFullResync());
+        // Why: Còn page sau - token giữ issuedAt cũ để tombstones chưa đọc không bị coi là an toàn quá sớm
+        assertEquals(new ExpenseSyncService.SyncToken(2, issuedAt).format(), first.getNextToken());
+
+        ExpenseChangesResponse second = syncService.changesSince(USERNAME, first.getNextToken(), 2);
+        assertEquals(List.of(13L), ids(second.getUpserts()));
+        assertEquals(List.of(14L), second.getDeletedIds());
+        assertTrue(second.isHasMore());
+        assertEquals(new ExpenseSyncService.SyncToken(4, issuedAt).format(), second.getNextToken());
+
+        ExpenseChangesResponse last = syncService.changesSince(USERNAME, second.getNextToken(), 2);
+        assertEquals(List.of(15L), ids(last.getUpserts()));
+        assertTrue(last.getDeletedIds().isEmpty());
+        assertFalse(last.isHasMore());
+        ExpenseSyncService.SyncToken next = ExpenseSyncService.SyncToken.parse(last.getNextToken());
+        assertEquals(5, next.version());
+        assertTrue(next.issuedAt().isAfter(issuedAt), "hết thay đổi thì token lấy thời điểm hiện tại");
+    }
+
+    @Test
+    void fullResyncIncludesVersionZeroRowsAndSkipsTombstones() {
+        // Why: Expense chưa được backfill (sync_version = 0) vẫn phải có trong lần sync đầu tiên
+        addExpense(21L, 0);
+        addExpense(22L, 6);
+        tombstones.add(new ExpenseTombstone(23L, USER_ID, 7));
+
+        ExpenseChangesResponse initial = syncService.changesSince(USERNAME, null, 10);
+
+        assertTrue(initial.isFullResync());
+        assertEquals(List.of(21L, 22L), ids(initial.getUpserts()));
+        assertTrue(initial.getDeletedIds().isEmpty());
+        assertFalse(initial.isHasMore());
+        assertEquals(6, ExpenseSyncService.SyncToken.parse(initial.getNextToken()).version());
+        verify(tombstoneRepository, never()).findChangedSince(anyLong(), anyLong(), any(Pageable.class));
+
+        // Why: Token cũ hơn tombstone retention - tombstones có thể đã bị purge nên phải tải lại toàn bộ
+        String expired = new ExpenseSyncService.SyncToken(6, Instant.now().minus(31, ChronoUnit.DAYS)).format();
+        ExpenseChangesResponse resync = syncService.changesSince(USERNAME, expired, 10);
+
+        assertTrue(resync.isFullResync());
+        assertEquals(List.of(21L, 22L), ids(resync.getUpserts()));
+    }
+
+    @Test
+    void repeatedCreateWithSameClientIdReturnsExistingExpense() {
+        when(expenseRepository.findByUserIdAndClientId(USER_ID, "offline-1")).thenReturn(Optional.empty());
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> {
+            Expense saved = invocation.getArgument(0);
+            saved.setId(31L);
+            when(expenseRepository.findByUserIdAndClientId(USER_ID, "offline-1")).thenReturn(Optional.of(saved));
+            return saved;
+        });
+
+        List<ExpenseSyncResult> first = syncService.applyOperations(USERNAME, List.of(create("offline-1")));
+        // Why: Response lần trước bị mất - client push lại nguyên thao tác
+        List<ExpenseSyncResult> retried = syncService.applyOperations(USERNAME, List.of(create("offline-1")));
+
+        assertEquals(ExpenseSyncResult.Status.APPLIED, first.get(0).getStatus());
+        assertEquals(ExpenseSyncResult.Status.APPLIED, retried.get(0).getStatus());
+        assertEquals(31L, first.get(0).getExpenseId());
+        assertEquals(31L, retried.get(0).getExpenseId());
+        assertEquals(first.get(0).getExpense().getSyncVersion(), retried.get(0).getExpense().getSyncVersion());
+        verify(expenseRepository, times(1)).save(any(Expense.class));
+        verify(userRepository, times(1)).incrementSyncVersion(USER_ID);
+    }
+
+    private void addExpense(Long id, long syncVersion) {
+        Expense expense = new Expense(new BigDecimal("50000.00"), "Cà phê", LocalDate.now(), user, category);
+        expense.setId(id);
+        expense.setSyncVersion(syncVersion);
+        expenses.add(expense);
+    }
+
+    private static ExpenseSyncOperation create(String clientId) {
+        ExpenseSyncOperation operation = new ExpenseSyncOperation();
+        operation.setType(ExpenseSyncOperation.Type.CREATE);
+        operation.setClientId(clientId);
+        operation.setExpense(new ExpenseRequest(new BigDecimal("35000.00"), "Bánh mì", LocalDate.now(), 1L));
+        return operation;
+    }
+
+    private static List<Long> ids(List<ExpenseResponse> responses) {
+        return responses.stream().map(ExpenseResponse::getId).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.hung.expensive.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Sliding window decay, reset và giới hạn số keys của striped counters
+ */
+class InMemoryLoginAttemptStoreTest {
+
+    private static final long WINDOW = Duration.ofMinutes(15).toMillis();
+
+    private final AtomicLong now = new AtomicLong(WINDOW * 1000);
+    private final InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(Duration.ofMillis(WINDOW), 1_000, now::get);
+
+    @Test
+    void previousWindowDecaysLinearly() {
+        for (int i = 0; i < 10; i++) {
+            store.recordFailure("u:alice");
+        }
+        assertEquals(10, store.failures("u:alice"));
+
+        // Why: Sang window kế tiếp được nửa window - còn một nửa số lần thất bại của window trước
+        now.addAndGet(WINDOW + WINDOW / 2);
+        assertEquals(5, store.failures("u:alice"));
+        assertEquals(6, store.recordFailure("u:alice"));
+
+        // Why: Qua hẳn hai windows - counter về 0
+        now.addAndGet(2 * WINDOW);
+        assertEquals(0, store.failures("u:alice"));
+    }
+
+    @Test
+    void resetClearsOnlyThatKey() {
+        store.recordFailure("u:alice");
+        store.recordFailure("ip:10.0.0.1");
+
+        store.reset("u:alice");
+
+        assertEquals(0, store.failures("u:alice"));
+        assertEquals(1, store.failures("ip:10.0.0.1"));
+    }
+
+    @Test
+    void trackedKeysAreBounded() {
+        for (int i = 0; i < 10_000; i++) {
+            store.recordFailure("u:user" + i);
+        }
+        assertTrue(store.size() <= 1_000, "tracked " + store.size());
+    }
+
+    @Test
+    void concurrentFailuresAreNotLost() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    store.recordFailure("ip:10.0.0.1");
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(4_000, store.failures("ip:10.0.0.1"));
+    }
+}
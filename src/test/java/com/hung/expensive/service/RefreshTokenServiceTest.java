@@ -0,0 +1,145 @@
+package com.hung.expensive.service;
+
+import com.hung.expensive.entity.RefreshToken;
+import com.hung.expensive.entity.User;
+import com.hung.expensive.exception.InvalidRefreshTokenException;
+import com.hung.expensive.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Why: Rotation, phát hiện reuse (revoke cả family), hết hạn, user bị disable và logout
+ * Design decision: Repository là in-memory stand-in có cùng semantics với các UPDATE có điều kiện
+ */
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final List<RefreshToken> tokens = new ArrayList<>();
+    private final RefreshTokenService service = new RefreshTokenService();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("alice", "alice@example.com", "hash");
+        user.setId(1L);
+
+        when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            ReflectionTestUtils.setField(token, "id", (long) tokens.size() + 1);
+            tokens.add(token);
+            return token;
+        });
+        when(repository.findByTokenHash(anyString())).thenAnswer(invocation -> tokens.stream()
+            .filter(token -> token.getTokenHash().equals(invocation.getArgument(0)))
+            .findFirst());
+        when(repository.revokeIfActive(anyLong(), any(LocalDateTime.class))).thenAnswer(invocation -> revokeWhere(
+            token -> token.getId().equals(invocation.getArgument(0)), invocation.getArgument(1)));
+        when(repository.revokeFamily(anyString(), any(LocalDateTime.class))).thenAnswer(invocation -> revokeWhere(
+            token -> token.getFamilyId().equals(invocation.getArgument(0)), invocation.getArgument(1)));
+
+        ReflectionTestUtils.setField(service, "refreshTokenRepository", repository);
+        ReflectionTestUtils.setField(service, "refreshExpiration", Duration.ofDays(30));
+    }
+
+    @Test
+    void rotationReplacesTokenWithinTheSameFamily() {
+        String issued = service.issue(user);
+
+        RefreshTokenService.Rotation rotation = service.rotate(issued);
+
+        assertSame(user, rotation.user());
+        assertNotEquals(issued, rotation.refreshToken());
+        RefreshToken old = stored(issued);
+        RefreshToken next = stored(rotation.refreshToken());
+        assertNotNull(old.getRevokedAt());
+        assertNull(next.getRevokedAt());
+        assertEquals(old.getFamilyId(), next.getFamilyId());
+        // Why: DB chỉ giữ hash - token raw không bao giờ được lưu
+        assertEquals(RefreshTokenService.hash(issued), old.getTokenHash());
+    }
+
+    @Test
+    void reusingRotatedTokenRevokesTheWholeFamily() {
+        String issued = service.issue(user);
+        String rotated = service.rotate(issued).refreshToken();
+        String otherDevice = service.issue(user);
+
+        // Why: Token cũ bị dùng lại - kẻ cắp và user đều phải login lại
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(issued));
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(rotated));
+
+        assertNotNull(stored(rotated).getRevokedAt());
+        // Why: Family khác (thiết bị khác) không bị ảnh hưởng
+        assertNull(stored(otherDevice).getRevokedAt());
+        assertNotNull(service.rotate(otherDevice).refreshToken());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String issued = service.issue(user);
+        ReflectionTestUtils.setField(stored(issued), "expiresAt", LocalDateTime.now().minusSeconds(1));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(issued));
+        assertEquals(1, tokens.size());
+    }
+
+    @Test
+    void disabledUserCannotRefreshAndFamilyIsRevoked() {
+        String issued = service.issue(user);
+        user.setEnabled(false);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(issued));
+
+        assertEquals(1, tokens.size());
+        assertNotNull(stored(issued).getRevokedAt());
+    }
+
+    @Test
+    void logoutRevokesFamilyAndIgnoresUnknownTokens() {
+        String issued = service.issue(user);
+        String rotated = service.rotate(issued).refreshToken();
+
+        service.revoke(rotated);
+        service.revoke("unknown-token");
+
+        assertNotNull(stored(rotated).getRevokedAt());
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(rotated));
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("unknown-token"));
+    }
+
+    private RefreshToken stored(String rawToken) {
+        Optional<RefreshToken> token = repository.findByTokenHash(RefreshTokenService.hash(rawToken));
+        return token.orElseThrow();
+    }
+
+    private int revokeWhere(Predicate<RefreshToken> filter, LocalDateTime now) {
+        int revoked = 0;
+        for (RefreshToken token : tokens) {
+            if (token.getRevokedAt() == null && filter.test(token)) {
+                ReflectionTestUtils.setField(token, "revokedAt", now);
+                revoked++;
+            }
+        }
+        return revoked;
+    }
+}
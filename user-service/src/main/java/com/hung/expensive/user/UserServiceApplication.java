@@ -2,6 +2,7 @@ package com.hung.expensive.user;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
 /**
@@ -11,6 +12,8 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
  */
 @SpringBootApplication
 @EnableDiscoveryClient
+@EntityScan("com.hung.expensive.entity")  // Why: User entity nằm trong shared, ngoài package của application
+
 public class UserServiceApplication {
 
     public static void main(String[] args) {
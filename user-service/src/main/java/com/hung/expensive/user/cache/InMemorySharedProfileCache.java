@@ -0,0 +1,67 @@
+package com.hung.expensive.user.cache;
+
+import com.hung.expensive.user.dto.UserProfileResponse;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Why: Stand-in cho Redis khi chạy một instance (development) và trong tests
+ * Design decision: Cùng semantics với RedisSharedProfileCache (TTL, putIfAbsent, pub/sub đồng bộ) - nhiều
+ * UserProfileCache dùng chung một instance này mô phỏng nhiều pods dùng chung Redis
+ */
+public class InMemorySharedProfileCache implements SharedProfileCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Consumer<ProfileInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Optional<UserProfileResponse> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.profile);
+    }
+
+    @Override
+    public void put(String key, UserProfileResponse profile, Duration ttl) {
+        entries.put(key, new Entry(profile, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void putIfAbsent(String key, UserProfileResponse profile, Duration ttl) {
+        long now = System.currentTimeMillis();
+        entries.compute(key, (k, existing) -> existing != null && existing.expiresAt > now
+                ? existing
+                : new Entry(profile, now + ttl.toMillis()));
+    }
+
+    @Override
+    public void evict(Collection<String> keys) {
+        keys.forEach(entries::remove);
+    }
+
+    @Override
+    public void publish(ProfileInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<ProfileInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    private record Entry(UserProfileResponse profile, long expiresAt) {
+    }
+}
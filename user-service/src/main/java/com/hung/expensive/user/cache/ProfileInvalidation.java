@@ -0,0 +1,22 @@
+package com.hung.expensive.user.cache;
+
+/**
+ * Why: Message báo các user-service instances khác bỏ near-cache entries của một user
+ * Design decision: Mang theo sourceInstance để instance vừa write-through không tự xóa entry mới của mình
+ */
+public record ProfileInvalidation(String sourceInstance, Long userId, String username) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Why: Format text đơn giản cho Redis pub/sub - không cần Jackson cho ba fields
+     */
+    public String encode() {
+        return sourceInstance + SEPARATOR + userId + SEPARATOR + username;
+    }
+
+    public static ProfileInvalidation decode(String message) {
+        String[] parts = message.split("\\|", 3);
+        return new ProfileInvalidation(parts[0], Long.valueOf(parts[1]), parts[2]);
+    }
+}
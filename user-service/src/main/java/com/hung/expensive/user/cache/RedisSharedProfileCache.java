@@ -0,0 +1,102 @@
+package com.hung.expensive.user.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hung.expensive.user.dto.UserProfileResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Why: Shared cache tier trên Redis - mọi user-service pods đọc chung, invalidation qua pub/sub channel
+ * Design decision: Profile lưu dạng JSON string (StringRedisTemplate) để đọc được bằng redis-cli khi debug
+ * Note: Redis lỗi/timeout chỉ log warning và coi như cache miss - database vẫn là source of truth
+ */
+public class RedisSharedProfileCache implements SharedProfileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisSharedProfileCache.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final ChannelTopic invalidationTopic;
+
+    public RedisSharedProfileCache(StringRedisTemplate redisTemplate,
+                                   RedisMessageListenerContainer listenerContainer,
+                                   ObjectMapper objectMapper,
+                                   String invalidationChannel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.invalidationTopic = new ChannelTopic(invalidationChannel);
+    }
+
+    @Override
+    public Optional<UserProfileResponse> get(String key) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json == null ? Optional.empty() : Optional.of(objectMapper.readValue(json, UserProfileResponse.class));
+        } catch (Exception e) {
+            log.warn("Redis read failed for {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String key, UserProfileResponse profile, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key, toJson(profile), ttl);
+        } catch (Exception e) {
+            log.warn("Redis write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void putIfAbsent(String key, UserProfileResponse profile, Duration ttl) {
+        try {
+            // Why: SET NX EX - một round trip, atomic với write-through của instance khác
+            redisTemplate.opsForValue().setIfAbsent(key, toJson(profile), ttl);
+        } catch (Exception e) {
+            log.warn("Redis write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Collection<String> keys) {
+        try {
+            redisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.warn("Redis delete failed for {}: {}", keys, e.getMessage());
+        }
+    }
+
+    @Override
+    public void publish(ProfileInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(invalidationTopic.getTopic(), invalidation.encode());
+        } catch (Exception e) {
+            // Note: Pub/sub là at-most-once - near cache TTL ngắn giới hạn thời gian stale nếu message bị mất
+            log.warn("Redis publish failed for user {}: {}", invalidation.userId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ProfileInvalidation> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(
+                        ProfileInvalidation.decode(new String(message.getBody(), StandardCharsets.UTF_8))),
+                invalidationTopic);
+    }
+
+    private String toJson(UserProfileResponse profile) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(profile);
+    }
+}
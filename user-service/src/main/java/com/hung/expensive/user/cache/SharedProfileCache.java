@@ -0,0 +1,38 @@
+package com.hung.expensive.user.cache;
+
+import com.hung.expensive.user.dto.UserProfileResponse;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Why: Cache tier dùng chung giữa các user-service instances (L2), phía sau near cache trong process (L1)
+ * Design decision: Interface để Redis (production) và in-memory stand-in (tests, single instance) thay thế nhau
+ * qua property user.profile.cache.shared
+ * Note: Implementations không được throw khi backend lỗi - cache miss thì UserService đọc database
+ */
+public interface SharedProfileCache {
+
+    Optional<UserProfileResponse> get(String key);
+
+    /**
+     * Why: Write-through sau update - ghi đè giá trị hiện có
+     */
+    void put(String key, UserProfileResponse profile, Duration ttl);
+
+    /**
+     * Why: Populate sau cache miss - không ghi đè nếu một instance khác vừa write-through giá trị mới hơn
+     */
+    void putIfAbsent(String key, UserProfileResponse profile, Duration ttl);
+
+    void evict(Collection<String> keys);
+
+    /**
+     * Why: Broadcast tới mọi instances (kể cả instance gửi) để bỏ near-cache entries cũ
+     */
+    void publish(ProfileInvalidation invalidation);
+
+    void subscribe(Consumer<ProfileInvalidation> listener);
+}
@@ -0,0 +1,128 @@
+package com.hung.expensive.user.cache;
+
+import com.hung.expensive.user.dto.UserProfileResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Why: Two-level cache cho user profiles - expense-service gọi getUserProfile mỗi lần ghi expense
+ * Design decision: L1 near cache trong process (TTL ngắn, giống CategoryLookupService) -> L2 SharedProfileCache
+ * (Redis) -> database; profile được cache theo cả id và username
+ * Business rule: Update là write-through sau commit và broadcast invalidation để pods khác bỏ L1 entries cũ
+ * Note: Near TTL là giới hạn trên của thời gian stale khi invalidation message bị mất
+ */
+public class UserProfileCache {
+
+    private static final String ID_KEY_PREFIX = "user:profile:id:";
+    private static final String USERNAME_KEY_PREFIX = "user:profile:username:";
+
+    private final SharedProfileCache sharedCache;
+    private final Map<String, CachedProfile> nearCache = new ConcurrentHashMap<>();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final long nearTtlMs;
+    private final int nearMaxSize;
+    private final Duration sharedTtl;
+
+    public UserProfileCache(SharedProfileCache sharedCache, long nearTtlMs, int nearMaxSize, Duration sharedTtl) {
+        this.sharedCache = sharedCache;
+        this.nearTtlMs = nearTtlMs;
+        this.nearMaxSize = nearMaxSize;
+        this.sharedTtl = sharedTtl;
+        sharedCache.subscribe(this::onInvalidation);
+    }
+
+    public UserProfileResponse getById(Long userId, Supplier<UserProfileResponse> loader) {
+        return get(ID_KEY_PREFIX + userId, loader);
+    }
+
+    public UserProfileResponse getByUsername(String username, Supplier<UserProfileResponse> loader) {
+        return get(USERNAME_KEY_PREFIX + username, loader);
+    }
+
+    /**
+     * Why: Ghi profile mới vào cả hai tầng sau khi transaction commit - rollback thì cache không bị bẩn
+     */
+    public void writeThrough(UserProfileResponse profile) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(profile);
+                }
+            });
+        } else {
+            store(profile);
+        }
+    }
+
+    private UserProfileResponse get(String key, Supplier<UserProfileResponse> loader) {
+        long now = System.currentTimeMillis();
+        CachedProfile cached = nearCache.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.profile;
+        }
+
+        Optional<UserProfileResponse> shared = sharedCache.get(key);
+        if (shared.isPresent()) {
+            putNear(key, shared.get());
+            return shared.get();
+        }
+
+        // Why: Loader throw khi user không tồn tại - không negative-cache để user mới đăng ký thấy ngay
+        UserProfileResponse loaded = loader.get();
+        for (String profileKey : keys(loaded)) {
+            sharedCache.putIfAbsent(profileKey, loaded, sharedTtl);
+            putNear(profileKey, loaded);
+        }
+        return loaded;
+    }
+
+    private void store(UserProfileResponse profile) {
+        for (String key : keys(profile)) {
+            sharedCache.put(key, profile, sharedTtl);
+            putNear(key, profile);
+        }
+        sharedCache.publish(new ProfileInvalidation(instanceId, profile.getId(), profile.getUsername()));
+    }
+
+    // Why: Instance gửi đã có giá trị mới trong L1 - chỉ các instances khác cần bỏ entries cũ
+    private void onInvalidation(ProfileInvalidation invalidation) {
+        if (instanceId.equals(invalidation.sourceInstance())) {
+            return;
+        }
+        nearCache.remove(ID_KEY_PREFIX + invalidation.userId());
+        nearCache.remove(USERNAME_KEY_PREFIX + invalidation.username());
+    }
+
+    private void putNear(String key, UserProfileResponse profile) {
+        evictIfFull();
+        nearCache.put(key, new CachedProfile(profile, System.currentTimeMillis() + nearTtlMs));
+    }
+
+    // Why: Xóa entries hết hạn trước, nếu vẫn đầy thì reset toàn bộ near cache
+    private void evictIfFull() {
+        if (nearCache.size() < nearMaxSize) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        nearCache.values().removeIf(cached -> cached.expiresAt <= now);
+        if (nearCache.size() >= nearMaxSize) {
+            nearCache.clear();
+        }
+    }
+
+    private static List<String> keys(UserProfileResponse profile) {
+        return List.of(ID_KEY_PREFIX + profile.getId(), USERNAME_KEY_PREFIX + profile.getUsername());
+    }
+
+    private record CachedProfile(UserProfileResponse profile, long expiresAt) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.hung.expensive.user.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Why: Chọn shared cache tier theo user.profile.cache.shared: redis (production) hoặc in-memory (default)
+ * Design decision: In-memory là default để service chạy local không cần Redis; prod profile bật redis
+ */
+@Configuration
+public class UserProfileCacheConfiguration {
+
+    @Bean
+    public UserProfileCache userProfileCache(SharedProfileCache sharedProfileCache,
+                                             @Value("${user.profile.cache.near-ttl-ms:30000}") long nearTtlMs,
+                                             @Value("${user.profile.cache.near-max-size:10000}") int nearMaxSize,
+                                             @Value("${user.profile.cache.shared-ttl:10m}") Duration sharedTtl) {
+        return new UserProfileCache(sharedProfileCache, nearTtlMs, nearMaxSize, sharedTtl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "user.profile.cache.shared", havingValue = "in-memory", matchIfMissing = true)
+    public SharedProfileCache inMemorySharedProfileCache() {
+        return new InMemorySharedProfileCache();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "user.profile.cache.shared", havingValue = "redis")
+    static class Redis {
+
+        @Bean
+        public RedisMessageListenerContainer profileInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            return container;
+        }
+
+        @Bean
+        public SharedProfileCache redisSharedProfileCache(StringRedisTemplate redisTemplate,
+                                                          RedisMessageListenerContainer profileInvalidationListenerContainer,
+                                                          ObjectMapper objectMapper,
+                                                          @Value("${user.profile.cache.invalidation-channel:user-profile-invalidation}") String channel) {
+            return new RedisSharedProfileCache(redisTemplate, profileInvalidationListenerContainer, objectMapper, channel);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.hung.expensive.user.controller;
 import com.hung.expensive.dto.ApiResponse;
 import com.hung.expensive.user.dto.UserProfileRequest;
 import com.hung.expensive.user.dto.UserProfileResponse;
+import com.hung.expensive.user.exception.EmailAlreadyExistsException;
 import com.hung.expensive.user.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -33,7 +34,7 @@ public class UserController {
     public ResponseEntity<ApiResponse<UserProfileResponse>> getUserProfile(@PathVariable Long userId) {
         try {
             UserProfileResponse response = userService.getUserProfile(userId);
-            return ResponseEntity.ok(ApiResponse.success(response, "User profile retrieved successfully"));
+            return ResponseEntity.ok(ApiResponse.success("User profile retrieved successfully", response));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("User not found: " + e.getMessage()));
@@ -42,7 +43,7 @@ public class UserController {
 
     /**
      * Why: Update user profile
-     * Business rule: Update user information, validate input
+     * Business rule: Update user information, validate input; email đã được dùng -> 409 Conflict
      */
     @PutMapping("/{userId}")
     public ResponseEntity<ApiResponse<UserProfileResponse>> updateUserProfile(
@@ -50,7 +51,10 @@ public class UserController {
             @Valid @RequestBody UserProfileRequest request) {
         try {
             UserProfileResponse response = userService.updateUserProfile(userId, request);
-            return ResponseEntity.ok(ApiResponse.success(response, "User profile updated successfully"));
+            return ResponseEntity.ok(ApiResponse.success("User profile updated successfully", response));
+        } catch (EmailAlreadyExistsException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Update failed: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Update failed: " + e.getMessage()));
@@ -65,7 +69,7 @@ public class UserController {
     public ResponseEntity<ApiResponse<UserProfileResponse>> getUserByUsername(@PathVariable String username) {
         try {
             UserProfileResponse response = userService.getUserByUsername(username);
-            return ResponseEntity.ok(ApiResponse.success(response, "User found"));
+            return ResponseEntity.ok(ApiResponse.success("User found", response));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("User not found: " + e.getMessage()));
@@ -0,0 +1,11 @@
+package com.hung.expensive.user.exception;
+
+/**
+ * Why: Email đã thuộc user khác - UserController trả 409 Conflict thay vì 400
+ */
+public class EmailAlreadyExistsException extends RuntimeException {
+
+    public EmailAlreadyExistsException(String email) {
+        super("Email already exists: " + email);
+    }
+}
@@ -0,0 +1,39 @@
+package com.hung.expensive.user.grpc;
+
+import com.hung.expensive.grpc.InternalLookupProto.ExistsReply;
+import com.hung.expensive.grpc.InternalLookupProto.IdRequest;
+import com.hung.expensive.grpc.UserLookupGrpc;
+import com.hung.expensive.user.repository.UserRepository;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Why: Internal gRPC lookups cho expense-service - validate user tồn tại khi tạo expense
+ * Design decision: Đọc thẳng primary key, không qua UserService/profile cache - reply chỉ cần một bool
+ * Note: REST /api/users vẫn giữ nguyên cho external clients
+ */
+@Service
+public class UserLookupGrpcService extends UserLookupGrpc.UserLookupImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLookupGrpcService.class);
+
+    private final UserRepository userRepository;
+
+    public UserLookupGrpcService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void exists(IdRequest request, StreamObserver<ExistsReply> responseObserver) {
+        try {
+            responseObserver.onNext(new ExistsReply(userRepository.existsById(request.id())));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            log.warn("User lookup failed for id {}: {}", request.id(), e.getMessage());
+            responseObserver.onError(Status.INTERNAL.withDescription("User lookup failed").asRuntimeException());
+        }
+    }
+}
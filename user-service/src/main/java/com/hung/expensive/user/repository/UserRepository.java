@@ -2,18 +2,24 @@ package com.hung.expensive.user.repository;
 
 import com.hung.expensive.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
  * Why: User Repository cho database operations trong User Service
  * Design decision: JPA Repository pattern để simplify database access
  * Business requirement: Cần query user by username, email, và các operations khác
+ * Note: Query methods chạy read-only transaction khi không có transaction bên ngoài (giống CRUD methods
+ * của SimpleJpaRepository)
  */
 @Repository
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
@@ -55,4 +61,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.enabled = true AND u.username = :username")
     Optional<User> findEnabledUserByUsername(@Param("username") String username);
+
+    /**
+     * Why: Partial update profile bằng một UPDATE - không load entity, không dirty checking
+     * Design decision: COALESCE giữ giá trị cũ cho field null thay vì build SQL động - một statement shape duy nhất
+     * nên server-side prepared statement cache (cachePrepStmts) luôn hit
+     * Business rule: Email trùng bị chặn bởi uk_users_email -> DataIntegrityViolationException
+     * @return số rows matched, 0 nếu user không tồn tại
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET "
+            + "u.firstName = COALESCE(:firstName, u.firstName), "
+            + "u.lastName = COALESCE(:lastName, u.lastName), "
+            + "u.email = COALESCE(:email, u.email), "
+            + "u.phoneNumber = COALESCE(:phoneNumber, u.phoneNumber), "
+            + "u.address = COALESCE(:address, u.address), "
+            + "u.city = COALESCE(:city, u.city), "
+            + "u.country = COALESCE(:country, u.country), "
+            + "u.postalCode = COALESCE(:postalCode, u.postalCode), "
+            + "u.updatedAt = :updatedAt "
+            + "WHERE u.id = :userId")
+    int updateProfile(@Param("userId") Long userId,
+                      @Param("firstName") String firstName,
+                      @Param("lastName") String lastName,
+                      @Param("email") String email,
+                      @Param("phoneNumber") String phoneNumber,
+                      @Param("address") String address,
+                      @Param("city") String city,
+                      @Param("country") String country,
+                      @Param("postalCode") String postalCode,
+                      @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -1,12 +1,17 @@
 package com.hung.expensive.user.service;
 
 import com.hung.expensive.entity.User;
+import com.hung.expensive.user.cache.UserProfileCache;
 import com.hung.expensive.user.dto.UserProfileRequest;
 import com.hung.expensive.user.dto.UserProfileResponse;
+import com.hung.expensive.user.exception.EmailAlreadyExistsException;
 import com.hung.expensive.user.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -19,84 +24,86 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserProfileCache profileCache;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserProfileCache profileCache) {
         this.userRepository = userRepository;
+        this.profileCache = profileCache;
     }
 
     /**
      * Why: Get user profile by ID
      * Business rule: Return user profile information
+     * Performance: Near cache -> shared cache -> database
+     * Design decision: SUPPORTS + readOnly thay vì read-write transaction của class - cache hit không mượn connection;
+     * cache miss chạy read-only transaction của UserRepository
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserProfileResponse getUserProfile(Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found with ID: " + userId);
-        }
+        return profileCache.getById(userId, () -> {
+            Optional<User> userOpt = userRepository.findById(userId);
+            if (userOpt.isEmpty()) {
+                throw new RuntimeException("User not found with ID: " + userId);
+            }
 
-        User user = userOpt.get();
-        return mapToUserProfileResponse(user);
+            User user = userOpt.get();
+            return mapToUserProfileResponse(user);
+        });
     }
 
     /**
      * Why: Get user by username
      * Business rule: Find user by username for internal service calls
+     * Performance: Near cache -> shared cache -> database
+     * Design decision: SUPPORTS + readOnly thay vì read-write transaction của class - cache hit không mượn connection;
+     * cache miss chạy read-only transaction của UserRepository
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserProfileResponse getUserByUsername(String username) {
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found with username: " + username);
-        }
+        return profileCache.getByUsername(username, () -> {
+            Optional<User> userOpt = userRepository.findByUsername(username);
+            if (userOpt.isEmpty()) {
+                throw new RuntimeException("User not found with username: " + username);
+            }
 
-        User user = userOpt.get();
-        return mapToUserProfileResponse(user);
+            User user = userOpt.get();
+            return mapToUserProfileResponse(user);
+        });
     }
 
     /**
      * Why: Update user profile
-     * Business rule: Update user information, validate input
+     * Business rule: Chỉ update các field non-null của request; email trùng với user khác -> 409 Conflict;
+     * cache được write-through sau commit
+     * Performance: Một conditional UPDATE + một PK lookup thay vì load user, load user trùng email rồi dirty check
      */
     public UserProfileResponse updateUserProfile(Long userId, UserProfileRequest request) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found with ID: " + userId);
-        }
-
-        User user = userOpt.get();
-
-        // Why: Update only non-null fields
-        if (request.getFirstName() != null) {
-            user.setFirstName(request.getFirstName());
+        int updated;
+        try {
+            updated = userRepository.updateProfile(userId,
+                    request.getFirstName(),
+                    request.getLastName(),
+                    request.getEmail(),
+                    request.getPhoneNumber(),
+                    request.getAddress(),
+                    request.getCity(),
+                    request.getCountry(),
+                    request.getPostalCode(),
+                    LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // Why: Email là unique column duy nhất UPDATE có thể thay đổi
+            throw new EmailAlreadyExistsException(request.getEmail());
         }
-        if (request.getLastName() != null) {
-            user.setLastName(request.getLastName());
-        }
-        if (request.getEmail() != null) {
-            // Why: Check email uniqueness
-            Optional<User> existingUser = userRepository.findByEmail(request.getEmail());
-            if (existingUser.isPresent() && !existingUser.get().getId().equals(userId)) {
-                throw new RuntimeException("Email already exists");
-            }
-            user.setEmail(request.getEmail());
-        }
-        if (request.getPhoneNumber() != null) {
-            user.setPhoneNumber(request.getPhoneNumber());
-        }
-        if (request.getAddress() != null) {
-            user.setAddress(request.getAddress());
-        }
-        if (request.getCity() != null) {
-            user.setCity(request.getCity());
-        }
-        if (request.getCountry() != null) {
-            user.setCountry(request.getCountry());
-        }
-        if (request.getPostalCode() != null) {
-            user.setPostalCode(request.getPostalCode());
+        if (updated == 0) {
+            throw new RuntimeException("User not found with ID: " + userId);
         }
 
-        User updatedUser = userRepository.save(user);
-        return mapToUserProfileResponse(updatedUser);
+        // Why: Đọc lại trong cùng read-write transaction (primary) - persistence context đã được clear sau UPDATE
+        User updatedUser = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
+        UserProfileResponse response = mapToUserProfileResponse(updatedUser);
+        profileCache.writeThrough(response);
+        return response;
     }
 
     /**
@@ -0,0 +1,10 @@
+-- Why: Profile fields cho UserProfileRequest (first/last name, phone, address) - nullable vì user điền sau đăng ký
+-- Note: Email uniqueness dựa vào uk_users_email (V1) - updateProfile map violation thành 409 Conflict
+
+ALTER TABLE users ADD COLUMN first_name VARCHAR(50);
+ALTER TABLE users ADD COLUMN last_name VARCHAR(50);
+ALTER TABLE users ADD COLUMN phone_number VARCHAR(20);
+ALTER TABLE users ADD COLUMN address VARCHAR(100);
+ALTER TABLE users ADD COLUMN city VARCHAR(50);
+ALTER TABLE users ADD COLUMN country VARCHAR(50);
+ALTER TABLE users ADD COLUMN postal_code VARCHAR(10);
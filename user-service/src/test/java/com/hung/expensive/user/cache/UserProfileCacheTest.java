@@ -0,0 +1,103 @@
+package com.hung.expensive.user.cache;
+
+import com.hung.expensive.user.dto.UserProfileResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Why: Kiểm tra coherence của two-level cache giữa nhiều user-service pods
+ * Design decision: Hai UserProfileCache dùng chung một InMemorySharedProfileCache = hai pods dùng chung Redis;
+ * loader đếm số lần đọc database
+ */
+class UserProfileCacheTest {
+
+    private final AtomicInteger databaseReads = new AtomicInteger();
+    private UserProfileResponse stored;
+
+    private UserProfileCache podA;
+    private UserProfileCache podB;
+
+    @BeforeEach
+    void setUp() {
+        SharedProfileCache redis = new InMemorySharedProfileCache();
+        podA = new UserProfileCache(redis, 60_000, 100, Duration.ofMinutes(10));
+        podB = new UserProfileCache(redis, 60_000, 100, Duration.ofMinutes(10));
+        stored = profile("alice@example.com");
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void readsHitDatabaseOnceAcrossPods() {
+        assertEquals("alice@example.com", podA.getById(1L, database()).getEmail());
+        podA.getById(1L, database());
+        podB.getById(1L, database());
+        podB.getByUsername("alice", database());
+
+        assertEquals(1, databaseReads.get());
+    }
+
+    @Test
+    void writeThroughOnOnePodIsVisibleOnOthers() {
+        podA.getById(1L, database());
+        podB.getByUsername("alice", database());
+
+        stored = profile("alice@new.example.com");
+        podB.writeThrough(stored);
+
+        // Why: Pod A có near entry cũ - invalidation message phải xóa nó, lần đọc tiếp lấy từ shared tier
+        assertEquals("alice@new.example.com", podA.getById(1L, database()).getEmail());
+        assertEquals("alice@new.example.com", podA.getByUsername("alice", database()).getEmail());
+        assertEquals(1, databaseReads.get());
+    }
+
+    @Test
+    void writeThroughWaitsForCommit() {
+        podA.getById(1L, database());
+
+        TransactionSynchronizationManager.initSynchronization();
+        podB.writeThrough(profile("alice@new.example.com"));
+        assertEquals("alice@example.com", podA.getById(1L, database()).getEmail());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals("alice@new.example.com", podA.getById(1L, database()).getEmail());
+    }
+
+    @Test
+    void missingUserIsNotCached() {
+        Supplier<UserProfileResponse> notFound = () -> {
+            databaseReads.incrementAndGet();
+            throw new RuntimeException("User not found with ID: 2");
+        };
+
+        assertThrows(RuntimeException.class, () -> podA.getById(2L, notFound));
+        assertThrows(RuntimeException.class, () -> podA.getById(2L, notFound));
+        assertEquals(2, databaseReads.get());
+    }
+
+    private Supplier<UserProfileResponse> database() {
+        return () -> {
+            databaseReads.incrementAndGet();
+            return stored;
+        };
+    }
+
+    private static UserProfileResponse profile(String email) {
+        return UserProfileResponse.builder().id(1L).username("alice").email(email).build();
+    }
+}
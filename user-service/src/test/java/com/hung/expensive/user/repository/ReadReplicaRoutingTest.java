@@ -0,0 +1,137 @@
+package com.hung.expensive.user.repository;
+
+import com.hung.expensive.config.ReadReplicaAutoConfiguration;
+import com.hung.expensive.datasource.ReadYourWrites;
+import com.hung.expensive.datasource.ReplicaLagMonitor;
+import com.hung.expensive.datasource.ReplicaLagProbe;
+import com.hung.expensive.entity.User;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Why: Routing read-only transactions giữa primary và replica - hai H2 databases đứng thay hai MySQL instances
+ * Design decision: Cùng username nhưng email khác nhau trên mỗi database để biết row được đọc từ đâu;
+ * lag probe giả lập để điều khiển replication lag
+ * Note: NOT_SUPPORTED - mỗi repository call chạy transaction riêng như khi gọi từ controller
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user_primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.cloud.config.enabled=false",
+        "expensive.datasource.replica.enabled=true",
+        "expensive.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "expensive.datasource.replica.driver-class-name=org.h2.Driver",
+        "expensive.datasource.replica.username=sa",
+        "expensive.datasource.replica.password=",
+        "expensive.datasource.replica.max-lag=5s",
+        "expensive.datasource.replica.lag-check-interval=1h"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(ReadReplicaAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:user_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final AtomicReference<Duration> replicationLag = new AtomicReference<>(Duration.ZERO);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeAll
+    static void seedReplica() throws SQLException {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO users (username, email, password, created_at, updated_at) "
+                    + "VALUES ('alice', 'alice@replica', 'encoded', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        }
+    }
+
+    @BeforeEach
+    void seedPrimary() {
+        userRepository.deleteAll();
+        userRepository.save(new User("alice", "alice@primary", "encoded"));
+        // Why: Seed là write transaction - bỏ read-your-writes window để test bắt đầu như request mới
+        ReadYourWrites.clear();
+        replicationLag.set(Duration.ZERO);
+        replicaLagMonitor.refresh();
+    }
+
+    @AfterEach
+    void clearWindow() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void readOnlyTransactionReadsFromReplica() {
+        assertEquals("alice@replica", email("alice"));
+    }
+
+    @Test
+    void readsAfterWriteGoToPrimaryWithinWindow() {
+        userRepository.save(new User("carol", "carol@primary", "encoded"));
+
+        assertTrue(ReadYourWrites.isPinnedToPrimary());
+        assertEquals("carol@primary", email("carol"));
+        assertEquals("alice@primary", email("alice"));
+
+        // Why: Request khác (không có window) đọc replica - row mới chưa replicate
+        ReadYourWrites.clear();
+        assertTrue(userRepository.findByUsername("carol").isEmpty());
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replicationLag.set(Duration.ofSeconds(30));
+        replicaLagMonitor.refresh();
+
+        assertEquals("alice@primary", email("alice"));
+
+        replicationLag.set(Duration.ofSeconds(1));
+        replicaLagMonitor.refresh();
+
+        assertEquals("alice@replica", email("alice"));
+    }
+
+    private String email(String username) {
+        return userRepository.findByUsername(username).map(User::getEmail).orElse(null);
+    }
+
+    @TestConfiguration
+    static class ControllableLag {
+
+        @Bean
+        ReplicaLagProbe replicaLagProbe() {
+            return connection -> Optional.of(replicationLag.get());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hung.expensive.user.service;
+
+import com.hung.expensive.entity.User;
+import com.hung.expensive.user.cache.UserProfileCacheConfiguration;
+import com.hung.expensive.user.dto.UserProfileRequest;
+import com.hung.expensive.user.dto.UserProfileResponse;
+import com.hung.expensive.user.exception.EmailAlreadyExistsException;
+import com.hung.expensive.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Why: updateUserProfile là một conditional UPDATE - kiểm tra partial update và mapping unique violation
+ * Design decision: Schema từ Flyway migrations trên H2 MySQL mode để uk_users_email giống production
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user_update;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.cloud.config.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserService.class, UserProfileCacheConfiguration.class})
+class UserServiceUpdateProfileTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long aliceId;
+
+    @BeforeEach
+    void seed() {
+        User alice = new User("alice", "alice@example.com", "encoded");
+        alice.setCity("Hanoi");
+        aliceId = userRepository.save(alice).getId();
+        userRepository.save(new User("bob", "bob@example.com", "encoded"));
+        userRepository.flush();
+    }
+
+    @Test
+    void updatesOnlyNonNullFields() {
+        UserProfileRequest request = new UserProfileRequest();
+        request.setFirstName("Alice");
+        request.setPhoneNumber("0901234567");
+
+        UserProfileResponse response = userService.updateUserProfile(aliceId, request);
+
+        assertEquals("Alice", response.getFirstName());
+        assertEquals("0901234567", response.getPhoneNumber());
+        assertEquals("Hanoi", response.getCity());
+        assertEquals("alice@example.com", response.getEmail());
+    }
+
+    @Test
+    void duplicateEmailIsConflict() {
+        UserProfileRequest request = new UserProfileRequest();
+        request.setEmail("bob@example.com");
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.updateUserProfile(aliceId, request));
+    }
+
+    @Test
+    void unknownUserIsNotFound() {
+        UserProfileRequest request = new UserProfileRequest();
+        request.setCity("Da Nang");
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> userService.updateUserProfile(-1L, request));
+        assertEquals("User not found with ID: -1", error.getMessage());
+    }
+}